@@ -6,10 +6,12 @@ import com.robertforpresent.api.catalog.domain.port.GameCollectionPort;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
 import com.robertforpresent.api.catalog.presentation.rest.RescrapeRequest;
 import com.robertforpresent.api.catalog.presentation.rest.RescrapeResult;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
 import com.robertforpresent.api.scraper.application.service.GameScraperService;
 import com.robertforpresent.api.scraper.domain.model.ScrapedGameInfo;
 import com.robertforpresent.api.thumbnail.application.service.ThumbnailService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,16 +32,19 @@ public class CatalogService {
     private final GameCollectionPort collectionPort;
     private final GameScraperService scraperService;
     private final ThumbnailService thumbnailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CatalogService(
             CanonicalGameRepository repository,
             GameCollectionPort collectionPort,
             GameScraperService scraperService,
-            ThumbnailService thumbnailService) {
+            ThumbnailService thumbnailService,
+            ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.collectionPort = collectionPort;
         this.scraperService = scraperService;
         this.thumbnailService = thumbnailService;
+        this.eventPublisher = eventPublisher;
     }
 
     public CanonicalGame get(UUID id) {
@@ -142,10 +147,15 @@ public class CatalogService {
             collectionPort.updateCanonicalGameReferences(sourceId, targetId);
             log.debug("Updated personalized game references from {} to {}", sourceId, targetId);
 
+            // Keep the source's cover if the target has none, without downloading it again
+            thumbnailService.remapMergedGame(sourceId, targetId);
+
             // Delete the source canonical game
             repository.deleteById(sourceId);
             log.info("Deleted source game: {} ({})", source.getName(), sourceId);
+            eventPublisher.publishEvent(GameUpdateEvent.gameRemoved(sourceId));
         }
+        eventPublisher.publishEvent(GameUpdateEvent.gameUpserted(targetId));
 
         log.info("Merge completed successfully: {} source games merged into {}", sourceIds.size(), targetId);
     }
@@ -350,6 +360,7 @@ public class CatalogService {
             thumbnailService.evict(gameId);
             log.debug("Evicted cached thumbnail for game {} to download new image", gameName);
         }
+        eventPublisher.publishEvent(GameUpdateEvent.gameUpserted(gameId));
 
         RescrapeResult.UpdatedFields fields = new RescrapeResult.UpdatedFields(
                 info.coverUrl(),
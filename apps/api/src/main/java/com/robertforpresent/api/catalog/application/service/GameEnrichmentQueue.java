@@ -0,0 +1,111 @@
+package com.robertforpresent.api.catalog.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background queue enriching games one at a time after a fast import.
+ * Fast imports insert minimal catalog rows and hand the new game IDs to this queue; every enriched game
+ * publishes a {@code GAME_UPSERTED} event, so clients see details fill in progressively.
+ * <p>
+ * A single worker drains the queue with a pause between games, keeping the request rate on the
+ * store APIs low. The queue lives in memory: games still queued at shutdown keep their import
+ * data and can be completed with {@code POST /enrichment/enrich-all}.
+ */
+@Service
+public class GameEnrichmentQueue {
+    private static final Logger logger = LoggerFactory.getLogger(GameEnrichmentQueue.class);
+
+    private final GameEnrichmentService enrichmentService;
+    private final long delayMs;
+    private final BlockingQueue<UUID> queue = new LinkedBlockingQueue<>();
+    private final Set<UUID> queued = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger enriched = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private Thread worker;
+
+    public GameEnrichmentQueue(
+            GameEnrichmentService enrichmentService,
+            @Value("${enrichment.queue.delay-ms:1000}") long delayMs) {
+        this.enrichmentService = enrichmentService;
+        this.delayMs = delayMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        worker = Thread.ofVirtual().name("enrichment-queue").start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Queue games for enrichment. Games already waiting are not queued twice.
+     *
+     * @return Number of games added to the queue
+     */
+    public int enqueue(Collection<UUID> gameIds) {
+        int added = 0;
+        for (UUID gameId : gameIds) {
+            if (queued.add(gameId)) {
+                queue.add(gameId);
+                added++;
+            }
+        }
+        if (added > 0) {
+            logger.info("Queued {} games for background enrichment ({} pending)", added, queue.size());
+        }
+        return added;
+    }
+
+    public QueueStatus getStatus() {
+        return new QueueStatus(queue.size(), enriched.get(), failed.get());
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                UUID gameId = queue.take();
+                queued.remove(gameId);
+                try {
+                    GameEnrichmentService.GameEnrichmentResult result = enrichmentService.enrichGame(gameId);
+                    if (result.failed()) {
+                        failed.incrementAndGet();
+                    } else {
+                        enriched.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    // e.g. the game was merged away while waiting
+                    failed.incrementAndGet();
+                    logger.warn("Background enrichment of {} failed: {}", gameId, e.getMessage());
+                }
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @param pending  Games waiting in the queue
+     * @param enriched Games processed without provider errors since startup
+     * @param failed   Games whose enrichment failed since startup
+     */
+    public record QueueStatus(int pending, int enriched, int failed) {}
+}
@@ -3,8 +3,10 @@ package com.robertforpresent.api.catalog.application.service;
 import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
 import com.robertforpresent.api.catalog.domain.port.GameEnrichmentProvider;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -21,12 +23,15 @@ public class GameEnrichmentService {
 
     private final CanonicalGameRepository gameRepository;
     private final List<GameEnrichmentProvider> enrichmentProviders;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GameEnrichmentService(
             CanonicalGameRepository gameRepository,
-            List<GameEnrichmentProvider> enrichmentProviders) {
+            List<GameEnrichmentProvider> enrichmentProviders,
+            ApplicationEventPublisher eventPublisher) {
         this.gameRepository = gameRepository;
         this.enrichmentProviders = enrichmentProviders;
+        this.eventPublisher = eventPublisher;
         logger.info("Initialized GameEnrichmentService with {} providers: {}",
                 enrichmentProviders.size(),
                 enrichmentProviders.stream().map(GameEnrichmentProvider::getProviderName).toList());
@@ -131,6 +136,7 @@ public class GameEnrichmentService {
         if (wasEnriched) {
             currentGame = gameRepository.save(currentGame);
             logger.info("Enriched and saved game: {} with providers: {}", game.getName(), providersUsed);
+            eventPublisher.publishEvent(GameUpdateEvent.gameUpserted(gameId));
         }
 
         String finalMessage = messages.isEmpty()
@@ -4,7 +4,9 @@ import com.robertforpresent.api.catalog.application.command.ImportGameCommand;
 import com.robertforpresent.api.catalog.domain.model.*;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
 import com.robertforpresent.api.catalog.domain.port.GameCollectionPort;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
@@ -21,19 +23,38 @@ import java.util.UUID;
 public class GameImportService {
     private final CanonicalGameRepository gameRepository;
     private final GameCollectionPort collectionPort;
-
-    public GameImportService(CanonicalGameRepository gameRepository, GameCollectionPort collectionPort) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameEnrichmentQueue enrichmentQueue;
+
+    public GameImportService(
+            CanonicalGameRepository gameRepository,
+            GameCollectionPort collectionPort,
+            ApplicationEventPublisher eventPublisher,
+            GameEnrichmentQueue enrichmentQueue) {
         this.gameRepository = gameRepository;
         this.collectionPort = collectionPort;
+        this.eventPublisher = eventPublisher;
+        this.enrichmentQueue = enrichmentQueue;
     }
 
     /**
      * Import multiple games in bulk.
      */
     public BulkImportResult importGames(List<ImportGameCommand> commands, UUID gamerId) {
+        return importGames(commands, gamerId, false);
+    }
+
+    /**
+     * Import multiple games in bulk.
+     *
+     * @param enrichInBackground Queue newly created games for background enrichment, so their store
+     *                           details fill in after the import returned
+     */
+    public BulkImportResult importGames(List<ImportGameCommand> commands, UUID gamerId, boolean enrichInBackground) {
         log.info("Starting bulk import of {} games for gamer {}", commands.size(), gamerId);
 
         List<SingleImportResult> results = new ArrayList<>();
+        List<UUID> createdIds = new ArrayList<>();
         int created = 0;
         int updated = 0;
         int failed = 0;
@@ -43,6 +64,7 @@ public class GameImportService {
                 SingleImportResult result = importSingleGame(command, gamerId);
                 results.add(result);
                 if (result.created()) {
+                    createdIds.add(UUID.fromString(result.gameId()));
                     created++;
                 } else {
                     updated++;
@@ -55,6 +77,10 @@ public class GameImportService {
         }
 
         log.info("Bulk import completed: {} created, {} updated, {} failed", created, updated, failed);
+        if (enrichInBackground) {
+            enrichmentQueue.enqueue(createdIds);
+        }
+        eventPublisher.publishEvent(GameUpdateEvent.libraryImported(gamerId));
         return new BulkImportResult(created, updated, failed, results);
     }
 
@@ -91,6 +117,7 @@ public class GameImportService {
 
         // Always update collection to set/update ownership flags
         collectionPort.addGameToCollection(gamerId, savedGame.getId(), command.store());
+        eventPublisher.publishEvent(GameUpdateEvent.gameUpserted(gamerId, savedGame.getId()));
 
         return new SingleImportResult(
                 normalizedName,
@@ -89,6 +89,38 @@ public class CanonicalGame {
         return igdbSlug;
     }
 
+    /**
+     * Percentage (0-100) of important catalog fields that are filled.
+     * Persisted alongside the game so collection pages can filter and sort by it.
+     */
+    public int getCompleteness() {
+        int total = 6; // Total important fields to track
+        int filled = 0;
+
+        // Check thumbnail
+        if (getThumbnailUrl() != null && !getThumbnailUrl().isBlank()) filled++;
+
+        // Check IGDB ID
+        if (getIgdbId() != null) filled++;
+
+        // Check Steam data
+        SteamGameData steam = getSteamData();
+        if (steam != null && steam.appId() != null) filled++;
+
+        // Check GOG data
+        GogGameData gog = getGogData();
+        if (gog != null && (gog.gogId() != null || gog.link() != null)) filled++;
+
+        // Check Metacritic data
+        MetacriticGameData mc = getMetacriticData();
+        if (mc != null && mc.score() != null) filled++;
+
+        // Check rating (from Steam reviews)
+        if (getRating() > 0) filled++;
+
+        return (filled * 100) / total;
+    }
+
     // Convenience methods for backward compatibility
     public @Nullable Integer getSteamAppId() {
         return steamData != null ? steamData.appId() : null;
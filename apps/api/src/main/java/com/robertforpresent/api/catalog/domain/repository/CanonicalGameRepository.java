@@ -2,6 +2,7 @@ package com.robertforpresent.api.catalog.domain.repository;
 
 import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,10 +12,20 @@ public interface CanonicalGameRepository {
 
     CanonicalGame save(CanonicalGame game);
 
+    /**
+     * Save many games in one transaction, using JDBC batching.
+     */
+    List<CanonicalGame> saveAll(Collection<CanonicalGame> games);
+
     List<CanonicalGame> findAll();
 
     Optional<CanonicalGame> findBySteamAppId(Integer steamAppId);
 
+    /**
+     * Find the games with any of the given Steam app IDs, in as few queries as possible.
+     */
+    List<CanonicalGame> findBySteamAppIds(Collection<Integer> steamAppIds);
+
     List<CanonicalGame> findByNameContainingIgnoreCase(String name);
 
     Optional<CanonicalGame> findByNameIgnoreCase(String name);
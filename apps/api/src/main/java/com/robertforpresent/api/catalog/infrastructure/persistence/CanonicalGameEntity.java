@@ -11,7 +11,10 @@ import lombok.Setter;
         @Index(name = "idx_canonical_game_name", columnList = "name"),
         @Index(name = "idx_canonical_game_steam_app_id", columnList = "steam_app_id"),
         @Index(name = "idx_canonical_game_gog_id", columnList = "gog_id"),
-        @Index(name = "idx_canonical_game_epic_id", columnList = "epic_id")
+        @Index(name = "idx_canonical_game_epic_id", columnList = "epic_id"),
+        @Index(name = "idx_canonical_game_sort_name", columnList = "sort_name, id"),
+        @Index(name = "idx_canonical_game_rating", columnList = "rating, id"),
+        @Index(name = "idx_canonical_game_completeness", columnList = "completeness, id")
 })
 public class CanonicalGameEntity {
 
@@ -110,6 +113,22 @@ public class CanonicalGameEntity {
     @Column(name = "metacritic_link")
     private String metacriticLink;
 
+    // Denormalized sort/filter keys, derived from the fields above on every save
+    @Getter
+    @Setter
+    @Column(name = "sort_name")
+    private String sortName;
+
+    @Getter
+    @Setter
+    @Column(name = "rating")
+    private Float rating;
+
+    @Getter
+    @Setter
+    @Column(name = "completeness")
+    private Integer completeness;
+
     public CanonicalGameEntity(String id, String name, SteamRatingEmbeddable steamRating, String thumbnailUrl,
                                Integer steamAppId, String steamName,
                                Long gogId, String gogName, String gogLink,
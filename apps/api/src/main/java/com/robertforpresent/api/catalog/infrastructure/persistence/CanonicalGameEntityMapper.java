@@ -10,6 +10,7 @@ import com.robertforpresent.api.catalog.infrastructure.persistence.steam.SteamRa
 import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
 import java.util.UUID;
 
 
@@ -45,7 +46,7 @@ public class CanonicalGameEntityMapper {
         EpicGameData epicData = domain.getEpicData();
         MetacriticGameData metacriticData = domain.getMetacriticData();
 
-        return new CanonicalGameEntity(
+        CanonicalGameEntity entity = new CanonicalGameEntity(
                 domain.getId().toString(),
                 domain.getName(),
                 steamRating,
@@ -64,6 +65,17 @@ public class CanonicalGameEntityMapper {
                 metacriticData != null ? metacriticData.gameName() : null,
                 metacriticData != null ? metacriticData.link() : null
         );
+        entity.setSortName(toSortName(domain.getName()));
+        entity.setRating(domain.getRating());
+        entity.setCompleteness(domain.getCompleteness());
+        return entity;
+    }
+
+    /**
+     * Case-insensitive sort key for names; also used for indexed name-prefix range scans.
+     */
+    public static String toSortName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
     @Nullable
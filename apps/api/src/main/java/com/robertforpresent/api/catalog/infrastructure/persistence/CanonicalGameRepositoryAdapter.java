@@ -2,8 +2,14 @@ package com.robertforpresent.api.catalog.infrastructure.persistence;
 
 import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import com.robertforpresent.api.shared.persistence.InClauseChunks;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,10 +18,14 @@ import java.util.UUID;
 public class CanonicalGameRepositoryAdapter implements CanonicalGameRepository {
     private final SpringDataCanonicalGameRepository springDataRepository;
     private final CanonicalGameEntityMapper mapper;
+    private final ChangeLogRepository changeLog;
 
-    public CanonicalGameRepositoryAdapter(SpringDataCanonicalGameRepository springDataRepository, CanonicalGameEntityMapper mapper) {
+    public CanonicalGameRepositoryAdapter(SpringDataCanonicalGameRepository springDataRepository,
+                                          CanonicalGameEntityMapper mapper,
+                                          ChangeLogRepository changeLog) {
         this.springDataRepository = springDataRepository;
         this.mapper = mapper;
+        this.changeLog = changeLog;
     }
 
     @Override
@@ -25,12 +35,28 @@ public class CanonicalGameRepositoryAdapter implements CanonicalGameRepository {
 
 
     @Override
+    @Transactional
     public CanonicalGame save(CanonicalGame game) {
         CanonicalGameEntity entity = mapper.toEntity(game);
         CanonicalGameEntity saved = springDataRepository.save(entity);
+        changeLog.recordCatalogChange(game.getId(), ChangeType.UPSERT);
         return mapper.toDomain(saved);
     }
 
+    @Override
+    @Transactional
+    public List<CanonicalGame> saveAll(Collection<CanonicalGame> games) {
+        if (games.isEmpty()) {
+            return List.of();
+        }
+        List<CanonicalGameEntity> entities = games.stream().map(mapper::toEntity).toList();
+        List<CanonicalGameEntity> saved = springDataRepository.saveAll(entities);
+        for (CanonicalGame game : games) {
+            changeLog.recordCatalogChange(game.getId(), ChangeType.UPSERT);
+        }
+        return saved.stream().map(mapper::toDomain).toList();
+    }
+
     @Override
     public List<CanonicalGame> findAll() {
         return springDataRepository.findAll().stream().map(mapper::toDomain).toList();
@@ -41,6 +67,16 @@ public class CanonicalGameRepositoryAdapter implements CanonicalGameRepository {
         return springDataRepository.findBySteamAppId(steamAppId).map(mapper::toDomain);
     }
 
+    @Override
+    public List<CanonicalGame> findBySteamAppIds(Collection<Integer> steamAppIds) {
+        List<Integer> ids = List.copyOf(steamAppIds);
+        List<CanonicalGame> games = new ArrayList<>();
+        for (List<Integer> chunk : InClauseChunks.of(ids)) {
+            springDataRepository.findBySteamAppIdIn(chunk).stream().map(mapper::toDomain).forEach(games::add);
+        }
+        return games;
+    }
+
     @Override
     public List<CanonicalGame> findByNameContainingIgnoreCase(String name) {
         return springDataRepository.findByNameContainingIgnoreCase(name).stream()
@@ -56,14 +92,18 @@ public class CanonicalGameRepositoryAdapter implements CanonicalGameRepository {
     @Override
     public List<CanonicalGame> findAllByIds(List<UUID> ids) {
         List<String> stringIds = ids.stream().map(UUID::toString).toList();
-        return springDataRepository.findAllByIdIn(stringIds).stream()
-                .map(mapper::toDomain)
-                .toList();
+        List<CanonicalGame> games = new ArrayList<>();
+        for (List<String> chunk : InClauseChunks.of(stringIds)) {
+            springDataRepository.findAllByIdIn(chunk).stream().map(mapper::toDomain).forEach(games::add);
+        }
+        return games;
     }
 
     @Override
+    @Transactional
     public void deleteById(UUID id) {
         springDataRepository.deleteById(id.toString());
+        changeLog.recordCatalogChange(id, ChangeType.DELETE);
     }
 
     @Override
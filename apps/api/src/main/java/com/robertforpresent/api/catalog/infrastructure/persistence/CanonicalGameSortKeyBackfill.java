@@ -0,0 +1,40 @@
+package com.robertforpresent.api.catalog.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Fills the denormalized sort keys (sort name, rating, completeness) of catalog rows
+ * that were stored before these columns existed. Runs once per startup and is a no-op afterwards.
+ */
+@Slf4j
+@Component
+public class CanonicalGameSortKeyBackfill implements ApplicationRunner {
+    private final SpringDataCanonicalGameRepository jpaRepository;
+    private final CanonicalGameEntityMapper mapper;
+
+    public CanonicalGameSortKeyBackfill(SpringDataCanonicalGameRepository jpaRepository, CanonicalGameEntityMapper mapper) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        List<CanonicalGameEntity> missing = jpaRepository.findBySortNameIsNullOrRatingIsNullOrCompletenessIsNull();
+        if (missing.isEmpty()) {
+            return;
+        }
+        // Written directly, not through the adapter: derived columns are no catalog change for the change log
+        List<CanonicalGameEntity> filled = missing.stream()
+                .map(entity -> mapper.toEntity(mapper.toDomain(entity)))
+                .toList();
+        jpaRepository.saveAll(filled);
+        log.info("Backfilled sort keys for {} catalog games", filled.size());
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,8 @@ import java.util.Optional;
 public interface SpringDataCanonicalGameRepository extends JpaRepository<CanonicalGameEntity, String> {
     Optional<CanonicalGameEntity> findBySteamAppId(Integer steamAppId);
 
+    List<CanonicalGameEntity> findBySteamAppIdIn(Collection<Integer> steamAppIds);
+
     List<CanonicalGameEntity> findByNameContainingIgnoreCase(String name);
 
     @Query("SELECT g FROM CanonicalGameEntity g WHERE LOWER(g.name) = LOWER(:name)")
@@ -30,4 +33,9 @@ public interface SpringDataCanonicalGameRepository extends JpaRepository<Canonic
            "GROUP BY LOWER(TRIM(g2.name)) HAVING COUNT(g2) > 1) " +
            "ORDER BY LOWER(TRIM(g.name))")
     List<CanonicalGameEntity> findGamesWithDuplicateNames();
+
+    /**
+     * Rows written before the denormalized sort keys existed.
+     */
+    List<CanonicalGameEntity> findBySortNameIsNullOrRatingIsNullOrCompletenessIsNull();
 }
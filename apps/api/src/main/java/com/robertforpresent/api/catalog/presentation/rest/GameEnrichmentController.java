@@ -1,5 +1,6 @@
 package com.robertforpresent.api.catalog.presentation.rest;
 
+import com.robertforpresent.api.catalog.application.service.GameEnrichmentQueue;
 import com.robertforpresent.api.catalog.application.service.GameEnrichmentService;
 import com.robertforpresent.api.catalog.application.service.GameEnrichmentService.EnrichmentBatchResult;
 import com.robertforpresent.api.catalog.application.service.GameEnrichmentService.GameEnrichmentResult;
@@ -22,9 +23,11 @@ public class GameEnrichmentController {
     private static final Logger logger = LoggerFactory.getLogger(GameEnrichmentController.class);
 
     private final GameEnrichmentService enrichmentService;
+    private final GameEnrichmentQueue enrichmentQueue;
 
-    public GameEnrichmentController(GameEnrichmentService enrichmentService) {
+    public GameEnrichmentController(GameEnrichmentService enrichmentService, GameEnrichmentQueue enrichmentQueue) {
         this.enrichmentService = enrichmentService;
+        this.enrichmentQueue = enrichmentQueue;
     }
 
     /**
@@ -69,6 +72,14 @@ public class GameEnrichmentController {
         }
     }
 
+    /**
+     * Progress of the background enrichment of fast-imported games.
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<GameEnrichmentQueue.QueueStatus> getQueueStatus() {
+        return ResponseEntity.ok(enrichmentQueue.getStatus());
+    }
+
     /**
      * Get list of all available enrichment providers and their status.
      *
@@ -30,14 +30,17 @@ public class GameImportController {
 
     /**
      * Import multiple games from a store in bulk.
+     *
+     * @param fast Queue new games for background enrichment instead of leaving them with the import data only
      */
     @PostMapping("/bulk")
-    public ResponseEntity<BulkImportResponse> bulkImport(@RequestBody List<GameImportRequest> requests) {
+    public ResponseEntity<BulkImportResponse> bulkImport(@RequestBody List<GameImportRequest> requests,
+                                                         @RequestParam(defaultValue = "false") boolean fast) {
         List<ImportGameCommand> commands = requests.stream()
                 .map(this::toCommand)
                 .toList();
 
-        BulkImportResult result = importService.importGames(commands, DEFAULT_GAMER_ID);
+        BulkImportResult result = importService.importGames(commands, DEFAULT_GAMER_ID, fast);
 
         return ResponseEntity.ok(toResponse(result));
     }
@@ -41,7 +41,8 @@ public class StoreStatsController {
             store.code(),
             store.name(),
             store.url(),
-            store.iconUrl()
+            store.iconUrl(),
+            store.iconUrl() != null ? "/media/store-icon/" + store.code() : null
         );
     }
 
@@ -66,7 +67,10 @@ public class StoreStatsController {
     }
 
     // Response DTOs
-    public record StoreResponse(String id, String code, String name, String url, String iconUrl) {}
+    /**
+     * @param cachedIconUrl Path of the icon in the local media cache, relative to the API base URL
+     */
+    public record StoreResponse(String id, String code, String name, String url, String iconUrl, String cachedIconUrl) {}
 
     public record StoreStatsResponse(
             int totalGames,
@@ -0,0 +1,132 @@
+package com.robertforpresent.api.changelog.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.changelog.domain.model.ChangeLogEntry;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.service.GamerCollectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Application service for delta synchronisation of catalog and collection.
+ *
+ * <p>Clients remember the {@code nextSeq} of their last sync and only fetch what changed since.
+ * Multiple changes of the same game within one page are collapsed into the latest one,
+ * so every game shows up either as an upsert or as a tombstone, never both.</p>
+ */
+@Slf4j
+@Service
+public class DeltaSyncService {
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 5000;
+
+    private final ChangeLogRepository changeLog;
+    private final CatalogService catalogService;
+    private final GamerCollectionService collectionService;
+
+    public DeltaSyncService(ChangeLogRepository changeLog,
+                            CatalogService catalogService,
+                            GamerCollectionService collectionService) {
+        this.changeLog = changeLog;
+        this.catalogService = catalogService;
+        this.collectionService = collectionService;
+    }
+
+    public CatalogDelta getCatalogChanges(long sinceSeq, Integer limit) {
+        int effectiveLimit = effectiveLimit(limit);
+        List<ChangeLogEntry> entries = changeLog.findCatalogChangesSince(Math.max(sinceSeq, 0), effectiveLimit);
+        Map<UUID, ChangeType> latest = collapse(entries);
+
+        Map<UUID, CanonicalGame> gamesById = catalogService.getByIds(idsOf(latest, ChangeType.UPSERT));
+        List<UUID> tombstones = tombstones(latest, gamesById.keySet());
+        List<CanonicalGame> upserts = latest.keySet().stream()
+                .filter(gamesById::containsKey)
+                .map(gamesById::get)
+                .toList();
+
+        log.debug("Catalog delta since {}: {} upserts, {} tombstones", sinceSeq, upserts.size(), tombstones.size());
+        return new CatalogDelta(nextSeq(entries, sinceSeq), entries.size() == effectiveLimit, upserts, tombstones);
+    }
+
+    public CollectionDelta getCollectionChanges(UUID gamerId, long sinceSeq, Integer limit) {
+        int effectiveLimit = effectiveLimit(limit);
+        List<ChangeLogEntry> entries = changeLog.findCollectionChangesSince(gamerId, Math.max(sinceSeq, 0), effectiveLimit);
+        Map<UUID, ChangeType> latest = collapse(entries);
+
+        List<CollectionGameView> upserts = collectionService.getCollectionViews(gamerId, idsOf(latest, ChangeType.UPSERT));
+        Set<UUID> present = upserts.stream().map(CollectionGameView::id).collect(Collectors.toSet());
+        List<UUID> tombstones = tombstones(latest, present);
+
+        log.debug("Collection delta for gamer {} since {}: {} upserts, {} tombstones",
+                gamerId, sinceSeq, upserts.size(), tombstones.size());
+        return new CollectionDelta(nextSeq(entries, sinceSeq), entries.size() == effectiveLimit, upserts, tombstones);
+    }
+
+    /**
+     * Keep only the latest change per game, preserving the order of first appearance.
+     */
+    private Map<UUID, ChangeType> collapse(List<ChangeLogEntry> entries) {
+        Map<UUID, ChangeType> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            latest.put(entry.gameId(), entry.type());
+        }
+        return latest;
+    }
+
+    private List<UUID> idsOf(Map<UUID, ChangeType> latest, ChangeType type) {
+        return latest.entrySet().stream()
+                .filter(e -> e.getValue() == type)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Deleted games, plus upserted games that no longer resolve (e.g. deleted after the page boundary).
+     */
+    private List<UUID> tombstones(Map<UUID, ChangeType> latest, Set<UUID> resolved) {
+        List<UUID> tombstones = new ArrayList<>();
+        for (Map.Entry<UUID, ChangeType> entry : latest.entrySet()) {
+            if (entry.getValue() == ChangeType.DELETE || !resolved.contains(entry.getKey())) {
+                tombstones.add(entry.getKey());
+            }
+        }
+        return tombstones;
+    }
+
+    private long nextSeq(List<ChangeLogEntry> entries, long sinceSeq) {
+        return entries.isEmpty() ? Math.max(sinceSeq, 0) : entries.getLast().seq();
+    }
+
+    private int effectiveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Result records
+    public record CatalogDelta(
+            long nextSeq,
+            boolean hasMore,
+            List<CanonicalGame> upserts,
+            List<UUID> tombstones
+    ) {}
+
+    public record CollectionDelta(
+            long nextSeq,
+            boolean hasMore,
+            List<CollectionGameView> upserts,
+            List<UUID> tombstones
+    ) {}
+}
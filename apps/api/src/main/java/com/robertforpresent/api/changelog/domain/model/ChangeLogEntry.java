@@ -0,0 +1,26 @@
+package com.robertforpresent.api.changelog.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A single append-only change log entry.
+ *
+ * @param seq       Monotonically increasing sequence number, used as sync cursor
+ * @param scope     Whether the catalog or a gamer's collection changed
+ * @param gamerId   The gamer owning the change (only for {@link ChangeScope#COLLECTION})
+ * @param gameId    The canonical game ID affected by the change
+ * @param type      Upsert or tombstone
+ * @param changedAt When the change was recorded
+ */
+public record ChangeLogEntry(
+        long seq,
+        ChangeScope scope,
+        @Nullable UUID gamerId,
+        UUID gameId,
+        ChangeType type,
+        Instant changedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.robertforpresent.api.changelog.domain.model;
+
+/**
+ * The part of the data model a change log entry belongs to.
+ */
+public enum ChangeScope {
+    /** A canonical game changed. Visible to every client. */
+    CATALOG,
+    /** A gamer's personalized game changed. Visible to that gamer only. */
+    COLLECTION
+}
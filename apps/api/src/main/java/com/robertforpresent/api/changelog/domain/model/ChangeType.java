@@ -0,0 +1,11 @@
+package com.robertforpresent.api.changelog.domain.model;
+
+/**
+ * Kind of change recorded in the change log.
+ */
+public enum ChangeType {
+    /** The entry was created or updated; clients should (re-)fetch it. */
+    UPSERT,
+    /** The entry no longer exists; clients should drop it. */
+    DELETE
+}
@@ -0,0 +1,34 @@
+package com.robertforpresent.api.changelog.domain.repository;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeLogEntry;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Append-only log of catalog and collection changes.
+ * Entries are written in the same transaction as the change itself,
+ * so a client that has seen sequence number N has seen every change up to N.
+ */
+public interface ChangeLogRepository {
+    void recordCatalogChange(UUID gameId, ChangeType type);
+
+    void recordCollectionChange(UUID gamerId, UUID gameId, ChangeType type);
+
+    /**
+     * Find catalog changes with a sequence number greater than {@code sinceSeq}, oldest first.
+     */
+    List<ChangeLogEntry> findCatalogChangesSince(long sinceSeq, int limit);
+
+    /**
+     * Find changes relevant to a gamer's collection with a sequence number greater than {@code sinceSeq}, oldest first.
+     * Includes the gamer's own collection changes as well as catalog changes of games in the gamer's collection.
+     */
+    List<ChangeLogEntry> findCollectionChangesSince(UUID gamerId, long sinceSeq, int limit);
+
+    /**
+     * @return The highest sequence number written so far, or 0 if the log is empty
+     */
+    long latestSeq();
+}
@@ -0,0 +1,53 @@
+package com.robertforpresent.api.changelog.infrastructure.persistence;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeScope;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for the append-only change log.
+ * The auto-incremented sequence number doubles as the delta-sync cursor.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_scope_seq", columnList = "scope, seq"),
+        @Index(name = "idx_change_log_gamer_seq", columnList = "gamer_id, seq")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeLogEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChangeScope scope;
+
+    @Column(name = "gamer_id")
+    private String gamerId;
+
+    @Column(name = "game_id", nullable = false)
+    private String gameId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ChangeType type;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    public ChangeLogEntity(ChangeScope scope, String gamerId, String gameId, ChangeType type, Instant changedAt) {
+        this.scope = scope;
+        this.gamerId = gamerId;
+        this.gameId = gameId;
+        this.type = type;
+        this.changedAt = changedAt;
+    }
+}
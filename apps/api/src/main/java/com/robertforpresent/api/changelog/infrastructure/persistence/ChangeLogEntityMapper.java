@@ -0,0 +1,23 @@
+package com.robertforpresent.api.changelog.infrastructure.persistence;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeLogEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Mapper for converting ChangeLogEntity to the ChangeLogEntry domain model.
+ */
+@Component
+public class ChangeLogEntityMapper {
+    public ChangeLogEntry toDomain(ChangeLogEntity entity) {
+        return new ChangeLogEntry(
+                entity.getSeq(),
+                entity.getScope(),
+                entity.getGamerId() != null ? UUID.fromString(entity.getGamerId()) : null,
+                UUID.fromString(entity.getGameId()),
+                entity.getType(),
+                entity.getChangedAt()
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package com.robertforpresent.api.changelog.infrastructure.persistence;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeLogEntry;
+import com.robertforpresent.api.changelog.domain.model.ChangeScope;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adapter implementing ChangeLogRepository using Spring Data JPA.
+ * Writes join the caller's transaction, so a change and its log entry commit or roll back together.
+ */
+@Repository
+public class ChangeLogRepositoryAdapter implements ChangeLogRepository {
+    private final SpringDataChangeLogRepository jpaRepository;
+    private final ChangeLogEntityMapper mapper;
+
+    public ChangeLogRepositoryAdapter(SpringDataChangeLogRepository jpaRepository, ChangeLogEntityMapper mapper) {
+        this.jpaRepository = jpaRepository;
+        this.mapper = mapper;
+    }
+
+    @Override
+    @Transactional
+    public void recordCatalogChange(UUID gameId, ChangeType type) {
+        jpaRepository.save(new ChangeLogEntity(ChangeScope.CATALOG, null, gameId.toString(), type, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void recordCollectionChange(UUID gamerId, UUID gameId, ChangeType type) {
+        jpaRepository.save(new ChangeLogEntity(
+                ChangeScope.COLLECTION, gamerId.toString(), gameId.toString(), type, Instant.now()));
+    }
+
+    @Override
+    public List<ChangeLogEntry> findCatalogChangesSince(long sinceSeq, int limit) {
+        return jpaRepository.findByScopeAfter(ChangeScope.CATALOG, sinceSeq, PageRequest.of(0, limit)).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<ChangeLogEntry> findCollectionChangesSince(UUID gamerId, long sinceSeq, int limit) {
+        return jpaRepository.findForGamerAfter(
+                        gamerId.toString(),
+                        sinceSeq,
+                        ChangeScope.COLLECTION,
+                        ChangeScope.CATALOG,
+                        PageRequest.of(0, limit)).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public long latestSeq() {
+        return jpaRepository.findLatestSeq();
+    }
+}
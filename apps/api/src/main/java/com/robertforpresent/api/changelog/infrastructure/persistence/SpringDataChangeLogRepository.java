@@ -0,0 +1,35 @@
+package com.robertforpresent.api.changelog.infrastructure.persistence;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeScope;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface SpringDataChangeLogRepository extends JpaRepository<ChangeLogEntity, Long> {
+
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.scope = :scope AND c.seq > :since ORDER BY c.seq")
+    List<ChangeLogEntity> findByScopeAfter(@Param("scope") ChangeScope scope,
+                                           @Param("since") long since,
+                                           Pageable pageable);
+
+    /**
+     * Changes visible to a gamer: their own collection changes plus catalog changes
+     * of games that are currently part of their collection.
+     */
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.seq > :since AND (" +
+           "(c.scope = :collectionScope AND c.gamerId = :gamerId) OR " +
+           "(c.scope = :catalogScope AND c.gameId IN " +
+           "(SELECT p.canonicalGameId FROM PersonalizedGameEntity p WHERE p.gamerId = :gamerId))) " +
+           "ORDER BY c.seq")
+    List<ChangeLogEntity> findForGamerAfter(@Param("gamerId") String gamerId,
+                                            @Param("since") long since,
+                                            @Param("collectionScope") ChangeScope collectionScope,
+                                            @Param("catalogScope") ChangeScope catalogScope,
+                                            Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(c.seq), 0) FROM ChangeLogEntity c")
+    long findLatestSeq();
+}
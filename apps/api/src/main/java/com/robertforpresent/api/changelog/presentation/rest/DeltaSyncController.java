@@ -0,0 +1,36 @@
+package com.robertforpresent.api.changelog.presentation.rest;
+
+import com.robertforpresent.api.changelog.application.service.DeltaSyncService;
+import com.robertforpresent.api.changelog.application.service.DeltaSyncService.CatalogDelta;
+import com.robertforpresent.api.changelog.application.service.DeltaSyncService.CollectionDelta;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for delta synchronisation.
+ * Clients pass the {@code nextSeq} of their previous response as {@code since}
+ * and receive only the upserts and tombstones recorded after it.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+public class DeltaSyncController {
+    private final DeltaSyncService deltaSyncService;
+
+    public DeltaSyncController(DeltaSyncService deltaSyncService) {
+        this.deltaSyncService = deltaSyncService;
+    }
+
+    @GetMapping("/catalog/changes")
+    public CatalogDelta getCatalogChanges(@RequestParam(defaultValue = "0") long since,
+                                          @RequestParam(required = false) Integer limit) {
+        return deltaSyncService.getCatalogChanges(since, limit);
+    }
+
+    @GetMapping("/collection/changes")
+    public CollectionDelta getCollectionChanges(@RequestParam UUID userId,
+                                                @RequestParam(defaultValue = "0") long since,
+                                                @RequestParam(required = false) Integer limit) {
+        return deltaSyncService.getCollectionChanges(userId, since, limit);
+    }
+}
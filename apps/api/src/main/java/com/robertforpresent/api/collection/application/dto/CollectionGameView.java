@@ -6,6 +6,8 @@ public record CollectionGameView(
         UUID id,
         String name,
         String thumbnailUrl,
+        // BlurHash preview of the thumbnail, null until computed
+        String thumbnailPlaceholder,
         float rating,
         boolean markedAsPlayed,
         boolean markedAsHidden,
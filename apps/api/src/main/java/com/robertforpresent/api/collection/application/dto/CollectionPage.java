@@ -0,0 +1,14 @@
+package com.robertforpresent.api.collection.application.dto;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of a collection listing.
+ *
+ * @param items      The rows of this page, in sort order
+ * @param nextCursor Opaque cursor to request the next page with, null on the last page
+ */
+public record CollectionPage<T>(List<T> items, @Nullable String nextCursor) {
+}
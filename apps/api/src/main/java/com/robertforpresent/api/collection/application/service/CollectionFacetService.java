@@ -0,0 +1,238 @@
+package com.robertforpresent.api.collection.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.collection.domain.model.Facet;
+import com.robertforpresent.api.collection.domain.model.FacetFilter;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.collection.infrastructure.index.GameOrdinals;
+import com.robertforpresent.api.collection.infrastructure.index.GamerBitmapIndex;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Faceted filtering of a gamer's collection backed by in-memory bitmap indexes.
+ *
+ * <p>An index is built on the first query of a gamer and kept up to date from game update events:
+ * single-game changes update the bits of that game, bulk imports and merges drop the index so it is
+ * rebuilt on the next query.</p>
+ *
+ * <p>Indexes are built outside of any map lock, so a slow build neither blocks other gamers nor
+ * hides the index from concurrent events. An event for a gamer whose index is being built marks the
+ * build as stale: its result still answers the query that started it, but is not cached. At most
+ * {@link #MAX_INDEXES} indexes are kept, unused ones expire.</p>
+ */
+@Slf4j
+@Service
+public class CollectionFacetService {
+    static final int MAX_INDEXES = 1_000;
+    private static final Duration INDEX_IDLE_TIMEOUT = Duration.ofHours(1);
+
+    private final CollectionRepository repository;
+    private final CatalogService catalog;
+    private final GameOrdinals ordinals;
+    private final Cache<UUID, GamerBitmapIndex> indexes = Caffeine.newBuilder()
+            .maximumSize(MAX_INDEXES)
+            .expireAfterAccess(INDEX_IDLE_TIMEOUT)
+            .build();
+    // Builds in progress, so concurrent queries share one build and events can mark it stale
+    private final Map<UUID, IndexBuild> builds = new ConcurrentHashMap<>();
+
+    public CollectionFacetService(CollectionRepository repository, CatalogService catalog, GameOrdinals ordinals) {
+        this.repository = repository;
+        this.catalog = catalog;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Filter the collection and count all facets within the result.
+     */
+    public FacetSearchResult search(UUID gamerId, FacetFilter filter) {
+        GamerBitmapIndex.Result result = getIndex(gamerId).query(filter);
+        return new FacetSearchResult(result.matches().cardinality(), result.counts(), toGameIds(result.matches()));
+    }
+
+    /**
+     * Get the bitmap index of a gamer, building it on first access.
+     */
+    public GamerBitmapIndex getIndex(UUID gamerId) {
+        GamerBitmapIndex cached = indexes.getIfPresent(gamerId);
+        if (cached != null) {
+            return cached;
+        }
+        IndexBuild build = new IndexBuild();
+        IndexBuild running = builds.putIfAbsent(gamerId, build);
+        if (running != null) {
+            return running.result.join();
+        }
+        try {
+            GamerBitmapIndex index = buildIndex(gamerId);
+            if (!build.stale) {
+                indexes.put(gamerId, index);
+                // An event that marked the build stale after the check may have missed the cached index
+                if (build.stale) {
+                    indexes.asMap().remove(gamerId, index);
+                }
+            }
+            build.result.complete(index);
+            return index;
+        } catch (RuntimeException e) {
+            build.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            builds.remove(gamerId, build);
+        }
+    }
+
+    public List<UUID> toGameIds(BitSet bits) {
+        List<UUID> ids = new ArrayList<>(bits.cardinality());
+        bits.stream().forEach(ordinal -> ids.add(ordinals.idOf(ordinal)));
+        return ids;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdate(GameUpdateEvent event) {
+        switch (event.type()) {
+            case LIBRARY_IMPORTED -> {
+                markStale(event.gamerId());
+                indexes.invalidate(event.gamerId());
+            }
+            case GAME_REMOVED -> {
+                // A merge moves collection entries to another game: rebuild affected indexes lazily
+                markStale(null);
+                OptionalInt ordinal = ordinals.find(event.gameId());
+                if (ordinal.isPresent()) {
+                    indexes.asMap().values().removeIf(index -> index.contains(ordinal.getAsInt()));
+                }
+            }
+            case GAME_UPSERTED, FLAGS_CHANGED -> {
+                // Mark running builds before looking at cached indexes, see getIndex
+                markStale(event.gamerId());
+                if (event.gamerId() != null) {
+                    GamerBitmapIndex index = indexes.getIfPresent(event.gamerId());
+                    if (index != null) {
+                        refresh(event.gamerId(), event.gameId(), index);
+                    }
+                } else {
+                    OptionalInt ordinal = ordinals.find(event.gameId());
+                    if (ordinal.isPresent()) {
+                        indexes.asMap().forEach((gamerId, index) -> {
+                            if (index.contains(ordinal.getAsInt())) {
+                                refresh(gamerId, event.gameId(), index);
+                            }
+                        });
+                    }
+                }
+            }
+            case THUMBNAIL_READY, PRICE_DROPPED -> {
+                // Cached thumbnail files and prices do not change any facet
+            }
+        }
+    }
+
+    /**
+     * Keep running builds of the gamer (or of every gamer, for null) out of the cache.
+     */
+    private void markStale(@Nullable UUID gamerId) {
+        if (gamerId == null) {
+            builds.values().forEach(build -> build.stale = true);
+        } else {
+            IndexBuild build = builds.get(gamerId);
+            if (build != null) {
+                build.stale = true;
+            }
+        }
+    }
+
+    private GamerBitmapIndex buildIndex(UUID gamerId) {
+        long start = System.nanoTime();
+        List<PersonalizedGame> personalizedGames = repository.findByGamerId(gamerId);
+        Map<UUID, CanonicalGame> gamesById = catalog.getByIds(
+                personalizedGames.stream().map(PersonalizedGame::getCanonicalGameId).distinct().toList());
+
+        // Duplicate entries of the same game contribute the union of their facets
+        Map<UUID, Set<Facet>> facetsById = new HashMap<>();
+        for (PersonalizedGame pg : personalizedGames) {
+            CanonicalGame canonical = gamesById.get(pg.getCanonicalGameId());
+            if (canonical != null) {
+                facetsById.computeIfAbsent(pg.getCanonicalGameId(), id -> EnumSet.noneOf(Facet.class))
+                        .addAll(facetsOf(pg, canonical));
+            }
+        }
+
+        GamerBitmapIndex index = new GamerBitmapIndex();
+        facetsById.forEach((gameId, facets) -> {
+            int ordinal = ordinals.ordinalOf(gameId);
+            ordinals.setRating(ordinal, gamesById.get(gameId).getRating());
+            index.put(ordinal, facets);
+        });
+        log.debug("Built facet index for gamer {} with {} games in {} µs",
+                gamerId, facetsById.size(), (System.nanoTime() - start) / 1_000);
+        return index;
+    }
+
+    private void refresh(UUID gamerId, UUID gameId, GamerBitmapIndex index) {
+        int ordinal = ordinals.ordinalOf(gameId);
+        List<PersonalizedGame> entries = repository.findByGamerIdAndCanonicalGameIds(gamerId, List.of(gameId));
+        CanonicalGame canonical = entries.isEmpty() ? null : catalog.getByIds(List.of(gameId)).get(gameId);
+        if (canonical == null) {
+            index.remove(ordinal);
+            return;
+        }
+        Set<Facet> facets = EnumSet.noneOf(Facet.class);
+        entries.forEach(pg -> facets.addAll(facetsOf(pg, canonical)));
+        ordinals.setRating(ordinal, canonical.getRating());
+        index.put(ordinal, facets);
+    }
+
+    static Set<Facet> facetsOf(PersonalizedGame pg, CanonicalGame canonical) {
+        Set<Facet> facets = EnumSet.noneOf(Facet.class);
+        if (pg.isMarkedAsPlayed()) facets.add(Facet.PLAYED);
+        if (pg.isMarkedAsHidden()) facets.add(Facet.HIDDEN);
+        if (pg.isMarkedForLater()) facets.add(Facet.LATER);
+
+        if (pg.isOwnedOnSteam()) facets.add(Facet.OWNED_STEAM);
+        if (pg.isOwnedOnGog()) facets.add(Facet.OWNED_GOG);
+        if (pg.isOwnedOnEpic()) facets.add(Facet.OWNED_EPIC);
+        if (pg.isOwnedOnXbox()) facets.add(Facet.OWNED_XBOX);
+        if (pg.isOwnedOnPlayStation()) facets.add(Facet.OWNED_PLAYSTATION);
+
+        if (canonical.getSteamData() != null) facets.add(Facet.ON_STEAM);
+        if (canonical.getGogData() != null) facets.add(Facet.ON_GOG);
+        if (canonical.getEpicData() != null) facets.add(Facet.ON_EPIC);
+        if (canonical.getThumbnailUrl() != null && !canonical.getThumbnailUrl().isBlank()) facets.add(Facet.HAS_THUMBNAIL);
+
+        facets.add(Facet.ratingBucket((int) canonical.getRating()));
+        return facets;
+    }
+
+    /**
+     * A running index build, shared by concurrent queries of the same gamer.
+     */
+    private static final class IndexBuild {
+        final CompletableFuture<GamerBitmapIndex> result = new CompletableFuture<>();
+        volatile boolean stale;
+    }
+
+    // Result records
+    public record FacetSearchResult(int total, Map<Facet, Integer> counts, List<UUID> gameIds) {}
+}
@@ -8,13 +8,22 @@ import com.robertforpresent.api.catalog.domain.model.MetacriticGameData;
 import com.robertforpresent.api.catalog.domain.model.SteamGameData;
 import com.robertforpresent.api.collection.application.dto.AdminGameView;
 import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.dto.CollectionPage;
 import com.robertforpresent.api.collection.application.dto.StoreLinksDTO;
 import com.robertforpresent.api.collection.application.dto.StoreOwnershipDTO;
+import com.robertforpresent.api.collection.domain.model.CollectionCursor;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSlice;
 import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.port.ThumbnailPlaceholderPort;
 import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
 import com.robertforpresent.api.collection.presentation.rest.UpdateFlagsRequest;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,6 +36,8 @@ import java.util.stream.Collectors;
 public class GamerCollectionService {
     private final CollectionRepository repository;
     private final CatalogService catalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThumbnailPlaceholderPort placeholders;
 
     public List<CollectionGameView> getCollection(UUID gamerId) {
         List<PersonalizedGame> personalizedGames = repository.findByGamerId(gamerId);
@@ -42,10 +53,64 @@ public class GamerCollectionService {
 
         List<UUID> canonicalIds = uniqueByCanonicalId.keySet().stream().toList();
         Map<UUID, CanonicalGame> gamesById = catalog.getByIds(canonicalIds);
+        Map<UUID, String> placeholdersById = placeholders.findPlaceholders(canonicalIds);
 
         return uniqueByCanonicalId.values().stream()
                 .filter(pg -> gamesById.containsKey(pg.getCanonicalGameId())) // Skip orphaned records
-                .map(pg -> toView(pg, gamesById.get(pg.getCanonicalGameId())))
+                .map(pg -> toView(pg, gamesById.get(pg.getCanonicalGameId()), placeholdersById.get(pg.getCanonicalGameId())))
+                .toList();
+    }
+
+    /**
+     * Get one page of the collection, filtered and sorted in the database.
+     */
+    public CollectionPage<CollectionGameView> getCollectionPage(UUID gamerId, CollectionQuery query) {
+        return toPage(repository.findPage(gamerId, query), this::toView);
+    }
+
+    /**
+     * Get one page of the admin collection. Completeness is only computed for the rows of the page.
+     */
+    public CollectionPage<AdminGameView> getAdminCollectionPage(UUID gamerId, CollectionQuery query) {
+        return toPage(repository.findPage(gamerId, query), this::toAdminView);
+    }
+
+    private <T> CollectionPage<T> toPage(CollectionSlice slice, RowMapper<T> toRow) {
+        List<UUID> canonicalIds = slice.games().stream().map(PersonalizedGame::getCanonicalGameId).toList();
+        Map<UUID, CanonicalGame> gamesById = catalog.getByIds(canonicalIds);
+        Map<UUID, String> placeholdersById = placeholders.findPlaceholders(canonicalIds);
+
+        List<T> items = slice.games().stream()
+                .filter(pg -> gamesById.containsKey(pg.getCanonicalGameId()))
+                .map(pg -> toRow.map(pg, gamesById.get(pg.getCanonicalGameId()), placeholdersById.get(pg.getCanonicalGameId())))
+                .toList();
+        CollectionCursor next = slice.next();
+        return new CollectionPage<>(items, next != null ? next.encode() : null);
+    }
+
+    /**
+     * Get collection views for a subset of a gamer's games, e.g. the games touched since the last delta sync.
+     * Games that are not (or no longer) in the gamer's collection are omitted.
+     */
+    public List<CollectionGameView> getCollectionViews(UUID gamerId, Collection<UUID> canonicalIds) {
+        if (canonicalIds.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, PersonalizedGame> uniqueByCanonicalId = repository.findByGamerIdAndCanonicalGameIds(gamerId, canonicalIds).stream()
+                .collect(Collectors.toMap(
+                        PersonalizedGame::getCanonicalGameId,
+                        Function.identity(),
+                        this::mergePersonalizedGames,
+                        LinkedHashMap::new
+                ));
+
+        List<UUID> ids = uniqueByCanonicalId.keySet().stream().toList();
+        Map<UUID, CanonicalGame> gamesById = catalog.getByIds(ids);
+        Map<UUID, String> placeholdersById = placeholders.findPlaceholders(ids);
+
+        return uniqueByCanonicalId.values().stream()
+                .filter(pg -> gamesById.containsKey(pg.getCanonicalGameId()))
+                .map(pg -> toView(pg, gamesById.get(pg.getCanonicalGameId()), placeholdersById.get(pg.getCanonicalGameId())))
                 .toList();
     }
 
@@ -66,6 +131,7 @@ public class GamerCollectionService {
                         existing.getSteamPlaytimeMinutes() != null ? existing.getSteamPlaytimeMinutes() : 0,
                         replacement.getSteamPlaytimeMinutes() != null ? replacement.getSteamPlaytimeMinutes() : 0
                 ))
+                .setSteamLastPlayed(latest(existing.getSteamLastPlayed(), replacement.getSteamLastPlayed()))
                 // Merge ownership flags (OR logic - owned on either record = owned)
                 .setOwnedOnSteam(existing.isOwnedOnSteam() || replacement.isOwnedOnSteam())
                 .setOwnedOnGog(existing.isOwnedOnGog() || replacement.isOwnedOnGog())
@@ -76,6 +142,12 @@ public class GamerCollectionService {
                 .build();
     }
 
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
     public List<CollectionGameView> getTop3(UUID gamerId) {
         return getCollection(gamerId).stream()
                 .filter(game -> !game.markedAsPlayed() && !game.markedAsHidden() && !game.markedForLater())
@@ -84,18 +156,25 @@ public class GamerCollectionService {
                 .toList();
     }
 
-    public GamerCollectionService(CollectionRepository repository, CatalogService catalog) {
+    public GamerCollectionService(
+            CollectionRepository repository,
+            CatalogService catalog,
+            ApplicationEventPublisher eventPublisher,
+            ThumbnailPlaceholderPort placeholders) {
         this.repository = repository;
         this.catalog = catalog;
+        this.eventPublisher = eventPublisher;
+        this.placeholders = placeholders;
     }
 
-    private CollectionGameView toView(PersonalizedGame pg, CanonicalGame canonical) {
+    private CollectionGameView toView(PersonalizedGame pg, CanonicalGame canonical, String placeholder) {
         StoreLinksDTO storeLinks = buildStoreLinks(canonical);
         StoreOwnershipDTO storeOwnership = buildStoreOwnership(pg);
         return new CollectionGameView(
                 pg.getCanonicalGameId(),
                 canonical.getName(),
                 canonical.getThumbnailUrl(),
+                placeholder,
                 canonical.getRating(),
                 pg.isMarkedAsPlayed(),
                 pg.isMarkedAsHidden(),
@@ -109,7 +188,9 @@ public class GamerCollectionService {
     public CollectionGameView updateFlags(UUID gamerId, UUID canonicalGameId, UpdateFlagsRequest request) {
         PersonalizedGame game = repository.updateFlags(gamerId, canonicalGameId, request.markedAsPlayed(), request.markedAsHidden(), request.markedForLater());
         CanonicalGame canonical = catalog.get(game.getCanonicalGameId());
-        return toView(game, canonical);
+        eventPublisher.publishEvent(GameUpdateEvent.flagsChanged(gamerId, canonicalGameId));
+        String placeholder = placeholders.findPlaceholders(List.of(canonicalGameId)).get(canonicalGameId);
+        return toView(game, canonical, placeholder);
     }
 
     public List<AdminGameView> getAdminCollection(UUID gamerId) {
@@ -126,10 +207,11 @@ public class GamerCollectionService {
 
         List<UUID> canonicalIds = uniqueByCanonicalId.keySet().stream().toList();
         Map<UUID, CanonicalGame> gamesById = catalog.getByIds(canonicalIds);
+        Map<UUID, String> placeholdersById = placeholders.findPlaceholders(canonicalIds);
 
         return uniqueByCanonicalId.values().stream()
                 .filter(pg -> gamesById.containsKey(pg.getCanonicalGameId())) // Skip orphaned records
-                .map(pg -> toAdminView(pg, gamesById.get(pg.getCanonicalGameId())))
+                .map(pg -> toAdminView(pg, gamesById.get(pg.getCanonicalGameId()), placeholdersById.get(pg.getCanonicalGameId())))
                 .toList();
     }
 
@@ -140,14 +222,13 @@ public class GamerCollectionService {
                 .toList();
     }
 
-    private AdminGameView toAdminView(PersonalizedGame pg, CanonicalGame canonical) {
+    private AdminGameView toAdminView(PersonalizedGame pg, CanonicalGame canonical, String placeholder) {
         SteamGameData steamData = canonical.getSteamData();
         GogGameData gogData = canonical.getGogData();
         EpicGameData epicData = canonical.getEpicData();
         MetacriticGameData metacriticData = canonical.getMetacriticData();
 
-        // Calculate completeness percentage
-        int completeness = calculateCompleteness(canonical);
+        int completeness = canonical.getCompleteness();
 
         // Build IGDB link using the actual slug from IGDB
         Long igdbId = canonical.getIgdbId();
@@ -157,6 +238,7 @@ public class GamerCollectionService {
                 pg.getCanonicalGameId(),
                 canonical.getName(),
                 canonical.getThumbnailUrl(),
+                placeholder,
                 canonical.getRating(),
                 pg.isMarkedAsPlayed(),
                 pg.isMarkedAsHidden(),
@@ -185,34 +267,6 @@ public class GamerCollectionService {
         );
     }
 
-    private int calculateCompleteness(CanonicalGame game) {
-        int total = 6; // Total important fields to track
-        int filled = 0;
-
-        // Check thumbnail
-        if (game.getThumbnailUrl() != null && !game.getThumbnailUrl().isBlank()) filled++;
-
-        // Check IGDB ID
-        if (game.getIgdbId() != null) filled++;
-
-        // Check Steam data
-        SteamGameData steam = game.getSteamData();
-        if (steam != null && steam.appId() != null) filled++;
-
-        // Check GOG data
-        GogGameData gog = game.getGogData();
-        if (gog != null && (gog.gogId() != null || gog.link() != null)) filled++;
-
-        // Check Metacritic data
-        MetacriticGameData mc = game.getMetacriticData();
-        if (mc != null && mc.score() != null) filled++;
-
-        // Check rating (from Steam reviews)
-        if (game.getRating() > 0) filled++;
-
-        return (filled * 100) / total;
-    }
-
     private StoreLinksDTO buildStoreLinks(CanonicalGame canonical) {
         SteamGameData steamData = canonical.getSteamData();
         GogGameData gogData = canonical.getGogData();
@@ -260,4 +314,9 @@ public class GamerCollectionService {
                 pg.getOtherStores()
         );
     }
+
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(PersonalizedGame pg, CanonicalGame canonical, String placeholder);
+    }
 }
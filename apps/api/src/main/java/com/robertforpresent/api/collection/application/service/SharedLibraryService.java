@@ -0,0 +1,93 @@
+package com.robertforpresent.api.collection.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.collection.domain.model.Facet;
+import com.robertforpresent.api.collection.infrastructure.index.GameOrdinals;
+import com.robertforpresent.api.collection.infrastructure.index.GamerBitmapIndex;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the libraries of several gamers ("what can we play together").
+ *
+ * <p>Works on the per-gamer bitmap indexes of {@link CollectionFacetService}: the owned games of a group
+ * are the AND (or OR) of the gamers' member bitsets, finished games are removed with AND-NOT of their
+ * played bitsets. Only the ranked top of the result is loaded from the catalog.</p>
+ */
+@Service
+public class SharedLibraryService {
+    public static final int MAX_GROUP_SIZE = 100;
+
+    private final CollectionFacetService facetService;
+    private final GameOrdinals ordinals;
+    private final CatalogService catalog;
+
+    public SharedLibraryService(CollectionFacetService facetService, GameOrdinals ordinals, CatalogService catalog) {
+        this.facetService = facetService;
+        this.ordinals = ordinals;
+        this.catalog = catalog;
+    }
+
+    /**
+     * Find games owned by all (or any) of the given gamers, ranked by rating.
+     *
+     * @param gamerIds      The group; duplicates are ignored
+     * @param requireAll    true: owned by every gamer, false: owned by at least one
+     * @param excludePlayed Exclude games any gamer of the group marked as played
+     * @param limit         Maximum number of games to return
+     */
+    public SharedLibraryResult findSharedGames(List<UUID> gamerIds, boolean requireAll, boolean excludePlayed, int limit) {
+        List<UUID> group = gamerIds.stream().distinct().toList();
+        if (group.isEmpty() || group.size() > MAX_GROUP_SIZE) {
+            throw new IllegalArgumentException("Group must contain 1 to " + MAX_GROUP_SIZE + " gamers");
+        }
+        List<GamerBitmapIndex> indexes = group.stream().map(facetService::getIndex).toList();
+
+        BitSet result = indexes.getFirst().members();
+        BitSet played = new BitSet();
+        for (GamerBitmapIndex index : indexes) {
+            if (requireAll) {
+                result.and(index.members());
+            } else {
+                result.or(index.members());
+            }
+            if (excludePlayed) {
+                played.or(index.bitmap(Facet.PLAYED));
+            }
+        }
+        result.andNot(played);
+
+        float[] ratings = ordinals.ratings();
+        List<Integer> top = result.stream().boxed()
+                .sorted(Comparator.comparingDouble((Integer ordinal) -> ordinal < ratings.length ? ratings[ordinal] : 0)
+                        .reversed())
+                .limit(limit)
+                .toList();
+
+        List<UUID> topIds = top.stream().map(ordinals::idOf).toList();
+        Map<UUID, CanonicalGame> gamesById = catalog.getByIds(topIds);
+
+        List<SharedGame> games = IntStream.range(0, top.size())
+                .filter(i -> gamesById.containsKey(topIds.get(i)))
+                .mapToObj(i -> {
+                    int ordinal = top.get(i);
+                    CanonicalGame game = gamesById.get(topIds.get(i));
+                    int owners = (int) indexes.stream().filter(index -> index.contains(ordinal)).count();
+                    return new SharedGame(game.getId(), game.getName(), game.getThumbnailUrl(), game.getRating(), owners);
+                })
+                .toList();
+        return new SharedLibraryResult(result.cardinality(), games);
+    }
+
+    // Result records
+    public record SharedGame(UUID gameId, String name, String thumbnailUrl, float rating, int owners) {}
+
+    public record SharedLibraryResult(int total, List<SharedGame> games) {}
+}
@@ -0,0 +1,49 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in a sorted collection: the sort value and game ID of the last row returned.
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ *
+ * @param sortKey   The sort key the cursor was created for
+ * @param sortValue The sort value of the last row, as string
+ * @param gameId    The canonical game ID of the last row (tie-breaker)
+ */
+public record CollectionCursor(CollectionSortKey sortKey, String sortValue, UUID gameId) {
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @throws IllegalArgumentException if the sort value does not fit the sort key
+     */
+    public CollectionCursor {
+        sortKey.parseValue(sortValue);
+    }
+
+    /**
+     * The sort value parsed to the type of the sort key's column.
+     */
+    public Object typedSortValue() {
+        return sortKey.parseValue(sortValue);
+    }
+
+    public String encode() {
+        String raw = sortKey.name() + SEPARATOR + gameId + SEPARATOR + sortValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor is malformed or its sort value does not fit its sort key
+     */
+    public static CollectionCursor decode(String encoded) {
+        String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        // Sort value goes last: names may contain the separator
+        String[] parts = raw.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new CollectionCursor(CollectionSortKey.valueOf(parts[0]), parts[2], UUID.fromString(parts[1]));
+    }
+}
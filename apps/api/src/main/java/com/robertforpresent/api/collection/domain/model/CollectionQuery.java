@@ -0,0 +1,47 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Filter, sort and page parameters for a keyset-paginated collection query.
+ * Null filters are not applied.
+ *
+ * @param ownedOn         Only games owned on at least one of these stores (empty = any)
+ * @param played          Filter on the played flag
+ * @param hidden          Filter on the hidden flag
+ * @param forLater        Filter on the later flag
+ * @param minRating       Minimum catalog rating
+ * @param namePrefix      Case-insensitive name prefix
+ * @param minCompleteness Minimum completeness percentage (inclusive)
+ * @param maxCompleteness Maximum completeness percentage (inclusive)
+ * @param sortKey         Sort key
+ * @param descending      Sort direction
+ * @param after           Cursor of the last row of the previous page, null for the first page
+ * @param limit           Page size
+ */
+public record CollectionQuery(
+        Set<OwnedStore> ownedOn,
+        @Nullable Boolean played,
+        @Nullable Boolean hidden,
+        @Nullable Boolean forLater,
+        @Nullable Float minRating,
+        @Nullable String namePrefix,
+        @Nullable Integer minCompleteness,
+        @Nullable Integer maxCompleteness,
+        CollectionSortKey sortKey,
+        boolean descending,
+        @Nullable CollectionCursor after,
+        int limit
+) {
+    public CollectionQuery {
+        ownedOn = Set.copyOf(ownedOn);
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        if (after != null && after.sortKey() != sortKey) {
+            throw new IllegalArgumentException("Cursor was created for sort key " + after.sortKey());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated collection query, in sort order.
+ *
+ * @param games The games of this page
+ * @param next  Cursor for the following page, null if this is the last page
+ */
+public record CollectionSlice(List<PersonalizedGame> games, @Nullable CollectionCursor next) {
+}
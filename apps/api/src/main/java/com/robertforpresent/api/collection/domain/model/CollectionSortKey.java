@@ -0,0 +1,51 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import java.util.Locale;
+
+/**
+ * Sort keys supported by paginated collection queries. Each key is backed by an index.
+ */
+public enum CollectionSortKey {
+    RATING(true),
+    NAME(false),
+    PLAYTIME(true),
+    COMPLETENESS(true);
+
+    private final boolean descendingByDefault;
+
+    CollectionSortKey(boolean descendingByDefault) {
+        this.descendingByDefault = descendingByDefault;
+    }
+
+    public boolean isDescendingByDefault() {
+        return descendingByDefault;
+    }
+
+    /**
+     * Parse a sort value of this key from its string form in a cursor.
+     *
+     * @throws IllegalArgumentException if the value is not valid for this key
+     */
+    public Object parseValue(String value) {
+        return switch (this) {
+            case RATING -> {
+                float rating = Float.parseFloat(value);
+                if (!Float.isFinite(rating)) {
+                    throw new IllegalArgumentException("Invalid rating: " + value);
+                }
+                yield rating;
+            }
+            case NAME -> value;
+            case PLAYTIME, COMPLETENESS -> Integer.valueOf(value);
+        };
+    }
+
+    /**
+     * Case-insensitive lookup, e.g. {@code "rating"}.
+     *
+     * @throws IllegalArgumentException if the key is unknown
+     */
+    public static CollectionSortKey parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
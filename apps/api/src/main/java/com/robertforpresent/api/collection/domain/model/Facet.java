@@ -0,0 +1,50 @@
+package com.robertforpresent.api.collection.domain.model;
+
+/**
+ * Filterable attributes of a game in a gamer's collection. Each facet is backed by one bitmap per gamer.
+ */
+public enum Facet {
+    // Personal flags
+    PLAYED(Group.FLAG),
+    HIDDEN(Group.FLAG),
+    LATER(Group.FLAG),
+    // Where the gamer owns the game
+    OWNED_STEAM(Group.OWNED_ON),
+    OWNED_GOG(Group.OWNED_ON),
+    OWNED_EPIC(Group.OWNED_ON),
+    OWNED_XBOX(Group.OWNED_ON),
+    OWNED_PLAYSTATION(Group.OWNED_ON),
+    // Where the catalog knows the game from
+    ON_STEAM(Group.STORE),
+    ON_GOG(Group.STORE),
+    ON_EPIC(Group.STORE),
+    HAS_THUMBNAIL(Group.THUMBNAIL),
+    // Rating buckets (0-100)
+    UNRATED(Group.RATING),
+    RATING_BELOW_50(Group.RATING),
+    RATING_50_TO_69(Group.RATING),
+    RATING_70_TO_84(Group.RATING),
+    RATING_85_PLUS(Group.RATING);
+
+    public enum Group {
+        FLAG, OWNED_ON, STORE, THUMBNAIL, RATING
+    }
+
+    private final Group group;
+
+    Facet(Group group) {
+        this.group = group;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public static Facet ratingBucket(int rating) {
+        if (rating <= 0) return UNRATED;
+        if (rating < 50) return RATING_BELOW_50;
+        if (rating < 70) return RATING_50_TO_69;
+        if (rating < 85) return RATING_70_TO_84;
+        return RATING_85_PLUS;
+    }
+}
@@ -0,0 +1,49 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Facet filter in conjunctive normal form: all clauses must match, a clause matches if any of its terms does.
+ *
+ * <p>Textual form: one string per clause, terms separated by {@code |}, negation by a leading {@code !}.
+ * E.g. {@code ["OWNED_STEAM|OWNED_GOG", "!PLAYED", "RATING_85_PLUS"]} means
+ * (owned on Steam or GOG) and not played and rated 85+.</p>
+ *
+ * @param clauses Clauses, combined with AND; an empty list matches the whole collection
+ */
+public record FacetFilter(List<List<Term>> clauses) {
+    public static final FacetFilter NONE = new FacetFilter(List.of());
+
+    public FacetFilter {
+        clauses = clauses.stream().map(List::copyOf).toList();
+    }
+
+    /**
+     * A single, optionally negated facet.
+     */
+    public record Term(Facet facet, boolean negated) {
+    }
+
+    /**
+     * @throws IllegalArgumentException on unknown facets or empty clauses
+     */
+    public static FacetFilter parse(List<String> clauses) {
+        return new FacetFilter(clauses.stream().map(FacetFilter::parseClause).toList());
+    }
+
+    private static List<Term> parseClause(String clause) {
+        List<Term> terms = Arrays.stream(clause.split("\\|"))
+                .map(String::trim)
+                .filter(term -> !term.isEmpty())
+                .map(term -> term.startsWith("!")
+                        ? new Term(Facet.valueOf(term.substring(1).trim().toUpperCase(Locale.ROOT)), true)
+                        : new Term(Facet.valueOf(term.toUpperCase(Locale.ROOT)), false))
+                .toList();
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Empty filter clause");
+        }
+        return terms;
+    }
+}
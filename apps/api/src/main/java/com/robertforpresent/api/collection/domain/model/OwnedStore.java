@@ -0,0 +1,23 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import java.util.Locale;
+
+/**
+ * Stores a gamer can own a game on, as tracked by the ownership flags of {@link PersonalizedGame}.
+ */
+public enum OwnedStore {
+    STEAM,
+    GOG,
+    EPIC,
+    XBOX,
+    PLAYSTATION;
+
+    /**
+     * Case-insensitive lookup, e.g. {@code "gog"}.
+     *
+     * @throws IllegalArgumentException if the store is unknown
+     */
+    public static OwnedStore parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,5 +1,6 @@
 package com.robertforpresent.api.collection.domain.model;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -12,6 +13,7 @@ public class PersonalizedGame {
     private boolean markedAsHidden;
     private boolean markedForLater;
     private Integer steamPlaytimeMinutes; // Total playtime from Steam in minutes
+    private Instant steamLastPlayed; // Last session reported by Steam, null if never played
 
     // Store ownership indicators - tracks which stores the user owns this game in
     private boolean ownedOnSteam;
@@ -30,6 +32,7 @@ public class PersonalizedGame {
         this.markedAsHidden = builder.markAsHidden;
         this.markedForLater = builder.markAsForLater;
         this.steamPlaytimeMinutes = builder.steamPlaytimeMinutes;
+        this.steamLastPlayed = builder.steamLastPlayed;
         this.ownedOnSteam = builder.ownedOnSteam;
         this.ownedOnGog = builder.ownedOnGog;
         this.ownedOnEpic = builder.ownedOnEpic;
@@ -78,6 +81,14 @@ public class PersonalizedGame {
         this.steamPlaytimeMinutes = steamPlaytimeMinutes;
     }
 
+    public Instant getSteamLastPlayed() {
+        return steamLastPlayed;
+    }
+
+    public void setSteamLastPlayed(Instant steamLastPlayed) {
+        this.steamLastPlayed = steamLastPlayed;
+    }
+
     public boolean isOwnedOnSteam() {
         return ownedOnSteam;
     }
@@ -149,6 +160,7 @@ public class PersonalizedGame {
         private boolean markAsHidden;
         private boolean markAsForLater;
         private Integer steamPlaytimeMinutes;
+        private Instant steamLastPlayed;
         private boolean ownedOnSteam;
         private boolean ownedOnGog;
         private boolean ownedOnEpic;
@@ -194,6 +206,11 @@ public class PersonalizedGame {
             return this;
         }
 
+        public Builder setSteamLastPlayed(Instant steamLastPlayed) {
+            this.steamLastPlayed = steamLastPlayed;
+            return this;
+        }
+
         public Builder setOwnedOnSteam(boolean ownedOnSteam) {
             this.ownedOnSteam = ownedOnSteam;
             return this;
@@ -0,0 +1,20 @@
+package com.robertforpresent.api.collection.domain.port;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Port for reading thumbnail placeholders from the thumbnail module.
+ * Collection views embed the placeholder so clients can paint a blurred preview
+ * before the thumbnail itself is loaded.
+ */
+public interface ThumbnailPlaceholderPort {
+    /**
+     * Find the placeholders of the given games.
+     *
+     * @param gameIds Canonical game IDs
+     * @return BlurHash strings by game ID; games without a placeholder yet are absent
+     */
+    Map<UUID, String> findPlaceholders(Collection<UUID> gameIds);
+}
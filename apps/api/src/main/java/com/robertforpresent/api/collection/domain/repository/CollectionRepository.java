@@ -1,8 +1,12 @@
 package com.robertforpresent.api.collection.domain.repository;
 
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSlice;
 import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CollectionRepository {
@@ -10,11 +14,38 @@ public interface CollectionRepository {
 
     List<PersonalizedGame> findByGamerId(UUID id);
 
+    /**
+     * Find the personalized entries of a gamer for the given canonical games only.
+     */
+    List<PersonalizedGame> findByGamerIdAndCanonicalGameIds(UUID gamerId, Collection<UUID> canonicalGameIds);
+
+    /**
+     * Find one page of a gamer's collection, filtered and sorted in the database (keyset pagination).
+     */
+    CollectionSlice findPage(UUID gamerId, CollectionQuery query);
+
+    /**
+     * Canonical games any gamer marked for later (their backlog).
+     */
+    Set<UUID> findCanonicalGameIdsMarkedForLater();
+
     PersonalizedGame updateFlags(UUID gamerId, UUID canonicalGameId,
                                  boolean played, boolean hidden, boolean forLater);
 
     PersonalizedGame save(PersonalizedGame game);
 
+    /**
+     * Insert or update many entries of one gamer in a single transaction.
+     * Entries are matched by canonical game ID; existing rows (including duplicates) are updated in place.
+     */
+    void upsertAll(UUID gamerId, Collection<PersonalizedGame> games);
+
+    /**
+     * Like {@link #upsertAll}, but existing rows only take the Steam playtime, last played time and
+     * Steam ownership, so flags changed since the games were read are kept.
+     */
+    void upsertSteamData(UUID gamerId, Collection<PersonalizedGame> games);
+
     /**
      * Update all collection entries from source game to target game.
      * Used when merging duplicate games.
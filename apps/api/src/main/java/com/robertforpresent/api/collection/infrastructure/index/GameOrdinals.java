@@ -0,0 +1,74 @@
+package com.robertforpresent.api.collection.infrastructure.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer ordinals to canonical game IDs, shared by all in-memory bitmap indexes.
+ *
+ * <p>Ordinals are assigned on first use and never reused, so bit positions stay stable
+ * for the lifetime of the process. Removed games simply leave unused positions behind.
+ * The catalog rating of each game is kept by ordinal as well, for ranking bitmap results.</p>
+ */
+@Component
+public class GameOrdinals {
+    private final Map<UUID, Integer> ordinalsById = new ConcurrentHashMap<>();
+    private final List<UUID> idsByOrdinal = new ArrayList<>();
+    private float[] ratingsByOrdinal = new float[1024];
+
+    /**
+     * Get the ordinal of a game, assigning the next free one if the game has none yet.
+     */
+    public int ordinalOf(UUID gameId) {
+        Integer ordinal = ordinalsById.get(gameId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (idsByOrdinal) {
+            return ordinalsById.computeIfAbsent(gameId, id -> {
+                idsByOrdinal.add(id);
+                return idsByOrdinal.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Get the ordinal of a game without assigning one.
+     */
+    public OptionalInt find(UUID gameId) {
+        Integer ordinal = ordinalsById.get(gameId);
+        return ordinal != null ? OptionalInt.of(ordinal) : OptionalInt.empty();
+    }
+
+    public UUID idOf(int ordinal) {
+        synchronized (idsByOrdinal) {
+            return idsByOrdinal.get(ordinal);
+        }
+    }
+
+    public void setRating(int ordinal, float rating) {
+        synchronized (idsByOrdinal) {
+            if (ordinal >= ratingsByOrdinal.length) {
+                ratingsByOrdinal = Arrays.copyOf(ratingsByOrdinal, Math.max(ordinal + 1, ratingsByOrdinal.length * 2));
+            }
+            ratingsByOrdinal[ordinal] = rating;
+        }
+    }
+
+    /**
+     * Snapshot of all catalog ratings, indexed by ordinal (0 for unknown). Kept as floats, so
+     * ranking does not collapse ratings that differ only in their fraction.
+     */
+    public float[] ratings() {
+        synchronized (idsByOrdinal) {
+            return Arrays.copyOf(ratingsByOrdinal, idsByOrdinal.size());
+        }
+    }
+}
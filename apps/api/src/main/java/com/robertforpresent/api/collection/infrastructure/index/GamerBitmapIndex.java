@@ -0,0 +1,127 @@
+package com.robertforpresent.api.collection.infrastructure.index;
+
+import com.robertforpresent.api.collection.domain.model.Facet;
+import com.robertforpresent.api.collection.domain.model.FacetFilter;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index over one gamer's collection: one bitset of game ordinals per {@link Facet},
+ * plus the set of all games in the collection.
+ *
+ * <p>Filters are evaluated with bitwise AND/OR/AND-NOT and facet counts are bitmap cardinalities,
+ * so queries never touch the individual games. Writes replace the bits of a single game.</p>
+ */
+public class GamerBitmapIndex {
+    private final BitSet members = new BitSet();
+    private final Map<Facet, BitSet> bitmaps = new EnumMap<>(Facet.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GamerBitmapIndex() {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new BitSet());
+        }
+    }
+
+    /**
+     * Set the facets of a game, replacing any previous ones.
+     */
+    public void put(int ordinal, Set<Facet> facets) {
+        lock.writeLock().lock();
+        try {
+            members.set(ordinal);
+            bitmaps.forEach((facet, bits) -> bits.set(ordinal, facets.contains(facet)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int ordinal) {
+        lock.writeLock().lock();
+        try {
+            members.clear(ordinal);
+            bitmaps.values().forEach(bits -> bits.clear(ordinal));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(int ordinal) {
+        lock.readLock().lock();
+        try {
+            return members.get(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of the bitset of all games in the collection.
+     */
+    public BitSet members() {
+        lock.readLock().lock();
+        try {
+            return (BitSet) members.clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of the bitset of one facet.
+     */
+    public BitSet bitmap(Facet facet) {
+        lock.readLock().lock();
+        try {
+            return (BitSet) bitmaps.get(facet).clone();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluate a filter and count every facet within the matching games.
+     */
+    public Result query(FacetFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) members.clone();
+            for (var clause : filter.clauses()) {
+                BitSet clauseBits = new BitSet();
+                for (FacetFilter.Term term : clause) {
+                    BitSet facetBits = bitmaps.get(term.facet());
+                    if (term.negated()) {
+                        BitSet complement = (BitSet) members.clone();
+                        complement.andNot(facetBits);
+                        clauseBits.or(complement);
+                    } else {
+                        clauseBits.or(facetBits);
+                    }
+                }
+                matches.and(clauseBits);
+            }
+
+            Map<Facet, Integer> counts = new EnumMap<>(Facet.class);
+            bitmaps.forEach((facet, bits) -> {
+                BitSet intersection = (BitSet) bits.clone();
+                intersection.and(matches);
+                counts.put(facet, intersection.cardinality());
+            });
+            return new Result(matches, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param matches Ordinals of the matching games
+     * @param counts  Number of matching games per facet
+     */
+    public record Result(BitSet matches, Map<Facet, Integer> counts) {
+    }
+}
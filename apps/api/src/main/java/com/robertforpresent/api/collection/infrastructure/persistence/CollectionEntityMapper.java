@@ -11,6 +11,7 @@ public class CollectionEntityMapper {
         return new PersonalizedGame.Builder().setCanonicalId(UUID.fromString(entity.getCanonicalGameId())).setGamerId(UUID.fromString(entity.getGamerId()))
                 .setMarkAsPlayed(entity.isMarkAsPlayed()).setMarkAsHidden(entity.isMarkAsHidden()).setMarkAsForLater(entity.isMarkAsForLater())
                 .setSteamPlaytimeMinutes(entity.getSteamPlaytimeMinutes())
+                .setSteamLastPlayed(entity.getSteamLastPlayed())
                 .setOwnedOnSteam(Boolean.TRUE.equals(entity.getOwnedOnSteam()))
                 .setOwnedOnGog(Boolean.TRUE.equals(entity.getOwnedOnGog()))
                 .setOwnedOnEpic(Boolean.TRUE.equals(entity.getOwnedOnEpic()))
@@ -20,9 +21,37 @@ public class CollectionEntityMapper {
                 .build();
     }
 
+    /**
+     * Copy the domain state onto an existing entity, keeping its ID.
+     */
+    public void updateEntity(PersonalizedGame domain, PersonalizedGameEntity entity) {
+        entity.setMarkAsPlayed(domain.isMarkedAsPlayed());
+        entity.setMarkAsHidden(domain.isMarkedAsHidden());
+        entity.setMarkAsForLater(domain.isMarkedForLater());
+        entity.setSteamPlaytimeMinutes(domain.getSteamPlaytimeMinutes());
+        entity.setSteamLastPlayed(domain.getSteamLastPlayed());
+        entity.setOwnedOnSteam(domain.isOwnedOnSteam());
+        entity.setOwnedOnGog(domain.isOwnedOnGog());
+        entity.setOwnedOnEpic(domain.isOwnedOnEpic());
+        entity.setOwnedOnXbox(domain.isOwnedOnXbox());
+        entity.setOwnedOnPlayStation(domain.isOwnedOnPlayStation());
+        entity.setOtherStores(domain.getOtherStores());
+    }
+
+    /**
+     * Copy only the data synced from Steam onto an existing entity.
+     */
+    public void updateSteamData(PersonalizedGame domain, PersonalizedGameEntity entity) {
+        entity.setSteamPlaytimeMinutes(domain.getSteamPlaytimeMinutes());
+        entity.setSteamLastPlayed(domain.getSteamLastPlayed());
+        entity.setOwnedOnSteam(domain.isOwnedOnSteam());
+    }
+
     public PersonalizedGameEntity toEntity(PersonalizedGame domain) {
-        return new PersonalizedGameEntity(domain.getGamerId().toString(), domain.getCanonicalGameId().toString(),
+        PersonalizedGameEntity entity = new PersonalizedGameEntity(domain.getGamerId().toString(), domain.getCanonicalGameId().toString(),
                 domain.isMarkedAsPlayed(), domain.isMarkedAsHidden(), domain.isMarkedForLater(), domain.getSteamPlaytimeMinutes(),
                 domain.isOwnedOnSteam(), domain.isOwnedOnGog(), domain.isOwnedOnEpic(), domain.isOwnedOnXbox(), domain.isOwnedOnPlayStation(), domain.getOtherStores());
+        entity.setSteamLastPlayed(domain.getSteamLastPlayed());
+        return entity;
     }
 }
@@ -0,0 +1,136 @@
+package com.robertforpresent.api.collection.infrastructure.persistence;
+
+import com.robertforpresent.api.catalog.infrastructure.persistence.CanonicalGameEntityMapper;
+import com.robertforpresent.api.collection.domain.model.CollectionCursor;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSlice;
+import com.robertforpresent.api.collection.domain.model.CollectionSortKey;
+import com.robertforpresent.api.collection.domain.model.OwnedStore;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds and runs the keyset-paginated collection query.
+ *
+ * <p>Filters and sort keys map to indexed columns: flags and playtime on {@code personalized_games},
+ * rating, completeness and the lower-cased sort name on {@code canonical_games}. Instead of an offset,
+ * each page continues strictly after the (sort value, game ID) of the previous page's last row,
+ * so the cost of a page does not grow with the library size or the page number.</p>
+ */
+@Component
+class CollectionPageQuery {
+    private final EntityManager entityManager;
+    private final CollectionEntityMapper mapper;
+
+    CollectionPageQuery(EntityManager entityManager, CollectionEntityMapper mapper) {
+        this.entityManager = entityManager;
+        this.mapper = mapper;
+    }
+
+    CollectionSlice execute(UUID gamerId, CollectionQuery query) {
+        String sortExpression = sortExpression(query.sortKey());
+        String direction = query.descending() ? "DESC" : "ASC";
+
+        StringBuilder jpql = new StringBuilder("SELECT p, ").append(sortExpression)
+                .append(" FROM PersonalizedGameEntity p, CanonicalGameEntity c")
+                .append(" WHERE c.id = p.canonicalGameId AND p.gamerId = :gamerId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("gamerId", gamerId.toString());
+
+        if (!query.ownedOn().isEmpty()) {
+            List<String> ownership = query.ownedOn().stream().map(CollectionPageQuery::ownershipCondition).toList();
+            jpql.append(" AND (").append(String.join(" OR ", ownership)).append(")");
+        }
+        if (query.played() != null) {
+            jpql.append(" AND p.markAsPlayed = :played");
+            params.put("played", query.played());
+        }
+        if (query.hidden() != null) {
+            jpql.append(" AND p.markAsHidden = :hidden");
+            params.put("hidden", query.hidden());
+        }
+        if (query.forLater() != null) {
+            jpql.append(" AND p.markAsForLater = :forLater");
+            params.put("forLater", query.forLater());
+        }
+        if (query.minRating() != null) {
+            jpql.append(" AND c.rating >= :minRating");
+            params.put("minRating", query.minRating());
+        }
+        if (query.namePrefix() != null && !query.namePrefix().isBlank()) {
+            // Range instead of LIKE so the sort_name index can be used
+            String prefix = CanonicalGameEntityMapper.toSortName(query.namePrefix());
+            jpql.append(" AND c.sortName >= :prefixFrom AND c.sortName < :prefixTo");
+            params.put("prefixFrom", prefix);
+            params.put("prefixTo", prefix + Character.MAX_VALUE);
+        }
+        if (query.minCompleteness() != null) {
+            jpql.append(" AND c.completeness >= :minCompleteness");
+            params.put("minCompleteness", query.minCompleteness());
+        }
+        if (query.maxCompleteness() != null) {
+            jpql.append(" AND c.completeness <= :maxCompleteness");
+            params.put("maxCompleteness", query.maxCompleteness());
+        }
+
+        CollectionCursor after = query.after();
+        if (after != null) {
+            String op = query.descending() ? "<" : ">";
+            jpql.append(" AND (").append(sortExpression).append(' ').append(op).append(" :afterValue")
+                    .append(" OR (").append(sortExpression).append(" = :afterValue AND c.id ").append(op).append(" :afterId))");
+            params.put("afterValue", after.typedSortValue());
+            params.put("afterId", after.gameId().toString());
+        }
+
+        jpql.append(" ORDER BY ").append(sortExpression).append(' ').append(direction)
+                .append(", c.id ").append(direction);
+
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(typedQuery::setParameter);
+        // One extra row tells whether there is a next page
+        List<Object[]> rows = typedQuery.setMaxResults(query.limit() + 1).getResultList();
+
+        boolean hasMore = rows.size() > query.limit();
+        List<Object[]> page = hasMore ? rows.subList(0, query.limit()) : rows;
+
+        List<PersonalizedGame> games = new ArrayList<>(page.size());
+        for (Object[] row : page) {
+            games.add(mapper.toDomain((PersonalizedGameEntity) row[0]));
+        }
+
+        CollectionCursor next = null;
+        if (hasMore) {
+            Object[] last = page.getLast();
+            PersonalizedGameEntity lastEntity = (PersonalizedGameEntity) last[0];
+            next = new CollectionCursor(query.sortKey(), String.valueOf(last[1]), UUID.fromString(lastEntity.getCanonicalGameId()));
+        }
+        return new CollectionSlice(games, next);
+    }
+
+    private static String sortExpression(CollectionSortKey sortKey) {
+        return switch (sortKey) {
+            case RATING -> "c.rating";
+            case NAME -> "c.sortName";
+            case PLAYTIME -> "p.playtimeSort";
+            case COMPLETENESS -> "c.completeness";
+        };
+    }
+
+    private static String ownershipCondition(OwnedStore store) {
+        return switch (store) {
+            case STEAM -> "p.ownedOnSteam = true";
+            case GOG -> "p.ownedOnGog = true";
+            case EPIC -> "p.ownedOnEpic = true";
+            case XBOX -> "p.ownedOnXbox = true";
+            case PLAYSTATION -> "p.ownedOnPlayStation = true";
+        };
+    }
+}
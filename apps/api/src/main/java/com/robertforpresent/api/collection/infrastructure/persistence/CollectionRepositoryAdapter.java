@@ -1,22 +1,41 @@
 package com.robertforpresent.api.collection.infrastructure.persistence;
 
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSlice;
 import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
 import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.shared.persistence.InClauseChunks;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 @Repository
 public class CollectionRepositoryAdapter implements CollectionRepository {
     private final SpringDataCollectionRepository jpaRepository;
     private final CollectionEntityMapper mapper;
+    private final ChangeLogRepository changeLog;
+    private final CollectionPageQuery pageQuery;
 
-    public CollectionRepositoryAdapter(SpringDataCollectionRepository jpaRepository, CollectionEntityMapper mapper) {
+    public CollectionRepositoryAdapter(SpringDataCollectionRepository jpaRepository,
+                                       CollectionEntityMapper mapper,
+                                       ChangeLogRepository changeLog,
+                                       CollectionPageQuery pageQuery) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.changeLog = changeLog;
+        this.pageQuery = pageQuery;
     }
 
     @Override
@@ -30,13 +49,92 @@ public class CollectionRepositoryAdapter implements CollectionRepository {
     }
 
     @Override
+    public List<PersonalizedGame> findByGamerIdAndCanonicalGameIds(UUID gamerId, Collection<UUID> canonicalGameIds) {
+        if (canonicalGameIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = canonicalGameIds.stream().map(UUID::toString).distinct().toList();
+        List<PersonalizedGame> games = new ArrayList<>();
+        for (List<String> chunk : InClauseChunks.of(ids)) {
+            jpaRepository.findByGamerIdAndCanonicalGameIdIn(gamerId.toString(), chunk).stream()
+                    .map(mapper::toDomain)
+                    .forEach(games::add);
+        }
+        return games;
+    }
+
+    @Override
+    public Set<UUID> findCanonicalGameIdsMarkedForLater() {
+        return jpaRepository.findCanonicalGameIdsMarkedForLater().stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CollectionSlice findPage(UUID gamerId, CollectionQuery query) {
+        return pageQuery.execute(gamerId, query);
+    }
+
+    @Override
+    @Transactional
     public PersonalizedGame save(PersonalizedGame game) {
         PersonalizedGameEntity entity = mapper.toEntity(game);
         PersonalizedGameEntity saved = jpaRepository.save(entity);
+        changeLog.recordCollectionChange(game.getGamerId(), game.getCanonicalGameId(), ChangeType.UPSERT);
         return mapper.toDomain(saved);
     }
 
+    @Override
+    @Transactional
+    public void upsertAll(UUID gamerId, Collection<PersonalizedGame> games) {
+        upsert(gamerId, games, mapper::updateEntity);
+    }
 
+    @Override
+    @Transactional
+    public void upsertSteamData(UUID gamerId, Collection<PersonalizedGame> games) {
+        upsert(gamerId, games, mapper::updateSteamData);
+    }
+
+    /**
+     * Insert entries missing for the gamer and apply {@code update} to every existing row of the others,
+     * reading the rows inside the caller's transaction.
+     */
+    private void upsert(UUID gamerId, Collection<PersonalizedGame> games,
+                        BiConsumer<PersonalizedGame, PersonalizedGameEntity> update) {
+        if (games.isEmpty()) {
+            return;
+        }
+        List<String> ids = games.stream().map(game -> game.getCanonicalGameId().toString()).distinct().toList();
+        List<PersonalizedGameEntity> existing = new ArrayList<>();
+        for (List<String> chunk : InClauseChunks.of(ids)) {
+            existing.addAll(jpaRepository.findByGamerIdAndCanonicalGameIdIn(gamerId.toString(), chunk));
+        }
+        Map<String, List<PersonalizedGameEntity>> existingByGameId = existing.stream()
+                .collect(Collectors.groupingBy(PersonalizedGameEntity::getCanonicalGameId));
+
+        List<PersonalizedGameEntity> toSave = new ArrayList<>(games.size());
+        for (PersonalizedGame game : games) {
+            List<PersonalizedGameEntity> entities = existingByGameId.get(game.getCanonicalGameId().toString());
+            if (entities == null) {
+                toSave.add(mapper.toEntity(game));
+            } else {
+                // Update all duplicate entries to keep them consistent
+                for (PersonalizedGameEntity entity : entities) {
+                    update.accept(game, entity);
+                    toSave.add(entity);
+                }
+            }
+        }
+        jpaRepository.saveAll(toSave);
+        for (PersonalizedGame game : games) {
+            changeLog.recordCollectionChange(gamerId, game.getCanonicalGameId(), ChangeType.UPSERT);
+        }
+    }
+
+    @Override
+    @Transactional
     public PersonalizedGame updateFlags(UUID gamerId, UUID canonicalGameId, boolean played, boolean hidden, boolean forLater) {
         List<PersonalizedGameEntity> entities = jpaRepository.findByGamerIdAndCanonicalGameId(gamerId.toString(), canonicalGameId.toString());
 
@@ -52,12 +150,25 @@ public class CollectionRepositoryAdapter implements CollectionRepository {
             entity.setMarkAsForLater(forLater);
             jpaRepository.save(entity);
         }
+        changeLog.recordCollectionChange(gamerId, canonicalGameId, ChangeType.UPSERT);
 
         return mapper.toDomain(primaryEntity);
     }
 
     @Override
+    @Transactional
     public void updateCanonicalGameReferences(UUID sourceGameId, UUID targetGameId) {
+        // Capture affected gamers before the bulk update so each of them gets a tombstone and an upsert
+        Set<String> affectedGamerIds = jpaRepository.findByCanonicalGameId(sourceGameId.toString()).stream()
+                .map(PersonalizedGameEntity::getGamerId)
+                .collect(Collectors.toSet());
+
         jpaRepository.updateCanonicalGameReferences(sourceGameId.toString(), targetGameId.toString());
+
+        for (String gamerId : affectedGamerIds) {
+            UUID gamer = UUID.fromString(gamerId);
+            changeLog.recordCollectionChange(gamer, sourceGameId, ChangeType.DELETE);
+            changeLog.recordCollectionChange(gamer, targetGameId, ChangeType.UPSERT);
+        }
     }
 }
@@ -5,9 +5,13 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.Instant;
+
 @Entity
 @Table(name = "personalized_games", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"gamer_id", "canonical_game_id"})
+}, indexes = {
+    @Index(name = "idx_personalized_game_gamer_playtime_sort", columnList = "gamer_id, playtime_sort")
 })
 public class PersonalizedGameEntity {
 
@@ -44,10 +48,19 @@ public class PersonalizedGameEntity {
     private boolean markAsForLater;
 
     @Getter
-    @Setter
     @Column(name = "steam_playtime_minutes")
     private Integer steamPlaytimeMinutes;
 
+    // Playtime with unknown as 0, so sorting by playtime can use an index instead of COALESCE
+    @Getter
+    @Column(name = "playtime_sort")
+    private Integer playtimeSort;
+
+    @Getter
+    @Setter
+    @Column(name = "steam_last_played")
+    private Instant steamLastPlayed;
+
     // Store ownership indicators
     @Getter
     @Setter
@@ -85,7 +98,7 @@ public class PersonalizedGameEntity {
         this.markAsPlayed = markAsPlayed;
         this.markAsHidden = markAsHidden;
         this.markAsForLater = markAsForLater;
-        this.steamPlaytimeMinutes = steamPlaytimeMinutes;
+        setSteamPlaytimeMinutes(steamPlaytimeMinutes);
         this.ownedOnSteam = ownedOnSteam;
         this.ownedOnGog = ownedOnGog;
         this.ownedOnEpic = ownedOnEpic;
@@ -97,7 +110,14 @@ public class PersonalizedGameEntity {
 
     public PersonalizedGameEntity(){}
 
+    public void setSteamPlaytimeMinutes(Integer steamPlaytimeMinutes) {
+        this.steamPlaytimeMinutes = steamPlaytimeMinutes;
+        this.playtimeSort = steamPlaytimeMinutes != null ? steamPlaytimeMinutes : 0;
+    }
+
     public static PersonalizedGameEntity from(PersonalizedGame game){
-        return new PersonalizedGameEntity(game.getGamerId().toString(), game.getCanonicalGameId().toString(), game.isMarkedAsPlayed(), game.isMarkedAsHidden(), game.isMarkedForLater(), game.getSteamPlaytimeMinutes(), game.isOwnedOnSteam(), game.isOwnedOnGog(), game.isOwnedOnEpic(), game.isOwnedOnXbox(), game.isOwnedOnPlayStation(), game.getOtherStores());
+        PersonalizedGameEntity entity = new PersonalizedGameEntity(game.getGamerId().toString(), game.getCanonicalGameId().toString(), game.isMarkedAsPlayed(), game.isMarkedAsHidden(), game.isMarkedForLater(), game.getSteamPlaytimeMinutes(), game.isOwnedOnSteam(), game.isOwnedOnGog(), game.isOwnedOnEpic(), game.isOwnedOnXbox(), game.isOwnedOnPlayStation(), game.getOtherStores());
+        entity.setSteamLastPlayed(game.getSteamLastPlayed());
+        return entity;
     }
 }
@@ -0,0 +1,31 @@
+package com.robertforpresent.api.collection.infrastructure.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Fills the playtime sort key of collection rows that were stored before the column existed.
+ * Runs once per startup and is a no-op afterwards.
+ */
+@Slf4j
+@Component
+public class PersonalizedGameSortKeyBackfill implements ApplicationRunner {
+    private final SpringDataCollectionRepository jpaRepository;
+
+    public PersonalizedGameSortKeyBackfill(SpringDataCollectionRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        // A bulk update, not through the adapter: a derived column is no collection change for the change log
+        int filled = jpaRepository.backfillPlaytimeSort();
+        if (filled > 0) {
+            log.info("Backfilled playtime sort key for {} collection entries", filled);
+        }
+    }
+}
@@ -12,10 +12,19 @@ public interface SpringDataCollectionRepository extends JpaRepository<Personaliz
 
     List<PersonalizedGameEntity> findByGamerIdAndCanonicalGameId(String gamerId, String canonicalGameId);
 
+    List<PersonalizedGameEntity> findByGamerIdAndCanonicalGameIdIn(String gamerId, List<String> canonicalGameIds);
+
     List<PersonalizedGameEntity> findByCanonicalGameId(String canonicalGameId);
 
     void deleteByCanonicalGameId(String canonicalGameId);
 
+    @Query("SELECT DISTINCT p.canonicalGameId FROM PersonalizedGameEntity p WHERE p.markAsForLater = true")
+    List<String> findCanonicalGameIdsMarkedForLater();
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE PersonalizedGameEntity p SET p.playtimeSort = COALESCE(p.steamPlaytimeMinutes, 0) WHERE p.playtimeSort IS NULL")
+    int backfillPlaytimeSort();
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE PersonalizedGameEntity p SET p.canonicalGameId = :targetId WHERE p.canonicalGameId = :sourceId")
     void updateCanonicalGameReferences(@Param("sourceId") String sourceId, @Param("targetId") String targetId);
@@ -0,0 +1,27 @@
+package com.robertforpresent.api.collection.infrastructure.thumbnail;
+
+import com.robertforpresent.api.collection.domain.port.ThumbnailPlaceholderPort;
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailPlaceholderService;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adapter implementing the ThumbnailPlaceholderPort.
+ * Bridges the collection domain to the thumbnail module.
+ */
+@Component
+public class ThumbnailPlaceholderAdapter implements ThumbnailPlaceholderPort {
+    private final ThumbnailPlaceholderService placeholderService;
+
+    public ThumbnailPlaceholderAdapter(ThumbnailPlaceholderService placeholderService) {
+        this.placeholderService = placeholderService;
+    }
+
+    @Override
+    public Map<UUID, String> findPlaceholders(Collection<UUID> gameIds) {
+        return placeholderService.getPlaceholders(gameIds);
+    }
+}
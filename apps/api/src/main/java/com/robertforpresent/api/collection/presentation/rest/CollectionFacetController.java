@@ -0,0 +1,42 @@
+package com.robertforpresent.api.collection.presentation.rest;
+
+import com.robertforpresent.api.collection.application.service.CollectionFacetService;
+import com.robertforpresent.api.collection.domain.model.FacetFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for faceted filtering of a gamer's collection.
+ */
+@RestController
+@RequestMapping("/collection/facets")
+@CrossOrigin(origins = "http://localhost:4200")
+public class CollectionFacetController {
+    private final CollectionFacetService facetService;
+
+    public CollectionFacetController(CollectionFacetService facetService) {
+        this.facetService = facetService;
+    }
+
+    /**
+     * Filter the collection by facets and return the matching game IDs with all facet counts.
+     * Each {@code filter} parameter is one AND-ed clause of OR-ed facets, e.g.
+     * {@code ?filter=OWNED_STEAM|OWNED_GOG&filter=!PLAYED&filter=RATING_85_PLUS}.
+     */
+    @GetMapping
+    public CollectionFacetService.FacetSearchResult search(
+            @RequestParam UUID userId,
+            @RequestParam(required = false) List<String> filter) {
+        FacetFilter facetFilter;
+        try {
+            facetFilter = filter == null ? FacetFilter.NONE : FacetFilter.parse(filter);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return facetService.search(userId, facetFilter);
+    }
+}
@@ -0,0 +1,71 @@
+package com.robertforpresent.api.collection.presentation.rest;
+
+import com.robertforpresent.api.collection.domain.model.CollectionCursor;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSortKey;
+import com.robertforpresent.api.collection.domain.model.OwnedStore;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Query parameters of the paginated collection endpoints, e.g.
+ * {@code ?limit=50&sort=rating&store=steam&store=gog&played=false&minRating=80&cursor=...}.
+ */
+public record CollectionPageParams(
+        @Nullable Integer limit,
+        @Nullable String cursor,
+        @Nullable String sort,
+        @Nullable String order,
+        @Nullable List<String> store,
+        @Nullable Boolean played,
+        @Nullable Boolean hidden,
+        @Nullable Boolean later,
+        @Nullable Float minRating,
+        @Nullable String namePrefix,
+        @Nullable Integer minCompleteness,
+        @Nullable Integer maxCompleteness
+) {
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 200;
+
+    public CollectionQuery toQuery() {
+        try {
+            CollectionSortKey sortKey = sort != null ? CollectionSortKey.parse(sort) : CollectionSortKey.RATING;
+            boolean descending = order != null ? "desc".equalsIgnoreCase(order) : sortKey.isDescendingByDefault();
+            Set<OwnedStore> stores = store == null ? Set.of() : store.stream()
+                    .map(OwnedStore::parse)
+                    .collect(Collectors.toSet());
+            return new CollectionQuery(
+                    stores,
+                    played,
+                    hidden,
+                    later,
+                    minRating,
+                    namePrefix,
+                    minCompleteness,
+                    maxCompleteness,
+                    sortKey,
+                    descending,
+                    cursor != null ? CollectionCursor.decode(cursor) : null,
+                    effectiveLimit()
+            );
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * An empty or non-positive {@code limit} still selects the paginated endpoint and gets the default page size.
+     */
+    private int effectiveLimit() {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -2,6 +2,7 @@ package com.robertforpresent.api.collection.presentation.rest;
 
 import com.robertforpresent.api.collection.application.dto.AdminGameView;
 import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.dto.CollectionPage;
 import com.robertforpresent.api.collection.application.service.GamerCollectionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +29,14 @@ public class GamerCollectionController {
         return service.getCollection(userId);
     }
 
+    /**
+     * Paginated variant of {@link #getCollection(UUID)}, selected when a {@code limit} is given.
+     */
+    @GetMapping(value = "/collection", params = "limit")
+    public CollectionPage<CollectionGameView> getCollectionPage(@RequestParam UUID userId, CollectionPageParams params) {
+        return service.getCollectionPage(userId, params.toQuery());
+    }
+
     @GetMapping("/collection/top")
     public List<TopRankedDTO> getTop3(@RequestParam UUID userId) {
         return service.getTop3(userId).stream().map(mapper::toDto).toList();
@@ -43,6 +52,14 @@ public class GamerCollectionController {
         return service.getAdminCollection(userId);
     }
 
+    /**
+     * Paginated variant of {@link #getAdminCollection(UUID)}, selected when a {@code limit} is given.
+     */
+    @GetMapping(value = "/collection/admin", params = "limit")
+    public CollectionPage<AdminGameView> getAdminCollectionPage(@RequestParam UUID userId, CollectionPageParams params) {
+        return service.getAdminCollectionPage(userId, params.toQuery());
+    }
+
     @GetMapping("/collection/backlog")
     public List<CollectionGameView> getBacklog(@RequestParam UUID userId) {
         return service.getBacklog(userId);
@@ -0,0 +1,43 @@
+package com.robertforpresent.api.collection.presentation.rest;
+
+import com.robertforpresent.api.collection.application.service.SharedLibraryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller comparing the libraries of several gamers.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+public class SharedLibraryController {
+    private final SharedLibraryService sharedLibraryService;
+
+    public SharedLibraryController(SharedLibraryService sharedLibraryService) {
+        this.sharedLibraryService = sharedLibraryService;
+    }
+
+    /**
+     * Games the group can play together, e.g. {@code ?userIds=a&userIds=b&mode=all&excludePlayed=true}.
+     *
+     * @param mode {@code all}: owned by every gamer, {@code any}: owned by at least one
+     */
+    @GetMapping("/collection/shared")
+    public SharedLibraryService.SharedLibraryResult getSharedGames(
+            @RequestParam List<UUID> userIds,
+            @RequestParam(defaultValue = "all") String mode,
+            @RequestParam(defaultValue = "true") boolean excludePlayed,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!mode.equalsIgnoreCase("all") && !mode.equalsIgnoreCase("any")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Mode must be 'all' or 'any'");
+        }
+        try {
+            return sharedLibraryService.findSharedGames(userIds, mode.equalsIgnoreCase("all"), excludePlayed, Math.clamp(limit, 1, 500));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.robertforpresent.api.events.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes game updates to connected dashboards via Server-Sent Events.
+ *
+ * <p>Updates are not sent one by one. Each subscriber has a pending buffer that coalesces
+ * events per game and type; the buffer is flushed as a single {@code updates} event per time window.
+ * A bulk import touching thousands of games therefore results in a handful of messages.
+ * If a buffer exceeds its bound, it is dropped and the client receives a {@code resync} event instead,
+ * so slow clients never build unbounded queues.</p>
+ *
+ * <p>Sends run on virtual threads, never on the scheduler thread, and a subscriber has at most one send in
+ * flight. While it is in flight new updates keep coalescing in the buffer; a send that does not finish
+ * within the send timeout marks a client that fell behind, and its stream is closed.</p>
+ */
+@Slf4j
+@Service
+public class GameEventStreamService {
+    private final Map<UUID, Set<Subscriber>> subscribersByGamer = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final long emitterTimeoutMs;
+    private final int maxPendingPerSubscriber;
+    private final long sendTimeoutMs;
+
+    public GameEventStreamService(
+            @Value("${events.stream.timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${events.stream.max-pending:1000}") int maxPendingPerSubscriber,
+            @Value("${events.stream.send-timeout-ms:5000}") long sendTimeoutMs) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxPendingPerSubscriber = maxPendingPerSubscriber;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @PreDestroy
+    public void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Open a new event stream for a gamer.
+     */
+    public SseEmitter subscribe(UUID gamerId) {
+        return subscribe(gamerId, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(UUID gamerId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribersByGamer.computeIfAbsent(gamerId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+
+        Runnable remove = () -> unsubscribe(gamerId, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        log.debug("Gamer {} subscribed to game updates ({} open streams)", gamerId, countSubscribers());
+        return emitter;
+    }
+
+    /**
+     * Buffer an update for every interested subscriber. Runs after the publishing transaction committed,
+     * so clients never see changes that were rolled back.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdate(GameUpdateEvent event) {
+        if (event.gamerId() != null) {
+            subscribersByGamer.getOrDefault(event.gamerId(), Set.of()).forEach(s -> s.offer(event, maxPendingPerSubscriber));
+        } else {
+            // Catalog-wide change: every open dashboard may display the game
+            subscribersByGamer.values().forEach(set -> set.forEach(s -> s.offer(event, maxPendingPerSubscriber)));
+        }
+    }
+
+    /**
+     * Hand the coalesced updates of every subscriber to a sender thread, once per time window.
+     * Subscribers whose previous send is still running are skipped, or dropped once it exceeds the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${events.stream.flush-interval-ms:500}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        subscribersByGamer.forEach((gamerId, subscribers) -> {
+            for (Subscriber subscriber : subscribers) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince == 0) {
+                    subscriber.takeBatch().ifPresent(event -> send(gamerId, subscriber, event, now));
+                } else if (now - sendingSince > sendTimeoutMs) {
+                    log.debug("Dropping event stream of gamer {}: send blocked for {} ms", gamerId, now - sendingSince);
+                    drop(gamerId, subscriber, null);
+                }
+            }
+        });
+    }
+
+    public int countSubscribers() {
+        return subscribersByGamer.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void send(UUID gamerId, Subscriber subscriber, SseEmitter.SseEventBuilder event, long now) {
+        subscriber.sendingSince = now;
+        sender.execute(() -> {
+            try {
+                subscriber.emitter.send(event);
+                subscriber.sendingSince = 0;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping event stream of gamer {}: {}", gamerId, e.getMessage());
+                drop(gamerId, subscriber, e);
+            }
+        });
+    }
+
+    private void drop(UUID gamerId, Subscriber subscriber, @Nullable Throwable error) {
+        unsubscribe(gamerId, subscriber);
+        try {
+            if (error != null) {
+                subscriber.emitter.completeWithError(error);
+            } else {
+                subscriber.emitter.complete();
+            }
+        } catch (IllegalStateException e) {
+            // Already completed by the container
+        }
+    }
+
+    private void unsubscribe(UUID gamerId, Subscriber subscriber) {
+        subscribersByGamer.computeIfPresent(gamerId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * One open SSE connection with its bounded, coalescing buffer.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<String, GameUpdateEvent> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        // Start of the send in flight in epoch millis, 0 when idle
+        private volatile long sendingSince;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private synchronized void offer(GameUpdateEvent event, int maxPending) {
+            if (overflowed) {
+                return;
+            }
+            // Re-insert so the entry moves to the end and carries the latest timestamp
+            pending.remove(event.coalescingKey());
+            pending.put(event.coalescingKey(), event);
+            if (pending.size() > maxPending) {
+                pending.clear();
+                overflowed = true;
+            }
+        }
+
+        /**
+         * Take the buffered updates as one event, or empty if there is nothing to send.
+         */
+        private Optional<SseEmitter.SseEventBuilder> takeBatch() {
+            List<GameUpdateEvent> batch;
+            boolean resync;
+            synchronized (this) {
+                resync = overflowed;
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                overflowed = false;
+            }
+
+            if (resync) {
+                return Optional.of(SseEmitter.event().name("resync").data("Too many updates, please re-sync"));
+            } else if (!batch.isEmpty()) {
+                return Optional.of(SseEmitter.event().name("updates").data(batch, MediaType.APPLICATION_JSON));
+            }
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.robertforpresent.api.events.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * In-process event describing a change that connected clients may want to display.
+ * Published through Spring's application event bus.
+ *
+ * @param type       Kind of update
+ * @param gamerId    The gamer the update belongs to, or null if it concerns every gamer (catalog changes)
+ * @param gameId     The canonical game ID, or null for collection-wide updates
+ * @param occurredAt When the update happened
+ */
+public record GameUpdateEvent(
+        GameUpdateType type,
+        @Nullable UUID gamerId,
+        @Nullable UUID gameId,
+        Instant occurredAt
+) {
+    public static GameUpdateEvent gameUpserted(UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.GAME_UPSERTED, null, gameId, Instant.now());
+    }
+
+    public static GameUpdateEvent gameUpserted(UUID gamerId, UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.GAME_UPSERTED, gamerId, gameId, Instant.now());
+    }
+
+    public static GameUpdateEvent gameRemoved(UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.GAME_REMOVED, null, gameId, Instant.now());
+    }
+
+    public static GameUpdateEvent flagsChanged(UUID gamerId, UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.FLAGS_CHANGED, gamerId, gameId, Instant.now());
+    }
+
+    public static GameUpdateEvent thumbnailReady(UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.THUMBNAIL_READY, null, gameId, Instant.now());
+    }
+
+    public static GameUpdateEvent libraryImported(UUID gamerId) {
+        return new GameUpdateEvent(GameUpdateType.LIBRARY_IMPORTED, gamerId, null, Instant.now());
+    }
+
+    public static GameUpdateEvent priceDropped(UUID gameId) {
+        return new GameUpdateEvent(GameUpdateType.PRICE_DROPPED, null, gameId, Instant.now());
+    }
+
+    /**
+     * Key under which events are coalesced: later events with the same key replace earlier ones.
+     */
+    public String coalescingKey() {
+        return type + ":" + (gameId != null ? gameId : gamerId);
+    }
+}
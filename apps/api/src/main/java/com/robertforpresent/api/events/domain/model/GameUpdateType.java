@@ -0,0 +1,19 @@
+package com.robertforpresent.api.events.domain.model;
+
+/**
+ * Kinds of fine-grained updates pushed to connected dashboards.
+ */
+public enum GameUpdateType {
+    /** Catalog data of a game changed (name, rating, store data, thumbnail URL). */
+    GAME_UPSERTED,
+    /** A game was removed from the catalog, e.g. merged into a duplicate. */
+    GAME_REMOVED,
+    /** A gamer changed the played/hidden/later flags of a game. */
+    FLAGS_CHANGED,
+    /** A thumbnail was downloaded and can now be served from the local cache. */
+    THUMBNAIL_READY,
+    /** A bulk import finished; clients should re-sync the affected collection. */
+    LIBRARY_IMPORTED,
+    /** A tracked game went on sale or got cheaper. */
+    PRICE_DROPPED
+}
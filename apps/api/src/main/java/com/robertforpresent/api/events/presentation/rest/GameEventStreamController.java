@@ -0,0 +1,29 @@
+package com.robertforpresent.api.events.presentation.rest;
+
+import com.robertforpresent.api.events.application.service.GameEventStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * REST controller exposing a Server-Sent Events stream of game updates per gamer.
+ */
+@RestController
+@CrossOrigin(origins = "http://localhost:4200")
+public class GameEventStreamController {
+    private final GameEventStreamService streamService;
+
+    public GameEventStreamController(GameEventStreamService streamService) {
+        this.streamService = streamService;
+    }
+
+    /**
+     * Subscribe to coalesced game updates (upserts, flag changes, ready thumbnails, finished imports).
+     */
+    @GetMapping(value = "/collection/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam UUID userId) {
+        return streamService.subscribe(userId);
+    }
+}
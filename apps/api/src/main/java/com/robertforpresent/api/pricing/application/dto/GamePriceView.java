@@ -0,0 +1,23 @@
+package com.robertforpresent.api.pricing.application.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Current and lowest known Steam price of a catalog game. Amounts are in cents.
+ *
+ * @param observedAt   Last poll that confirmed the current price
+ * @param lowestCents  Lowest price to pay ever recorded
+ * @param lowestSeenAt Last time the lowest price was seen
+ */
+public record GamePriceView(
+        UUID gameId,
+        int steamAppId,
+        String currency,
+        int initialCents,
+        int currentCents,
+        int discountPercent,
+        Instant observedAt,
+        int lowestCents,
+        Instant lowestSeenAt
+) {}
@@ -0,0 +1,15 @@
+package com.robertforpresent.api.pricing.application.dto;
+
+import java.time.Instant;
+
+/**
+ * One run of an unchanged price, from the first to the last poll that saw it. Amounts are in cents.
+ */
+public record PriceHistoryEntry(
+        String currency,
+        int initialCents,
+        int finalCents,
+        int discountPercent,
+        Instant from,
+        Instant until
+) {}
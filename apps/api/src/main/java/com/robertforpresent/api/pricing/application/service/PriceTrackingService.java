@@ -0,0 +1,169 @@
+package com.robertforpresent.api.pricing.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.pricing.application.dto.GamePriceView;
+import com.robertforpresent.api.pricing.application.dto.PriceHistoryEntry;
+import com.robertforpresent.api.pricing.domain.model.PricePoint;
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+import com.robertforpresent.api.pricing.domain.port.PriceFeed;
+import com.robertforpresent.api.pricing.domain.port.TrackedGameCatalog;
+import com.robertforpresent.api.pricing.domain.repository.PricePointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks Steam prices of backlog games to surface sales.
+ *
+ * <p>A scheduled poll fetches the prices of all tracked games in large batches, so thousands of games
+ * take only a handful of requests, and records them as a run-length price history. When a game gets
+ * cheaper than at the previous poll, a {@code PRICE_DROPPED} event notifies connected clients.</p>
+ */
+@Service
+@Slf4j
+public class PriceTrackingService {
+    private final TrackedGameCatalog trackedGames;
+    private final PriceFeed priceFeed;
+    private final PricePointRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    public PriceTrackingService(
+            TrackedGameCatalog trackedGames,
+            PriceFeed priceFeed,
+            PricePointRepository repository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${prices.enabled:true}") boolean enabled) {
+        this.trackedGames = trackedGames;
+        this.priceFeed = priceFeed;
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(
+            initialDelayString = "${prices.initial-delay-ms:300000}",
+            fixedDelayString = "${prices.poll-interval-ms:21600000}")
+    public void scheduledPoll() {
+        if (enabled) {
+            pollPrices();
+        }
+    }
+
+    /**
+     * Fetch and record the prices of all tracked games.
+     *
+     * @return Number of games with a price, or -1 if a poll is already running
+     */
+    public int pollPrices() {
+        if (!polling.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            Map<UUID, Integer> tracked = trackedGames.findTrackedSteamApps();
+            List<Integer> appIds = tracked.values().stream().distinct().toList();
+            Instant polledAt = Instant.now();
+            Map<Integer, PriceQuote> quotes = new HashMap<>();
+            int batchSize = Math.max(1, priceFeed.maxBatchSize());
+            int requests = 0;
+            for (int from = 0; from < appIds.size(); from += batchSize) {
+                List<Integer> batch = appIds.subList(from, Math.min(appIds.size(), from + batchSize));
+                requests++;
+                priceFeed.fetchPrices(batch).ifPresentOrElse(quotes::putAll,
+                        () -> log.warn("Price batch of {} apps failed; keeping their last known prices", batch.size()));
+            }
+
+            Map<Integer, PricePoint> changed = repository.record(quotes, polledAt);
+            Set<Integer> dropped = new HashSet<>();
+            changed.forEach((appId, previous) -> {
+                if (isDrop(previous.quote(), quotes.get(appId))) {
+                    dropped.add(appId);
+                }
+            });
+            tracked.forEach((gameId, appId) -> {
+                if (dropped.contains(appId)) {
+                    eventPublisher.publishEvent(GameUpdateEvent.priceDropped(gameId));
+                }
+            });
+            log.info("Polled prices of {} tracked apps in {} requests: {} priced, {} changed, {} dropped",
+                    appIds.size(), requests, quotes.size(), changed.size(), dropped.size());
+            return quotes.size();
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    /**
+     * Cents of different currencies are not comparable, so a switch of the quoted currency is never a drop.
+     */
+    static boolean isDrop(PriceQuote previous, PriceQuote current) {
+        return current.currency().equals(previous.currency()) && current.finalCents() < previous.finalCents();
+    }
+
+    /**
+     * Current and lowest recorded price of the given games; games without Steam app or price history are absent.
+     */
+    public List<GamePriceView> getPrices(Collection<UUID> gameIds) {
+        Map<UUID, Integer> appIds = trackedGames.findSteamAppIds(gameIds);
+        Map<Integer, List<PricePoint>> history = repository.findHistory(Set.copyOf(appIds.values()));
+        List<GamePriceView> prices = new ArrayList<>();
+        appIds.forEach((gameId, appId) -> {
+            List<PricePoint> points = history.get(appId);
+            if (points == null || points.isEmpty()) {
+                return;
+            }
+            PricePoint current = points.getLast();
+            // Only compare prices in the currency currently quoted
+            PricePoint lowest = points.stream()
+                    .filter(point -> point.quote().currency().equals(current.quote().currency()))
+                    .min(Comparator.comparingInt((PricePoint point) -> point.quote().finalCents())
+                            .thenComparing(PricePoint::lastSeenAt, Comparator.reverseOrder()))
+                    .orElse(current);
+            prices.add(new GamePriceView(
+                    gameId,
+                    appId,
+                    current.quote().currency(),
+                    current.quote().initialCents(),
+                    current.quote().finalCents(),
+                    current.quote().discountPercent(),
+                    current.lastSeenAt(),
+                    lowest.quote().finalCents(),
+                    lowest.lastSeenAt()));
+        });
+        return prices;
+    }
+
+    /**
+     * Price history of a game, oldest first; empty if the game has no Steam app or was never polled.
+     */
+    public List<PriceHistoryEntry> getHistory(UUID gameId) {
+        Integer appId = trackedGames.findSteamAppIds(List.of(gameId)).get(gameId);
+        if (appId == null) {
+            return List.of();
+        }
+        return repository.findHistory(List.of(appId)).getOrDefault(appId, List.of()).stream()
+                .map(point -> new PriceHistoryEntry(
+                        point.quote().currency(),
+                        point.quote().initialCents(),
+                        point.quote().finalCents(),
+                        point.quote().discountPercent(),
+                        point.firstSeenAt(),
+                        point.lastSeenAt()))
+                .toList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.robertforpresent.api.pricing.domain.model;
+
+import java.time.Instant;
+
+/**
+ * One run of an unchanged price in a game's price history.
+ * Polls that see the same price only move {@code lastSeenAt}, so the series grows with price
+ * changes rather than with the number of polls.
+ *
+ * @param firstSeenAt First poll that saw this price
+ * @param lastSeenAt  Last poll that saw this price
+ */
+public record PricePoint(
+        int steamAppId,
+        PriceQuote quote,
+        Instant firstSeenAt,
+        Instant lastSeenAt
+) {}
@@ -0,0 +1,16 @@
+package com.robertforpresent.api.pricing.domain.model;
+
+/**
+ * A store price at one moment. Amounts are in the smallest currency unit (cents).
+ *
+ * @param currency        ISO 4217 code
+ * @param initialCents    Regular price
+ * @param finalCents      Price to pay, after discount
+ * @param discountPercent Discount shown by the store, 0 when not on sale
+ */
+public record PriceQuote(
+        String currency,
+        int initialCents,
+        int finalCents,
+        int discountPercent
+) {}
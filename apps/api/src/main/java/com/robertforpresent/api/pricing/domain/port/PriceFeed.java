@@ -0,0 +1,25 @@
+package com.robertforpresent.api.pricing.domain.port;
+
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Port for fetching current store prices.
+ */
+public interface PriceFeed {
+
+    /**
+     * Fetch the current prices of a batch of apps in a single request.
+     *
+     * @return Prices by app ID, apps without a price absent; empty if the request failed
+     */
+    Optional<Map<Integer, PriceQuote>> fetchPrices(Collection<Integer> steamAppIds);
+
+    /**
+     * Largest batch a single request accepts.
+     */
+    int maxBatchSize();
+}
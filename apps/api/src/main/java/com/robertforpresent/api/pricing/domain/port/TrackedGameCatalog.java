@@ -0,0 +1,21 @@
+package com.robertforpresent.api.pricing.domain.port;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Port for resolving which catalog games have their price tracked.
+ */
+public interface TrackedGameCatalog {
+
+    /**
+     * Steam app IDs of all tracked games, by canonical game ID.
+     */
+    Map<UUID, Integer> findTrackedSteamApps();
+
+    /**
+     * Steam app IDs of the given games; games without a Steam app are absent.
+     */
+    Map<UUID, Integer> findSteamAppIds(Collection<UUID> gameIds);
+}
@@ -0,0 +1,27 @@
+package com.robertforpresent.api.pricing.domain.repository;
+
+import com.robertforpresent.api.pricing.domain.model.PricePoint;
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the price history of Steam apps.
+ */
+public interface PricePointRepository {
+
+    /**
+     * Price history of the given apps, oldest first.
+     */
+    Map<Integer, List<PricePoint>> findHistory(Collection<Integer> steamAppIds);
+
+    /**
+     * Record one poll: apps whose price did not change extend their latest point, others start a new one.
+     *
+     * @return The previous latest point of every app whose price changed (absent for first sightings)
+     */
+    Map<Integer, PricePoint> record(Map<Integer, PriceQuote> quotes, Instant polledAt);
+}
@@ -0,0 +1,48 @@
+package com.robertforpresent.api.pricing.infrastructure.catalog;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.pricing.domain.port.TrackedGameCatalog;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adapter resolving tracked games from the collection and their Steam app IDs from the catalog.
+ * A game is tracked while any gamer has it marked for later.
+ */
+@Component
+public class TrackedGameCatalogAdapter implements TrackedGameCatalog {
+    private final CollectionRepository collectionRepository;
+    private final CanonicalGameRepository canonicalGameRepository;
+
+    public TrackedGameCatalogAdapter(CollectionRepository collectionRepository,
+                                     CanonicalGameRepository canonicalGameRepository) {
+        this.collectionRepository = collectionRepository;
+        this.canonicalGameRepository = canonicalGameRepository;
+    }
+
+    @Override
+    public Map<UUID, Integer> findTrackedSteamApps() {
+        return findSteamAppIds(collectionRepository.findCanonicalGameIdsMarkedForLater());
+    }
+
+    @Override
+    public Map<UUID, Integer> findSteamAppIds(Collection<UUID> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, Integer> appIds = new HashMap<>();
+        for (CanonicalGame game : canonicalGameRepository.findAllByIds(List.copyOf(gameIds))) {
+            if (game.getSteamData() != null && game.getSteamData().appId() != null) {
+                appIds.put(game.getId(), game.getSteamData().appId());
+            }
+        }
+        return appIds;
+    }
+}
@@ -0,0 +1,56 @@
+package com.robertforpresent.api.pricing.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for one run of an unchanged price.
+ */
+@Entity
+@Table(name = "price_points", indexes = {
+        @Index(name = "idx_price_points_app_seen", columnList = "steam_app_id, first_seen_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PricePointEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "steam_app_id", nullable = false)
+    private int steamAppId;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "initial_cents", nullable = false)
+    private int initialCents;
+
+    @Column(name = "final_cents", nullable = false)
+    private int finalCents;
+
+    @Column(name = "discount_percent", nullable = false)
+    private int discountPercent;
+
+    @Column(name = "first_seen_at", nullable = false)
+    private Instant firstSeenAt;
+
+    @Column(name = "last_seen_at", nullable = false)
+    private Instant lastSeenAt;
+
+    public PricePointEntity(int steamAppId, String currency, int initialCents, int finalCents, int discountPercent,
+                            Instant seenAt) {
+        this.steamAppId = steamAppId;
+        this.currency = currency;
+        this.initialCents = initialCents;
+        this.finalCents = finalCents;
+        this.discountPercent = discountPercent;
+        this.firstSeenAt = seenAt;
+        this.lastSeenAt = seenAt;
+    }
+}
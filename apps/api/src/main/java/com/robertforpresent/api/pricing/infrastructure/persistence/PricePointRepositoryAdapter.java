@@ -0,0 +1,78 @@
+package com.robertforpresent.api.pricing.infrastructure.persistence;
+
+import com.robertforpresent.api.pricing.domain.model.PricePoint;
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+import com.robertforpresent.api.pricing.domain.repository.PricePointRepository;
+import com.robertforpresent.api.shared.persistence.InClauseChunks;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adapter implementing PricePointRepository using Spring Data JPA.
+ */
+@Repository
+public class PricePointRepositoryAdapter implements PricePointRepository {
+    private final SpringDataPricePointRepository jpaRepository;
+
+    public PricePointRepositoryAdapter(SpringDataPricePointRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public Map<Integer, List<PricePoint>> findHistory(Collection<Integer> steamAppIds) {
+        List<Integer> ids = List.copyOf(steamAppIds);
+        Map<Integer, List<PricePoint>> history = new HashMap<>();
+        for (List<Integer> chunk : InClauseChunks.of(ids)) {
+            for (PricePointEntity entity : jpaRepository.findBySteamAppIdInOrderByFirstSeenAt(chunk)) {
+                history.computeIfAbsent(entity.getSteamAppId(), id -> new ArrayList<>()).add(toDomain(entity));
+            }
+        }
+        return history;
+    }
+
+    @Override
+    @Transactional
+    public Map<Integer, PricePoint> record(Map<Integer, PriceQuote> quotes, Instant polledAt) {
+        List<Integer> ids = List.copyOf(quotes.keySet());
+        Map<Integer, PricePoint> changed = new HashMap<>();
+        List<PricePointEntity> inserts = new ArrayList<>();
+        for (List<Integer> chunk : InClauseChunks.of(ids)) {
+            Map<Integer, PricePointEntity> latest = new HashMap<>();
+            for (PricePointEntity entity : jpaRepository.findLatest(chunk)) {
+                latest.put(entity.getSteamAppId(), entity);
+            }
+            for (int appId : chunk) {
+                PriceQuote quote = quotes.get(appId);
+                PricePointEntity current = latest.get(appId);
+                if (current != null && quote.equals(toQuote(current))) {
+                    // Dirty checking turns this into an update at commit
+                    current.setLastSeenAt(polledAt);
+                    continue;
+                }
+                if (current != null) {
+                    changed.put(appId, toDomain(current));
+                }
+                inserts.add(new PricePointEntity(appId, quote.currency(), quote.initialCents(), quote.finalCents(),
+                        quote.discountPercent(), polledAt));
+            }
+        }
+        jpaRepository.saveAll(inserts);
+        return changed;
+    }
+
+    private static PriceQuote toQuote(PricePointEntity entity) {
+        return new PriceQuote(entity.getCurrency(), entity.getInitialCents(), entity.getFinalCents(),
+                entity.getDiscountPercent());
+    }
+
+    private static PricePoint toDomain(PricePointEntity entity) {
+        return new PricePoint(entity.getSteamAppId(), toQuote(entity), entity.getFirstSeenAt(), entity.getLastSeenAt());
+    }
+}
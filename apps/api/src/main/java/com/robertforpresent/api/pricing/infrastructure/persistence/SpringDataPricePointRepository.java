@@ -0,0 +1,19 @@
+package com.robertforpresent.api.pricing.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface SpringDataPricePointRepository extends JpaRepository<PricePointEntity, Long> {
+    List<PricePointEntity> findBySteamAppIdInOrderByFirstSeenAt(Collection<Integer> steamAppIds);
+
+    /**
+     * Latest point of each of the given apps.
+     */
+    @Query("SELECT p FROM PricePointEntity p WHERE p.steamAppId IN :ids AND p.firstSeenAt = "
+            + "(SELECT MAX(q.firstSeenAt) FROM PricePointEntity q WHERE q.steamAppId = p.steamAppId)")
+    List<PricePointEntity> findLatest(@Param("ids") Collection<Integer> steamAppIds);
+}
@@ -0,0 +1,49 @@
+package com.robertforpresent.api.pricing.infrastructure.steam;
+
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+import com.robertforpresent.api.pricing.domain.port.PriceFeed;
+import com.robertforpresent.api.scraper.infrastructure.steam.SteamApiClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Price feed backed by the Steam Store appdetails endpoint with {@code filters=price_overview},
+ * which returns the prices of many apps per request.
+ */
+@Component
+public class SteamPriceFeedAdapter implements PriceFeed {
+    private final SteamApiClient steamApiClient;
+    private final String countryCode;
+    private final int batchSize;
+
+    public SteamPriceFeedAdapter(
+            SteamApiClient steamApiClient,
+            @Value("${prices.steam.country-code:us}") String countryCode,
+            @Value("${prices.steam.batch-size:200}") int batchSize) {
+        this.steamApiClient = steamApiClient;
+        this.countryCode = countryCode;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Optional<Map<Integer, PriceQuote>> fetchPrices(Collection<Integer> steamAppIds) {
+        return steamApiClient.getPriceOverviews(steamAppIds, countryCode)
+                .map(prices -> prices.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> new PriceQuote(
+                                entry.getValue().currency(),
+                                entry.getValue().initial(),
+                                entry.getValue().finalPrice(),
+                                entry.getValue().discountPercent()))));
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,55 @@
+package com.robertforpresent.api.pricing.presentation.rest;
+
+import com.robertforpresent.api.pricing.application.dto.GamePriceView;
+import com.robertforpresent.api.pricing.application.dto.PriceHistoryEntry;
+import com.robertforpresent.api.pricing.application.service.PriceTrackingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST controller for tracked Steam prices of catalog games.
+ */
+@RestController
+@RequestMapping("/prices")
+@CrossOrigin(origins = "http://localhost:4200")
+public class PriceController {
+    private final PriceTrackingService priceTrackingService;
+
+    public PriceController(PriceTrackingService priceTrackingService) {
+        this.priceTrackingService = priceTrackingService;
+    }
+
+    /**
+     * Current and historical lowest price of the given games. Games never polled are absent.
+     */
+    @GetMapping
+    public List<GamePriceView> getPrices(@RequestParam List<UUID> gameIds) {
+        return priceTrackingService.getPrices(gameIds);
+    }
+
+    /**
+     * Price history of one game, oldest first.
+     */
+    @GetMapping("/{gameId}/history")
+    public List<PriceHistoryEntry> getHistory(@PathVariable UUID gameId) {
+        return priceTrackingService.getHistory(gameId);
+    }
+
+    /**
+     * Poll the prices of all tracked games now.
+     *
+     * @return 409 if a poll is already running
+     */
+    @PostMapping("/poll")
+    public ResponseEntity<Map<String, Integer>> poll() {
+        int priced = priceTrackingService.pollPrices();
+        if (priced < 0) {
+            return ResponseEntity.status(409).build();
+        }
+        return ResponseEntity.ok(Map.of("priced", priced));
+    }
+}
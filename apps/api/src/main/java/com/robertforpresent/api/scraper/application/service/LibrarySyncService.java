@@ -0,0 +1,236 @@
+package com.robertforpresent.api.scraper.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import com.robertforpresent.api.scraper.domain.port.LibrarySyncProvider;
+import com.robertforpresent.api.scraper.domain.repository.LinkedAccountRepository;
+import com.robertforpresent.api.scraper.infrastructure.config.LibrarySyncConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the libraries of linked store accounts fresh by re-syncing each account periodically.
+ *
+ * <h2>Scheduling</h2>
+ * <p>Every account carries its own {@code nextSyncAt}. New links start at a random point within the
+ * jitter window and every sync reschedules the account with a random offset, so syncs of hundreds of
+ * gamers spread out instead of firing together. Each tick picks up a bounded batch of due accounts,
+ * gamers with recent collection activity first. Activity is collected in memory and written on the next
+ * tick, so a bulk import does not cost one UPDATE per game; events published by a sync itself do not count
+ * as activity.</p>
+ *
+ * <h2>Concurrency</h2>
+ * <p>Syncs run on virtual threads behind two fair semaphores: one per provider, so a single store API
+ * never sees more than its configured number of concurrent imports, and one global cap for the
+ * database. Syncs are keyed by gamer and provider: all accounts of a gamer at one provider are imported
+ * together as one merged library, never twice at the same time, and rescheduled together.</p>
+ */
+@Service
+@Slf4j
+public class LibrarySyncService {
+    // Set while a sync runs on the current thread, to tell its own events apart from user activity
+    private static final ThreadLocal<Boolean> SYNCING = ThreadLocal.withInitial(() -> false);
+
+    private final LinkedAccountRepository repository;
+    private final LibrarySyncConfig config;
+    private final Map<String, LibrarySyncProvider> providers;
+    private final Semaphore globalPermits;
+    private final Map<String, Semaphore> providerPermits = new ConcurrentHashMap<>();
+    private final Set<SyncKey> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Latest activity per gamer since the last tick
+    private final Map<UUID, Instant> pendingActivity = new ConcurrentHashMap<>();
+
+    public LibrarySyncService(LinkedAccountRepository repository,
+                              LibrarySyncConfig config,
+                              List<LibrarySyncProvider> providers) {
+        this.repository = repository;
+        this.config = config;
+        this.providers = providers.stream()
+                .collect(Collectors.toMap(LibrarySyncProvider::provider, Function.identity()));
+        this.globalPermits = new Semaphore(Math.max(1, config.getMaxConcurrent()), true);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public List<LinkedAccount> getLinkedAccounts(UUID gamerId) {
+        return repository.findByGamerId(gamerId);
+    }
+
+    /**
+     * Link a store account to a gamer. Linking an account already linked to the gamer returns it unchanged.
+     *
+     * @throws IllegalArgumentException if the provider is unknown or the account belongs to another gamer
+     */
+    public LinkedAccount link(UUID gamerId, String provider, String accountId) {
+        String code = provider.toLowerCase(Locale.ROOT);
+        if (!providers.containsKey(code)) {
+            throw new IllegalArgumentException("Unknown library provider: " + provider + ". Supported: " + providers.keySet());
+        }
+        LinkedAccount existing = repository.findByProviderAndAccountId(code, accountId).orElse(null);
+        if (existing != null) {
+            if (!existing.gamerId().equals(gamerId)) {
+                throw new IllegalArgumentException("Account is already linked to another gamer");
+            }
+            return existing;
+        }
+        // The first sync lands anywhere in the jitter window, so a bulk of new links does not fire at once
+        Instant firstSync = Instant.now().plusMillis(ThreadLocalRandom.current().nextLong(config.getJitterMs() + 1));
+        LinkedAccount account = repository.save(new LinkedAccount(
+                UUID.randomUUID(), gamerId, code, accountId, true, null, firstSync, null, null));
+        log.info("Linked {} account {} to gamer {}, first sync at {}", code, accountId, gamerId, firstSync);
+        return account;
+    }
+
+    public void unlink(UUID accountId) {
+        repository.deleteById(accountId);
+    }
+
+    /**
+     * Sync an account now, together with the gamer's other accounts at the same provider,
+     * still within the concurrency caps.
+     *
+     * @return false if the account does not exist or is already syncing
+     */
+    public boolean requestSync(UUID accountId) {
+        return repository.findById(accountId)
+                .map(account -> dispatch(new SyncKey(account.gamerId(), account.provider())))
+                .orElse(false);
+    }
+
+    @Scheduled(
+            initialDelayString = "${library-sync.initial-delay-ms:60000}",
+            fixedDelayString = "${library-sync.poll-interval-ms:60000}")
+    public void dispatchDue() {
+        flushActivity();
+        if (!config.isEnabled()) {
+            return;
+        }
+        // Several due accounts of one gamer collapse into a single sync, keeping priority order
+        Set<SyncKey> due = new LinkedHashSet<>();
+        for (LinkedAccount account : repository.findDue(Instant.now(), config.getBatchSize())) {
+            due.add(new SyncKey(account.gamerId(), account.provider()));
+        }
+        int dispatched = 0;
+        for (SyncKey key : due) {
+            if (dispatch(key)) {
+                dispatched++;
+            }
+        }
+        if (dispatched > 0) {
+            log.debug("Dispatched {} library syncs", dispatched);
+        }
+    }
+
+    /**
+     * Any collection change of a gamer counts as activity and moves their accounts up the queue.
+     * Only remembered here; {@link #dispatchDue()} writes it before picking the next batch.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdate(GameUpdateEvent event) {
+        if (event.gamerId() != null && !SYNCING.get()) {
+            pendingActivity.merge(event.gamerId(), event.occurredAt(),
+                    (previous, current) -> current.isAfter(previous) ? current : previous);
+        }
+    }
+
+    /**
+     * Write the collected activity, one UPDATE per gamer.
+     */
+    void flushActivity() {
+        for (UUID gamerId : List.copyOf(pendingActivity.keySet())) {
+            Instant at = pendingActivity.remove(gamerId);
+            if (at != null) {
+                repository.recordActivity(gamerId, at);
+            }
+        }
+    }
+
+    private boolean dispatch(SyncKey key) {
+        LibrarySyncProvider provider = providers.get(key.provider());
+        if (provider == null) {
+            log.warn("No library provider for {} accounts of gamer {}", key.provider(), key.gamerId());
+            return false;
+        }
+        if (!inFlight.add(key)) {
+            return false;
+        }
+        // Submitted in priority order; the fair semaphores keep that order while waiting
+        executor.submit(() -> {
+            try {
+                Semaphore providerLimit = providerPermits.computeIfAbsent(key.provider(), code ->
+                        new Semaphore(Math.max(1, config.getProviderConcurrency().getOrDefault(code, 1)), true));
+                providerLimit.acquire();
+                try {
+                    globalPermits.acquire();
+                    try {
+                        sync(provider, key);
+                    } finally {
+                        globalPermits.release();
+                    }
+                } finally {
+                    providerLimit.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.remove(key);
+            }
+        });
+        return true;
+    }
+
+    private void sync(LibrarySyncProvider provider, SyncKey key) {
+        List<LinkedAccount> accounts = repository.findByGamerId(key.gamerId()).stream()
+                .filter(account -> account.enabled() && key.provider().equals(account.provider()))
+                .toList();
+        if (accounts.isEmpty()) {
+            return; // Unlinked or disabled since it was dispatched
+        }
+        LibrarySyncProvider.SyncOutcome outcome;
+        SYNCING.set(true);
+        try {
+            outcome = provider.sync(key.gamerId(), accounts);
+        } catch (Exception e) {
+            log.error("Library sync of {} accounts of gamer {} failed", key.provider(), key.gamerId(), e);
+            outcome = new LibrarySyncProvider.SyncOutcome(false, e.getMessage());
+        } finally {
+            SYNCING.remove();
+        }
+        Instant now = Instant.now();
+        long delayMs = outcome.success() ? config.getIntervalMs() : config.getRetryIntervalMs();
+        long jitterMs = config.getJitterMs();
+        Instant nextSyncAt = now.plusMillis(Math.max(0, delayMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1)));
+        for (LinkedAccount account : accounts) {
+            repository.recordSync(account.id(), now, nextSyncAt, outcome.success() ? null : outcome.message());
+        }
+        log.info("Library sync of {} {} accounts of gamer {}: {} (next at {})",
+                accounts.size(), key.provider(), key.gamerId(), outcome.message(), nextSyncAt);
+    }
+
+    /**
+     * Unit of scheduling: the accounts of one gamer at one provider.
+     */
+    private record SyncKey(UUID gamerId, String provider) {}
+}
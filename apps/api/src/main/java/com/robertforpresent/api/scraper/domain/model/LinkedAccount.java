@@ -0,0 +1,28 @@
+package com.robertforpresent.api.scraper.domain.model;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A store account linked to a gamer, whose library is synced periodically.
+ *
+ * @param provider       Library provider code, e.g. {@code steam}
+ * @param accountId      Account ID at the provider, e.g. the 64-bit Steam ID
+ * @param lastSyncedAt   End of the last sync attempt, null if never synced
+ * @param nextSyncAt     When the account is due for its next sync
+ * @param lastActivityAt Last time the gamer's library or collection changed, used to sync active gamers first
+ * @param lastError      Error of the last sync attempt, null if it succeeded
+ */
+public record LinkedAccount(
+        UUID id,
+        UUID gamerId,
+        String provider,
+        String accountId,
+        boolean enabled,
+        @Nullable Instant lastSyncedAt,
+        Instant nextSyncAt,
+        @Nullable Instant lastActivityAt,
+        @Nullable String lastError
+) {}
@@ -0,0 +1,32 @@
+package com.robertforpresent.api.scraper.domain.port;
+
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Port for syncing the library of a linked store account into the gamer's collection.
+ */
+public interface LibrarySyncProvider {
+
+    /**
+     * Result of one sync.
+     *
+     * @param success Whether the library was fetched and written
+     * @param message Summary of the changes, or the error
+     */
+    record SyncOutcome(boolean success, String message) {}
+
+    /**
+     * Provider code matching {@link LinkedAccount#provider()}, e.g. {@code steam}.
+     */
+    String provider();
+
+    /**
+     * Sync all linked accounts of a gamer at this provider as one library.
+     *
+     * @param accounts The gamer's enabled accounts at this provider, never empty
+     */
+    SyncOutcome sync(UUID gamerId, List<LinkedAccount> accounts);
+}
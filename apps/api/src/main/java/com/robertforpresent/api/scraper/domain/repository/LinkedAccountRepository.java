@@ -0,0 +1,41 @@
+package com.robertforpresent.api.scraper.domain.repository;
+
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import org.jspecify.annotations.Nullable;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for the store accounts linked to gamers.
+ */
+public interface LinkedAccountRepository {
+    List<LinkedAccount> findByGamerId(UUID gamerId);
+
+    Optional<LinkedAccount> findById(UUID id);
+
+    Optional<LinkedAccount> findByProviderAndAccountId(String provider, String accountId);
+
+    /**
+     * Enabled accounts due for a sync, most recently active gamers first.
+     */
+    List<LinkedAccount> findDue(Instant now, int limit);
+
+    LinkedAccount save(LinkedAccount account);
+
+    /**
+     * Record the outcome of a sync attempt.
+     *
+     * @param error Error message, or null if the sync succeeded
+     */
+    void recordSync(UUID id, Instant syncedAt, Instant nextSyncAt, @Nullable String error);
+
+    /**
+     * Mark every account of the gamer as recently active.
+     */
+    void recordActivity(UUID gamerId, Instant at);
+
+    void deleteById(UUID id);
+}
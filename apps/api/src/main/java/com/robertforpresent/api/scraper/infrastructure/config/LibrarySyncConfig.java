@@ -0,0 +1,83 @@
+package com.robertforpresent.api.scraper.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the scheduled library sync of linked accounts.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "library-sync")
+public class LibrarySyncConfig {
+    private boolean enabled = true;
+    // Time between two syncs of the same account
+    private long intervalMs = 21_600_000;
+    // Random offset of +/- jitterMs added to every next sync, so accounts drift apart instead of firing together
+    private long jitterMs = 1_800_000;
+    // Wait before retrying a failed sync
+    private long retryIntervalMs = 3_600_000;
+    // Due accounts picked up per scheduler tick
+    private int batchSize = 50;
+    private int maxConcurrent = 4;
+    // Concurrent syncs per provider code; providers not listed get 1
+    private Map<String, Integer> providerConcurrency = new HashMap<>(Map.of("steam", 2));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public long getJitterMs() {
+        return jitterMs;
+    }
+
+    public void setJitterMs(long jitterMs) {
+        this.jitterMs = jitterMs;
+    }
+
+    public long getRetryIntervalMs() {
+        return retryIntervalMs;
+    }
+
+    public void setRetryIntervalMs(long retryIntervalMs) {
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Map<String, Integer> getProviderConcurrency() {
+        return providerConcurrency;
+    }
+
+    public void setProviderConcurrency(Map<String, Integer> providerConcurrency) {
+        this.providerConcurrency = providerConcurrency;
+    }
+}
@@ -0,0 +1,52 @@
+package com.robertforpresent.api.scraper.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for a store account linked to a gamer.
+ */
+@Entity
+@Table(name = "linked_accounts", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"provider", "account_id"})
+}, indexes = {
+        @Index(name = "idx_linked_accounts_gamer", columnList = "gamer_id"),
+        @Index(name = "idx_linked_accounts_due", columnList = "enabled, next_sync_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinkedAccountEntity {
+    @Id
+    private String id;
+
+    @Column(name = "gamer_id", nullable = false)
+    private String gamerId;
+
+    @Column(nullable = false)
+    private String provider;
+
+    @Column(name = "account_id", nullable = false)
+    private String accountId;
+
+    @Column(nullable = false)
+    private boolean enabled = true;
+
+    @Column(name = "last_synced_at")
+    private Instant lastSyncedAt;
+
+    @Column(name = "next_sync_at", nullable = false)
+    private Instant nextSyncAt;
+
+    @Column(name = "last_activity_at")
+    private Instant lastActivityAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+}
@@ -0,0 +1,99 @@
+package com.robertforpresent.api.scraper.infrastructure.persistence;
+
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import com.robertforpresent.api.scraper.domain.repository.LinkedAccountRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Adapter implementing LinkedAccountRepository using Spring Data JPA.
+ */
+@Repository
+public class LinkedAccountRepositoryAdapter implements LinkedAccountRepository {
+    private final SpringDataLinkedAccountRepository jpaRepository;
+
+    public LinkedAccountRepositoryAdapter(SpringDataLinkedAccountRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public List<LinkedAccount> findByGamerId(UUID gamerId) {
+        return jpaRepository.findByGamerId(gamerId.toString()).stream()
+                .map(LinkedAccountRepositoryAdapter::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<LinkedAccount> findById(UUID id) {
+        return jpaRepository.findById(id.toString())
+                .map(LinkedAccountRepositoryAdapter::toDomain);
+    }
+
+    @Override
+    public Optional<LinkedAccount> findByProviderAndAccountId(String provider, String accountId) {
+        return jpaRepository.findByProviderAndAccountId(provider, accountId)
+                .map(LinkedAccountRepositoryAdapter::toDomain);
+    }
+
+    @Override
+    public List<LinkedAccount> findDue(Instant now, int limit) {
+        return jpaRepository.findDue(now, PageRequest.of(0, limit)).stream()
+                .map(LinkedAccountRepositoryAdapter::toDomain)
+                .toList();
+    }
+
+    @Override
+    public LinkedAccount save(LinkedAccount account) {
+        return toDomain(jpaRepository.save(toEntity(account)));
+    }
+
+    @Override
+    @Transactional
+    public void recordSync(UUID id, Instant syncedAt, Instant nextSyncAt, @Nullable String error) {
+        jpaRepository.updateSync(id.toString(), syncedAt, nextSyncAt, error);
+    }
+
+    @Override
+    @Transactional
+    public void recordActivity(UUID gamerId, Instant at) {
+        jpaRepository.updateActivity(gamerId.toString(), at);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        jpaRepository.deleteById(id.toString());
+    }
+
+    private static LinkedAccount toDomain(LinkedAccountEntity entity) {
+        return new LinkedAccount(
+                UUID.fromString(entity.getId()),
+                UUID.fromString(entity.getGamerId()),
+                entity.getProvider(),
+                entity.getAccountId(),
+                entity.isEnabled(),
+                entity.getLastSyncedAt(),
+                entity.getNextSyncAt(),
+                entity.getLastActivityAt(),
+                entity.getLastError());
+    }
+
+    private static LinkedAccountEntity toEntity(LinkedAccount account) {
+        return new LinkedAccountEntity(
+                account.id().toString(),
+                account.gamerId().toString(),
+                account.provider(),
+                account.accountId(),
+                account.enabled(),
+                account.lastSyncedAt(),
+                account.nextSyncAt(),
+                account.lastActivityAt(),
+                account.lastError());
+    }
+}
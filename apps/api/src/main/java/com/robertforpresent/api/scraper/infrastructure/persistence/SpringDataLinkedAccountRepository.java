@@ -0,0 +1,31 @@
+package com.robertforpresent.api.scraper.infrastructure.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface SpringDataLinkedAccountRepository extends JpaRepository<LinkedAccountEntity, String> {
+    List<LinkedAccountEntity> findByGamerId(String gamerId);
+
+    Optional<LinkedAccountEntity> findByProviderAndAccountId(String provider, String accountId);
+
+    @Query("SELECT a FROM LinkedAccountEntity a WHERE a.enabled = true AND a.nextSyncAt <= :now "
+            + "ORDER BY CASE WHEN a.lastActivityAt IS NULL THEN 1 ELSE 0 END, a.lastActivityAt DESC, a.nextSyncAt")
+    List<LinkedAccountEntity> findDue(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE LinkedAccountEntity a SET a.lastSyncedAt = :syncedAt, a.nextSyncAt = :nextSyncAt, "
+            + "a.lastError = :error WHERE a.id = :id")
+    void updateSync(@Param("id") String id, @Param("syncedAt") Instant syncedAt,
+                    @Param("nextSyncAt") Instant nextSyncAt, @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE LinkedAccountEntity a SET a.lastActivityAt = :at WHERE a.gamerId = :gamerId")
+    void updateActivity(@Param("gamerId") String gamerId, @Param("at") Instant at);
+}
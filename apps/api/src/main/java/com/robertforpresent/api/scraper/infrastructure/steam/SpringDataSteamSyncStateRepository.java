@@ -0,0 +1,6 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SpringDataSteamSyncStateRepository extends JpaRepository<SteamSyncStateEntity, String> {
+}
@@ -1,12 +1,18 @@
 package com.robertforpresent.api.scraper.infrastructure.steam;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamAppDetailsResponse;
 import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamOwnedGamesResponse;
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamPriceOverview;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.net.http.HttpClient;
@@ -14,9 +20,21 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.Optional;
 
+/**
+ * Client for the Steam Web API and Store API.
+ * <p>
+ * Owned games and app details are parsed straight from the response stream: the parser walks the
+ * envelope and binds only the entries we need through readers created once, so neither the raw body
+ * nor a tree of unused fields is held in memory.
+ */
 @Component
 public class SteamApiClient {
     private static final Logger logger = LoggerFactory.getLogger(SteamApiClient.class);
@@ -25,10 +43,16 @@ public class SteamApiClient {
     private final SteamConfig config;
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final ObjectReader ownedGameReader;
+    private final ObjectReader appDetailsReader;
+    private final ObjectReader priceOverviewReader;
 
     public SteamApiClient(SteamConfig config) {
         this.config = config;
         this.objectMapper = new ObjectMapper();
+        this.ownedGameReader = objectMapper.readerFor(SteamOwnedGamesResponse.SteamGame.class);
+        this.appDetailsReader = objectMapper.readerFor(SteamAppDetailsResponse.class);
+        this.priceOverviewReader = objectMapper.readerFor(SteamPriceOverview.class);
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
@@ -55,16 +79,18 @@ public class SteamApiClient {
                     .build();
 
             logger.debug("Fetching owned games for Steam ID: {}", steamId);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
 
-            if (response.statusCode() == 200) {
-                SteamOwnedGamesResponse ownedGames = objectMapper.readValue(response.body(), SteamOwnedGamesResponse.class);
-                logger.info("Successfully fetched {} owned games for Steam ID: {}",
-                    ownedGames.response() != null ? ownedGames.response().gameCount() : 0, steamId);
-                return Optional.of(ownedGames);
-            } else {
-                logger.error("Failed to fetch owned games. Status: {}, Body: {}", response.statusCode(), response.body());
-                return Optional.empty();
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 200) {
+                    SteamOwnedGamesResponse ownedGames = parseOwnedGames(body);
+                    logger.info("Successfully fetched {} owned games for Steam ID: {}",
+                        ownedGames.response().gameCount(), steamId);
+                    return Optional.of(ownedGames);
+                } else {
+                    logger.error("Failed to fetch owned games. Status: {}", response.statusCode());
+                    return Optional.empty();
+                }
             }
         } catch (Exception e) {
             logger.error("Error fetching owned games for Steam ID: {}", steamId, e);
@@ -90,26 +116,22 @@ public class SteamApiClient {
                     .build();
 
             logger.debug("Fetching app details for Steam app ID: {}", appId);
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
 
-            if (response.statusCode() == 200) {
-                // Parse the response which has format: {"appid": {"success": true, "data": {...}}}
-                Map<String, SteamAppDetailsResponse> responseMap = objectMapper.readValue(
-                    response.body(),
-                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, SteamAppDetailsResponse.class)
-                );
-
-                SteamAppDetailsResponse appDetails = responseMap.get(String.valueOf(appId));
-                if (appDetails != null && appDetails.success()) {
-                    logger.info("Successfully fetched app details for: {}", appDetails.data().name());
-                    return Optional.of(appDetails);
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 200) {
+                    SteamAppDetailsResponse appDetails = parseAppDetails(body, appId);
+                    if (appDetails != null && appDetails.success() && appDetails.data() != null) {
+                        logger.info("Successfully fetched app details for: {}", appDetails.data().name());
+                        return Optional.of(appDetails);
+                    } else {
+                        logger.warn("App details not found or unsuccessful for app ID: {}", appId);
+                        return Optional.empty();
+                    }
                 } else {
-                    logger.warn("App details not found or unsuccessful for app ID: {}", appId);
+                    logger.error("Failed to fetch app details. Status: {}", response.statusCode());
                     return Optional.empty();
                 }
-            } else {
-                logger.error("Failed to fetch app details. Status: {}, Body: {}", response.statusCode(), response.body());
-                return Optional.empty();
             }
         } catch (Exception e) {
             logger.error("Error fetching app details for app ID: {}", appId, e);
@@ -117,6 +139,147 @@ public class SteamApiClient {
         }
     }
 
+    /**
+     * Get the current prices of many apps in one Store API request.
+     * With {@code filters=price_overview} appdetails accepts a comma-separated list of app IDs.
+     *
+     * @param appIds      The Steam app IDs; keep batches to a few hundred so the URL stays short
+     * @param countryCode Store country deciding the currency, e.g. {@code us}
+     * @return Prices by app ID; free, unreleased and unknown apps are absent
+     */
+    public Optional<Map<Integer, SteamPriceOverview>> getPriceOverviews(Collection<Integer> appIds, String countryCode) {
+        if (appIds.isEmpty()) {
+            return Optional.of(Map.of());
+        }
+        try {
+            String url = String.format("%s/appdetails?appids=%s&filters=price_overview&cc=%s",
+                    STORE_API_URL,
+                    appIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                    URLEncoder.encode(countryCode, StandardCharsets.UTF_8));
+
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(url))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            logger.debug("Fetching prices for {} Steam apps", appIds.size());
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+
+            try (InputStream body = response.body()) {
+                if (response.statusCode() == 200) {
+                    return Optional.of(parsePriceOverviews(body));
+                } else {
+                    logger.error("Failed to fetch prices. Status: {}", response.statusCode());
+                    return Optional.empty();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error fetching prices for {} Steam apps", appIds.size(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stream {@code {"<appId>": {"success": true, "data": {"price_overview": {...}}}, ...}}.
+     * Apps without a price come back with {@code "data": []}.
+     */
+    Map<Integer, SteamPriceOverview> parsePriceOverviews(InputStream body) throws IOException {
+        Map<Integer, SteamPriceOverview> prices = new HashMap<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int appId = Integer.parseInt(parser.currentName());
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    if (parser.nextToken() != JsonToken.START_OBJECT || !"data".equals(field)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String dataField = parser.currentName();
+                        if (parser.nextToken() == JsonToken.START_OBJECT && "price_overview".equals(dataField)) {
+                            prices.put(appId, priceOverviewReader.readValue(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+        return prices;
+    }
+
+    /**
+     * Stream {@code {"response": {"game_count": n, "games": [...]}}}, binding one game at a time.
+     * A private profile returns an empty {@code response}, which yields no games.
+     */
+    SteamOwnedGamesResponse parseOwnedGames(InputStream body) throws IOException {
+        int gameCount = 0;
+        List<SteamOwnedGamesResponse.SteamGame> games = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT || !"response".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String responseField = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("game_count".equals(responseField) && value == JsonToken.VALUE_NUMBER_INT) {
+                        gameCount = parser.getIntValue();
+                    } else if ("games".equals(responseField) && value == JsonToken.START_ARRAY) {
+                        // game_count precedes the array, so the list is allocated once
+                        games = new ArrayList<>(Math.max(gameCount, 16));
+                        JsonToken element;
+                        while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                            if (element == JsonToken.START_OBJECT) {
+                                games.add(ownedGameReader.readValue(parser));
+                            } else {
+                                // A stray null must not end the array early
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return new SteamOwnedGamesResponse(new SteamOwnedGamesResponse.ResponseData(gameCount, games));
+    }
+
+    /**
+     * Stream {@code {"<appId>": {"success": true, "data": {...}}}} and bind the entry of the requested app.
+     * Unknown apps may come back as a bare {@code null}.
+     */
+    SteamAppDetailsResponse parseAppDetails(InputStream body, int appId) throws IOException {
+        String key = String.valueOf(appId);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT && key.equals(field)) {
+                    return appDetailsReader.readValue(parser);
+                }
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
     /**
      * Validate if Steam ID exists and profile is public.
      * This is useful before attempting to fetch owned games.
@@ -13,6 +13,8 @@ public class SteamConfig {
     private String apiKey = "";
     private String apiUrl = "https://api.steampowered.com";
     private boolean enabled = false;
+    // Concurrent Store API requests while importing; the Store API rate-limits aggressively
+    private int appDetailsConcurrency = 4;
 
     public String getApiKey() {
         return apiKey;
@@ -37,4 +39,12 @@ public class SteamConfig {
     public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    public int getAppDetailsConcurrency() {
+        return appDetailsConcurrency;
+    }
+
+    public void setAppDetailsConcurrency(int appDetailsConcurrency) {
+        this.appDetailsConcurrency = appDetailsConcurrency;
+    }
 }
@@ -0,0 +1,35 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes one batch of a Steam library import in its own short transaction.
+ * New catalog games and the collection entries pointing at them commit together.
+ */
+@Component
+public class SteamLibraryBatchWriter {
+    private final CanonicalGameRepository canonicalGameRepository;
+    private final CollectionRepository collectionRepository;
+
+    public SteamLibraryBatchWriter(CanonicalGameRepository canonicalGameRepository,
+                                   CollectionRepository collectionRepository) {
+        this.canonicalGameRepository = canonicalGameRepository;
+        this.collectionRepository = collectionRepository;
+    }
+
+    @Transactional
+    public void writeBatch(UUID gamerId, List<CanonicalGame> newGames, List<PersonalizedGame> entries) {
+        canonicalGameRepository.saveAll(newGames);
+        // Existing rows are re-read here and only their Steam fields change, so flags the gamer
+        // set while the import was fetching details survive
+        collectionRepository.upsertSteamData(gamerId, entries);
+    }
+}
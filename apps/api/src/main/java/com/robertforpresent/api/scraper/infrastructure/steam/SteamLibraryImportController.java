@@ -1,10 +1,14 @@
 package com.robertforpresent.api.scraper.infrastructure.steam;
 
+import com.robertforpresent.api.scraper.application.service.LibrarySyncService;
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -19,9 +23,12 @@ public class SteamLibraryImportController {
 
     private final SteamLibraryImportService importService;
     private final SteamConfig steamConfig;
+    private final LibrarySyncService librarySyncService;
 
-    public SteamLibraryImportController(SteamLibraryImportService importService, SteamConfig steamConfig) {
+    public SteamLibraryImportController(SteamLibraryImportService importService, SteamConfig steamConfig,
+                                        LibrarySyncService librarySyncService) {
         this.importService = importService;
+        this.librarySyncService = librarySyncService;
         this.steamConfig = steamConfig;
     }
 
@@ -43,6 +50,8 @@ public class SteamLibraryImportController {
                             0,
                             0,
                             0,
+                            0,
+                            0,
                             "Steam integration is not enabled. Please configure STEAM_API_KEY environment variable."
                     ));
         }
@@ -54,6 +63,8 @@ public class SteamLibraryImportController {
                             0,
                             0,
                             0,
+                            0,
+                            0,
                             "Steam ID is required"
                     ));
         }
@@ -62,15 +73,18 @@ public class SteamLibraryImportController {
             UUID gamerId = request.gamerId() != null ? request.gamerId() : DEFAULT_GAMER_ID;
             SteamLibraryImportService.SteamLibraryImportResult result = importService.importSteamLibrary(
                     request.steamId(),
-                    gamerId
+                    gamerId,
+                    Boolean.TRUE.equals(request.fast())
             );
 
-            boolean success = result.failed() == 0 || (result.created() + result.updated() > 0);
+            boolean success = result.failed() == 0 || (result.added() + result.updated() > 0);
 
             return ResponseEntity.ok(new SteamLibraryImportResponse(
                     success,
                     result.created(),
+                    result.added(),
                     result.updated(),
+                    result.unchanged(),
                     result.failed(),
                     result.message()
             ));
@@ -82,11 +96,94 @@ public class SteamLibraryImportController {
                             0,
                             0,
                             0,
+                            0,
+                            0,
                             "Error importing Steam library: " + e.getMessage()
                     ));
         }
     }
 
+    /**
+     * Import the libraries of several Steam accounts of one gamer as one merged library:
+     * ownership from any account, highest playtime of all accounts.
+     *
+     * @param request The Steam IDs to import; when empty, the gamer's linked Steam accounts
+     * @return Result of the import operation
+     */
+    @PostMapping("/import-libraries")
+    public ResponseEntity<SteamLibraryImportResponse> importLibraries(@RequestBody SteamMultiLibraryImportRequest request) {
+        if (!steamConfig.isEnabled()) {
+            logger.error("Steam integration is not enabled. Please configure STEAM_API_KEY.");
+            return ResponseEntity.badRequest()
+                    .body(new SteamLibraryImportResponse(
+                            false,
+                            0,
+                            0,
+                            0,
+                            0,
+                            0,
+                            "Steam integration is not enabled. Please configure STEAM_API_KEY environment variable."
+                    ));
+        }
+
+        UUID gamerId = request.gamerId() != null ? request.gamerId() : DEFAULT_GAMER_ID;
+        List<String> steamIds = new ArrayList<>();
+        if (request.steamIds() != null) {
+            request.steamIds().stream().filter(id -> id != null && !id.isBlank()).map(String::trim).forEach(steamIds::add);
+        }
+        if (steamIds.isEmpty()) {
+            librarySyncService.getLinkedAccounts(gamerId).stream()
+                    .filter(account -> account.enabled() && "steam".equals(account.provider()))
+                    .map(LinkedAccount::accountId)
+                    .forEach(steamIds::add);
+        }
+        if (steamIds.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(new SteamLibraryImportResponse(
+                            false,
+                            0,
+                            0,
+                            0,
+                            0,
+                            0,
+                            "No Steam IDs given and no Steam accounts linked"
+                    ));
+        }
+
+        logger.info("Received Steam library import request for {} Steam IDs", steamIds.size());
+        try {
+            SteamLibraryImportService.SteamLibraryImportResult result = importService.importSteamLibraries(
+                    steamIds,
+                    gamerId,
+                    Boolean.TRUE.equals(request.fast())
+            );
+
+            boolean success = result.failed() == 0 || (result.added() + result.updated() > 0);
+
+            return ResponseEntity.ok(new SteamLibraryImportResponse(
+                    success,
+                    result.created(),
+                    result.added(),
+                    result.updated(),
+                    result.unchanged(),
+                    result.failed(),
+                    result.message()
+            ));
+        } catch (Exception e) {
+            logger.error("Failed to import Steam libraries for Steam IDs: {}", steamIds, e);
+            return ResponseEntity.internalServerError()
+                    .body(new SteamLibraryImportResponse(
+                            false,
+                            0,
+                            0,
+                            0,
+                            0,
+                            0,
+                            "Error importing Steam libraries: " + e.getMessage()
+                    ));
+        }
+    }
+
     /**
      * Check if Steam integration is properly configured.
      *
@@ -103,15 +200,31 @@ public class SteamLibraryImportController {
     }
 
     // Request/Response DTOs
+    /**
+     * @param fast Insert new games without store details and enrich them in the background
+     */
     public record SteamLibraryImportRequest(
             String steamId,
-            UUID gamerId
+            UUID gamerId,
+            Boolean fast
+    ) {}
+
+    /**
+     * @param steamIds Steam IDs to import together; when empty, the gamer's linked Steam accounts
+     * @param fast     Insert new games without store details and enrich them in the background
+     */
+    public record SteamMultiLibraryImportRequest(
+            List<String> steamIds,
+            UUID gamerId,
+            Boolean fast
     ) {}
 
     public record SteamLibraryImportResponse(
             boolean success,
             int created,
+            int added,
             int updated,
+            int unchanged,
             int failed,
             String message
     ) {}
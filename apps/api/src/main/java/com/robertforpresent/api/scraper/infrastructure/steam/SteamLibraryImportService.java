@@ -1,37 +1,82 @@
 package com.robertforpresent.api.scraper.infrastructure.steam;
 
+import com.robertforpresent.api.catalog.application.service.GameEnrichmentQueue;
 import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
 import com.robertforpresent.api.catalog.domain.model.SteamGameData;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
 import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
 import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
 import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamAppDetailsResponse;
 import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamOwnedGamesResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service for importing Steam library with playtime information.
+ * <p>
+ * The import runs as a staged pipeline so no transaction is open while waiting on the network:
+ * <ol>
+ *   <li>Fetch the owned games list of each account in parallel and merge them.</li>
+ *   <li>Fetch store details for app IDs unknown to the catalog, concurrently with bounded parallelism.</li>
+ *   <li>Diff against the catalog and collection, then commit the changes in short batched transactions
+ *       through {@link SteamLibraryBatchWriter}.</li>
+ * </ol>
+ * SQLite allows a single writer, so each batch only holds the write lock for a moment.
+ * <p>
+ * In fast mode step 2 is skipped: new games are inserted with the owned-games name and the CDN header
+ * image, then handed to the {@link GameEnrichmentQueue}, so the library shows up right away and store
+ * details fill in progressively.
+ * <p>
+ * Syncs are incremental: only entries whose playtime, last played time or Steam ownership changed are
+ * written, and a per-gamer watermark ({@link SteamSyncStateEntity}) lets a re-sync stop right after the
+ * owned games request when nothing was bought or played since the last successful sync.
  */
 @Service
 public class SteamLibraryImportService {
     private static final Logger logger = LoggerFactory.getLogger(SteamLibraryImportService.class);
+    private static final int WRITE_BATCH_SIZE = 200;
 
     private final SteamApiClient steamApiClient;
+    private final SteamConfig steamConfig;
     private final CanonicalGameRepository canonicalGameRepository;
     private final CollectionRepository collectionRepository;
+    private final SteamLibraryBatchWriter batchWriter;
+    private final GameEnrichmentQueue enrichmentQueue;
+    private final SpringDataSteamSyncStateRepository syncStateRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public SteamLibraryImportService(
             SteamApiClient steamApiClient,
+            SteamConfig steamConfig,
             CanonicalGameRepository canonicalGameRepository,
-            CollectionRepository collectionRepository) {
+            CollectionRepository collectionRepository,
+            SteamLibraryBatchWriter batchWriter,
+            GameEnrichmentQueue enrichmentQueue,
+            SpringDataSteamSyncStateRepository syncStateRepository,
+            ApplicationEventPublisher eventPublisher) {
         this.steamApiClient = steamApiClient;
+        this.steamConfig = steamConfig;
         this.canonicalGameRepository = canonicalGameRepository;
         this.collectionRepository = collectionRepository;
+        this.batchWriter = batchWriter;
+        this.enrichmentQueue = enrichmentQueue;
+        this.syncStateRepository = syncStateRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -41,140 +86,358 @@ public class SteamLibraryImportService {
      * @param gamerId The internal gamer ID to associate games with
      * @return Result of the import operation
      */
-    @Transactional
     public SteamLibraryImportResult importSteamLibrary(String steamId, UUID gamerId) {
-        logger.info("Starting Steam library import for Steam ID: {}, Gamer ID: {}", steamId, gamerId);
+        return importSteamLibrary(steamId, gamerId, false);
+    }
+
+    /**
+     * Import all games from a user's Steam library including playtime data.
+     *
+     * @param steamId The Steam ID (64-bit) of the user
+     * @param gamerId The internal gamer ID to associate games with
+     * @param fast    Insert new games without store details and enrich them in the background
+     * @return Result of the import operation
+     */
+    public SteamLibraryImportResult importSteamLibrary(String steamId, UUID gamerId, boolean fast) {
+        return importSteamLibraries(List.of(steamId), gamerId, fast);
+    }
+
+    /**
+     * Import the libraries of several Steam accounts of one gamer, e.g. a household sharing games
+     * through Steam Family, as one library.
+     * <p>
+     * The owned games lists are fetched in parallel and merged in memory with the semantics of a
+     * collection merge: a game owned by any account is owned, and playtime and last played time are
+     * the highest of all accounts. The merged library is then diffed and written in a single pass.
+     * If any account cannot be fetched nothing is written, since a partial merge would lower playtime
+     * of games played on the missing account.
+     *
+     * @param steamIds The Steam IDs (64-bit) of the accounts
+     * @param gamerId  The internal gamer ID to associate games with
+     * @param fast     Insert new games without store details and enrich them in the background
+     * @return Result of the import operation
+     */
+    public SteamLibraryImportResult importSteamLibraries(Collection<String> steamIds, UUID gamerId, boolean fast) {
+        List<String> accounts = steamIds.stream().distinct().sorted().toList();
+        String accountKey = String.join(",", accounts);
+        logger.info("Starting {}Steam library import for Steam IDs: {}, Gamer ID: {}", fast ? "fast " : "", accountKey, gamerId);
+
+        Map<String, AccountLibrary> libraries = fetchOwnedGames(accounts);
+        List<String> accountErrors = libraries.entrySet().stream()
+                .filter(entry -> entry.getValue().error() != null)
+                .map(entry -> accounts.size() == 1 ? entry.getValue().error() : entry.getKey() + ": " + entry.getValue().error())
+                .toList();
+        if (!accountErrors.isEmpty()) {
+            return SteamLibraryImportResult.failure(String.join("; ", accountErrors));
+        }
+
+        List<SteamOwnedGamesResponse.SteamGame> games = mergeLibraries(libraries.values());
+        if (games.isEmpty()) {
+            logger.info("No games found in Steam library for Steam IDs: {}", accountKey);
+            return SteamLibraryImportResult.failure("No games found in Steam library");
+        }
+
+        long lastPlayedWatermark = games.stream()
+                .map(SteamOwnedGamesResponse.SteamGame::rtimeLastPlayed)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(0);
+        String fingerprint = libraryFingerprint(games);
+        Optional<SteamSyncStateEntity> state = syncStateRepository.findById(gamerId.toString());
+        if (state.isPresent()
+                && state.get().getSteamId().equals(accountKey)
+                && state.get().getLastPlayedWatermark() == lastPlayedWatermark
+                && state.get().getLibraryFingerprint().equals(fingerprint)) {
+            logger.info("Steam library of {} unchanged since last sync at {}", accountKey, state.get().getSyncedAt());
+            return new SteamLibraryImportResult(0, 0, 0, games.size(), 0,
+                    "Library unchanged since last sync at " + state.get().getSyncedAt());
+        }
 
+        logger.info("Processing {} games from Steam library", games.size());
+        LibraryDiff diff = reconcile(games, gamerId, fast);
+        if (fast) {
+            enrichmentQueue.enqueue(diff.createdGameIds());
+        }
+        if (diff.failed() == 0) {
+            // A failed batch keeps the old watermark so the next sync retries it
+            SteamSyncStateEntity syncState = state.orElseGet(() -> new SteamSyncStateEntity(gamerId.toString()));
+            syncState.setSteamId(accountKey);
+            syncState.setGameCount(games.size());
+            syncState.setLibraryFingerprint(fingerprint);
+            syncState.setLastPlayedWatermark(lastPlayedWatermark);
+            syncState.setSyncedAt(Instant.now());
+            syncStateRepository.save(syncState);
+        }
+
+        String message = String.format("Synced %d games (new to catalog: %d, added: %d, updated: %d, unchanged: %d, failed: %d)",
+                games.size(), diff.created(), diff.added(), diff.updated(), diff.unchanged(), diff.failed());
+
+        if (!diff.errors().isEmpty() && diff.errors().size() <= 10) {
+            message += ". Errors: " + String.join("; ", diff.errors());
+        }
+
+        logger.info("Steam library import completed: {}", message);
+        if (diff.added() + diff.updated() > 0) {
+            // One collection-wide event instead of one per imported game
+            eventPublisher.publishEvent(GameUpdateEvent.libraryImported(gamerId));
+        }
+        return new SteamLibraryImportResult(diff.created(), diff.added(), diff.updated(), diff.unchanged(), diff.failed(), message);
+    }
+
+    /**
+     * Validate each account and fetch its owned games, one virtual thread per account.
+     * A request that throws becomes the error of its account, so it fails the import like any other error.
+     */
+    private Map<String, AccountLibrary> fetchOwnedGames(List<String> steamIds) {
+        Map<String, Future<AccountLibrary>> requests = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String steamId : steamIds) {
+                requests.put(steamId, executor.submit(() -> fetchOwnedGames(steamId)));
+            }
+        } // close() waits for all requests
+        Map<String, AccountLibrary> libraries = new LinkedHashMap<>();
+        requests.forEach((steamId, request) -> {
+            try {
+                libraries.put(steamId, request.get());
+            } catch (ExecutionException e) {
+                logger.error("Failed to fetch owned games for Steam ID: {}", steamId, e.getCause());
+                libraries.put(steamId, new AccountLibrary(List.of(), "Failed to fetch Steam library"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                libraries.put(steamId, new AccountLibrary(List.of(), "Import interrupted"));
+            }
+        });
+        return libraries;
+    }
+
+    private AccountLibrary fetchOwnedGames(String steamId) {
         // Validate Steam ID first
         if (!steamApiClient.validateSteamId(steamId)) {
             logger.error("Invalid or inaccessible Steam ID: {}", steamId);
-            return new SteamLibraryImportResult(0, 0, 0, "Invalid or private Steam profile");
+            return new AccountLibrary(List.of(), "Invalid or private Steam profile");
         }
 
-        // Fetch owned games
-        Optional<SteamOwnedGamesResponse> ownedGamesOpt = steamApiClient.getOwnedGames(steamId);
-        if (ownedGamesOpt.isEmpty()) {
+        Optional<SteamOwnedGamesResponse> ownedGames = steamApiClient.getOwnedGames(steamId);
+        if (ownedGames.isEmpty()) {
             logger.error("Failed to fetch owned games for Steam ID: {}", steamId);
-            return new SteamLibraryImportResult(0, 0, 0, "Failed to fetch Steam library");
+            return new AccountLibrary(List.of(), "Failed to fetch Steam library");
+        }
+        List<SteamOwnedGamesResponse.SteamGame> games = ownedGames.get().response().games();
+        return new AccountLibrary(games != null ? games : List.of(), null);
+    }
+
+    /**
+     * Merge the owned games of several accounts by app ID, keeping the highest playtime and the latest
+     * last played time.
+     */
+    private static List<SteamOwnedGamesResponse.SteamGame> mergeLibraries(Collection<AccountLibrary> libraries) {
+        if (libraries.size() == 1) {
+            return libraries.iterator().next().games();
+        }
+        Map<Integer, SteamOwnedGamesResponse.SteamGame> merged = new LinkedHashMap<>();
+        for (AccountLibrary library : libraries) {
+            for (SteamOwnedGamesResponse.SteamGame game : library.games()) {
+                merged.merge(game.appId(), game, (a, b) -> new SteamOwnedGamesResponse.SteamGame(
+                        a.appId(),
+                        a.name() != null ? a.name() : b.name(),
+                        Math.max(a.playtimeForever(), b.playtimeForever()),
+                        Math.max(a.rtimeLastPlayed() != null ? a.rtimeLastPlayed() : 0,
+                                b.rtimeLastPlayed() != null ? b.rtimeLastPlayed() : 0)));
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * SHA-256 of the sorted owned app IDs, so a changed library is detected without storing the list.
+     */
+    private static String libraryFingerprint(List<SteamOwnedGamesResponse.SteamGame> games) {
+        int[] appIds = games.stream().mapToInt(SteamOwnedGamesResponse.SteamGame::appId).sorted().distinct().toArray();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int appId : appIds) {
+                digest.update((appId + ",").getBytes(StandardCharsets.US_ASCII));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Diff the owned games against the catalog and the gamer's collection, both loaded once,
+     * and write all changes in batches.
+     * <ul>
+     *   <li>App IDs missing from the catalog become new canonical games.</li>
+     *   <li>Games missing from the collection are inserted.</li>
+     *   <li>Entries whose playtime, last played time or Steam ownership changed are updated.</li>
+     *   <li>Everything else is left untouched.</li>
+     * </ul>
+     */
+    private LibraryDiff reconcile(List<SteamOwnedGamesResponse.SteamGame> games, UUID gamerId, boolean fast) {
+        // Steam occasionally lists an app twice; the first entry wins
+        Map<Integer, SteamOwnedGamesResponse.SteamGame> ownedByAppId = new LinkedHashMap<>();
+        for (SteamOwnedGamesResponse.SteamGame game : games) {
+            ownedByAppId.putIfAbsent(game.appId(), game);
+        }
+
+        Map<Integer, CanonicalGame> catalogByAppId = new HashMap<>();
+        for (CanonicalGame game : canonicalGameRepository.findBySteamAppIds(ownedByAppId.keySet())) {
+            catalogByAppId.putIfAbsent(game.getSteamData().appId(), game);
+        }
+        List<Integer> unknownAppIds = ownedByAppId.keySet().stream()
+                .filter(appId -> !catalogByAppId.containsKey(appId))
+                .toList();
+        Map<Integer, SteamAppDetailsResponse.AppData> details = fast ? Map.of() : fetchAppDetails(unknownAppIds);
+
+        // Read the collection after the slow detail fetch; the writer re-reads each row anyway
+        Map<UUID, PersonalizedGame> collectionByGameId = new HashMap<>();
+        for (PersonalizedGame game : collectionRepository.findByGamerId(gamerId)) {
+            collectionByGameId.putIfAbsent(game.getCanonicalGameId(), game);
         }
 
-        SteamOwnedGamesResponse ownedGames = ownedGamesOpt.get();
-        List<SteamOwnedGamesResponse.SteamGame> games = ownedGames.response().games();
+        int unchanged = 0;
+        List<ImportItem> items = new ArrayList<>();
+        for (SteamOwnedGamesResponse.SteamGame game : ownedByAppId.values()) {
+            CanonicalGame canonicalGame = catalogByAppId.get(game.appId());
+            CanonicalGame newGame = null;
+            if (canonicalGame == null) {
+                newGame = buildCanonicalGame(game, details.get(game.appId()));
+                canonicalGame = newGame;
+            }
 
-        if (games == null || games.isEmpty()) {
-            logger.info("No games found in Steam library for Steam ID: {}", steamId);
-            return new SteamLibraryImportResult(0, 0, 0, "No games found in Steam library");
+            int playtimeMinutes = game.playtimeForever();
+            Instant lastPlayed = game.rtimeLastPlayed() != null && game.rtimeLastPlayed() > 0
+                    ? Instant.ofEpochSecond(game.rtimeLastPlayed())
+                    : null;
+            PersonalizedGame existing = collectionByGameId.get(canonicalGame.getId());
+            if (existing == null) {
+                items.add(new ImportItem(game, newGame, true, new PersonalizedGame.Builder()
+                        .setCanonicalId(canonicalGame.getId())
+                        .setGamerId(gamerId)
+                        .setSteamPlaytimeMinutes(playtimeMinutes)
+                        .setSteamLastPlayed(lastPlayed)
+                        .setMarkAsPlayed(playtimeMinutes > 0) // Mark as played if has playtime
+                        .setOwnedOnSteam(true)
+                        .build()));
+            } else if (!Objects.equals(existing.getSteamPlaytimeMinutes(), playtimeMinutes)
+                    || !Objects.equals(existing.getSteamLastPlayed(), lastPlayed)
+                    || !existing.isOwnedOnSteam()) {
+                existing.setSteamPlaytimeMinutes(playtimeMinutes);
+                existing.setSteamLastPlayed(lastPlayed);
+                existing.setOwnedOnSteam(true);
+                items.add(new ImportItem(game, newGame, false, existing));
+            } else {
+                unchanged++;
+            }
         }
 
         int created = 0;
+        int added = 0;
         int updated = 0;
         int failed = 0;
         List<String> errors = new ArrayList<>();
-
-        logger.info("Processing {} games from Steam library", games.size());
-
-        for (SteamOwnedGamesResponse.SteamGame game : games) {
+        List<UUID> createdGameIds = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += WRITE_BATCH_SIZE) {
+            List<ImportItem> batch = items.subList(from, Math.min(items.size(), from + WRITE_BATCH_SIZE));
+            List<CanonicalGame> newGames = batch.stream().map(ImportItem::newGame).filter(Objects::nonNull).toList();
             try {
-                boolean isNew = importGame(game, gamerId);
-                if (isNew) {
-                    created++;
-                } else {
-                    updated++;
-                }
+                batchWriter.writeBatch(gamerId, newGames, batch.stream().map(ImportItem::entry).toList());
+                created += newGames.size();
+                newGames.forEach(game -> createdGameIds.add(game.getId()));
+                int addedInBatch = (int) batch.stream().filter(ImportItem::added).count();
+                added += addedInBatch;
+                updated += batch.size() - addedInBatch;
             } catch (Exception e) {
-                failed++;
-                logger.error("Failed to import game: {} ({})", game.name(), game.appId(), e);
-                errors.add(game.name() + ": " + e.getMessage());
+                failed += batch.size();
+                logger.error("Failed to write batch of {} imported games", batch.size(), e);
+                for (ImportItem item : batch) {
+                    errors.add(item.steamGame().name() + ": " + e.getMessage());
+                }
             }
         }
+        logger.debug("Wrote {} collection entries in batches of {}, {} unchanged", items.size(), WRITE_BATCH_SIZE, unchanged);
 
-        String message = String.format("Imported %d games (created: %d, updated: %d, failed: %d)",
-                created + updated, created, updated, failed);
+        return new LibraryDiff(created, added, updated, unchanged, failed, errors, createdGameIds);
+    }
 
-        if (!errors.isEmpty() && errors.size() <= 10) {
-            message += ". Errors: " + String.join("; ", errors);
+    /**
+     * Fetch store details of the given apps on virtual threads, at most
+     * {@code steam.app-details-concurrency} requests at a time. Apps without details are absent from the result.
+     */
+    private Map<Integer, SteamAppDetailsResponse.AppData> fetchAppDetails(List<Integer> appIds) {
+        if (appIds.isEmpty()) {
+            return Map.of();
         }
-
-        logger.info("Steam library import completed: {}", message);
-        return new SteamLibraryImportResult(created, updated, failed, message);
+        logger.info("Fetching store details for {} new games", appIds.size());
+        Map<Integer, SteamAppDetailsResponse.AppData> details = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, steamConfig.getAppDetailsConcurrency()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int appId : appIds) {
+                executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        steamApiClient.getAppDetails(appId)
+                                .map(SteamAppDetailsResponse::data)
+                                .ifPresent(data -> details.put(appId, data));
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        } // close() waits for all requests
+        return details;
     }
 
     /**
-     * Import a single game from Steam library.
-     *
-     * @param steamGame The Steam game data from owned games API
-     * @param gamerId The gamer ID to associate the game with
-     * @return true if game was newly created, false if updated
+     * Build a catalog entry for an app ID not in the catalog yet, with the official name and
+     * header image from the Steam Store API when available.
      */
-    private boolean importGame(SteamOwnedGamesResponse.SteamGame steamGame, UUID gamerId) {
+    private CanonicalGame buildCanonicalGame(SteamOwnedGamesResponse.SteamGame steamGame, SteamAppDetailsResponse.AppData details) {
         int appId = steamGame.appId();
         String gameName = steamGame.name();
-        int playtimeMinutes = steamGame.playtimeForever();
-
-        logger.debug("Importing game: {} (App ID: {}, Playtime: {} minutes)", gameName, appId, playtimeMinutes);
-
-        // Check if canonical game exists for this Steam app ID
-        Optional<CanonicalGame> existingGameOpt = canonicalGameRepository.findBySteamAppId(appId);
-
-        CanonicalGame canonicalGame;
-        boolean isNewGame;
-
-        if (existingGameOpt.isPresent()) {
-            // Game already exists in catalog
-            canonicalGame = existingGameOpt.get();
-            isNewGame = false;
-            logger.debug("Game already exists in catalog: {}", canonicalGame.getName());
-        } else {
-            // Create new canonical game
-            // Try to fetch additional details from Steam Store API
-            String thumbnailUrl = buildThumbnailUrl(appId);
-            Optional<SteamAppDetailsResponse> detailsOpt = steamApiClient.getAppDetails(appId);
-
-            if (detailsOpt.isPresent() && detailsOpt.get().data() != null) {
-                SteamAppDetailsResponse.AppData details = detailsOpt.get().data();
-                thumbnailUrl = details.headerImage();
-                gameName = details.name(); // Use official name from store
-            }
+        String thumbnailUrl = buildThumbnailUrl(appId);
+
+        if (details != null) {
+            thumbnailUrl = details.headerImage();
+            gameName = details.name(); // Use official name from store
+        }
 
-            canonicalGame = new CanonicalGame.Builder(gameName)
-                    .setSteamData(new SteamGameData(appId, gameName))
-                    .setThumbnailUrl(thumbnailUrl)
-                    .build();
-
-            canonicalGame = canonicalGameRepository.save(canonicalGame);
-            isNewGame = true;
-            logger.info("Created new canonical game: {} ({})", gameName, canonicalGame.getId());
-        }
-
-        // Create or update personalized game with playtime
-        List<PersonalizedGame> existingPersonalizedGames = collectionRepository.findByGamerId(gamerId);
-        CanonicalGame finalCanonicalGame = canonicalGame;
-        Optional<PersonalizedGame> existingPersonalized = existingPersonalizedGames.stream()
-                .filter(pg -> pg.getCanonicalGameId().equals(finalCanonicalGame.getId()))
-                .findFirst();
-
-        PersonalizedGame personalizedGame;
-        if (existingPersonalized.isPresent()) {
-            // Update existing personalized game with latest playtime
-            personalizedGame = existingPersonalized.get();
-            personalizedGame.setSteamPlaytimeMinutes(playtimeMinutes);
-            logger.debug("Updating playtime for personalized game: {} minutes", playtimeMinutes);
-        } else {
-            // Create new personalized game
-            personalizedGame = new PersonalizedGame.Builder()
-                    .setCanonicalId(canonicalGame.getId())
-                    .setGamerId(gamerId)
-                    .setSteamPlaytimeMinutes(playtimeMinutes)
-                    .setMarkAsPlayed(playtimeMinutes > 0) // Mark as played if has playtime
-                    .build();
-            logger.debug("Created new personalized game with playtime: {} minutes", playtimeMinutes);
-        }
-
-        collectionRepository.save(personalizedGame);
-
-        return isNewGame;
+        return new CanonicalGame.Builder(gameName)
+                .setSteamData(new SteamGameData(appId, gameName))
+                .setThumbnailUrl(thumbnailUrl)
+                .build();
     }
 
+    /**
+     * Owned games of one account.
+     *
+     * @param error Why the library could not be fetched, or null on success
+     */
+    private record AccountLibrary(List<SteamOwnedGamesResponse.SteamGame> games, String error) {}
+
+    /**
+     * One owned game that needs a write.
+     *
+     * @param newGame Catalog entry to create first, or null if the game is in the catalog already
+     * @param added   Whether the entry is new to the collection
+     * @param entry   Collection entry to insert or update
+     */
+    private record ImportItem(SteamOwnedGamesResponse.SteamGame steamGame, CanonicalGame newGame, boolean added,
+                              PersonalizedGame entry) {}
+
+    /**
+     * @param created   Games new to the catalog
+     * @param added     Games new to the collection
+     * @param updated   Collection entries whose playtime, last played time or ownership changed
+     * @param unchanged Collection entries that were already up to date
+     * @param createdGameIds IDs of the games new to the catalog
+     */
+    private record LibraryDiff(int created, int added, int updated, int unchanged, int failed, List<String> errors,
+                               List<UUID> createdGameIds) {}
+
     /**
      * Build thumbnail URL for Steam game header image.
      * Uses Steam's CDN format for game capsule images.
@@ -185,11 +448,22 @@ public class SteamLibraryImportService {
 
     /**
      * Result of Steam library import operation.
+     *
+     * @param created   Games new to the catalog
+     * @param added     Games new to the collection
+     * @param updated   Collection entries whose playtime, last played time or ownership changed
+     * @param unchanged Collection entries that were already up to date
      */
     public record SteamLibraryImportResult(
             int created,
+            int added,
             int updated,
+            int unchanged,
             int failed,
             String message
-    ) {}
+    ) {
+        static SteamLibraryImportResult failure(String message) {
+            return new SteamLibraryImportResult(0, 0, 0, 0, 0, message);
+        }
+    }
 }
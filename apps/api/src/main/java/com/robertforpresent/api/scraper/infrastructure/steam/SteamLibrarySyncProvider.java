@@ -0,0 +1,43 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import com.robertforpresent.api.scraper.domain.port.LibrarySyncProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduled sync of linked Steam accounts through the incremental library import.
+ * <p>
+ * All Steam accounts of the gamer are imported together as one merged library. Syncing them one by one
+ * would let each account overwrite the playtime merged from the others.
+ */
+@Component
+public class SteamLibrarySyncProvider implements LibrarySyncProvider {
+    private final SteamLibraryImportService importService;
+    private final SteamConfig steamConfig;
+
+    public SteamLibrarySyncProvider(SteamLibraryImportService importService, SteamConfig steamConfig) {
+        this.importService = importService;
+        this.steamConfig = steamConfig;
+    }
+
+    @Override
+    public String provider() {
+        return "steam";
+    }
+
+    @Override
+    public SyncOutcome sync(UUID gamerId, List<LinkedAccount> accounts) {
+        if (!steamConfig.isEnabled()) {
+            return new SyncOutcome(false, "Steam integration is not enabled");
+        }
+        List<String> steamIds = accounts.stream().map(LinkedAccount::accountId).toList();
+        SteamLibraryImportService.SteamLibraryImportResult result =
+                importService.importSteamLibraries(steamIds, gamerId, false);
+        boolean synced = result.failed() == 0
+                && result.created() + result.added() + result.updated() + result.unchanged() > 0;
+        return new SyncOutcome(synced, result.message());
+    }
+}
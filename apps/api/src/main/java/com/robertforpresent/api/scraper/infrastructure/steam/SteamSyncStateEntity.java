@@ -0,0 +1,45 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Watermark of the last successful Steam library sync of a gamer.
+ * When the owned app IDs and the latest {@code rtime_last_played} match, nothing was bought or
+ * played since, so the sync can stop before touching the collection.
+ */
+@Entity
+@Table(name = "steam_sync_state")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SteamSyncStateEntity {
+    @Id
+    @Column(name = "gamer_id")
+    private String gamerId;
+
+    @Column(name = "steam_id", nullable = false)
+    private String steamId;
+
+    @Column(name = "game_count", nullable = false)
+    private int gameCount;
+
+    // Hash of the sorted owned app IDs
+    @Column(name = "library_fingerprint", nullable = false)
+    private String libraryFingerprint;
+
+    // Highest rtime_last_played seen, in Unix seconds
+    @Column(name = "last_played_watermark", nullable = false)
+    private long lastPlayedWatermark;
+
+    @Column(name = "synced_at", nullable = false)
+    private Instant syncedAt;
+
+    public SteamSyncStateEntity(String gamerId) {
+        this.gamerId = gamerId;
+    }
+}
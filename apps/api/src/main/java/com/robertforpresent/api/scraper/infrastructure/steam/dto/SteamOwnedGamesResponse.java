@@ -5,6 +5,10 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.List;
 
+/**
+ * GetOwnedGames response, reduced to the fields the import uses.
+ * {@code SteamApiClient} streams the {@code games} array element by element instead of binding the whole body.
+ */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record SteamOwnedGamesResponse(
         @JsonProperty("response") ResponseData response
@@ -20,11 +24,6 @@ public record SteamOwnedGamesResponse(
             @JsonProperty("appid") int appId,
             @JsonProperty("name") String name,
             @JsonProperty("playtime_forever") int playtimeForever, // in minutes
-            @JsonProperty("img_icon_url") String imgIconUrl,
-            @JsonProperty("img_logo_url") String imgLogoUrl,
-            @JsonProperty("has_community_visible_stats") Boolean hasCommunityVisibleStats,
-            @JsonProperty("playtime_windows_forever") Integer playtimeWindowsForever,
-            @JsonProperty("playtime_mac_forever") Integer playtimeMacForever,
-            @JsonProperty("playtime_linux_forever") Integer playtimeLinuxForever
+            @JsonProperty("rtime_last_played") Long rtimeLastPlayed // Unix seconds, 0 if never played
     ) {}
 }
@@ -0,0 +1,15 @@
+package com.robertforpresent.api.scraper.infrastructure.steam.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * {@code price_overview} of an appdetails response. Amounts are in the smallest currency unit.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SteamPriceOverview(
+        @JsonProperty("currency") String currency,
+        @JsonProperty("initial") int initial,
+        @JsonProperty("final") int finalPrice,
+        @JsonProperty("discount_percent") int discountPercent
+) {}
@@ -0,0 +1,69 @@
+package com.robertforpresent.api.scraper.presentation.rest;
+
+import com.robertforpresent.api.scraper.application.service.LibrarySyncService;
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST controller for the store accounts whose libraries are synced on a schedule.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/linked-accounts")
+@CrossOrigin(origins = "http://localhost:4200")
+public class LinkedAccountController {
+    private static final UUID DEFAULT_GAMER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final LibrarySyncService syncService;
+
+    public LinkedAccountController(LibrarySyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public List<LinkedAccount> getLinkedAccounts(@RequestParam(required = false) UUID gamerId) {
+        return syncService.getLinkedAccounts(gamerId != null ? gamerId : DEFAULT_GAMER_ID);
+    }
+
+    /**
+     * Link a store account; its library is then synced periodically.
+     */
+    @PostMapping
+    public ResponseEntity<?> link(@RequestBody LinkAccountRequest request) {
+        if (request.provider() == null || request.accountId() == null || request.accountId().isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "provider and accountId are required"));
+        }
+        try {
+            UUID gamerId = request.gamerId() != null ? request.gamerId() : DEFAULT_GAMER_ID;
+            return ResponseEntity.ok(syncService.link(gamerId, request.provider(), request.accountId().trim()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> unlink(@PathVariable UUID id) {
+        syncService.unlink(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Queue an immediate sync of the account.
+     *
+     * @return 202 if queued, 409 if the account is unknown or already syncing
+     */
+    @PostMapping("/{id}/sync")
+    public ResponseEntity<Void> sync(@PathVariable UUID id) {
+        return syncService.requestSync(id)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(409).build();
+    }
+
+    public record LinkAccountRequest(UUID gamerId, String provider, String accountId) {}
+}
@@ -0,0 +1,25 @@
+package com.robertforpresent.api.shared.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the values of an {@code IN (...)} query into chunks that stay below SQLite's bound parameter limit.
+ */
+public final class InClauseChunks {
+    public static final int CHUNK_SIZE = 500;
+
+    private InClauseChunks() {
+    }
+
+    /**
+     * Consecutive views of at most {@link #CHUNK_SIZE} values each; no chunk for an empty list.
+     */
+    public static <T> List<List<T>> of(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>((values.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < values.size(); from += CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,287 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.robertforpresent.api.thumbnail.domain.model.MediaAsset;
+import com.robertforpresent.api.thumbnail.domain.port.MediaSource;
+import com.robertforpresent.api.thumbnail.domain.repository.MediaAssetRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.MediaCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Local cache for images other than game covers: store icons, Steam artwork, IGDB screenshots.
+ *
+ * <p>Images are addressed as {@code (namespace, key)}. Each namespace has a {@link MediaSource}
+ * turning keys into upstream URLs and a {@link MediaCacheConfig.NamespacePolicy} with its
+ * revalidation TTL, byte budget and variant widths. Storage goes through {@link ThumbnailService}:
+ * the same content-addressed blob store, memory and disk tiers, variant pool and garbage
+ * collection, and downloads and revalidations go through the same {@link UpstreamImageFetcher}. On
+ * top of that this service adds single-flight downloads and a negative cache per key, and evicts the least recently used images of a namespace
+ * once it exceeds its budget.
+ */
+@Service
+@Slf4j
+public class MediaCacheService {
+
+    private final ThumbnailService thumbnailService;
+    private final MediaAssetRepository assetRepository;
+    private final ThumbnailCacheConfig cacheConfig;
+    private final MediaCacheConfig mediaConfig;
+    private final Map<String, MediaSource> sources;
+    private final UpstreamImageFetcher fetcher;
+    private final Map<String, MediaAsset> assetsById = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastAccess = new ConcurrentHashMap<>();
+    private final SingleFlight<String, MediaAsset> inFlightDownloads = new SingleFlight<>();
+    // Value is the entry's own time to live
+    private final Cache<String, Duration> failedFetches =
+            Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfter(Expiry.creating((String id, Duration ttl) -> ttl))
+                    .build();
+
+    public MediaCacheService(
+            ThumbnailService thumbnailService,
+            MediaAssetRepository assetRepository,
+            ThumbnailCacheConfig cacheConfig,
+            MediaCacheConfig mediaConfig,
+            List<MediaSource> sources,
+            UpstreamImageFetcher fetcher) {
+        this.thumbnailService = thumbnailService;
+        this.assetRepository = assetRepository;
+        this.cacheConfig = cacheConfig;
+        this.mediaConfig = mediaConfig;
+        this.sources =
+                sources.stream().collect(Collectors.toMap(MediaSource::namespace, Function.identity()));
+        this.fetcher = fetcher;
+    }
+
+    public Set<String> getNamespaces() {
+        return sources.keySet();
+    }
+
+    /**
+     * Locate a cached image, downloading it first if needed.
+     *
+     * @param width Requested width, rounded up to the namespace's next variant width; null for the
+     *     original. While a variant is being generated the original is returned.
+     * @return Empty for unknown namespaces or keys and for images the source does not deliver
+     */
+    public Optional<CachedThumbnail> get(String namespace, String key, @Nullable Integer width) {
+        MediaSource source = sources.get(namespace);
+        if (!cacheConfig.isEnabled() || source == null) {
+            return Optional.empty();
+        }
+        MediaCacheConfig.NamespacePolicy policy = mediaConfig.policy(namespace);
+        Integer variantWidth = width != null ? snapToVariantWidth(policy, width) : null;
+        String id = namespace + "/" + key;
+
+        Optional<MediaAsset> asset = findAsset(namespace, key);
+        Optional<CachedThumbnail> cached = asset.flatMap(a -> lookup(a, variantWidth));
+        if (cached.isEmpty() && failedFetches.getIfPresent(id) == null) {
+            Optional<String> url = source.resolveUrl(key);
+            if (url.isEmpty()) {
+                return Optional.empty();
+            }
+            asset = downloadOnce(id, () -> fetch(namespace, key, url.get(), null, policy));
+            cached = asset.flatMap(a -> lookup(a, variantWidth));
+        }
+        asset.ifPresent(
+                a -> {
+                    lastAccess.put(id, Instant.now());
+                    revalidateIfStale(a, policy);
+                });
+        return cached;
+    }
+
+    private static @Nullable Integer snapToVariantWidth(
+            MediaCacheConfig.NamespacePolicy policy, int width) {
+        List<Integer> widths = policy.getWidths().stream().sorted().toList();
+        if (widths.isEmpty()) {
+            return null;
+        }
+        for (int variantWidth : widths) {
+            if (variantWidth >= width) {
+                return variantWidth;
+            }
+        }
+        return widths.getLast();
+    }
+
+    private Optional<MediaAsset> findAsset(String namespace, String key) {
+        String id = namespace + "/" + key;
+        MediaAsset known = assetsById.get(id);
+        if (known != null) {
+            return Optional.of(known);
+        }
+        Optional<MediaAsset> stored = assetRepository.find(namespace, key);
+        stored.ifPresent(a -> assetsById.put(id, a));
+        return stored;
+    }
+
+    private void saveAsset(MediaAsset asset) {
+        assetRepository.save(asset);
+        assetsById.put(asset.namespace() + "/" + asset.key(), asset);
+    }
+
+    /**
+     * The variant if it exists, otherwise the original while the variant is generated.
+     */
+    private Optional<CachedThumbnail> lookup(MediaAsset asset, @Nullable Integer width) {
+        if (width != null) {
+            Optional<CachedThumbnail> variant =
+                    thumbnailService.lookupBlob(asset.contentHash(), asset.contentType(), width);
+            if (variant.isPresent()) {
+                return variant;
+            }
+            thumbnailService.scheduleVariant(asset.contentHash(), width);
+        }
+        return thumbnailService.lookupBlob(asset.contentHash(), asset.contentType(), null);
+    }
+
+    /**
+     * Single-flight download: concurrent callers for the same key share the first caller's fetch.
+     */
+    private Optional<MediaAsset> downloadOnce(String id, Download fetch) {
+        return inFlightDownloads.run(
+                id,
+                () -> {
+                    try {
+                        return fetch.run();
+                    } catch (IOException e) {
+                        failedFetches.put(id, UpstreamImageFetcher.TRANSIENT_FAILURE_TTL);
+                        log.debug("Error downloading media {}: {}", id, e.getMessage());
+                        return Optional.empty();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Download {
+        Optional<MediaAsset> run() throws IOException, InterruptedException;
+    }
+
+    /**
+     * GET the image at {@code url}; when revalidating {@code previous}, conditionally on its
+     * upstream validators.
+     *
+     * @return The asset in effect afterwards, empty if the source had nothing usable
+     */
+    private Optional<MediaAsset> fetch(
+            String namespace,
+            String key,
+            String url,
+            @Nullable MediaAsset previous,
+            MediaCacheConfig.NamespacePolicy policy)
+            throws IOException, InterruptedException {
+        UpstreamImageFetcher.Response response =
+                fetcher.fetch(
+                        url,
+                        previous != null ? previous.upstreamEtag() : null,
+                        previous != null ? previous.upstreamLastModified() : null,
+                        thumbnailService::storeDownload);
+        if (response instanceof UpstreamImageFetcher.NotModified && previous != null) {
+            MediaAsset confirmed = previous.withValidatedAt(Instant.now());
+            saveAsset(confirmed);
+            return Optional.of(confirmed);
+        }
+        if (!(response instanceof UpstreamImageFetcher.Fetched fetched)) {
+            log.debug("Failed to fetch media {}/{}: {}", namespace, key, response);
+            if (previous == null) {
+                failedFetches.put(
+                        namespace + "/" + key,
+                        response.failureTtl(Duration.ofMillis(policy.getNegativeTtlMs())));
+            }
+            return Optional.empty();
+        }
+
+        ThumbnailService.StoredBlob blob = fetched.blob();
+        Instant now = Instant.now();
+        MediaAsset asset =
+                new MediaAsset(
+                        namespace,
+                        key,
+                        blob.contentHash(),
+                        fetched.contentType(),
+                        url,
+                        blob.size(),
+                        previous != null ? previous.storedAt() : now,
+                        fetched.etag(),
+                        fetched.lastModified(),
+                        now);
+        saveAsset(asset);
+        for (int width : policy.getWidths()) {
+            thumbnailService.scheduleVariant(blob.contentHash(), width);
+        }
+        enforceBudget(namespace, policy);
+        return Optional.of(asset);
+    }
+
+    /**
+     * Start a background revalidation once a cached image is older than the namespace's TTL. The
+     * stale image keeps being served meanwhile.
+     */
+    private void revalidateIfStale(MediaAsset asset, MediaCacheConfig.NamespacePolicy policy) {
+        if (asset.validatedAt().plusMillis(policy.getTtlMs()).isAfter(Instant.now())) {
+            return;
+        }
+        fetcher.revalidateInBackground(
+                asset.namespace() + "/" + asset.key(),
+                () ->
+                        fetch(asset.namespace(), asset.key(), asset.sourceUrl(), asset, policy)
+                                .isPresent(),
+                () -> saveAsset(asset.withValidatedAt(Instant.now())));
+    }
+
+    /**
+     * Drop the least recently used images of a namespace until it fits its budget. Only the
+     * mapping goes; the blob leaves with the next garbage collection unless something else
+     * references it.
+     */
+    void enforceBudget(String namespace, MediaCacheConfig.NamespacePolicy policy) {
+        long total = assetRepository.sumSizeByNamespace(namespace);
+        if (total <= policy.getMaxBytes()) {
+            return;
+        }
+        List<MediaAsset> assets =
+                assetRepository.findByNamespace(namespace).stream()
+                        .sorted(Comparator.comparing(this::lastUsed))
+                        .toList();
+        int evicted = 0;
+        for (MediaAsset asset : assets) {
+            if (total <= policy.getMaxBytes()) {
+                break;
+            }
+            String id = asset.namespace() + "/" + asset.key();
+            assetRepository.delete(asset.namespace(), asset.key());
+            assetsById.remove(id);
+            lastAccess.remove(id);
+            total -= asset.size();
+            evicted++;
+        }
+        log.debug("Evicted {} media images from namespace {} to fit its budget", evicted, namespace);
+    }
+
+    private Instant lastUsed(MediaAsset asset) {
+        return lastAccess.getOrDefault(asset.namespace() + "/" + asset.key(), asset.validatedAt());
+    }
+}
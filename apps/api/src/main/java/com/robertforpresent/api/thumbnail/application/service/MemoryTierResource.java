@@ -0,0 +1,94 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.NoSuchFileException;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Content of a memory-tier entry. Memory hits are served without asking the blob store whether
+ * the blob still exists; a blob deleted behind the entry's back (e.g. by disk budget eviction)
+ * only shows when its content is opened, which runs {@code onMissing} so the next request goes
+ * to the disk tier again.
+ */
+final class MemoryTierResource extends AbstractResource {
+
+    private final Resource delegate;
+    private final Runnable onMissing;
+
+    MemoryTierResource(Resource delegate, Runnable onMissing) {
+        this.delegate = delegate;
+        this.onMissing = onMissing;
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return delegate.isReadable();
+    }
+
+    @Override
+    public boolean isFile() {
+        return delegate.isFile();
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        return delegate.getFile();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        try {
+            return delegate.getInputStream();
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            onMissing.run();
+            throw e;
+        }
+    }
+
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        try {
+            return delegate.readableChannel();
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            onMissing.run();
+            throw e;
+        }
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        try {
+            return delegate.contentLength();
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            onMissing.run();
+            throw e;
+        }
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return delegate.lastModified();
+    }
+
+    @Override
+    public @Nullable String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription();
+    }
+}
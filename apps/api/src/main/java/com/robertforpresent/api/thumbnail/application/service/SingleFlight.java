@@ -0,0 +1,60 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-flight execution per key: the first caller runs the task, concurrent callers for the
+ * same key wait for and share its result instead of starting their own download.
+ */
+@Slf4j
+final class SingleFlight<K, V> {
+
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(45);
+
+    private final Map<K, CompletableFuture<Optional<V>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    Optional<V> run(K key, Supplier<Optional<V>> task) {
+        CompletableFuture<Optional<V>> own = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            try {
+                return running.get(WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Waiting for download of {} failed: {}", key, e.toString());
+                return Optional.empty();
+            }
+        }
+
+        try {
+            Optional<V> result = task.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /** Callers that shared another caller's run since startup. */
+    long coalesced() {
+        return coalesced.get();
+    }
+}
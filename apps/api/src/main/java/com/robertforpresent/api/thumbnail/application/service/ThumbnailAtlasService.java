@@ -0,0 +1,280 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailDiskIndex;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import jakarta.annotation.PreDestroy;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Packs the thumbnails of many games into one sprite sheet (atlas) plus an offset map, so a grid
+ * page renders with one image request instead of one per game.
+ *
+ * <p>Atlases are keyed by a hash of the requested ids, the tile width and each tile's ETag (the
+ * content hash of the image used). A changed cover or a variant that finished generating yields a
+ * new key; an unchanged page maps to the same key and is served from the blob store. Atlas images
+ * are regular blobs and leave the cache through the disk budget's LRU eviction.
+ */
+@Service
+@Slf4j
+public class ThumbnailAtlasService {
+
+    public static final int MAX_TILES = 200;
+    public static final int MAX_TILE_WIDTH = 480;
+    private static final String ATLAS_PREFIX = "atlas-";
+    private static final Pattern ATLAS_KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final ThumbnailService thumbnailService;
+    private final ThumbnailBlobStore blobStore;
+    private final ThumbnailDiskIndex diskIndex;
+    private final ThumbnailResizer resizer;
+    private final ThumbnailCacheConfig cacheConfig;
+    private final Duration fetchTimeout;
+    private final ExecutorService tileFetcher = Executors.newVirtualThreadPerTaskExecutor();
+    // Layouts of recently built atlases; the images themselves live in the blob store
+    private final Cache<String, Atlas> atlases = Caffeine.newBuilder().maximumSize(256).build();
+
+    public ThumbnailAtlasService(
+            ThumbnailService thumbnailService,
+            ThumbnailBlobStore blobStore,
+            ThumbnailDiskIndex diskIndex,
+            ThumbnailResizer resizer,
+            ThumbnailCacheConfig cacheConfig,
+            @Value("${thumbnail.atlas.fetch-timeout-ms:5000}") long fetchTimeoutMs) {
+        this.thumbnailService = thumbnailService;
+        this.blobStore = blobStore;
+        this.diskIndex = diskIndex;
+        this.resizer = resizer;
+        this.cacheConfig = cacheConfig;
+        this.fetchTimeout = Duration.ofMillis(fetchTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tileFetcher.shutdownNow();
+    }
+
+    public static boolean isAtlas(String blobName) {
+        return blobName.startsWith(ATLAS_PREFIX);
+    }
+
+    /**
+     * Get or build the atlas for the given games, in the given order. Games without a thumbnail
+     * are listed as missing and take no tile.
+     */
+    public Atlas getAtlas(List<UUID> gameIds, int tileWidth) {
+        List<UUID> ids = gameIds.stream().distinct().toList();
+        Map<UUID, CachedThumbnail> tiles = resolveTiles(ids, tileWidth);
+        String key = atlasKey(ids, tiles, tileWidth);
+
+        Atlas cached = atlases.getIfPresent(key);
+        if (cached != null && (cached.tiles().isEmpty() || blobStore.contains(imageName(key)))) {
+            return cached;
+        }
+        atlases.invalidate(key);
+        // Concurrent requests for the same page wait for one render
+        return atlases.get(key, k -> render(k, ids, tiles, tileWidth));
+    }
+
+    public Optional<ThumbnailBlobStore.Blob> findAtlasImage(String key) {
+        if (!ATLAS_KEY.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        return blobStore.find(imageName(key));
+    }
+
+    /**
+     * Take every tile available in the cache, then download the misses concurrently. Downloads go
+     * through the per-host limit shared with all other fetches, and the atlas waits for them only
+     * up to the fetch timeout: tiles still downloading are listed as missing, and since the atlas
+     * key covers each tile's version, the next request for the page builds a complete atlas.
+     */
+    private Map<UUID, CachedThumbnail> resolveTiles(List<UUID> ids, int tileWidth) {
+        Map<UUID, CachedThumbnail> tiles = new LinkedHashMap<>();
+        Map<UUID, Future<Optional<CachedThumbnail>>> misses = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            Optional<CachedThumbnail> cached = thumbnailService.findCached(id, tileWidth);
+            if (cached.isPresent()) {
+                tiles.put(id, cached.get());
+            } else {
+                misses.put(id, tileFetcher.submit(() -> thumbnailService.getThumbnail(id, tileWidth)));
+            }
+        }
+
+        long deadline = System.nanoTime() + fetchTimeout.toNanos();
+        for (Map.Entry<UUID, Future<Optional<CachedThumbnail>>> entry : misses.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                entry.getValue()
+                        .get(remaining, TimeUnit.NANOSECONDS)
+                        .ifPresent(thumbnail -> tiles.put(entry.getKey(), thumbnail));
+            } catch (ExecutionException e) {
+                log.debug("No atlas tile for {}: {}", entry.getKey(), e.getCause().toString());
+            } catch (TimeoutException e) {
+                // Keeps downloading in the background for the next request
+                log.debug("Atlas tile for {} not downloaded in time", entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Same order as requested, cached and downloaded tiles interleaved
+        Map<UUID, CachedThumbnail> ordered = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            CachedThumbnail tile = tiles.get(id);
+            if (tile != null) {
+                ordered.put(id, tile);
+            }
+        }
+        return ordered;
+    }
+
+    private static String atlasKey(List<UUID> ids, Map<UUID, CachedThumbnail> tiles, int tileWidth) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        digest.update(("w" + tileWidth + "\n").getBytes(StandardCharsets.UTF_8));
+        for (UUID id : ids) {
+            CachedThumbnail tile = tiles.get(id);
+            String version = tile != null ? tile.etag() : "-";
+            digest.update((id + ":" + version + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Atlas render(String key, List<UUID> ids, Map<UUID, CachedThumbnail> tiles, int tileWidth) {
+        Map<UUID, BufferedImage> images = new LinkedHashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            BufferedImage image = tiles.containsKey(id) ? decode(id, tiles.get(id), tileWidth) : null;
+            if (image != null) {
+                images.put(id, image);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (images.isEmpty()) {
+            return new Atlas(key, 0, 0, tileWidth, List.of(), missing);
+        }
+
+        // Fixed-width columns; each row is as tall as its tallest tile
+        int columns = (int) Math.ceil(Math.sqrt(images.size()));
+        List<Tile> placed = new ArrayList<>(images.size());
+        int y = 0;
+        int rowHeight = 0;
+        int column = 0;
+        for (Map.Entry<UUID, BufferedImage> entry : images.entrySet()) {
+            if (column == columns) {
+                y += rowHeight;
+                rowHeight = 0;
+                column = 0;
+            }
+            int height = entry.getValue().getHeight();
+            placed.add(new Tile(entry.getKey(), column * tileWidth, y, tileWidth, height));
+            rowHeight = Math.max(rowHeight, height);
+            column++;
+        }
+        int width = columns * tileWidth;
+        int height = y + rowHeight;
+
+        BufferedImage sheet = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = sheet.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            for (Tile tile : placed) {
+                graphics.drawImage(images.get(tile.gameId()), tile.x(), tile.y(), null);
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        String name = imageName(key);
+        try {
+            Path temp = Files.createTempFile(cacheConfig.getCachePath(), name + "-", ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    resizer.writeJpeg(sheet, out);
+                }
+                diskIndex.recordWrite(name, blobStore.put(name, temp));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store atlas " + key, e);
+        }
+        log.debug("Built thumbnail atlas {} with {} tiles ({}x{})", key, placed.size(), width, height);
+        return new Atlas(key, width, height, tileWidth, placed, missing);
+    }
+
+    private @Nullable BufferedImage decode(UUID gameId, CachedThumbnail thumbnail, int tileWidth) {
+        try (InputStream in = thumbnail.content().getInputStream()) {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                return null;
+            }
+            return image.getWidth() == tileWidth && image.getType() == BufferedImage.TYPE_INT_RGB
+                    ? image
+                    : resizer.scaleToWidth(image, tileWidth);
+        } catch (IOException e) {
+            log.debug("Failed to decode atlas tile for {}: {}", gameId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String imageName(String key) {
+        return ATLAS_PREFIX + key + ".jpg";
+    }
+
+    /**
+     * Layout of an atlas image.
+     *
+     * @param key Content key, also names the image
+     * @param tileWidth Width of every tile; heights follow each cover's aspect ratio
+     * @param missing Requested games without a usable thumbnail
+     */
+    public record Atlas(
+            String key, int width, int height, int tileWidth, List<Tile> tiles, List<UUID> missing) {}
+
+    /** Position of one game's thumbnail in the atlas, in pixels. */
+    public record Tile(UUID gameId, int x, int y, int width, int height) {}
+}
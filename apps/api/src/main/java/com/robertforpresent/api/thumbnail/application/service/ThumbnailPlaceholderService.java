@@ -0,0 +1,150 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.events.domain.model.GameUpdateType;
+import com.robertforpresent.api.thumbnail.domain.repository.ThumbnailMappingRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.image.BlurHash;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Computes BlurHash placeholders for stored thumbnails so grid views can paint a blurred preview
+ * before the real image arrives.
+ *
+ * <p>A placeholder belongs to a blob, not a game: it is computed once per content hash, off the
+ * request path, and copied to every mapping of that hash. New thumbnails are picked up through
+ * {@link GameUpdateType#THUMBNAIL_READY}; a periodic sweep fills in blobs stored before this
+ * existed or missed while the application was down. Blobs that are missing or cannot be decoded
+ * are marked as failed and skipped by the sweep for a day, so they cannot starve the others.
+ */
+@Service
+@Slf4j
+public class ThumbnailPlaceholderService {
+
+    // Decoding happens on a small copy; BlurHash only keeps a few frequency components anyway
+    private static final int SAMPLE_WIDTH = 32;
+    private static final int SWEEP_BATCH_SIZE = 100;
+    // Blobs that failed are retried this much later, e.g. after a re-download replaced them
+    private static final Duration FAILED_RETRY_AFTER = Duration.ofDays(1);
+
+    private final ThumbnailMappingRepository mappingRepository;
+    private final ThumbnailBlobStore blobStore;
+    private final ThumbnailResizer resizer;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "thumbnail-placeholder");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailPlaceholderService(
+            ThumbnailMappingRepository mappingRepository,
+            ThumbnailBlobStore blobStore,
+            ThumbnailResizer resizer) {
+        this.mappingRepository = mappingRepository;
+        this.blobStore = blobStore;
+        this.resizer = resizer;
+    }
+
+    /**
+     * Placeholders of the given games; games without one yet are absent from the result.
+     */
+    public Map<UUID, String> getPlaceholders(Collection<UUID> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Map.of();
+        }
+        return mappingRepository.findPlaceholders(gameIds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdate(GameUpdateEvent event) {
+        if (event.type() != GameUpdateType.THUMBNAIL_READY || event.gameId() == null) {
+            return;
+        }
+        if (mappingRepository.findPlaceholders(List.of(event.gameId())).isEmpty()) {
+            mappingRepository
+                    .findByGameId(event.gameId())
+                    .ifPresent(mapping -> schedule(mapping.contentHash()));
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${thumbnail.placeholder.initial-delay-ms:120000}",
+            fixedDelayString = "${thumbnail.placeholder.interval-ms:600000}")
+    public void sweep() {
+        List<String> hashes =
+                mappingRepository.findHashesWithoutPlaceholder(
+                        SWEEP_BATCH_SIZE, Instant.now().minus(FAILED_RETRY_AFTER));
+        if (!hashes.isEmpty()) {
+            log.debug("Scheduling {} thumbnail placeholders", hashes.size());
+            hashes.forEach(this::schedule);
+        }
+    }
+
+    private void schedule(String contentHash) {
+        if (pending.add(contentHash)) {
+            executor.execute(
+                    () -> {
+                        try {
+                            compute(contentHash);
+                        } finally {
+                            pending.remove(contentHash);
+                        }
+                    });
+        }
+    }
+
+    private void compute(String contentHash) {
+        Optional<ThumbnailBlobStore.Blob> blob =
+                blobStore.find(ThumbnailService.getBlobName(contentHash, null));
+        if (blob.isEmpty()) {
+            markFailed(contentHash);
+            return;
+        }
+        try (InputStream in = blob.get().content().getInputStream()) {
+            BufferedImage image = ImageIO.read(in);
+            if (image == null) {
+                log.debug("Cannot decode thumbnail {} for a placeholder", contentHash);
+                markFailed(contentHash);
+                return;
+            }
+            BufferedImage sample = resizer.scaleToWidth(image, Math.min(SAMPLE_WIDTH, image.getWidth()));
+            boolean portrait = sample.getHeight() > sample.getWidth();
+            String placeholder = BlurHash.encode(sample, portrait ? 3 : 4, portrait ? 4 : 3);
+            mappingRepository.savePlaceholder(contentHash, placeholder);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to compute placeholder for thumbnail {}: {}", contentHash, e.toString());
+            markFailed(contentHash);
+        }
+    }
+
+    private void markFailed(String contentHash) {
+        try {
+            mappingRepository.markPlaceholderFailed(contentHash, Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record placeholder failure of {}: {}", contentHash, e.toString());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.service.GamerCollectionService;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.events.domain.model.GameUpdateType;
+import com.robertforpresent.api.thumbnail.infrastructure.http.UpstreamHostLimiter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Background warm-up of the thumbnail cache.
+ *
+ * <p>Walks all catalog games that have a thumbnail URL but no cached file and downloads them on
+ * virtual threads. Games are queued per upstream host in priority order (the gamer's top and
+ * backlog games first), and each host gets {@code thumbnail.prefetch.per-host-concurrency} worker
+ * loops draining its queue, so the job never floods a CDN and never parks one thread per game.
+ * Only one job runs at a time; a library import arriving meanwhile queues one follow-up run.
+ */
+@Service
+@Slf4j
+public class ThumbnailPrefetchService {
+
+    private final CanonicalGameRepository gameRepository;
+    private final GamerCollectionService collectionService;
+    private final ThumbnailService thumbnailService;
+    private final int perHostConcurrency;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean followUpRequested = new AtomicBoolean();
+    private volatile @Nullable UUID followUpGamerId;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile @Nullable Instant lastStartedAt;
+    private volatile @Nullable Instant lastFinishedAt;
+
+    public ThumbnailPrefetchService(
+            CanonicalGameRepository gameRepository,
+            GamerCollectionService collectionService,
+            ThumbnailService thumbnailService,
+            @Value("${thumbnail.prefetch.per-host-concurrency:4}") int perHostConcurrency) {
+        this.gameRepository = gameRepository;
+        this.collectionService = collectionService;
+        this.thumbnailService = thumbnailService;
+        this.perHostConcurrency = Math.max(1, perHostConcurrency);
+    }
+
+    /**
+     * Start a prefetch job in the background unless one is already running.
+     *
+     * @param gamerId Gamer whose top and backlog games are fetched first, or null for no priority
+     * @return Status after the start attempt
+     */
+    public PrefetchStatus start(@Nullable UUID gamerId) {
+        if (running.compareAndSet(false, true)) {
+            // This job picks up everything a requested follow-up would have
+            followUpRequested.set(false);
+            queued.set(0);
+            completed.set(0);
+            failed.set(0);
+            lastStartedAt = Instant.now();
+            Thread.ofVirtual().name("thumbnail-prefetch").start(() -> run(gamerId));
+        } else {
+            log.debug("Thumbnail prefetch already running, not starting another job");
+        }
+        return getStatus();
+    }
+
+    /**
+     * Warm up thumbnails of freshly imported games. While a job is running, its candidates were
+     * selected before the import, so another run is queued for when it finishes.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameUpdate(GameUpdateEvent event) {
+        if (event.type() == GameUpdateType.LIBRARY_IMPORTED) {
+            // Requested before starting, so a job finishing concurrently cannot miss it
+            followUpGamerId = event.gamerId();
+            followUpRequested.set(true);
+            start(event.gamerId());
+        }
+    }
+
+    public PrefetchStatus getStatus() {
+        return new PrefetchStatus(
+                running.get(),
+                queued.get(),
+                completed.get(),
+                failed.get(),
+                lastStartedAt,
+                lastFinishedAt);
+    }
+
+    private void run(@Nullable UUID gamerId) {
+        try {
+            List<CanonicalGame> candidates = findCandidates(gamerId);
+            queued.set(candidates.size());
+            log.info("Prefetching {} thumbnails", candidates.size());
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (Queue<CanonicalGame> hostQueue : queueByHost(candidates).values()) {
+                    int workers = Math.min(perHostConcurrency, hostQueue.size());
+                    for (int i = 0; i < workers; i++) {
+                        executor.submit(() -> drain(hostQueue));
+                    }
+                }
+            } // close() waits for all workers
+
+            log.info(
+                    "Thumbnail prefetch finished: {} downloaded, {} failed",
+                    completed.get(),
+                    failed.get());
+        } catch (RuntimeException e) {
+            log.error("Thumbnail prefetch aborted", e);
+        } finally {
+            lastFinishedAt = Instant.now();
+            running.set(false);
+        }
+        if (followUpRequested.getAndSet(false)) {
+            log.debug("Library imported during thumbnail prefetch, running again");
+            start(followUpGamerId);
+        }
+    }
+
+    private List<CanonicalGame> findCandidates(@Nullable UUID gamerId) {
+        Set<UUID> priority = new HashSet<>();
+        if (gamerId != null) {
+            collectionService.getTop3(gamerId).stream()
+                    .map(CollectionGameView::id)
+                    .forEach(priority::add);
+            collectionService.getBacklog(gamerId).stream()
+                    .map(CollectionGameView::id)
+                    .forEach(priority::add);
+        }
+
+        List<CanonicalGame> withUrl = new ArrayList<>();
+        for (CanonicalGame game : gameRepository.findAll()) {
+            String url = game.getThumbnailUrl();
+            if (url != null && !url.isBlank()) {
+                withUrl.add(game);
+            }
+        }
+        Set<UUID> cached =
+                thumbnailService.findCachedGameIds(withUrl.stream().map(CanonicalGame::getId).toList());
+        List<CanonicalGame> candidates =
+                new ArrayList<>(withUrl.stream().filter(game -> !cached.contains(game.getId())).toList());
+        candidates.sort(Comparator.comparing((CanonicalGame game) -> !priority.contains(game.getId())));
+        return candidates;
+    }
+
+    /**
+     * Split the priority-sorted candidates into one queue per upstream host, keeping their order.
+     */
+    private static Map<String, Queue<CanonicalGame>> queueByHost(List<CanonicalGame> candidates) {
+        Map<String, Queue<CanonicalGame>> queues = new LinkedHashMap<>();
+        for (CanonicalGame game : candidates) {
+            queues.computeIfAbsent(
+                            UpstreamHostLimiter.hostOf(game.getThumbnailUrl()),
+                            host -> new ConcurrentLinkedQueue<>())
+                    .add(game);
+        }
+        return queues;
+    }
+
+    private void drain(Queue<CanonicalGame> hostQueue) {
+        CanonicalGame game;
+        while (!Thread.currentThread().isInterrupted() && (game = hostQueue.poll()) != null) {
+            prefetch(game);
+        }
+    }
+
+    private void prefetch(CanonicalGame game) {
+        try {
+            if (thumbnailService.getThumbnail(game.getId()).isPresent()) {
+                completed.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.debug("Prefetch failed for {}: {}", game.getName(), e.getMessage());
+        }
+    }
+
+    public record PrefetchStatus(
+            boolean running,
+            int queued,
+            int completed,
+            int failed,
+            @Nullable Instant lastStartedAt,
+            @Nullable Instant lastFinishedAt) {}
+}
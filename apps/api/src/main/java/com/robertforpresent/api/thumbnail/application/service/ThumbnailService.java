@@ -1,85 +1,386 @@
 /* (C)2025 */
 package com.robertforpresent.api.thumbnail.application.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
 import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.thumbnail.domain.model.ThumbnailMapping;
+import com.robertforpresent.api.thumbnail.domain.repository.MediaAssetRepository;
+import com.robertforpresent.api.thumbnail.domain.repository.ThumbnailMappingRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
 import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailDiskIndex;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailMemoryCache;
+import com.robertforpresent.api.thumbnail.infrastructure.http.UpstreamHostLimiter;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Serves thumbnails from three tiers: memory ({@link ThumbnailMemoryCache}), the disk cache
+ * directory, and finally the network (the game's thumbnail URL).
+ *
+ * <p>Images are stored content-addressed as {@code {sha256}.jpg} in the {@link ThumbnailBlobStore}
+ * (one file each or packed segments, see {@code thumbnail.cache.storage}), and the {@link
+ * ThumbnailMappingRepository} points each game at its blob. Games sharing a cover URL or identical
+ * bytes share one file, the hash is a strong ETag, and merging games only moves a mapping. Blobs
+ * no game references any more are removed by {@link #collectGarbage()}.
+ *
+ * <p>Besides the original, downscaled width variants are generated once per blob on a small
+ * background pool and cached next to it ({@code {sha256}-w{width}.jpg}).
+ *
+ * <p>Downloads go through the {@link UpstreamImageFetcher}, which waits for a permit of the
+ * host's {@link UpstreamHostLimiter} shared with every other path to the network. Failed fetches
+ * are remembered per game for a while (negative cache), so dead cover URLs do not hit the network
+ * on every request. Cached images older than the
+ * revalidation interval are still served, while a background conditional GET ({@code
+ * If-None-Match} / {@code If-Modified-Since}) confirms them with a 304 or replaces them.
+ *
+ * <p>The blob tiers, variant pool and garbage collection are shared with {@link
+ * MediaCacheService}, which caches other images (store icons, Steam artwork, screenshots) in the
+ * same store.
+ */
 @Service
 @Slf4j
 public class ThumbnailService {
 
+    private static final String DEFAULT_CONTENT_TYPE = UpstreamImageFetcher.DEFAULT_CONTENT_TYPE;
+    // Blobs younger than this are never collected: their mapping may not be committed yet
+    private static final Duration GC_GRACE_PERIOD = Duration.ofMinutes(10);
+    private static final int MAPPING_CACHE_SIZE = 20_000;
+    private static final Pattern BLOB_FILE_NAME = Pattern.compile("([0-9a-f]{64})(?:-w\\d+)?\\.jpg");
+
     private final ThumbnailCacheConfig cacheConfig;
     private final CanonicalGameRepository gameRepository;
-    private final HttpClient httpClient;
+    private final ThumbnailMappingRepository mappingRepository;
+    private final MediaAssetRepository mediaAssetRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThumbnailMemoryCache memoryCache;
+    private final ThumbnailDiskIndex diskIndex;
+    private final ThumbnailBlobStore blobStore;
+    private final ThumbnailResizer resizer;
+    private final UpstreamImageFetcher fetcher;
+    private final int[] variantWidths;
+    private final ThreadPoolExecutor variantExecutor;
+    private final Set<String> pendingVariants = ConcurrentHashMap.newKeySet();
+    // Hot mappings only; the repository stays the source of truth for the whole catalog
+    private final Cache<UUID, ThumbnailMapping> mappingsByGameId =
+            Caffeine.newBuilder().maximumSize(MAPPING_CACHE_SIZE).build();
+    private final Cache<UUID, Duration> failedFetches;
+    private final Duration negativeTtl;
+    private final Duration revalidateAfter;
+    private final SingleFlight<UUID, CachedThumbnail> inFlightDownloads = new SingleFlight<>();
+
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong downloadFailures = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong revalidatedUnchanged = new AtomicLong();
+    private final AtomicLong variantsGenerated = new AtomicLong();
 
     public ThumbnailService(
-            ThumbnailCacheConfig cacheConfig, CanonicalGameRepository gameRepository) {
+            ThumbnailCacheConfig cacheConfig,
+            CanonicalGameRepository gameRepository,
+            ThumbnailMappingRepository mappingRepository,
+            MediaAssetRepository mediaAssetRepository,
+            ApplicationEventPublisher eventPublisher,
+            ThumbnailMemoryCache memoryCache,
+            ThumbnailDiskIndex diskIndex,
+            ThumbnailBlobStore blobStore,
+            ThumbnailResizer resizer,
+            UpstreamImageFetcher fetcher,
+            @Value("${thumbnail.variants.widths:120,240,480}") int[] variantWidths,
+            @Value("${thumbnail.negative-cache.ttl-ms:3600000}") long negativeTtlMs,
+            @Value("${thumbnail.revalidate-after-ms:604800000}") long revalidateAfterMs) {
         this.cacheConfig = cacheConfig;
         this.gameRepository = gameRepository;
-        this.httpClient =
-                HttpClient.newBuilder()
-                        .connectTimeout(Duration.ofSeconds(10))
-                        .followRedirects(HttpClient.Redirect.NORMAL)
+        this.mappingRepository = mappingRepository;
+        this.mediaAssetRepository = mediaAssetRepository;
+        this.eventPublisher = eventPublisher;
+        this.memoryCache = memoryCache;
+        this.diskIndex = diskIndex;
+        this.blobStore = blobStore;
+        this.resizer = resizer;
+        this.fetcher = fetcher;
+        this.variantWidths = Arrays.stream(variantWidths).sorted().distinct().toArray();
+        this.negativeTtl = Duration.ofMillis(negativeTtlMs);
+        this.revalidateAfter = Duration.ofMillis(revalidateAfterMs);
+        // Value is the entry's own time to live
+        this.failedFetches =
+                Caffeine.newBuilder()
+                        .maximumSize(10_000)
+                        .expireAfter(Expiry.creating((UUID gameId, Duration ttl) -> ttl))
                         .build();
+        // Resizing is CPU-bound: few platform threads, bounded queue, drop work when saturated
+        this.variantExecutor =
+                new ThreadPoolExecutor(
+                        2,
+                        2,
+                        0,
+                        TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(1000),
+                        Thread.ofPlatform().name("thumbnail-resize-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantExecutor.shutdownNow();
+    }
+
+    /**
+     * Locate the cached thumbnail of a game, downloading it first if needed.
+     * The returned metadata points to the file the image can be streamed from.
+     */
+    public Optional<CachedThumbnail> getThumbnail(UUID gameId) {
+        if (!cacheConfig.isEnabled()) {
+            return Optional.empty();
+        }
+
+        Optional<ThumbnailMapping> mapping = findMapping(gameId);
+        if (mapping.isPresent()) {
+            Optional<CachedThumbnail> cached = lookupCached(mapping.get(), null);
+            if (cached.isPresent()) {
+                revalidateIfStale(mapping.get());
+                return cached;
+            }
+        }
+        if (failedFetches.getIfPresent(gameId) != null) {
+            negativeHits.incrementAndGet();
+            return Optional.empty();
+        }
+        return downloadOnce(gameId);
     }
 
-    public Optional<byte[]> getThumbnail(UUID gameId) {
+    /**
+     * Get a downscaled variant of a game's thumbnail. The requested width is rounded up to the next
+     * configured variant width. While the variant is not generated yet, the original is returned
+     * and generation is scheduled in the background.
+     */
+    public Optional<CachedThumbnail> getThumbnail(UUID gameId, int width) {
         if (!cacheConfig.isEnabled()) {
             return Optional.empty();
         }
 
-        Path cachedFile = getCacheFilePath(gameId);
+        int variantWidth = snapToVariantWidth(width);
+        Optional<ThumbnailMapping> mapping = findMapping(gameId);
+        if (mapping.isPresent()) {
+            Optional<CachedThumbnail> variant = lookupCached(mapping.get(), variantWidth);
+            if (variant.isPresent()) {
+                revalidateIfStale(mapping.get());
+                return variant;
+            }
+        }
 
-        if (Files.exists(cachedFile)) {
-            return readFromCache(cachedFile);
+        Optional<CachedThumbnail> original = getThumbnail(gameId);
+        if (original.isPresent()) {
+            findMapping(gameId).ifPresent(m -> scheduleVariant(m.contentHash(), variantWidth));
         }
+        return original;
+    }
 
-        return downloadAndCache(gameId, cachedFile);
+    /**
+     * The cached thumbnail of a game without downloading it: the variant of the requested width if
+     * it was generated, otherwise the original while the variant is generated in the background.
+     */
+    public Optional<CachedThumbnail> findCached(UUID gameId, int width) {
+        if (!cacheConfig.isEnabled()) {
+            return Optional.empty();
+        }
+        Optional<ThumbnailMapping> mapping = findMapping(gameId);
+        if (mapping.isEmpty()) {
+            return Optional.empty();
+        }
+        int variantWidth = snapToVariantWidth(width);
+        Optional<CachedThumbnail> cached = lookupCached(mapping.get(), variantWidth);
+        if (cached.isEmpty()) {
+            cached = lookupCached(mapping.get(), null);
+            if (cached.isPresent()) {
+                scheduleVariant(mapping.get().contentHash(), variantWidth);
+            }
+        }
+        if (cached.isPresent()) {
+            revalidateIfStale(mapping.get());
+        }
+        return cached;
     }
 
-    public Optional<String> getContentType(UUID gameId) {
-        Path cachedFile = getCacheFilePath(gameId);
-        if (Files.exists(cachedFile)) {
-            try {
-                String contentType = Files.probeContentType(cachedFile);
-                return Optional.of(contentType != null ? contentType : "image/jpeg");
-            } catch (IOException e) {
-                return Optional.of("image/jpeg");
+    private int snapToVariantWidth(int width) {
+        for (int variantWidth : variantWidths) {
+            if (variantWidth >= width) {
+                return variantWidth;
             }
         }
-        return Optional.of("image/jpeg");
+        return variantWidths[variantWidths.length - 1];
+    }
+
+    private Optional<ThumbnailMapping> findMapping(UUID gameId) {
+        ThumbnailMapping known = mappingsByGameId.getIfPresent(gameId);
+        if (known != null) {
+            return Optional.of(known);
+        }
+        Optional<ThumbnailMapping> stored = mappingRepository.findByGameId(gameId);
+        stored.ifPresent(m -> mappingsByGameId.put(gameId, m));
+        return stored;
     }
 
-    private Path getCacheFilePath(UUID gameId) {
-        return cacheConfig.getCachePath().resolve(gameId + ".jpg");
+    private void saveMapping(ThumbnailMapping mapping) {
+        mappingRepository.save(mapping);
+        mappingsByGameId.put(mapping.gameId(), mapping);
     }
 
-    private Optional<byte[]> readFromCache(Path cachedFile) {
+    private Optional<CachedThumbnail> lookupCached(ThumbnailMapping mapping, @Nullable Integer width) {
+        return lookupBlob(mapping.contentHash(), mapping.contentType(), width);
+    }
+
+    /**
+     * Memory tier, then disk tier. A memory hit is trusted without touching the blob store; a blob
+     * that disappeared since is noticed when its content is opened (see {@link
+     * MemoryTierResource}).
+     */
+    Optional<CachedThumbnail> lookupBlob(
+            String contentHash, String contentType, @Nullable Integer width) {
+        String fileName = getBlobName(contentHash, width);
+        Optional<CachedThumbnail> inMemory = memoryCache.get(fileName);
+        if (inMemory.isPresent()) {
+            // Keep the disk LRU order in sync, hot files must not be evicted from disk
+            diskIndex.recordHit(fileName, inMemory.get().size());
+            return inMemory;
+        }
+
+        Optional<CachedThumbnail> onDisk =
+                readBlob(contentHash, contentType, width).map(found -> toMemoryEntry(fileName, found));
+        if (onDisk.isPresent()) {
+            diskIndex.recordHit(fileName, onDisk.get().size());
+            memoryCache.put(fileName, onDisk.get());
+        } else {
+            diskIndex.recordMiss(fileName);
+        }
+        return onDisk;
+    }
+
+    private CachedThumbnail toMemoryEntry(String fileName, CachedThumbnail found) {
+        Resource content =
+                new MemoryTierResource(
+                        found.content(),
+                        () -> {
+                            log.debug("Cached thumbnail {} is gone from the blob store", fileName);
+                            memoryCache.invalidate(fileName);
+                            diskIndex.recordRemoval(fileName);
+                        });
+        return new CachedThumbnail(
+                content,
+                found.contentType(),
+                found.etag(),
+                found.lastModified(),
+                found.size(),
+                found.width());
+    }
+
+    void scheduleVariant(String contentHash, int width) {
+        String fileName = getBlobName(contentHash, width);
+        if (blobStore.contains(fileName) || !pendingVariants.add(fileName)) {
+            return;
+        }
+        String original = getBlobName(contentHash, null);
         try {
-            log.debug("Serving cached thumbnail: {}", cachedFile.getFileName());
-            return Optional.of(Files.readAllBytes(cachedFile));
-        } catch (IOException e) {
-            log.error("Failed to read cached thumbnail: {}", cachedFile, e);
-            return Optional.empty();
+            variantExecutor.execute(
+                    () -> {
+                        try {
+                            long size =
+                                    writeToStore(fileName, temp -> resizeOriginal(original, temp, width));
+                            diskIndex.recordWrite(fileName, size);
+                            variantsGenerated.incrementAndGet();
+                        } catch (IOException | RuntimeException e) {
+                            log.debug("Failed to generate {}: {}", fileName, e.getMessage());
+                        } finally {
+                            pendingVariants.remove(fileName);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            pendingVariants.remove(fileName);
         }
     }
 
-    private Optional<byte[]> downloadAndCache(UUID gameId, Path cachedFile) {
+    private void resizeOriginal(String original, Path target, int width) throws IOException {
+        ThumbnailBlobStore.Blob blob =
+                blobStore.find(original).orElseThrow(() -> new IOException("Original evicted"));
+        try (InputStream source = blob.content().getInputStream()) {
+            resizer.resize(source, target, width);
+        }
+    }
+
+    /**
+     * Single-flight download: the first caller for a game downloads, concurrent callers for the
+     * same game wait for and share its result instead of starting their own download.
+     */
+    private Optional<CachedThumbnail> downloadOnce(UUID gameId) {
+        return inFlightDownloads.run(
+                gameId,
+                () -> {
+                    // The previous leader may have finished between our lookup and registration
+                    Optional<CachedThumbnail> result =
+                            findMapping(gameId).flatMap(mapping -> readFromCache(mapping, null));
+                    return result.isPresent() ? result : downloadAndStore(gameId);
+                });
+    }
+
+    static String getBlobName(String contentHash, @Nullable Integer width) {
+        return width == null ? contentHash + ".jpg" : contentHash + "-w" + width + ".jpg";
+    }
+
+    private Optional<CachedThumbnail> readFromCache(ThumbnailMapping mapping, @Nullable Integer width) {
+        return readBlob(mapping.contentHash(), mapping.contentType(), width);
+    }
+
+    private Optional<CachedThumbnail> readBlob(
+            String contentHash, String originalContentType, @Nullable Integer width) {
+        // Variants are re-encoded as JPEG
+        String contentType = width == null ? originalContentType : DEFAULT_CONTENT_TYPE;
+        return blobStore
+                .find(getBlobName(contentHash, width))
+                .map(blob -> toCachedThumbnail(blob, contentType, contentHash, width));
+    }
+
+    private Optional<CachedThumbnail> downloadAndStore(UUID gameId) {
         Optional<CanonicalGame> gameOpt = gameRepository.findById(gameId);
         if (gameOpt.isEmpty()) {
             log.warn("Game not found for thumbnail: {}", gameId);
@@ -90,6 +391,7 @@ public class ThumbnailService {
         String thumbnailUrl = game.getThumbnailUrl();
         if (thumbnailUrl == null || thumbnailUrl.isBlank()) {
             log.warn("No thumbnail URL for game: {}", gameId);
+            failedFetches.put(gameId, negativeTtl);
             return Optional.empty();
         }
 
@@ -98,36 +400,33 @@ public class ThumbnailService {
             thumbnailUrl = "https:" + thumbnailUrl;
         } else if (!thumbnailUrl.startsWith("http://") && !thumbnailUrl.startsWith("https://")) {
             log.warn("Invalid thumbnail URL scheme for game {}: {}", gameId, thumbnailUrl);
+            failedFetches.put(gameId, negativeTtl);
             return Optional.empty();
         }
 
+        // Another game already downloaded this cover: point at its blob instead of downloading
+        Optional<ThumbnailMapping> sameUrl = mappingRepository.findAnyBySourceUrl(thumbnailUrl);
+        if (sameUrl.isPresent()) {
+            ThumbnailMapping shared = sameUrl.get().withGameId(gameId);
+            Optional<CachedThumbnail> existing = readFromCache(shared, null);
+            if (existing.isPresent()) {
+                saveMapping(shared);
+                deduplicated.incrementAndGet();
+                eventPublisher.publishEvent(GameUpdateEvent.thumbnailReady(gameId));
+                return existing;
+            }
+        }
+
         try {
-            HttpRequest request =
-                    HttpRequest.newBuilder()
-                            .uri(URI.create(thumbnailUrl))
-                            .timeout(Duration.ofSeconds(30))
-                            .GET()
-                            .build();
-
-            HttpResponse<InputStream> response =
-                    httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
-
-            if (response.statusCode() == 200) {
-                byte[] imageData = response.body().readAllBytes();
-                Files.write(cachedFile, imageData);
-                log.debug(
-                        "Cached thumbnail for game {} ({} bytes)",
-                        game.getName(),
-                        imageData.length);
-                return Optional.of(imageData);
-            } else {
-                log.debug(
-                        "Failed to download thumbnail for {}: HTTP {}",
-                        game.getName(),
-                        response.statusCode());
+            Optional<ThumbnailMapping> mapping = fetch(gameId, thumbnailUrl, null);
+            if (mapping.isEmpty()) {
                 return Optional.empty();
             }
+            log.debug("Cached thumbnail for game {}", game.getName());
+            return readFromCache(mapping.get(), null);
         } catch (IOException | InterruptedException e) {
+            downloadFailures.incrementAndGet();
+            failedFetches.put(gameId, UpstreamImageFetcher.TRANSIENT_FAILURE_TTL);
             log.error("Error downloading thumbnail for {}: {}", game.getName(), e.getMessage());
             if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
@@ -136,35 +435,295 @@ public class ThumbnailService {
         }
     }
 
+    /**
+     * GET the image at {@code url}; when revalidating {@code previous}, conditionally on its
+     * upstream validators. Failures of first downloads are recorded in the negative cache.
+     *
+     * @return The mapping in effect afterwards, empty if the source had nothing usable
+     */
+    private Optional<ThumbnailMapping> fetch(
+            UUID gameId, String url, @Nullable ThumbnailMapping previous)
+            throws IOException, InterruptedException {
+        UpstreamImageFetcher.Response response =
+                fetcher.fetch(
+                        url,
+                        previous != null ? previous.upstreamEtag() : null,
+                        previous != null ? previous.upstreamLastModified() : null,
+                        this::storeDownload);
+        if (response instanceof UpstreamImageFetcher.NotModified && previous != null) {
+            revalidatedUnchanged.incrementAndGet();
+            ThumbnailMapping confirmed = previous.withValidatedAt(Instant.now());
+            saveMapping(confirmed);
+            return Optional.of(confirmed);
+        }
+        if (!(response instanceof UpstreamImageFetcher.Fetched fetched)) {
+            downloadFailures.incrementAndGet();
+            log.debug("Failed to fetch thumbnail for {}: {}", gameId, response);
+            if (previous == null) {
+                failedFetches.put(gameId, response.failureTtl(negativeTtl));
+            }
+            return Optional.empty();
+        }
+
+        String contentHash = fetched.blob().contentHash();
+        Instant now = Instant.now();
+        ThumbnailMapping mapping =
+                new ThumbnailMapping(
+                        gameId,
+                        contentHash,
+                        fetched.contentType(),
+                        url,
+                        now,
+                        fetched.etag(),
+                        fetched.lastModified(),
+                        now);
+        saveMapping(mapping);
+        for (int width : variantWidths) {
+            scheduleVariant(contentHash, width);
+        }
+        if (previous == null || !previous.contentHash().equals(contentHash)) {
+            eventPublisher.publishEvent(GameUpdateEvent.thumbnailReady(gameId));
+        }
+        return Optional.of(mapping);
+    }
+
+    /**
+     * Start a background revalidation once a cached image is older than the revalidation
+     * interval. The stale image keeps being served meanwhile.
+     */
+    private void revalidateIfStale(ThumbnailMapping mapping) {
+        String url = mapping.sourceUrl();
+        if (url == null || mapping.validatedAt().plus(revalidateAfter).isAfter(Instant.now())) {
+            return;
+        }
+        fetcher.revalidateInBackground(
+                "game/" + mapping.gameId(),
+                () -> fetch(mapping.gameId(), url, mapping).isPresent(),
+                () -> saveMapping(mapping.withValidatedAt(Instant.now())));
+    }
+
+    /**
+     * Store a downloaded image body and account for it in the disk index and counters.
+     */
+    StoredBlob storeDownload(InputStream body) throws IOException {
+        StoredBlob blob = storeBlob(body);
+        downloads.incrementAndGet();
+        if (blob.created()) {
+            diskIndex.recordWrite(getBlobName(blob.contentHash(), null), blob.size());
+        } else {
+            deduplicated.incrementAndGet();
+        }
+        return blob;
+    }
+
+    /**
+     * Stream an image to a temp file while hashing it, then store it under its content address. If
+     * a blob with the same hash exists already, the new copy is discarded.
+     */
+    private StoredBlob storeBlob(InputStream body) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        Path temp = Files.createTempFile(cacheConfig.getCachePath(), "download-", ".tmp");
+        try {
+            try (InputStream hashing = new DigestInputStream(body, digest)) {
+                Files.copy(hashing, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String name = getBlobName(contentHash, null);
+            if (blobStore.contains(name)) {
+                return new StoredBlob(contentHash, Files.size(temp), false);
+            }
+            return new StoredBlob(contentHash, blobStore.put(name, temp), true);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    record StoredBlob(String contentHash, long size, boolean created) {}
+
+    /**
+     * Write to a temp file in the cache directory and hand the complete file to the store, so
+     * readers only ever see complete blobs.
+     *
+     * @return Size of the stored blob
+     */
+    private long writeToStore(String name, TempFileWriter writer) throws IOException {
+        Path temp = Files.createTempFile(cacheConfig.getCachePath(), name + "-", ".tmp");
+        try {
+            writer.write(temp);
+            return blobStore.put(name, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TempFileWriter {
+        void write(Path temp) throws IOException;
+    }
+
+    private static CachedThumbnail toCachedThumbnail(
+            ThumbnailBlobStore.Blob blob,
+            String contentType,
+            String contentHash,
+            @Nullable Integer width) {
+        // Content-addressed: the hash identifies the bytes, so it is a strong validator
+        String etag = "\"" + contentHash + (width == null ? "" : "-w" + width) + "\"";
+        return new CachedThumbnail(
+                blob.content(), contentType, etag, blob.lastModified(), blob.size(), width);
+    }
+
+    /** Time to live the negative cache holds for a game, empty if its last fetch did not fail. */
+    Optional<Duration> failedFetchTtl(UUID gameId) {
+        return Optional.ofNullable(failedFetches.getIfPresent(gameId));
+    }
+
     public boolean isCached(UUID gameId) {
-        return Files.exists(getCacheFilePath(gameId));
+        return findMapping(gameId)
+                .map(mapping -> blobStore.contains(getBlobName(mapping.contentHash(), null)))
+                .orElse(false);
     }
 
+    /**
+     * The games among {@code gameIds} whose original image is in the blob store, with one mapping
+     * query per chunk of games instead of one per game.
+     */
+    public Set<UUID> findCachedGameIds(Collection<UUID> gameIds) {
+        Map<String, Boolean> storedByHash = new HashMap<>();
+        Set<UUID> cached = new HashSet<>();
+        mappingRepository
+                .findContentHashes(gameIds)
+                .forEach(
+                        (gameId, contentHash) -> {
+                            if (storedByHash.computeIfAbsent(
+                                    contentHash,
+                                    hash -> blobStore.contains(getBlobName(hash, null)))) {
+                                cached.add(gameId);
+                            }
+                        });
+        return cached;
+    }
+
+    /**
+     * Forget a game's thumbnail, e.g. because its cover URL changed. The blob may be shared with
+     * other games and stays on disk until garbage collection finds it unreferenced.
+     */
     public void evict(UUID gameId) {
-        Path cachedFile = getCacheFilePath(gameId);
-        try {
-            Files.deleteIfExists(cachedFile);
-            log.debug("Evicted cached thumbnail: {}", gameId);
-        } catch (IOException e) {
-            log.error("Failed to evict cached thumbnail: {}", gameId, e);
+        mappingsByGameId.invalidate(gameId);
+        failedFetches.invalidate(gameId);
+        mappingRepository.deleteByGameId(gameId);
+        log.debug("Evicted cached thumbnail: {}", gameId);
+    }
+
+    /**
+     * Hand the thumbnail of a game merged into {@code targetId} over to the target, unless the
+     * target has one already. Only the mapping changes, nothing is copied or downloaded.
+     */
+    public void remapMergedGame(UUID sourceId, UUID targetId) {
+        Optional<ThumbnailMapping> source = findMapping(sourceId);
+        evict(sourceId);
+        if (source.isPresent() && findMapping(targetId).isEmpty()) {
+            saveMapping(source.get().withGameId(targetId));
+            failedFetches.invalidate(targetId);
+            log.debug("Remapped thumbnail of merged game {} to {}", sourceId, targetId);
         }
     }
 
-    public long getCacheSize() {
+    @Scheduled(
+            initialDelayString = "${thumbnail.gc.initial-delay-ms:300000}",
+            fixedDelayString = "${thumbnail.gc.interval-ms:3600000}")
+    public void scheduledGarbageCollection() {
+        if (cacheConfig.isEnabled()) {
+            collectGarbage();
+        }
+    }
+
+    /**
+     * Delete blobs and variants no game or media asset maps to, together with files from the former
+     * {@code {gameId}.jpg} layout and temp files left behind by crashed writes.
+     */
+    public GarbageCollectionResult collectGarbage() {
+        Set<String> referenced = new HashSet<>(mappingRepository.findReferencedHashes());
+        referenced.addAll(mediaAssetRepository.findReferencedHashes());
+        Instant cutoff = Instant.now().minus(GC_GRACE_PERIOD);
+        int deletedFiles = 0;
+        long freedBytes = 0;
         try {
-            return Files.walk(cacheConfig.getCachePath())
-                    .filter(Files::isRegularFile)
-                    .mapToLong(
-                            path -> {
-                                try {
-                                    return Files.size(path);
-                                } catch (IOException e) {
-                                    return 0;
-                                }
-                            })
-                    .sum();
+            for (ThumbnailBlobStore.Blob blob : blobStore.list()) {
+                Matcher matcher = BLOB_FILE_NAME.matcher(blob.name());
+                // Atlases are derived caches, they leave through LRU eviction only
+                if ((matcher.matches() && referenced.contains(matcher.group(1)))
+                        || ThumbnailAtlasService.isAtlas(blob.name())
+                        || blob.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                if (blobStore.delete(blob.name())) {
+                    memoryCache.invalidate(blob.name());
+                    diskIndex.recordRemoval(blob.name());
+                    deletedFiles++;
+                    freedBytes += blob.size();
+                }
+            }
+            try (Stream<Path> files = Files.list(cacheConfig.getCachePath())) {
+                for (Path file : files.toList()) {
+                    if (file.getFileName().toString().endsWith(".tmp")
+                            && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)
+                            && Files.deleteIfExists(file)) {
+                        deletedFiles++;
+                    }
+                }
+            }
         } catch (IOException e) {
-            return 0;
+            log.error("Thumbnail garbage collection failed", e);
+        }
+        if (deletedFiles > 0) {
+            log.info("Thumbnail garbage collection removed {} files ({} bytes)", deletedFiles, freedBytes);
         }
+        return new GarbageCollectionResult(deletedFiles, freedBytes);
     }
+
+    /**
+     * Total size of the disk cache, from the index's running counter.
+     */
+    public long getCacheSize() {
+        return diskIndex.getTotalBytes();
+    }
+
+    public TierStats getTierStats() {
+        return new TierStats(
+                memoryCache.stats(),
+                diskIndex.stats(),
+                downloads.get(),
+                downloadFailures.get(),
+                inFlightDownloads.coalesced(),
+                deduplicated.get(),
+                variantsGenerated.get(),
+                negativeHits.get(),
+                revalidatedUnchanged.get());
+    }
+
+    /**
+     * Hit and eviction counters per cache tier since startup.
+     *
+     * @param deduplicated Thumbnails served from an existing blob, by source URL or content hash
+     * @param negativeHits Requests answered from the negative cache without a fetch
+     * @param revalidatedUnchanged Stale images the source confirmed with a 304
+     */
+    public record TierStats(
+            ThumbnailMemoryCache.MemoryTierStats memory,
+            ThumbnailDiskIndex.DiskTierStats disk,
+            long downloads,
+            long downloadFailures,
+            long coalescedRequests,
+            long deduplicated,
+            long variantsGenerated,
+            long negativeHits,
+            long revalidatedUnchanged) {}
+
+    public record GarbageCollectionResult(int deletedFiles, long freedBytes) {}
 }
@@ -0,0 +1,181 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import com.robertforpresent.api.thumbnail.infrastructure.http.UpstreamHostLimiter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Network side shared by {@link ThumbnailService} and {@link MediaCacheService}: conditional GETs
+ * limited per host by the {@link UpstreamHostLimiter}, the negative cache TTL of a failed response,
+ * and background revalidation with a bounded number of concurrent revalidations.
+ */
+@Component
+@Slf4j
+class UpstreamImageFetcher {
+
+    static final String DEFAULT_CONTENT_TYPE = "image/jpeg";
+    // Transient failures (timeouts, 5xx) are retried much sooner than dead URLs
+    static final Duration TRANSIENT_FAILURE_TTL = Duration.ofMinutes(1);
+
+    private final UpstreamHostLimiter hostLimiter;
+    private final HttpClient httpClient;
+    private final Semaphore revalidationPermits;
+    private final Set<String> pendingRevalidations = ConcurrentHashMap.newKeySet();
+
+    UpstreamImageFetcher(
+            UpstreamHostLimiter hostLimiter,
+            @Value("${thumbnail.revalidate.max-concurrent:8}") int maxConcurrentRevalidations) {
+        this.hostLimiter = hostLimiter;
+        this.revalidationPermits = new Semaphore(Math.max(1, maxConcurrentRevalidations));
+        this.httpClient =
+                HttpClient.newBuilder()
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .build();
+    }
+
+    /**
+     * GET the image at {@code url}, conditionally when validators of a cached copy are given, once
+     * the URL's host has a free permit. A 200 body is handed to {@code store} before the permit is
+     * released.
+     */
+    Response fetch(
+            String url,
+            @Nullable String etag,
+            @Nullable String lastModified,
+            BodyStore store)
+            throws IOException, InterruptedException {
+        return hostLimiter.call(
+                url,
+                () -> {
+                    HttpRequest.Builder request =
+                            HttpRequest.newBuilder()
+                                    .uri(URI.create(url))
+                                    .timeout(Duration.ofSeconds(30))
+                                    .GET();
+                    if (etag != null) {
+                        request.header("If-None-Match", etag);
+                    }
+                    if (lastModified != null) {
+                        request.header("If-Modified-Since", lastModified);
+                    }
+
+                    HttpResponse<InputStream> response =
+                            httpClient.send(
+                                    request.build(), HttpResponse.BodyHandlers.ofInputStream());
+                    try (InputStream body = response.body()) {
+                        int status = response.statusCode();
+                        if (status == 304) {
+                            return new NotModified();
+                        }
+                        if (status != 200) {
+                            return new Failed(status);
+                        }
+                        return new Fetched(
+                                store.store(body),
+                                imageContentType(response),
+                                response.headers().firstValue("ETag").orElse(null),
+                                response.headers().firstValue("Last-Modified").orElse(null));
+                    }
+                });
+    }
+
+    static String imageContentType(HttpResponse<?> response) {
+        return response.headers()
+                .firstValue("Content-Type")
+                .filter(type -> type.startsWith("image/"))
+                .orElse(DEFAULT_CONTENT_TYPE);
+    }
+
+    /**
+     * Revalidate a stale cached image on a virtual thread. Nothing starts while a revalidation of
+     * the same key runs or while {@code thumbnail.revalidate.max-concurrent} revalidations are
+     * running; the stale image is served meanwhile and a later request tries again.
+     *
+     * @param key Identifies the cached image across both services
+     * @param revalidation Conditional fetch; returns whether the source confirmed or replaced the
+     *     image
+     * @param keepStale Runs when the source had nothing usable or could not be reached, to keep
+     *     the image and ask again after the next interval
+     */
+    void revalidateInBackground(String key, Revalidation revalidation, Runnable keepStale) {
+        if (!pendingRevalidations.add(key)) {
+            return;
+        }
+        if (!revalidationPermits.tryAcquire()) {
+            pendingRevalidations.remove(key);
+            return;
+        }
+        Thread.ofVirtual()
+                .name("image-revalidate")
+                .start(
+                        () -> {
+                            try {
+                                if (!revalidation.run()) {
+                                    keepStale.run();
+                                }
+                            } catch (IOException e) {
+                                log.debug("Revalidating {} failed: {}", key, e.getMessage());
+                                keepStale.run();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                pendingRevalidations.remove(key);
+                                revalidationPermits.release();
+                            }
+                        });
+    }
+
+    @FunctionalInterface
+    interface BodyStore {
+        ThumbnailService.StoredBlob store(InputStream body) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Revalidation {
+        boolean run() throws IOException, InterruptedException;
+    }
+
+    /** Outcome of a GET. */
+    sealed interface Response permits NotModified, Failed, Fetched {
+
+        /**
+         * How long a first download that ended like this stays in the negative cache: {@code
+         * goneTtl} for URLs that are gone or forbidden, a short TTL for anything transient.
+         */
+        default Duration failureTtl(Duration goneTtl) {
+            return this instanceof Failed failed && failed.gone() ? goneTtl : TRANSIENT_FAILURE_TTL;
+        }
+    }
+
+    /** The source confirmed the cached copy. */
+    record NotModified() implements Response {}
+
+    /** Any status other than 200 and 304. */
+    record Failed(int status) implements Response {
+        boolean gone() {
+            return status == 404 || status == 410 || status == 403;
+        }
+    }
+
+    /** A new image, already stored. */
+    record Fetched(
+            ThumbnailService.StoredBlob blob,
+            String contentType,
+            @Nullable String etag,
+            @Nullable String lastModified)
+            implements Response {}
+}
@@ -0,0 +1,47 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.domain.model;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Points a media key in a namespace (e.g. the {@code steam} key in {@code store-icon}) at the
+ * content-addressed blob holding the image. Blobs are shared with game thumbnails.
+ *
+ * @param namespace Kind of image, selects the source and the cache policy
+ * @param key Identifier of the image within its namespace
+ * @param contentHash Lowercase hex SHA-256 of the image bytes
+ * @param contentType MIME type reported when the image was downloaded
+ * @param sourceUrl URL the image was downloaded from
+ * @param size Size of the original blob in bytes, counted against the namespace budget
+ * @param storedAt When the image was first stored
+ * @param upstreamEtag {@code ETag} the source sent with the image, for conditional revalidation
+ * @param upstreamLastModified {@code Last-Modified} the source sent with the image
+ * @param validatedAt When the image was last downloaded or confirmed unchanged by the source
+ */
+public record MediaAsset(
+        String namespace,
+        String key,
+        String contentHash,
+        String contentType,
+        String sourceUrl,
+        long size,
+        Instant storedAt,
+        @Nullable String upstreamEtag,
+        @Nullable String upstreamLastModified,
+        Instant validatedAt) {
+
+    public MediaAsset withValidatedAt(Instant validatedAt) {
+        return new MediaAsset(
+                namespace,
+                key,
+                contentHash,
+                contentType,
+                sourceUrl,
+                size,
+                storedAt,
+                upstreamEtag,
+                upstreamLastModified,
+                validatedAt);
+    }
+}
@@ -0,0 +1,53 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Points a game at the content-addressed blob holding its thumbnail.
+ *
+ * @param gameId Canonical game
+ * @param contentHash Lowercase hex SHA-256 of the image bytes, also the blob's file name
+ * @param contentType MIME type reported when the image was downloaded
+ * @param sourceUrl URL the image was downloaded from
+ * @param storedAt When the mapping was written
+ * @param upstreamEtag {@code ETag} the source sent with the image, for conditional revalidation
+ * @param upstreamLastModified {@code Last-Modified} the source sent with the image
+ * @param validatedAt When the image was last downloaded or confirmed unchanged by the source
+ */
+public record ThumbnailMapping(
+        UUID gameId,
+        String contentHash,
+        String contentType,
+        @Nullable String sourceUrl,
+        Instant storedAt,
+        @Nullable String upstreamEtag,
+        @Nullable String upstreamLastModified,
+        Instant validatedAt) {
+
+    public ThumbnailMapping withGameId(UUID gameId) {
+        return new ThumbnailMapping(
+                gameId,
+                contentHash,
+                contentType,
+                sourceUrl,
+                Instant.now(),
+                upstreamEtag,
+                upstreamLastModified,
+                validatedAt);
+    }
+
+    public ThumbnailMapping withValidatedAt(Instant validatedAt) {
+        return new ThumbnailMapping(
+                gameId,
+                contentHash,
+                contentType,
+                sourceUrl,
+                storedAt,
+                upstreamEtag,
+                upstreamLastModified,
+                validatedAt);
+    }
+}
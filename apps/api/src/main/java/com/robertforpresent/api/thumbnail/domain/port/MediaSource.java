@@ -0,0 +1,24 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.domain.port;
+
+import java.util.Optional;
+
+/**
+ * Port resolving the keys of one media cache namespace to upstream image URLs.
+ * Clients only ever pass keys, so the cache never fetches a URL a client chose.
+ */
+public interface MediaSource {
+
+    /**
+     * Namespace served by this source, used in {@code /media/{namespace}/{key}}.
+     */
+    String namespace();
+
+    /**
+     * Upstream URL of the image with the given key.
+     *
+     * @param key Identifier of the image within the namespace
+     * @return The URL, or empty if the key is malformed or unknown
+     */
+    Optional<String> resolveUrl(String key);
+}
@@ -0,0 +1,30 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.domain.repository;
+
+import com.robertforpresent.api.thumbnail.domain.model.MediaAsset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Repository for the media key to blob mappings of the namespaced media cache.
+ */
+public interface MediaAssetRepository {
+    Optional<MediaAsset> find(String namespace, String key);
+
+    List<MediaAsset> findByNamespace(String namespace);
+
+    /**
+     * Sum of the original blob sizes of a namespace.
+     */
+    long sumSizeByNamespace(String namespace);
+
+    void save(MediaAsset asset);
+
+    void delete(String namespace, String key);
+
+    /**
+     * Content hashes of all blobs at least one media asset points to.
+     */
+    Set<String> findReferencedHashes();
+}
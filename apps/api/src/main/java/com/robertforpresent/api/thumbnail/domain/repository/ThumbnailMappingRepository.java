@@ -0,0 +1,63 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.domain.repository;
+
+import com.robertforpresent.api.thumbnail.domain.model.ThumbnailMapping;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maps games to thumbnail blobs. Several games may share a blob.
+ */
+public interface ThumbnailMappingRepository {
+    Optional<ThumbnailMapping> findByGameId(UUID gameId);
+
+    /**
+     * Any mapping downloaded from the given URL, to reuse its blob instead of downloading again.
+     */
+    Optional<ThumbnailMapping> findAnyBySourceUrl(String sourceUrl);
+
+    /**
+     * Insert or update a mapping. A placeholder computed earlier is kept while the content hash
+     * stays the same; a new mapping to an existing blob inherits that blob's placeholder.
+     */
+    void save(ThumbnailMapping mapping);
+
+    void deleteByGameId(UUID gameId);
+
+    /**
+     * All content hashes still referenced by a game; blobs not in this set are garbage.
+     */
+    Set<String> findReferencedHashes();
+
+    /**
+     * Store the placeholder of a blob on every mapping that points to it.
+     */
+    void savePlaceholder(String contentHash, String placeholder);
+
+    /**
+     * Content hashes the given games map to; games without a mapping are absent from the result.
+     */
+    Map<UUID, String> findContentHashes(Collection<UUID> gameIds);
+
+    /**
+     * Placeholders of the given games; games without one are absent from the result.
+     */
+    Map<UUID, String> findPlaceholders(Collection<UUID> gameIds);
+
+    /**
+     * Content hashes still lacking a placeholder, in a stable order. Hashes whose last attempt
+     * failed at or after {@code failedBefore} are left out, so they cannot crowd out the rest.
+     */
+    List<String> findHashesWithoutPlaceholder(int limit, Instant failedBefore);
+
+    /**
+     * Remember that no placeholder could be computed for a blob, e.g. because it is missing or
+     * cannot be decoded.
+     */
+    void markPlaceholderFailed(String contentHash, Instant attemptedAt);
+}
@@ -0,0 +1,25 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.cache;
+
+import java.time.Instant;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
+
+/**
+ * Metadata of a thumbnail in the disk cache. The image itself stays in the blob store and is
+ * streamed from there, so serving it does not copy the bytes onto the heap.
+ *
+ * @param content The stored image, a file or a slice of a memory-mapped segment
+ * @param contentType MIME type, e.g. {@code image/jpeg}
+ * @param etag Strong ETag derived from the content hash
+ * @param lastModified When the blob was stored
+ * @param size Blob size in bytes
+ * @param width Target width of a resized variant, null for the original image
+ */
+public record CachedThumbnail(
+        Resource content,
+        String contentType,
+        String etag,
+        Instant lastModified,
+        long size,
+        @Nullable Integer width) {}
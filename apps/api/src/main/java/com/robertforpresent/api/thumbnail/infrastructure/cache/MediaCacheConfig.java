@@ -0,0 +1,46 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache policies of the media namespaces, e.g. {@code media.namespaces.store-icon.ttl-ms}.
+ * Namespaces without configuration use the defaults of {@link NamespacePolicy}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "media")
+@Getter
+@Setter
+public class MediaCacheConfig {
+
+    private static final NamespacePolicy DEFAULT_POLICY = new NamespacePolicy();
+
+    private Map<String, NamespacePolicy> namespaces = new HashMap<>();
+
+    public NamespacePolicy policy(String namespace) {
+        return namespaces.getOrDefault(namespace, DEFAULT_POLICY);
+    }
+
+    @Getter
+    @Setter
+    public static class NamespacePolicy {
+        /** Age after which a cached image is revalidated against its source. */
+        private long ttlMs = 604_800_000L;
+
+        /** Byte budget of the namespace's originals; least recently used images leave beyond it. */
+        private long maxBytes = 67_108_864L;
+
+        /** Widths of downscaled variants; empty serves originals only. */
+        private List<Integer> widths = new ArrayList<>();
+
+        /** Failed fetches are not retried for this long. */
+        private long negativeTtlMs = 3_600_000L;
+    }
+}
@@ -22,6 +22,10 @@ public class ThumbnailCacheConfig {
     @Value("${thumbnail.cache.enabled:true}")
     private boolean enabled;
 
+    /** Byte budget of the disk cache; least recently used files are evicted beyond it. */
+    @Value("${thumbnail.cache.max-bytes:536870912}")
+    private long maxBytes;
+
     @PostConstruct
     public void init() throws IOException {
         if (enabled) {
@@ -0,0 +1,259 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.cache;
+
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the thumbnail disk cache: blob sizes in least-recently-accessed order, with the
+ * total size and entry count kept as running counters.
+ *
+ * <p>When a write pushes the cache over its byte budget, least recently accessed blobs are deleted
+ * from the {@link ThumbnailBlobStore} until it fits again. The index is persisted to a compact
+ * binary file in the cache directory periodically and on shutdown, so restarts do not need to walk
+ * the store; the store is only listed if that file is missing or unreadable.
+ */
+@Component
+@Slf4j
+public class ThumbnailDiskIndex {
+
+    static final String INDEX_FILE_NAME = ".thumbnail-index";
+    private static final int INDEX_MAGIC = 0x54484958; // "THIX"
+    private static final int INDEX_VERSION = 1;
+
+    private final ThumbnailCacheConfig cacheConfig;
+    private final ThumbnailBlobStore blobStore;
+
+    // Access-ordered: iteration starts at the least recently accessed file
+    private final LinkedHashMap<String, Long> sizesByFileName = new LinkedHashMap<>(1024, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long evictedBytes;
+    private boolean dirty;
+
+    public ThumbnailDiskIndex(ThumbnailCacheConfig cacheConfig, ThumbnailBlobStore blobStore) {
+        this.cacheConfig = cacheConfig;
+        this.blobStore = blobStore;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!cacheConfig.isEnabled()) {
+            return;
+        }
+        Path indexFile = cacheConfig.getCachePath().resolve(INDEX_FILE_NAME);
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                throw new IOException("Unknown index format");
+            }
+            int count = in.readInt();
+            synchronized (this) {
+                for (int i = 0; i < count; i++) {
+                    put(in.readUTF(), in.readLong());
+                }
+            }
+            log.info("Loaded thumbnail disk index: {} files, {} bytes", count, totalBytes);
+        } catch (NoSuchFileException e) {
+            rebuild();
+        } catch (IOException e) {
+            log.warn("Thumbnail disk index unreadable ({}), rebuilding", e.getMessage());
+            rebuild();
+        }
+    }
+
+    /**
+     * List the store once, ordering blobs by modification time as best guess for access.
+     */
+    private void rebuild() {
+        List<ThumbnailBlobStore.Blob> blobs = new ArrayList<>();
+        try {
+            blobs.addAll(blobStore.list());
+        } catch (IOException e) {
+            log.error("Failed to scan thumbnail cache directory", e);
+        }
+        blobs.sort(Comparator.comparing(ThumbnailBlobStore.Blob::lastModified));
+        synchronized (this) {
+            sizesByFileName.clear();
+            totalBytes = 0;
+            blobs.forEach(blob -> put(blob.name(), blob.size()));
+            dirty = true;
+        }
+        log.info("Rebuilt thumbnail disk index: {} files, {} bytes", blobs.size(), totalBytes);
+        evictOverBudget(null);
+    }
+
+    private void put(String fileName, long size) {
+        Long previous = sizesByFileName.put(fileName, size);
+        totalBytes += size - (previous != null ? previous : 0);
+    }
+
+    /** A cached file was served; marks it as most recently used. */
+    public synchronized void recordHit(String fileName, long size) {
+        hits++;
+        if (sizesByFileName.get(fileName) == null) {
+            // Written by another process sharing the directory
+            put(fileName, size);
+        }
+        dirty = true;
+    }
+
+    /** A file was looked up but is not on disk. */
+    public synchronized void recordMiss(String fileName) {
+        misses++;
+        Long size = sizesByFileName.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+            dirty = true;
+        }
+    }
+
+    /** A file was written; evicts least recently used files if the budget is exceeded. */
+    public void recordWrite(String fileName, long size) {
+        synchronized (this) {
+            put(fileName, size);
+            dirty = true;
+        }
+        evictOverBudget(fileName);
+    }
+
+    /** A file was deleted outside of budget eviction. */
+    public synchronized void recordRemoval(String fileName) {
+        Long size = sizesByFileName.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+            dirty = true;
+        }
+    }
+
+    private void evictOverBudget(@Nullable String keep) {
+        List<String> victims = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Map.Entry<String, Long>> eldestFirst = sizesByFileName.entrySet().iterator();
+            while (totalBytes > cacheConfig.getMaxBytes() && eldestFirst.hasNext()) {
+                Map.Entry<String, Long> eldest = eldestFirst.next();
+                if (eldest.getKey().equals(keep)) {
+                    continue;
+                }
+                victims.add(eldest.getKey());
+                totalBytes -= eldest.getValue();
+                evictions++;
+                evictedBytes += eldest.getValue();
+                eldestFirst.remove();
+                dirty = true;
+            }
+        }
+        // Delete outside the lock; readers that still hold the metadata get a miss and re-download
+        for (String victim : victims) {
+            try {
+                blobStore.delete(victim);
+            } catch (IOException e) {
+                log.warn("Failed to delete evicted thumbnail {}: {}", victim, e.getMessage());
+            }
+        }
+        if (!victims.isEmpty()) {
+            log.debug("Evicted {} thumbnails to stay within the disk budget", victims.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${thumbnail.cache.index-flush-interval-ms:60000}")
+    public void flushIfDirty() {
+        List<Map.Entry<String, Long>> snapshot;
+        synchronized (this) {
+            if (!dirty || !cacheConfig.isEnabled()) {
+                return;
+            }
+            snapshot = new ArrayList<>(sizesByFileName.size());
+            sizesByFileName.forEach((name, size) -> snapshot.add(Map.entry(name, size)));
+            dirty = false;
+        }
+
+        Path indexFile = cacheConfig.getCachePath().resolve(INDEX_FILE_NAME);
+        try {
+            Path temp = Files.createTempFile(cacheConfig.getCachePath(), INDEX_FILE_NAME, ".tmp");
+            try {
+                try (DataOutputStream out =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(INDEX_MAGIC);
+                    out.writeInt(INDEX_VERSION);
+                    out.writeInt(snapshot.size());
+                    for (Map.Entry<String, Long> entry : snapshot) {
+                        out.writeUTF(entry.getKey());
+                        out.writeLong(entry.getValue());
+                    }
+                }
+                try {
+                    Files.move(
+                            temp,
+                            indexFile,
+                            StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            log.warn("Failed to persist thumbnail disk index: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flushIfDirty();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized DiskTierStats stats() {
+        long lookups = hits + misses;
+        return new DiskTierStats(
+                sizesByFileName.size(),
+                totalBytes,
+                cacheConfig.getMaxBytes(),
+                hits,
+                misses,
+                lookups == 0 ? 0 : (double) hits / lookups,
+                evictions,
+                evictedBytes);
+    }
+
+    public record DiskTierStats(
+            int entries,
+            long bytes,
+            long maxBytes,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions,
+            long evictedBytes) {}
+}
@@ -0,0 +1,73 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * First cache tier in front of the thumbnail disk cache, holding file metadata (content type,
+ * ETag, size) so a cached thumbnail is served without stat or content-type probing.
+ *
+ * <p>Image bytes are not kept on the heap: they are streamed from the file, and the OS page cache
+ * keeps hot files in memory. Entries are weighed by an estimate of their heap footprint and evicted
+ * by Caffeine's W-TinyLFU policy, which keeps frequently requested thumbnails (e.g. the visible
+ * grid) resident while one-off requests do not flush them out.
+ */
+@Component
+public class ThumbnailMemoryCache {
+
+    /** Rough heap footprint of one entry: record, path, strings, instant. */
+    static final int ENTRY_WEIGHT_BYTES = 512;
+
+    private final Cache<String, CachedThumbnail> cache;
+    private final long maxBytes;
+
+    public ThumbnailMemoryCache(
+            @Value("${thumbnail.cache.memory.max-bytes:8388608}") long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.cache =
+                Caffeine.newBuilder()
+                        .maximumWeight(maxBytes)
+                        .weigher((String fileName, CachedThumbnail thumbnail) -> ENTRY_WEIGHT_BYTES)
+                        .recordStats()
+                        .build();
+    }
+
+    public Optional<CachedThumbnail> get(String fileName) {
+        return Optional.ofNullable(cache.getIfPresent(fileName));
+    }
+
+    public void put(String fileName, CachedThumbnail thumbnail) {
+        cache.put(fileName, thumbnail);
+    }
+
+    public void invalidate(String fileName) {
+        cache.invalidate(fileName);
+    }
+
+    public MemoryTierStats stats() {
+        CacheStats stats = cache.stats();
+        long weight = cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+        return new MemoryTierStats(
+                cache.estimatedSize(),
+                weight,
+                maxBytes,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    public record MemoryTierStats(
+            long entries,
+            long bytes,
+            long maxBytes,
+            long hits,
+            long misses,
+            double hitRate,
+            long evictions) {}
+}
@@ -0,0 +1,58 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps concurrent image downloads per upstream host. Every path that reaches the network (cover
+ * requests, atlas tiles, prefetch, revalidation) goes through the same permits, so a burst of
+ * misses waits its turn instead of flooding one CDN. Permits are fair: waiting downloads start in
+ * arrival order.
+ */
+@Component
+public class UpstreamHostLimiter {
+
+    private final int perHostConcurrency;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public UpstreamHostLimiter(
+            @Value("${thumbnail.fetch.per-host-concurrency:4}") int perHostConcurrency) {
+        this.perHostConcurrency = Math.max(1, perHostConcurrency);
+    }
+
+    /**
+     * Run a request to {@code url} once its host has a free permit, holding the permit until the
+     * call returns (including reading the response body).
+     */
+    public <T> T call(String url, Call<T> call) throws IOException, InterruptedException {
+        Semaphore limit =
+                permits.computeIfAbsent(hostOf(url), host -> new Semaphore(perHostConcurrency, true));
+        limit.acquire();
+        try {
+            return call.run();
+        } finally {
+            limit.release();
+        }
+    }
+
+    /** Host of a URL, accepting scheme-relative URLs; empty if it has none. */
+    public static String hostOf(String url) {
+        try {
+            String host = URI.create(url.startsWith("//") ? "https:" + url : url).getHost();
+            return host != null ? host : "";
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T run() throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,94 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.image;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scales thumbnails down to a target width with ImageIO, keeping the aspect ratio, and encodes the
+ * result as JPEG. Images are never scaled up.
+ */
+@Component
+public class ThumbnailResizer {
+
+    private final float jpegQuality;
+
+    public ThumbnailResizer(@Value("${thumbnail.variants.jpeg-quality:0.85}") float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * Write a variant of {@code source} that is at most {@code width} pixels wide to {@code target}.
+     *
+     * @throws IOException if the source cannot be decoded or the target not written
+     */
+    public void resize(InputStream source, Path target, int width) throws IOException {
+        // Thumbnails are small; buffering allows writing the original back unchanged
+        byte[] bytes = source.readAllBytes();
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(bytes));
+        if (original == null) {
+            throw new IOException("Unsupported image format");
+        }
+        if (original.getWidth() <= width) {
+            // Nothing to gain, the variant is the original
+            Files.write(target, bytes);
+            return;
+        }
+
+        try (OutputStream out = Files.newOutputStream(target)) {
+            writeJpeg(scaleToWidth(original, width), out);
+        }
+    }
+
+    /**
+     * Scale an image to {@code width} pixels, keeping the aspect ratio. Transparent areas are
+     * flattened onto white, as JPEG has no alpha channel.
+     */
+    public BufferedImage scaleToWidth(BufferedImage original, int width) {
+        int height = Math.max(1, Math.round(original.getHeight() * (width / (float) original.getWidth())));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(original, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Encode an image as JPEG at the configured quality.
+     */
+    public void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.media;
+
+import com.robertforpresent.api.thumbnail.domain.port.MediaSource;
+import java.util.regex.Pattern;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Media namespaces whose URLs are derived from the key. Keyed by Steam app id or IGDB image id.
+ */
+@Configuration
+public class MediaSourceConfig {
+
+    private static final Pattern STEAM_APP_ID = Pattern.compile("\\d{1,10}");
+    private static final Pattern IGDB_IMAGE_ID = Pattern.compile("[a-z0-9]{1,32}");
+    private static final String STEAM_CDN = "https://cdn.cloudflare.steamstatic.com/steam/apps/{key}/";
+
+    @Bean
+    public MediaSource steamHeaderMediaSource() {
+        return new UrlTemplateMediaSource("steam-header", STEAM_APP_ID, STEAM_CDN + "header.jpg");
+    }
+
+    @Bean
+    public MediaSource steamCapsuleMediaSource() {
+        return new UrlTemplateMediaSource(
+                "steam-capsule", STEAM_APP_ID, STEAM_CDN + "capsule_231x87.jpg");
+    }
+
+    @Bean
+    public MediaSource igdbScreenshotMediaSource() {
+        return new UrlTemplateMediaSource(
+                "igdb-screenshot",
+                IGDB_IMAGE_ID,
+                "https://images.igdb.com/igdb/image/upload/t_screenshot_big/{key}.jpg");
+    }
+}
@@ -0,0 +1,36 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.media;
+
+import com.robertforpresent.api.catalog.domain.model.Store;
+import com.robertforpresent.api.catalog.domain.repository.StoreRepository;
+import com.robertforpresent.api.thumbnail.domain.port.MediaSource;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Store icons, keyed by store code ({@code steam}, {@code gog}, ...).
+ */
+@Component
+public class StoreIconMediaSource implements MediaSource {
+
+    public static final String NAMESPACE = "store-icon";
+
+    private final StoreRepository storeRepository;
+
+    public StoreIconMediaSource(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @Override
+    public String namespace() {
+        return NAMESPACE;
+    }
+
+    @Override
+    public Optional<String> resolveUrl(String key) {
+        return storeRepository
+                .findByCode(key)
+                .map(Store::iconUrl)
+                .filter(url -> url.startsWith("https://") || url.startsWith("http://"));
+    }
+}
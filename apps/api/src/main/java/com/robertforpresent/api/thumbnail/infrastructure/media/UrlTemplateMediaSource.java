@@ -0,0 +1,39 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.media;
+
+import com.robertforpresent.api.thumbnail.domain.port.MediaSource;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Media source for CDNs whose image URLs follow from the key alone, e.g. Steam artwork by app id.
+ */
+public class UrlTemplateMediaSource implements MediaSource {
+
+    private final String namespace;
+    private final Pattern keyPattern;
+    private final String urlTemplate;
+
+    /**
+     * @param keyPattern Keys must match it entirely; keeps the resolved URLs on the CDN
+     * @param urlTemplate URL with a {@code {key}} placeholder
+     */
+    public UrlTemplateMediaSource(String namespace, Pattern keyPattern, String urlTemplate) {
+        this.namespace = namespace;
+        this.keyPattern = keyPattern;
+        this.urlTemplate = urlTemplate;
+    }
+
+    @Override
+    public String namespace() {
+        return namespace;
+    }
+
+    @Override
+    public Optional<String> resolveUrl(String key) {
+        if (!keyPattern.matcher(key).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(urlTemplate.replace("{key}", key));
+    }
+}
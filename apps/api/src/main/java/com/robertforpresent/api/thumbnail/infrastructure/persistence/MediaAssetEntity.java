@@ -0,0 +1,62 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA entity for the media key to blob mapping.
+ */
+@Entity
+@Table(
+        name = "media_asset",
+        indexes = {
+            @Index(name = "idx_media_asset_namespace", columnList = "namespace"),
+            @Index(name = "idx_media_asset_hash", columnList = "content_hash")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class MediaAssetEntity {
+    // "{namespace}/{key}"
+    @Id
+    @Column(name = "id", length = 320)
+    private String id;
+
+    @Column(name = "namespace", nullable = false, length = 64)
+    private String namespace;
+
+    @Column(name = "asset_key", nullable = false, length = 255)
+    private String key;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "source_url", nullable = false, length = 2048)
+    private String sourceUrl;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long size;
+
+    @Column(name = "stored_at", nullable = false)
+    private Instant storedAt;
+
+    @Column(name = "upstream_etag")
+    private String upstreamEtag;
+
+    @Column(name = "upstream_last_modified")
+    private String upstreamLastModified;
+
+    @Column(name = "validated_at", nullable = false)
+    private Instant validatedAt;
+}
@@ -0,0 +1,85 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import com.robertforpresent.api.thumbnail.domain.model.MediaAsset;
+import com.robertforpresent.api.thumbnail.domain.repository.MediaAssetRepository;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adapter implementing MediaAssetRepository using Spring Data JPA.
+ */
+@Repository
+public class MediaAssetRepositoryAdapter implements MediaAssetRepository {
+    private final SpringDataMediaAssetRepository jpaRepository;
+
+    public MediaAssetRepositoryAdapter(SpringDataMediaAssetRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public Optional<MediaAsset> find(String namespace, String key) {
+        return jpaRepository.findById(id(namespace, key)).map(this::toDomain);
+    }
+
+    @Override
+    public List<MediaAsset> findByNamespace(String namespace) {
+        return jpaRepository.findByNamespace(namespace).stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    public long sumSizeByNamespace(String namespace) {
+        return jpaRepository.sumSizeByNamespace(namespace);
+    }
+
+    @Override
+    @Transactional
+    public void save(MediaAsset asset) {
+        MediaAssetEntity entity = new MediaAssetEntity();
+        entity.setId(id(asset.namespace(), asset.key()));
+        entity.setNamespace(asset.namespace());
+        entity.setKey(asset.key());
+        entity.setContentHash(asset.contentHash());
+        entity.setContentType(asset.contentType());
+        entity.setSourceUrl(asset.sourceUrl());
+        entity.setSize(asset.size());
+        entity.setStoredAt(asset.storedAt());
+        entity.setUpstreamEtag(asset.upstreamEtag());
+        entity.setUpstreamLastModified(asset.upstreamLastModified());
+        entity.setValidatedAt(asset.validatedAt());
+        jpaRepository.save(entity);
+    }
+
+    @Override
+    @Transactional
+    public void delete(String namespace, String key) {
+        jpaRepository.deleteById(id(namespace, key));
+    }
+
+    @Override
+    public Set<String> findReferencedHashes() {
+        return new HashSet<>(jpaRepository.findDistinctContentHashes());
+    }
+
+    private static String id(String namespace, String key) {
+        return namespace + "/" + key;
+    }
+
+    private MediaAsset toDomain(MediaAssetEntity entity) {
+        return new MediaAsset(
+                entity.getNamespace(),
+                entity.getKey(),
+                entity.getContentHash(),
+                entity.getContentType(),
+                entity.getSourceUrl(),
+                entity.getSize(),
+                entity.getStoredAt(),
+                entity.getUpstreamEtag(),
+                entity.getUpstreamLastModified(),
+                entity.getValidatedAt());
+    }
+}
@@ -0,0 +1,18 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SpringDataMediaAssetRepository extends JpaRepository<MediaAssetEntity, String> {
+
+    List<MediaAssetEntity> findByNamespace(String namespace);
+
+    @Query("SELECT COALESCE(SUM(a.size), 0) FROM MediaAssetEntity a WHERE a.namespace = :namespace")
+    long sumSizeByNamespace(@Param("namespace") String namespace);
+
+    @Query("SELECT DISTINCT a.contentHash FROM MediaAssetEntity a")
+    List<String> findDistinctContentHashes();
+}
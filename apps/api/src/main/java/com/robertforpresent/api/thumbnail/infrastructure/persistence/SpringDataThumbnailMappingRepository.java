@@ -0,0 +1,46 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SpringDataThumbnailMappingRepository
+        extends JpaRepository<ThumbnailMappingEntity, String> {
+
+    Optional<ThumbnailMappingEntity> findFirstBySourceUrl(String sourceUrl);
+
+    @Query("SELECT DISTINCT m.contentHash FROM ThumbnailMappingEntity m")
+    List<String> findDistinctContentHashes();
+
+    Optional<ThumbnailMappingEntity> findFirstByContentHashAndPlaceholderIsNotNull(String contentHash);
+
+    @Modifying
+    @Query("UPDATE ThumbnailMappingEntity m SET m.placeholder = :placeholder WHERE m.contentHash = :hash")
+    int updatePlaceholder(@Param("hash") String contentHash, @Param("placeholder") String placeholder);
+
+    @Query("SELECT m.gameId, m.contentHash FROM ThumbnailMappingEntity m WHERE m.gameId IN :gameIds")
+    List<Object[]> findContentHashes(@Param("gameIds") Collection<String> gameIds);
+
+    @Query("SELECT m.gameId, m.placeholder FROM ThumbnailMappingEntity m "
+            + "WHERE m.gameId IN :gameIds AND m.placeholder IS NOT NULL")
+    List<Object[]> findPlaceholders(@Param("gameIds") Collection<String> gameIds);
+
+    @Query("SELECT DISTINCT m.contentHash FROM ThumbnailMappingEntity m WHERE m.placeholder IS NULL "
+            + "AND (m.placeholderFailedAt IS NULL OR m.placeholderFailedAt < :failedBefore) "
+            + "ORDER BY m.contentHash")
+    List<String> findHashesWithoutPlaceholder(
+            @Param("failedBefore") Instant failedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ThumbnailMappingEntity m SET m.placeholderFailedAt = :attemptedAt "
+            + "WHERE m.contentHash = :hash")
+    int updatePlaceholderFailedAt(
+            @Param("hash") String contentHash, @Param("attemptedAt") Instant attemptedAt);
+}
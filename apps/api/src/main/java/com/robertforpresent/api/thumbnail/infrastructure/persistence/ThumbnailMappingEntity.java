@@ -0,0 +1,61 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * JPA entity for the game to thumbnail blob mapping.
+ */
+@Entity
+@Table(
+        name = "thumbnail_mapping",
+        indexes = {
+            @Index(name = "idx_thumbnail_mapping_hash", columnList = "content_hash"),
+            @Index(name = "idx_thumbnail_mapping_source_url", columnList = "source_url")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+public class ThumbnailMappingEntity {
+    @Id
+    @Column(name = "game_id")
+    private String gameId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "source_url", length = 2048)
+    private String sourceUrl;
+
+    @Column(name = "stored_at", nullable = false)
+    private Instant storedAt;
+
+    @Column(name = "upstream_etag")
+    private String upstreamEtag;
+
+    @Column(name = "upstream_last_modified")
+    private String upstreamLastModified;
+
+    // Null for mappings written before revalidation existed
+    @Column(name = "validated_at")
+    private Instant validatedAt;
+
+    // BlurHash of the blob, filled in by a background job
+    @Column(name = "placeholder", length = 64)
+    private String placeholder;
+
+    // Last failed placeholder computation, so the sweep skips broken blobs for a while
+    @Column(name = "placeholder_failed_at")
+    private Instant placeholderFailedAt;
+}
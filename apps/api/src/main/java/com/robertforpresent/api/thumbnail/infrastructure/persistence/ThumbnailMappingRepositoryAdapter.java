@@ -0,0 +1,130 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.persistence;
+
+import com.robertforpresent.api.shared.persistence.InClauseChunks;
+import com.robertforpresent.api.thumbnail.domain.model.ThumbnailMapping;
+import com.robertforpresent.api.thumbnail.domain.repository.ThumbnailMappingRepository;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adapter implementing ThumbnailMappingRepository using Spring Data JPA.
+ */
+@Repository
+public class ThumbnailMappingRepositoryAdapter implements ThumbnailMappingRepository {
+    private final SpringDataThumbnailMappingRepository jpaRepository;
+
+    public ThumbnailMappingRepositoryAdapter(SpringDataThumbnailMappingRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public Optional<ThumbnailMapping> findByGameId(UUID gameId) {
+        return jpaRepository.findById(gameId.toString()).map(this::toDomain);
+    }
+
+    @Override
+    public Optional<ThumbnailMapping> findAnyBySourceUrl(String sourceUrl) {
+        return jpaRepository.findFirstBySourceUrl(sourceUrl).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public void save(ThumbnailMapping mapping) {
+        ThumbnailMappingEntity entity =
+                jpaRepository
+                        .findById(mapping.gameId().toString())
+                        .orElseGet(ThumbnailMappingEntity::new);
+        if (!mapping.contentHash().equals(entity.getContentHash())) {
+            entity.setPlaceholder(
+                    jpaRepository
+                            .findFirstByContentHashAndPlaceholderIsNotNull(mapping.contentHash())
+                            .map(ThumbnailMappingEntity::getPlaceholder)
+                            .orElse(null));
+            entity.setPlaceholderFailedAt(null);
+        }
+        entity.setGameId(mapping.gameId().toString());
+        entity.setContentHash(mapping.contentHash());
+        entity.setContentType(mapping.contentType());
+        entity.setSourceUrl(mapping.sourceUrl());
+        entity.setStoredAt(mapping.storedAt());
+        entity.setUpstreamEtag(mapping.upstreamEtag());
+        entity.setUpstreamLastModified(mapping.upstreamLastModified());
+        entity.setValidatedAt(mapping.validatedAt());
+        jpaRepository.save(entity);
+    }
+
+    @Override
+    @Transactional
+    public void deleteByGameId(UUID gameId) {
+        jpaRepository.deleteById(gameId.toString());
+    }
+
+    @Override
+    public Set<String> findReferencedHashes() {
+        return new HashSet<>(jpaRepository.findDistinctContentHashes());
+    }
+
+    @Override
+    @Transactional
+    public void savePlaceholder(String contentHash, String placeholder) {
+        jpaRepository.updatePlaceholder(contentHash, placeholder);
+    }
+
+    @Override
+    public Map<UUID, String> findContentHashes(Collection<UUID> gameIds) {
+        List<String> ids = gameIds.stream().map(UUID::toString).toList();
+        Map<UUID, String> hashes = new HashMap<>();
+        for (List<String> chunk : InClauseChunks.of(ids)) {
+            for (Object[] row : jpaRepository.findContentHashes(chunk)) {
+                hashes.put(UUID.fromString((String) row[0]), (String) row[1]);
+            }
+        }
+        return hashes;
+    }
+
+    @Override
+    public Map<UUID, String> findPlaceholders(Collection<UUID> gameIds) {
+        List<String> ids = gameIds.stream().map(UUID::toString).toList();
+        Map<UUID, String> placeholders = new HashMap<>();
+        for (List<String> chunk : InClauseChunks.of(ids)) {
+            for (Object[] row : jpaRepository.findPlaceholders(chunk)) {
+                placeholders.put(UUID.fromString((String) row[0]), (String) row[1]);
+            }
+        }
+        return placeholders;
+    }
+
+    @Override
+    public List<String> findHashesWithoutPlaceholder(int limit, Instant failedBefore) {
+        return jpaRepository.findHashesWithoutPlaceholder(failedBefore, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public void markPlaceholderFailed(String contentHash, Instant attemptedAt) {
+        jpaRepository.updatePlaceholderFailedAt(contentHash, attemptedAt);
+    }
+
+    private ThumbnailMapping toDomain(ThumbnailMappingEntity entity) {
+        return new ThumbnailMapping(
+                UUID.fromString(entity.getGameId()),
+                entity.getContentHash(),
+                entity.getContentType(),
+                entity.getSourceUrl(),
+                entity.getStoredAt(),
+                entity.getUpstreamEtag(),
+                entity.getUpstreamLastModified(),
+                entity.getValidatedAt() != null ? entity.getValidatedAt() : entity.getStoredAt());
+    }
+}
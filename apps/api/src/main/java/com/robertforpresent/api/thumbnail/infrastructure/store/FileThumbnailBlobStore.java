@@ -0,0 +1,96 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.store;
+
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * One file per blob directly in the cache directory.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnail.cache.storage", havingValue = "files", matchIfMissing = true)
+public class FileThumbnailBlobStore implements ThumbnailBlobStore {
+
+    private final ThumbnailCacheConfig cacheConfig;
+
+    public FileThumbnailBlobStore(ThumbnailCacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+    }
+
+    @Override
+    public Optional<Blob> find(String name) {
+        Path file = cacheConfig.getCachePath().resolve(name);
+        try {
+            return Optional.of(toBlob(file, Files.readAttributes(file, BasicFileAttributes.class)));
+        } catch (IOException e) {
+            // Usually NoSuchFileException: never written or evicted
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return Files.isRegularFile(cacheConfig.getCachePath().resolve(name));
+    }
+
+    @Override
+    public long put(String name, Path tempFile) throws IOException {
+        long size = Files.size(tempFile);
+        Path target = cacheConfig.getCachePath().resolve(name);
+        // Rename into place, so readers (also in other processes) only ever see complete files
+        try {
+            Files.move(
+                    tempFile,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        return Files.deleteIfExists(cacheConfig.getCachePath().resolve(name));
+    }
+
+    @Override
+    public List<Blob> list() throws IOException {
+        List<Blob> blobs = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(cacheConfig.getCachePath())) {
+            for (Path path : paths.toList()) {
+                String name = path.getFileName().toString();
+                // Skip the disk index and in-progress writes
+                if (name.startsWith(".") || name.endsWith(".tmp")) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    blobs.add(toBlob(path, attributes));
+                }
+            }
+        }
+        return blobs;
+    }
+
+    private static Blob toBlob(Path file, BasicFileAttributes attributes) {
+        return new Blob(
+                file.getFileName().toString(),
+                attributes.size(),
+                attributes.lastModifiedTime().toInstant(),
+                new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,91 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.store;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * A blob inside a memory-mapped segment. Streams straight from the mapping without copying the
+ * image onto the heap; skipping (for range requests) only moves the buffer position.
+ */
+class MappedBlobResource extends AbstractResource {
+
+    private final String name;
+    private final ByteBuffer data;
+    private final long lastModified;
+
+    MappedBlobResource(String name, ByteBuffer data, long lastModified) {
+        this.name = name;
+        this.data = data;
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return data.remaining();
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return "packed thumbnail [" + name + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(data.duplicate());
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.store;
+
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends blobs to large segment files ({@code packed/segment-000001.dat}) and serves them from
+ * memory-mapped segments, so tens of thousands of thumbnails cost a handful of files and no
+ * open/close per request.
+ *
+ * <p>Each record is {@code [magic][name length][name][last modified][data length][data]}; deletes
+ * append a tombstone record (data length -1). The offset index lives in memory and is rebuilt at
+ * startup by scanning record headers, later records winning. Compaction copies the live records of
+ * segments that are mostly garbage into the active segment and deletes the old file.
+ */
+@Component
+@ConditionalOnProperty(name = "thumbnail.cache.storage", havingValue = "packed")
+@Slf4j
+public class PackedThumbnailBlobStore implements ThumbnailBlobStore {
+
+    static final String SEGMENT_DIRECTORY = "packed";
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("segment-(\\d+)\\.dat");
+    private static final int RECORD_MAGIC = 0x54425242; // "TBRB"
+    private static final int TOMBSTONE = -1;
+    // magic + name length + last modified + data length, without the name itself
+    private static final int FIXED_HEADER_BYTES = 4 + 2 + 8 + 4;
+
+    private final ThumbnailCacheConfig cacheConfig;
+    private final long segmentBytes;
+    private final double compactionThreshold;
+
+    private final Map<String, Location> locations = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+    // Serializes appends, deletes and compaction; reads are lock-free
+    private final Object writeLock = new Object();
+    private @Nullable Segment active;
+
+    public PackedThumbnailBlobStore(
+            ThumbnailCacheConfig cacheConfig,
+            @Value("${thumbnail.cache.packed.segment-bytes:67108864}") long segmentBytes,
+            @Value("${thumbnail.cache.packed.compaction-threshold:0.5}") double compactionThreshold) {
+        this.cacheConfig = cacheConfig;
+        // Offsets into a mapping are ints
+        this.segmentBytes = Math.min(segmentBytes, Integer.MAX_VALUE);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    private record Location(int segmentId, long offset, int length, long lastModified) {}
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(String name, long lastModified, int length, long dataOffset) throws IOException;
+    }
+
+    private static final class Segment {
+        final int id;
+        final Path path;
+        final FileChannel channel;
+        final AtomicLong liveBytes = new AtomicLong();
+        volatile long size;
+        // Set while appends go to this segment
+        volatile boolean growing;
+        private volatile @Nullable MappedByteBuffer mapped;
+
+        Segment(int id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        /**
+         * View of a record's data. Sealed segments are mapped once at their final size. Records of
+         * the growing segment are read with a positional read instead, so appends do not force a
+         * new mapping of the whole segment on the next read.
+         */
+        ByteBuffer slice(long offset, int length) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current != null && offset + length <= current.capacity()) {
+                return current.slice((int) offset, length);
+            }
+            if (growing) {
+                return read(offset, length);
+            }
+            synchronized (this) {
+                if (mapped == null || offset + length > mapped.capacity()) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+                return mapped.slice((int) offset, length);
+            }
+        }
+
+        private ByteBuffer read(long offset, int length) throws IOException {
+            ByteBuffer data = ByteBuffer.allocate(length);
+            while (data.hasRemaining()) {
+                if (channel.read(data, offset + data.position()) < 0) {
+                    throw new EOFException("Record of segment " + id + " ends past its file");
+                }
+            }
+            return data.flip().asReadOnlyBuffer();
+        }
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        if (!cacheConfig.isEnabled()) {
+            return;
+        }
+        Path directory = getSegmentDirectory();
+        Files.createDirectories(directory);
+
+        List<Path> segmentFiles;
+        try (Stream<Path> paths = Files.list(directory)) {
+            segmentFiles = paths.filter(p -> SEGMENT_FILE_NAME.matcher(p.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+        synchronized (writeLock) {
+            for (Path path : segmentFiles) {
+                Matcher matcher = SEGMENT_FILE_NAME.matcher(path.getFileName().toString());
+                matcher.matches();
+                Segment segment =
+                        new Segment(
+                                Integer.parseInt(matcher.group(1)),
+                                path,
+                                FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                segments.put(segment.id, segment);
+                long end =
+                        forEachRecord(
+                                segment,
+                                (name, lastModified, length, dataOffset) -> {
+                                    if (length == TOMBSTONE) {
+                                        remove(name);
+                                    } else {
+                                        replace(name, new Location(segment.id, dataOffset, length, lastModified));
+                                    }
+                                });
+                if (end < segment.channel.size()) {
+                    // Torn write from a crash: drop the incomplete tail
+                    log.warn("Truncating {} at offset {}", path.getFileName(), end);
+                    segment.channel.truncate(end);
+                }
+                segment.size = end;
+            }
+            Map.Entry<Integer, Segment> last = segments.lastEntry();
+            active = last != null && last.getValue().size < segmentBytes ? last.getValue() : null;
+            if (active != null) {
+                active.growing = true;
+            }
+        }
+        log.info("Loaded packed thumbnail store: {} blobs in {} segments", locations.size(), segments.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close {}: {}", segment.path.getFileName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<Blob> find(String name) {
+        // A concurrent compaction may move the record between the two lookups: retry once
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Location location = locations.get(name);
+            if (location == null) {
+                return Optional.empty();
+            }
+            Segment segment = segments.get(location.segmentId());
+            if (segment == null) {
+                continue;
+            }
+            try {
+                ByteBuffer data = segment.slice(location.offset(), location.length());
+                return Optional.of(
+                        new Blob(
+                                name,
+                                location.length(),
+                                Instant.ofEpochMilli(location.lastModified()),
+                                new MappedBlobResource(name, data, location.lastModified())));
+            } catch (IOException e) {
+                log.debug("Failed to map {} from {}: {}", name, segment.path.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return locations.containsKey(name);
+    }
+
+    @Override
+    public long put(String name, Path tempFile) throws IOException {
+        byte[] data = Files.readAllBytes(tempFile);
+        synchronized (writeLock) {
+            replace(name, append(name, data, System.currentTimeMillis()));
+        }
+        return data.length;
+    }
+
+    @Override
+    public boolean delete(String name) throws IOException {
+        synchronized (writeLock) {
+            if (!remove(name)) {
+                return false;
+            }
+            append(name, null, System.currentTimeMillis());
+            return true;
+        }
+    }
+
+    @Override
+    public List<Blob> list() {
+        List<Blob> blobs = new ArrayList<>(locations.size());
+        for (String name : List.copyOf(locations.keySet())) {
+            find(name).ifPresent(blobs::add);
+        }
+        return blobs;
+    }
+
+    /**
+     * Rewrite sealed segments whose live data fell below the compaction threshold.
+     */
+    @Scheduled(fixedDelayString = "${thumbnail.cache.packed.compaction-interval-ms:600000}")
+    public void compact() {
+        if (!cacheConfig.isEnabled()) {
+            return;
+        }
+        for (Segment segment : List.copyOf(segments.values())) {
+            synchronized (writeLock) {
+                if (segment == active || !segments.containsKey(segment.id)) {
+                    continue;
+                }
+                double liveRatio = segment.size == 0 ? 0 : segment.liveBytes.get() / (double) segment.size;
+                if (liveRatio >= compactionThreshold) {
+                    continue;
+                }
+                try {
+                    compactSegment(segment);
+                } catch (IOException e) {
+                    log.error("Failed to compact {}", segment.path.getFileName(), e);
+                }
+            }
+        }
+    }
+
+    private void compactSegment(Segment segment) throws IOException {
+        // Tombstones only matter while an older segment may still hold the record they delete
+        boolean hasOlderSegments = !segments.headMap(segment.id).isEmpty();
+        long reclaimed = segment.size - segment.liveBytes.get();
+        forEachRecord(
+                segment,
+                (name, lastModified, length, dataOffset) -> {
+                    if (length == TOMBSTONE) {
+                        if (hasOlderSegments && !locations.containsKey(name)) {
+                            append(name, null, lastModified);
+                        }
+                        return;
+                    }
+                    Location location = locations.get(name);
+                    if (location != null
+                            && location.segmentId() == segment.id
+                            && location.offset() == dataOffset) {
+                        byte[] data = new byte[length];
+                        segment.slice(dataOffset, length).get(data);
+                        replace(name, append(name, data, lastModified));
+                    }
+                });
+        segments.remove(segment.id);
+        segment.channel.close();
+        // Buffers handed out earlier stay valid: the mapping outlives the file
+        Files.deleteIfExists(segment.path);
+        log.info("Compacted {}, reclaimed {} bytes", segment.path.getFileName(), reclaimed);
+    }
+
+    /**
+     * Must hold {@link #writeLock}.
+     */
+    private Location append(String name, byte @Nullable [] data, long lastModified) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = data == null ? TOMBSTONE : data.length;
+        int headerBytes = FIXED_HEADER_BYTES + nameBytes.length;
+        long recordBytes = headerBytes + (long) Math.max(length, 0);
+
+        Segment segment = active;
+        if (segment == null || (segment.size > 0 && segment.size + recordBytes > segmentBytes)) {
+            segment = openNextSegment();
+        }
+
+        ByteBuffer record = ByteBuffer.allocate((int) recordBytes);
+        record.putInt(RECORD_MAGIC)
+                .putShort((short) nameBytes.length)
+                .put(nameBytes)
+                .putLong(lastModified)
+                .putInt(length);
+        if (data != null) {
+            record.put(data);
+        }
+        record.flip();
+
+        long start = segment.size;
+        long position = start;
+        while (record.hasRemaining()) {
+            position += segment.channel.write(record, position);
+        }
+        segment.size = position;
+        return new Location(segment.id, start + headerBytes, length, lastModified);
+    }
+
+    private Segment openNextSegment() throws IOException {
+        int id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Path path = getSegmentDirectory().resolve(String.format("segment-%06d.dat", id));
+        Segment segment =
+                new Segment(
+                        id,
+                        path,
+                        FileChannel.open(
+                                path,
+                                StandardOpenOption.CREATE_NEW,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE));
+        segments.put(id, segment);
+        if (active != null) {
+            active.growing = false;
+        }
+        segment.growing = true;
+        active = segment;
+        return segment;
+    }
+
+    private void replace(String name, Location location) {
+        Location previous = locations.put(name, location);
+        if (previous != null) {
+            release(previous);
+        }
+        Segment segment = segments.get(location.segmentId());
+        if (segment != null) {
+            segment.liveBytes.addAndGet(location.length());
+        }
+    }
+
+    private boolean remove(String name) {
+        Location previous = locations.remove(name);
+        if (previous == null) {
+            return false;
+        }
+        release(previous);
+        return true;
+    }
+
+    private void release(Location location) {
+        Segment segment = segments.get(location.segmentId());
+        if (segment != null) {
+            segment.liveBytes.addAndGet(-location.length());
+        }
+    }
+
+    /**
+     * Visit the records of a segment in write order.
+     *
+     * @return Offset after the last complete record
+     */
+    private static long forEachRecord(Segment segment, RecordVisitor visitor) throws IOException {
+        long fileSize = segment.channel.size();
+        long position = 0;
+        ByteBuffer prefix = ByteBuffer.allocate(6);
+        while (position + FIXED_HEADER_BYTES <= fileSize) {
+            prefix.clear();
+            readFully(segment.channel, prefix, position);
+            prefix.flip();
+            if (prefix.getInt() != RECORD_MAGIC) {
+                break;
+            }
+            int nameLength = prefix.getShort() & 0xFFFF;
+            long dataOffset = position + FIXED_HEADER_BYTES + nameLength;
+            if (dataOffset > fileSize) {
+                break;
+            }
+            ByteBuffer rest = ByteBuffer.allocate(nameLength + 12);
+            readFully(segment.channel, rest, position + 6);
+            rest.flip();
+            byte[] nameBytes = new byte[nameLength];
+            rest.get(nameBytes);
+            long lastModified = rest.getLong();
+            int length = rest.getInt();
+            if (length < TOMBSTONE || dataOffset + Math.max(length, 0) > fileSize) {
+                break;
+            }
+            visitor.visit(new String(nameBytes, StandardCharsets.UTF_8), lastModified, length, dataOffset);
+            position = dataOffset + Math.max(length, 0);
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private Path getSegmentDirectory() {
+        return cacheConfig.getCachePath().resolve(SEGMENT_DIRECTORY);
+    }
+}
@@ -0,0 +1,47 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.store;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.core.io.Resource;
+
+/**
+ * Where cached thumbnail bytes live, addressed by blob name (e.g. {@code {sha256}-w240.jpg}).
+ * Selected with {@code thumbnail.cache.storage}: {@code files} (one file per blob, default) or
+ * {@code packed} (segment files served memory-mapped).
+ *
+ * <p>Switching the storage mode starts with an empty cache; blobs are downloaded again on demand.
+ */
+public interface ThumbnailBlobStore {
+
+    Optional<Blob> find(String name);
+
+    boolean contains(String name);
+
+    /**
+     * Take over a complete temp file as blob {@code name}, replacing an existing blob of that name.
+     * The temp file is consumed (moved or copied and left for the caller to delete).
+     *
+     * @return Size of the stored blob
+     */
+    long put(String name, Path tempFile) throws IOException;
+
+    /**
+     * @return Whether a blob was removed
+     */
+    boolean delete(String name) throws IOException;
+
+    /**
+     * All stored blobs, for index rebuilds and garbage collection.
+     */
+    List<Blob> list() throws IOException;
+
+    /**
+     * A stored blob. {@code content} can be streamed to a response and supports random access for
+     * range requests.
+     */
+    record Blob(String name, long size, Instant lastModified, Resource content) {}
+}
@@ -0,0 +1,69 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.presentation.rest;
+
+import com.robertforpresent.api.thumbnail.application.service.MediaCacheService;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Serves non-cover images (store icons, Steam artwork, screenshots) from the local media cache,
+ * e.g. {@code /media/store-icon/steam} or {@code /media/steam-header/570?w=240}.
+ */
+@RestController
+@RequestMapping("/media")
+@CrossOrigin(origins = "http://localhost:4200")
+@RequiredArgsConstructor
+public class MediaController {
+
+    private final MediaCacheService mediaCacheService;
+
+    @GetMapping
+    public ResponseEntity<Set<String>> getNamespaces() {
+        return ResponseEntity.ok(mediaCacheService.getNamespaces());
+    }
+
+    @GetMapping("/{namespace}/{key}")
+    public ResponseEntity<Resource> getMedia(
+            @PathVariable String namespace,
+            @PathVariable String key,
+            @RequestParam(name = "w", required = false) Integer width,
+            WebRequest webRequest) {
+        Optional<CachedThumbnail> media = mediaCacheService.get(namespace, key, width);
+        if (media.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CachedThumbnail cached = media.get();
+        // Same rule as thumbnails: an original standing in for a pending variant is cached briefly
+        boolean fallback = width != null && cached.width() == null;
+        CacheControl cacheControl =
+                CacheControl.maxAge(fallback ? Duration.ofMinutes(1) : Duration.ofDays(7));
+        if (webRequest.checkNotModified(cached.etag(), cached.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(cached.contentType()))
+                .cacheControl(cacheControl)
+                .eTag(cached.etag())
+                .lastModified(cached.lastModified())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(cached.content());
+    }
+}
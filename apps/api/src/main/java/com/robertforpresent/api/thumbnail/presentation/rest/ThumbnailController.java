@@ -1,19 +1,32 @@
 /* (C)2025 */
 package com.robertforpresent.api.thumbnail.presentation.rest;
 
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailAtlasService;
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailPrefetchService;
 import com.robertforpresent.api.thumbnail.application.service.ThumbnailService;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/thumbnails")
@@ -22,22 +35,84 @@ import org.springframework.web.bind.annotation.RestController;
 public class ThumbnailController {
 
     private final ThumbnailService thumbnailService;
+    private final ThumbnailPrefetchService prefetchService;
+    private final ThumbnailAtlasService atlasService;
 
+    /**
+     * Stream a thumbnail from the blob store. Spring writes the resource with
+     * {@code Content-Length} and answers {@code Range} requests with partial content.
+     */
     @GetMapping("/{gameId}")
-    public ResponseEntity<byte[]> getThumbnail(@PathVariable UUID gameId) {
-        Optional<byte[]> thumbnail = thumbnailService.getThumbnail(gameId);
+    public ResponseEntity<Resource> getThumbnail(
+            @PathVariable UUID gameId,
+            @RequestParam(name = "w", required = false) Integer width,
+            WebRequest webRequest) {
+        Optional<CachedThumbnail> thumbnail =
+                width != null
+                        ? thumbnailService.getThumbnail(gameId, width)
+                        : thumbnailService.getThumbnail(gameId);
 
         if (thumbnail.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        String contentType =
-                thumbnailService.getContentType(gameId).orElse(MediaType.IMAGE_JPEG_VALUE);
+        CachedThumbnail cached = thumbnail.get();
+        // The original stands in for a variant that is still being generated: do not let clients
+        // cache it for long under the variant URL
+        boolean fallback = width != null && cached.width() == null;
+        CacheControl cacheControl =
+                CacheControl.maxAge(
+                        fallback ? Duration.ofMinutes(1) : Duration.ofDays(7));
+        if (webRequest.checkNotModified(cached.etag(), cached.lastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
 
         return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .cacheControl(CacheControl.maxAge(java.time.Duration.ofDays(7)))
-                .body(thumbnail.get());
+                .contentType(MediaType.parseMediaType(cached.contentType()))
+                .cacheControl(cacheControl)
+                .eTag(cached.etag())
+                .lastModified(cached.lastModified())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(cached.content());
+    }
+
+    /**
+     * Sprite sheet for a page of games: the layout as JSON, the pixels at {@code imageUrl}.
+     * The grid passes the ids of the collection page it is rendering.
+     */
+    @GetMapping("/atlas")
+    public ResponseEntity<AtlasManifest> getAtlas(
+            @RequestParam List<UUID> ids, @RequestParam(name = "w", defaultValue = "120") int width) {
+        if (ids.isEmpty() || ids.size() > ThumbnailAtlasService.MAX_TILES) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + ThumbnailAtlasService.MAX_TILES + " ids are supported");
+        }
+        if (width < 16 || width > ThumbnailAtlasService.MAX_TILE_WIDTH) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Tile width must be between 16 and " + ThumbnailAtlasService.MAX_TILE_WIDTH);
+        }
+        ThumbnailAtlasService.Atlas atlas = atlasService.getAtlas(ids, width);
+        String imageUrl = atlas.tiles().isEmpty() ? null : "/thumbnails/atlas/" + atlas.key() + ".jpg";
+        return ResponseEntity.ok(new AtlasManifest(imageUrl, atlas));
+    }
+
+    /**
+     * Atlas images are named by their content key and never change.
+     */
+    @GetMapping("/atlas/{key}.jpg")
+    public ResponseEntity<Resource> getAtlasImage(@PathVariable String key) {
+        return atlasService
+                .findAtlasImage(key)
+                .map(
+                        blob ->
+                                ResponseEntity.ok()
+                                        .contentType(MediaType.IMAGE_JPEG)
+                                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).immutable())
+                                        .eTag("\"" + key + "\"")
+                                        .body(blob.content()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{gameId}/status")
@@ -49,7 +124,31 @@ public class ThumbnailController {
     @GetMapping("/stats")
     public ResponseEntity<CacheStats> getCacheStats() {
         long cacheSize = thumbnailService.getCacheSize();
-        return ResponseEntity.ok(new CacheStats(cacheSize, formatSize(cacheSize)));
+        return ResponseEntity.ok(
+                new CacheStats(cacheSize, formatSize(cacheSize), thumbnailService.getTierStats()));
+    }
+
+    /**
+     * Delete cached images no game refers to any more. Also runs periodically.
+     */
+    @PostMapping("/gc")
+    public ResponseEntity<ThumbnailService.GarbageCollectionResult> collectGarbage() {
+        return ResponseEntity.ok(thumbnailService.collectGarbage());
+    }
+
+    /**
+     * Start downloading all uncached thumbnails in the background, the gamer's top and backlog
+     * games first.
+     */
+    @PostMapping("/prefetch")
+    public ResponseEntity<ThumbnailPrefetchService.PrefetchStatus> startPrefetch(
+            @RequestParam(required = false) UUID userId) {
+        return ResponseEntity.accepted().body(prefetchService.start(userId));
+    }
+
+    @GetMapping("/prefetch")
+    public ResponseEntity<ThumbnailPrefetchService.PrefetchStatus> getPrefetchStatus() {
+        return ResponseEntity.ok(prefetchService.getStatus());
     }
 
     private String formatSize(long bytes) {
@@ -61,5 +160,8 @@ public class ThumbnailController {
 
     public record ThumbnailStatus(UUID gameId, boolean cached) {}
 
-    public record CacheStats(long totalBytes, String formattedSize) {}
+    public record AtlasManifest(@Nullable String imageUrl, ThumbnailAtlasService.Atlas atlas) {}
+
+    public record CacheStats(
+            long totalBytes, String formattedSize, ThumbnailService.TierStats tiers) {}
 }
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Map;
@@ -35,11 +36,14 @@ class CatalogServiceTest {
     @Mock
     private ThumbnailService thumbnailService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private CatalogService service;
 
     @BeforeEach
     void setUp() {
-        service = new CatalogService(repository, collectionPort, scraperService, thumbnailService);
+        service = new CatalogService(repository, collectionPort, scraperService, thumbnailService, eventPublisher);
     }
 
     @Test
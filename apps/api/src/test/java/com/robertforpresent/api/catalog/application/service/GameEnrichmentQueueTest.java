@@ -0,0 +1,134 @@
+package com.robertforpresent.api.catalog.application.service;
+
+import com.robertforpresent.api.catalog.application.service.GameEnrichmentService.GameEnrichmentResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for GameEnrichmentQueue.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GameEnrichmentQueueTest {
+
+    private static final long WAIT_MS = 2_000;
+    private static final GameEnrichmentResult ENRICHED = new GameEnrichmentResult(true, false, List.of("steam"), "ok");
+    private static final GameEnrichmentResult FAILED = new GameEnrichmentResult(false, true, List.of(), "not found");
+
+    @Mock
+    private GameEnrichmentService enrichmentService;
+
+    private GameEnrichmentQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        when(enrichmentService.enrichGame(any())).thenReturn(ENRICHED);
+        queue = new GameEnrichmentQueue(enrichmentService, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    @DisplayName("a game already waiting is not queued twice")
+    void deduplicatesWaitingGames() {
+        // given: the worker is not running yet, so games stay queued
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        // when
+        int added = queue.enqueue(List.of(first, second, first));
+        int addedAgain = queue.enqueue(List.of(second));
+
+        // then
+        assertEquals(2, added);
+        assertEquals(0, addedAgain);
+        assertEquals(2, queue.getStatus().pending());
+    }
+
+    @Test
+    @DisplayName("the worker drains the queue in order, once per game")
+    void drainsInOrder() {
+        // given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        queue.enqueue(List.of(first, second, first));
+
+        // when
+        queue.start();
+
+        // then
+        InOrder inOrder = inOrder(enrichmentService);
+        inOrder.verify(enrichmentService, timeout(WAIT_MS)).enrichGame(first);
+        inOrder.verify(enrichmentService, timeout(WAIT_MS)).enrichGame(second);
+        verify(enrichmentService, times(1)).enrichGame(first);
+        awaitProcessed(2);
+        assertEquals(new GameEnrichmentQueue.QueueStatus(0, 2, 0), queue.getStatus());
+    }
+
+    @Test
+    @DisplayName("a processed game can be queued again")
+    void requeuesProcessedGame() {
+        // given
+        UUID gameId = UUID.randomUUID();
+        queue.start();
+        queue.enqueue(List.of(gameId));
+        awaitProcessed(1);
+
+        // when
+        int added = queue.enqueue(List.of(gameId));
+
+        // then
+        assertEquals(1, added);
+        verify(enrichmentService, timeout(WAIT_MS).times(2)).enrichGame(gameId);
+    }
+
+    @Test
+    @DisplayName("failed and throwing enrichments are counted and do not stop the worker")
+    void countsFailures() {
+        // given
+        UUID failing = UUID.randomUUID();
+        UUID throwing = UUID.randomUUID();
+        UUID ok = UUID.randomUUID();
+        when(enrichmentService.enrichGame(failing)).thenReturn(FAILED);
+        when(enrichmentService.enrichGame(throwing)).thenThrow(new IllegalArgumentException("Game not found"));
+        queue.enqueue(List.of(failing, throwing, ok));
+
+        // when
+        queue.start();
+
+        // then
+        awaitProcessed(3);
+        assertEquals(new GameEnrichmentQueue.QueueStatus(0, 1, 2), queue.getStatus());
+    }
+
+    private void awaitProcessed(int games) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (queue.getStatus().enriched() + queue.getStatus().failed() < games) {
+            assertTrue(System.currentTimeMillis() < deadline, "queue was not drained");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted while waiting for the queue");
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.robertforpresent.api.catalog.application.service;
+
+import com.robertforpresent.api.catalog.application.command.ImportGameCommand;
+import com.robertforpresent.api.catalog.application.service.GameEnrichmentService.GameEnrichmentResult;
+import com.robertforpresent.api.catalog.application.service.GameImportService.BulkImportResult;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.port.GameCollectionPort;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.events.domain.model.GameUpdateType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the background enrichment of GameImportService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GameImportServiceTest {
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+
+    @Mock
+    private CanonicalGameRepository gameRepository;
+
+    @Mock
+    private GameCollectionPort collectionPort;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GameEnrichmentQueue enrichmentQueue;
+
+    private final CanonicalGame existing = new CanonicalGame.Builder("Portal").build();
+
+    @BeforeEach
+    void setUp() {
+        when(gameRepository.save(any())).then(returnsFirstArg());
+        when(gameRepository.findByNameIgnoreCase("Portal")).thenReturn(Optional.of(existing));
+    }
+
+    @Test
+    @DisplayName("a fast import queues only the games it created")
+    void fastImportQueuesCreatedGames() {
+        // given
+        GameImportService service = new GameImportService(gameRepository, collectionPort, eventPublisher, enrichmentQueue);
+
+        // when
+        BulkImportResult result = service.importGames(List.of(
+                command("Portal", "400"),
+                command("Portal 2", "620")), GAMER_ID, true);
+
+        // then
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        UUID createdId = UUID.fromString(result.results().get(1).gameId());
+        verify(enrichmentQueue).enqueue(List.of(createdId));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof GameUpdateEvent update
+                && update.type() == GameUpdateType.LIBRARY_IMPORTED
+                && GAMER_ID.equals(update.gamerId())));
+    }
+
+    @Test
+    @DisplayName("a regular import does not queue anything")
+    void regularImportDoesNotQueue() {
+        // given
+        GameImportService service = new GameImportService(gameRepository, collectionPort, eventPublisher, enrichmentQueue);
+
+        // when
+        service.importGames(List.of(command("Portal 2", "620")), GAMER_ID);
+
+        // then
+        verifyNoInteractions(enrichmentQueue);
+    }
+
+    @Test
+    @DisplayName("a fast import returns while the queued games are still being enriched")
+    void fastImportReturnsBeforeEnrichment() throws InterruptedException {
+        // given: enrichment blocks until released
+        GameEnrichmentService enrichmentService = mock(GameEnrichmentService.class);
+        CountDownLatch enrichmentStarted = new CountDownLatch(1);
+        CountDownLatch releaseEnrichment = new CountDownLatch(1);
+        when(enrichmentService.enrichGame(any())).thenAnswer(invocation -> {
+            enrichmentStarted.countDown();
+            releaseEnrichment.await(5, TimeUnit.SECONDS);
+            return new GameEnrichmentResult(true, false, List.of("steam"), "ok");
+        });
+        GameEnrichmentQueue queue = new GameEnrichmentQueue(enrichmentService, 0);
+        queue.start();
+        GameImportService service = new GameImportService(gameRepository, collectionPort, eventPublisher, queue);
+
+        try {
+            // when
+            BulkImportResult result = service.importGames(List.of(command("Portal 2", "620")), GAMER_ID, true);
+
+            // then
+            assertEquals(1, result.created());
+            assertTrue(enrichmentStarted.await(5, TimeUnit.SECONDS));
+            assertEquals(0, queue.getStatus().enriched());
+            releaseEnrichment.countDown();
+            verify(enrichmentService, timeout(2_000)).enrichGame(UUID.fromString(result.results().getFirst().gameId()));
+        } finally {
+            releaseEnrichment.countDown();
+            queue.stop();
+        }
+    }
+
+    private static ImportGameCommand command(String name, String appId) {
+        return new ImportGameCommand(name, "steam", appId, null, null);
+    }
+}
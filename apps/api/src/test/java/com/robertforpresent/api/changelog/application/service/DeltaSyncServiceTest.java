@@ -0,0 +1,138 @@
+package com.robertforpresent.api.changelog.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.changelog.domain.model.ChangeLogEntry;
+import com.robertforpresent.api.changelog.domain.model.ChangeScope;
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import com.robertforpresent.api.collection.application.service.GamerCollectionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DeltaSyncService.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeltaSyncServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLog;
+
+    @Mock
+    private CatalogService catalogService;
+
+    @Mock
+    private GamerCollectionService collectionService;
+
+    private DeltaSyncService service;
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+    private static final UUID GAME_ID_1 = UUID.randomUUID();
+    private static final UUID GAME_ID_2 = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new DeltaSyncService(changeLog, catalogService, collectionService);
+    }
+
+    @Nested
+    @DisplayName("getCatalogChanges()")
+    class CatalogChangesTests {
+
+        @Test
+        @DisplayName("returns empty delta and keeps cursor when nothing changed")
+        void returnsEmptyDeltaWhenNothingChanged() {
+            // given
+            when(changeLog.findCatalogChangesSince(42, DeltaSyncService.DEFAULT_LIMIT)).thenReturn(List.of());
+            when(catalogService.getByIds(List.of())).thenReturn(Map.of());
+
+            // when
+            var delta = service.getCatalogChanges(42, null);
+
+            // then
+            assertEquals(42, delta.nextSeq());
+            assertFalse(delta.hasMore());
+            assertTrue(delta.upserts().isEmpty());
+            assertTrue(delta.tombstones().isEmpty());
+        }
+
+        @Test
+        @DisplayName("collapses multiple changes of the same game into the latest one")
+        void collapsesChangesPerGame() {
+            // given
+            var game2 = new CanonicalGame.Builder("Half-Life 2").setId(GAME_ID_2).build();
+            when(changeLog.findCatalogChangesSince(0, DeltaSyncService.DEFAULT_LIMIT)).thenReturn(List.of(
+                    entry(1, GAME_ID_1, ChangeType.UPSERT),
+                    entry(2, GAME_ID_2, ChangeType.UPSERT),
+                    entry(3, GAME_ID_1, ChangeType.DELETE)
+            ));
+            when(catalogService.getByIds(List.of(GAME_ID_2))).thenReturn(Map.of(GAME_ID_2, game2));
+
+            // when
+            var delta = service.getCatalogChanges(0, null);
+
+            // then
+            assertEquals(3, delta.nextSeq());
+            assertEquals(1, delta.upserts().size());
+            assertEquals("Half-Life 2", delta.upserts().get(0).getName());
+            assertEquals(List.of(GAME_ID_1), delta.tombstones());
+        }
+
+        @Test
+        @DisplayName("reports upserted games that no longer exist as tombstones")
+        void reportsMissingUpsertsAsTombstones() {
+            // given
+            when(changeLog.findCatalogChangesSince(0, 1)).thenReturn(List.of(entry(7, GAME_ID_1, ChangeType.UPSERT)));
+            when(catalogService.getByIds(List.of(GAME_ID_1))).thenReturn(Map.of());
+
+            // when
+            var delta = service.getCatalogChanges(0, 1);
+
+            // then
+            assertTrue(delta.hasMore(), "a full page signals that more changes may follow");
+            assertTrue(delta.upserts().isEmpty());
+            assertEquals(List.of(GAME_ID_1), delta.tombstones());
+        }
+    }
+
+    @Nested
+    @DisplayName("getCollectionChanges()")
+    class CollectionChangesTests {
+
+        @Test
+        @DisplayName("omits games no longer in the collection from upserts")
+        void omitsGamesNotInCollection() {
+            // given
+            when(changeLog.findCollectionChangesSince(GAMER_ID, 5, DeltaSyncService.DEFAULT_LIMIT)).thenReturn(List.of(
+                    entry(6, GAME_ID_1, ChangeType.UPSERT)
+            ));
+            when(collectionService.getCollectionViews(GAMER_ID, List.of(GAME_ID_1))).thenReturn(List.of());
+
+            // when
+            var delta = service.getCollectionChanges(GAMER_ID, 5, 0);
+
+            // then
+            assertEquals(6, delta.nextSeq());
+            assertTrue(delta.upserts().isEmpty());
+            assertEquals(List.of(GAME_ID_1), delta.tombstones());
+        }
+    }
+
+    private static ChangeLogEntry entry(long seq, UUID gameId, ChangeType type) {
+        return new ChangeLogEntry(seq, ChangeScope.CATALOG, null, gameId, type, Instant.now());
+    }
+}
@@ -0,0 +1,199 @@
+package com.robertforpresent.api.collection.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.model.steam.ReviewSentiment;
+import com.robertforpresent.api.catalog.domain.model.steam.SteamRating;
+import com.robertforpresent.api.collection.application.service.CollectionFacetService.FacetSearchResult;
+import com.robertforpresent.api.collection.domain.model.FacetFilter;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.collection.infrastructure.index.GameOrdinals;
+import com.robertforpresent.api.collection.infrastructure.index.GamerBitmapIndex;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CollectionFacetService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CollectionFacetServiceTest {
+
+    private static final long WAIT_SECONDS = 5;
+    private static final UUID GAMER_ID = UUID.randomUUID();
+    private static final UUID GAME_ID_1 = UUID.randomUUID();
+    private static final UUID GAME_ID_2 = UUID.randomUUID();
+    private static final FacetFilter PLAYED = FacetFilter.parse(List.of("PLAYED"));
+
+    @Mock
+    private CollectionRepository repository;
+
+    @Mock
+    private CatalogService catalog;
+
+    private CollectionFacetService service;
+
+    @BeforeEach
+    void setUp() {
+        Map<UUID, CanonicalGame> catalogGames = Map.of(
+                GAME_ID_1, createCanonicalGame(GAME_ID_1, "Stardew Valley"),
+                GAME_ID_2, createCanonicalGame(GAME_ID_2, "Half-Life 2"));
+        when(catalog.getByIds(anyList())).thenAnswer(invocation -> {
+            Map<UUID, CanonicalGame> found = new HashMap<>();
+            for (UUID id : invocation.<List<UUID>>getArgument(0)) {
+                found.put(id, catalogGames.get(id));
+            }
+            return found;
+        });
+        when(repository.findByGamerId(GAMER_ID)).thenReturn(List.of(
+                createPersonalizedGame(GAME_ID_1, true),
+                createPersonalizedGame(GAME_ID_2, false)));
+        service = new CollectionFacetService(repository, catalog, new GameOrdinals());
+    }
+
+    @Nested
+    @DisplayName("index lifecycle")
+    class IndexLifecycleTests {
+
+        @Test
+        @DisplayName("builds the index on the first query and reuses it afterwards")
+        void buildsOnceAndCaches() {
+            // when
+            FacetSearchResult first = service.search(GAMER_ID, PLAYED);
+            FacetSearchResult second = service.search(GAMER_ID, FacetFilter.NONE);
+
+            // then
+            assertEquals(List.of(GAME_ID_1), first.gameIds());
+            assertEquals(2, second.total());
+            verify(repository, times(1)).findByGamerId(GAMER_ID);
+        }
+
+        @Test
+        @DisplayName("a flag change updates the cached index without a rebuild")
+        void flagChangeUpdatesIncrementally() {
+            // given
+            service.search(GAMER_ID, PLAYED);
+            when(repository.findByGamerIdAndCanonicalGameIds(GAMER_ID, List.of(GAME_ID_2)))
+                    .thenReturn(List.of(createPersonalizedGame(GAME_ID_2, true)));
+
+            // when
+            service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, GAME_ID_2));
+
+            // then
+            assertEquals(2, service.search(GAMER_ID, PLAYED).total());
+            verify(repository, times(1)).findByGamerId(GAMER_ID);
+        }
+
+        @Test
+        @DisplayName("a library import drops the index so the next query rebuilds it")
+        void libraryImportDropsIndex() {
+            // given
+            service.search(GAMER_ID, PLAYED);
+
+            // when
+            service.onGameUpdate(GameUpdateEvent.libraryImported(GAMER_ID));
+            service.search(GAMER_ID, PLAYED);
+
+            // then
+            verify(repository, times(2)).findByGamerId(GAMER_ID);
+        }
+    }
+
+    @Nested
+    @DisplayName("concurrent builds")
+    class ConcurrentBuildTests {
+
+        @Test
+        @DisplayName("an event during a build keeps the stale result out of the cache")
+        void eventDuringBuildIsNotLost() throws Exception {
+            // given: the first build blocks after reading the collection
+            CountDownLatch buildStarted = new CountDownLatch(1);
+            CountDownLatch releaseBuild = new CountDownLatch(1);
+            when(repository.findByGamerId(GAMER_ID))
+                    .thenAnswer(invocation -> {
+                        buildStarted.countDown();
+                        releaseBuild.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                        return List.of(createPersonalizedGame(GAME_ID_1, true),
+                                createPersonalizedGame(GAME_ID_2, false));
+                    })
+                    .thenReturn(List.of(createPersonalizedGame(GAME_ID_1, true),
+                            createPersonalizedGame(GAME_ID_2, true)));
+            CompletableFuture<GamerBitmapIndex> build = CompletableFuture.supplyAsync(() -> service.getIndex(GAMER_ID));
+            assertTrue(buildStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+            // when: the gamer marks a game as played while the index is being built
+            service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, GAME_ID_2));
+            releaseBuild.countDown();
+            build.get(WAIT_SECONDS, TimeUnit.SECONDS);
+
+            // then
+            assertEquals(2, service.search(GAMER_ID, PLAYED).total());
+            verify(repository, times(2)).findByGamerId(GAMER_ID);
+        }
+
+        @Test
+        @DisplayName("concurrent queries of one gamer share a single build")
+        void concurrentQueriesShareBuild() throws Exception {
+            // given
+            CountDownLatch buildStarted = new CountDownLatch(1);
+            CountDownLatch releaseBuild = new CountDownLatch(1);
+            when(repository.findByGamerId(GAMER_ID)).thenAnswer(invocation -> {
+                buildStarted.countDown();
+                releaseBuild.await(WAIT_SECONDS, TimeUnit.SECONDS);
+                return List.of(createPersonalizedGame(GAME_ID_1, true));
+            });
+            CompletableFuture<GamerBitmapIndex> first = CompletableFuture.supplyAsync(() -> service.getIndex(GAMER_ID));
+            assertTrue(buildStarted.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+            // when
+            CompletableFuture<GamerBitmapIndex> second = CompletableFuture.supplyAsync(() -> service.getIndex(GAMER_ID));
+            releaseBuild.countDown();
+
+            // then
+            assertSame(first.get(WAIT_SECONDS, TimeUnit.SECONDS), second.get(WAIT_SECONDS, TimeUnit.SECONDS));
+            verify(repository, times(1)).findByGamerId(GAMER_ID);
+        }
+    }
+
+    // Helper methods
+
+    private static PersonalizedGame createPersonalizedGame(UUID gameId, boolean played) {
+        return new PersonalizedGame.Builder()
+                .setCanonicalId(gameId)
+                .setGamerId(GAMER_ID)
+                .setMarkAsPlayed(played)
+                .setOwnedOnSteam(true)
+                .build();
+    }
+
+    private static CanonicalGame createCanonicalGame(UUID id, String name) {
+        return new CanonicalGame.Builder(name)
+                .setId(id)
+                .setSteamRating(SteamRating.of(90, 10, ReviewSentiment.MIXED))
+                .setThumbnailUrl("https://example.com/" + id + ".jpg")
+                .build();
+    }
+}
@@ -9,6 +9,7 @@ import com.robertforpresent.api.catalog.domain.model.steam.ReviewSentiment;
 import com.robertforpresent.api.catalog.domain.model.steam.SteamRating;
 import com.robertforpresent.api.collection.application.dto.AdminGameView;
 import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.port.ThumbnailPlaceholderPort;
 import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,12 @@ class GamerCollectionServiceTest {
     @Mock
     private CatalogService catalogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ThumbnailPlaceholderPort placeholders;
+
     private GamerCollectionService service;
 
     private static final UUID GAMER_ID = UUID.randomUUID();
@@ -46,7 +54,7 @@ class GamerCollectionServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new GamerCollectionService(repository, catalogService);
+        service = new GamerCollectionService(repository, catalogService, eventPublisher, placeholders);
     }
 
     @Nested
@@ -283,6 +291,29 @@ class GamerCollectionServiceTest {
             assertNull(adminView.metacriticName());
             assertNull(adminView.metacriticLink());
         }
+
+        @Test
+        @DisplayName("embeds thumbnail placeholders where available")
+        void embedsThumbnailPlaceholders() {
+            // given
+            var game1 = createPersonalizedGame(GAME_ID_1, false, false, false);
+            var game2 = createPersonalizedGame(GAME_ID_2, false, false, false);
+
+            when(repository.findByGamerId(GAMER_ID)).thenReturn(List.of(game1, game2));
+            when(catalogService.getByIds(List.of(GAME_ID_1, GAME_ID_2))).thenReturn(Map.of(
+                    GAME_ID_1, createCanonicalGame(GAME_ID_1, "Game 1", 0.9f),
+                    GAME_ID_2, createCanonicalGame(GAME_ID_2, "Game 2", 0.8f)
+            ));
+            when(placeholders.findPlaceholders(List.of(GAME_ID_1, GAME_ID_2)))
+                    .thenReturn(Map.of(GAME_ID_1, "LEHV6nWB2yk8pyo0adR*.7kCMdnj"));
+
+            // when
+            List<AdminGameView> adminGames = service.getAdminCollection(GAMER_ID);
+
+            // then
+            assertEquals("LEHV6nWB2yk8pyo0adR*.7kCMdnj", adminGames.get(0).thumbnailPlaceholder());
+            assertNull(adminGames.get(1).thumbnailPlaceholder());
+        }
     }
 
     @Nested
@@ -0,0 +1,248 @@
+package com.robertforpresent.api.collection.application.service;
+
+import com.robertforpresent.api.catalog.application.service.CatalogService;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.collection.application.service.SharedLibraryService.SharedGame;
+import com.robertforpresent.api.collection.application.service.SharedLibraryService.SharedLibraryResult;
+import com.robertforpresent.api.collection.domain.model.Facet;
+import com.robertforpresent.api.collection.infrastructure.index.GameOrdinals;
+import com.robertforpresent.api.collection.infrastructure.index.GamerBitmapIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SharedLibraryService.
+ */
+@ExtendWith(MockitoExtension.class)
+class SharedLibraryServiceTest {
+
+    @Mock
+    private CollectionFacetService facetService;
+
+    @Mock
+    private CatalogService catalog;
+
+    private GameOrdinals ordinals;
+    private SharedLibraryService service;
+    private final Map<UUID, CanonicalGame> catalogGames = new HashMap<>();
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+    private static final UUID GAME_SHARED = UUID.randomUUID();
+    private static final UUID GAME_ALICE_ONLY = UUID.randomUUID();
+    private static final UUID GAME_BOB_ONLY = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ordinals = new GameOrdinals();
+        service = new SharedLibraryService(facetService, ordinals, catalog);
+    }
+
+    @Nested
+    @DisplayName("owner matching")
+    class OwnerMatchingTests {
+
+        @BeforeEach
+        void setUp() {
+            addGame(GAME_SHARED, 80f);
+            addGame(GAME_ALICE_ONLY, 70f);
+            addGame(GAME_BOB_ONLY, 60f);
+            index(ALICE, Map.of(GAME_SHARED, Set.of(), GAME_ALICE_ONLY, Set.of()));
+            index(BOB, Map.of(GAME_SHARED, Set.of(), GAME_BOB_ONLY, Set.of()));
+            stubCatalog();
+        }
+
+        @Test
+        @DisplayName("mode all returns only the games every gamer owns")
+        void requireAllIntersectsOwners() {
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE, BOB), true, false, 50);
+
+            // then
+            assertEquals(1, result.total());
+            assertEquals(List.of(GAME_SHARED), gameIds(result));
+            assertEquals(2, result.games().getFirst().owners());
+        }
+
+        @Test
+        @DisplayName("mode any returns the games at least one gamer owns, with their owner count")
+        void requireAnyUnitesOwners() {
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE, BOB), false, false, 50);
+
+            // then
+            assertEquals(3, result.total());
+            assertEquals(List.of(GAME_SHARED, GAME_ALICE_ONLY, GAME_BOB_ONLY), gameIds(result));
+            assertEquals(List.of(2, 1, 1), result.games().stream().map(SharedGame::owners).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("excludePlayed")
+    class ExcludePlayedTests {
+
+        @Test
+        @DisplayName("removes games any gamer of the group has played")
+        void removesGamesPlayedByAnyGamer() {
+            // given
+            addGame(GAME_SHARED, 80f);
+            addGame(GAME_ALICE_ONLY, 70f);
+            index(ALICE, Map.of(GAME_SHARED, Set.of(), GAME_ALICE_ONLY, Set.of()));
+            index(BOB, Map.of(GAME_SHARED, Set.of(Facet.PLAYED)));
+            stubCatalog();
+
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE, BOB), false, true, 50);
+
+            // then
+            assertEquals(1, result.total());
+            assertEquals(List.of(GAME_ALICE_ONLY), gameIds(result));
+        }
+
+        @Test
+        @DisplayName("keeps played games when disabled")
+        void keepsPlayedGamesWhenDisabled() {
+            // given
+            addGame(GAME_SHARED, 80f);
+            index(ALICE, Map.of(GAME_SHARED, Set.of(Facet.PLAYED)));
+            stubCatalog();
+
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE), true, false, 50);
+
+            // then
+            assertEquals(List.of(GAME_SHARED), gameIds(result));
+        }
+    }
+
+    @Nested
+    @DisplayName("ranking")
+    class RankingTests {
+
+        @Test
+        @DisplayName("ranks by the unrounded rating")
+        void ranksByFractionalRating() {
+            // given: all three ratings truncate to 79
+            addGame(GAME_BOB_ONLY, 79.2f);
+            addGame(GAME_SHARED, 79.8f);
+            addGame(GAME_ALICE_ONLY, 79.5f);
+            index(ALICE, Map.of(GAME_SHARED, Set.of(), GAME_ALICE_ONLY, Set.of(), GAME_BOB_ONLY, Set.of()));
+            stubCatalog();
+
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE), true, false, 50);
+
+            // then
+            assertEquals(List.of(GAME_SHARED, GAME_ALICE_ONLY, GAME_BOB_ONLY), gameIds(result));
+        }
+
+        @Test
+        @DisplayName("returns only the top games but reports the full total")
+        void limitsToTopGames() {
+            // given
+            List<UUID> games = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+            Map<UUID, Set<Facet>> owned = new HashMap<>();
+            for (int i = 0; i < games.size(); i++) {
+                addGame(games.get(i), 50f + i);
+                owned.put(games.get(i), Set.of());
+            }
+            index(ALICE, owned);
+            stubCatalog();
+
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE), true, false, 2);
+
+            // then
+            assertEquals(5, result.total());
+            assertEquals(List.of(games.get(4), games.get(3)), gameIds(result));
+        }
+    }
+
+    @Nested
+    @DisplayName("group validation")
+    class GroupValidationTests {
+
+        @Test
+        @DisplayName("rejects an empty group")
+        void rejectsEmptyGroup() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.findSharedGames(List.of(), true, false, 50));
+            verifyNoInteractions(facetService, catalog);
+        }
+
+        @Test
+        @DisplayName("rejects a group larger than the maximum")
+        void rejectsOversizedGroup() {
+            List<UUID> group = IntStream.rangeClosed(0, SharedLibraryService.MAX_GROUP_SIZE)
+                    .mapToObj(i -> UUID.randomUUID())
+                    .toList();
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.findSharedGames(group, true, false, 50));
+            verifyNoInteractions(facetService, catalog);
+        }
+
+        @Test
+        @DisplayName("counts duplicate gamer IDs as one gamer")
+        void ignoresDuplicateGamers() {
+            // given
+            addGame(GAME_SHARED, 80f);
+            index(ALICE, Map.of(GAME_SHARED, Set.of()));
+            stubCatalog();
+
+            // when
+            SharedLibraryResult result = service.findSharedGames(List.of(ALICE, ALICE), true, false, 50);
+
+            // then
+            assertEquals(List.of(GAME_SHARED), gameIds(result));
+            assertEquals(1, result.games().getFirst().owners());
+        }
+    }
+
+    // Helper methods
+
+    private void addGame(UUID id, float rating) {
+        ordinals.setRating(ordinals.ordinalOf(id), rating);
+        catalogGames.put(id, new CanonicalGame.Builder("Game " + id)
+                .setId(id)
+                .setThumbnailUrl("https://example.com/" + id + ".jpg")
+                .build());
+    }
+
+    private void index(UUID gamerId, Map<UUID, Set<Facet>> games) {
+        GamerBitmapIndex index = new GamerBitmapIndex();
+        games.forEach((gameId, facets) -> index.put(ordinals.ordinalOf(gameId), facets));
+        when(facetService.getIndex(gamerId)).thenReturn(index);
+    }
+
+    private void stubCatalog() {
+        when(catalog.getByIds(anyList())).thenAnswer(invocation -> {
+            Map<UUID, CanonicalGame> found = new HashMap<>();
+            for (UUID id : invocation.<List<UUID>>getArgument(0)) {
+                found.put(id, catalogGames.get(id));
+            }
+            return found;
+        });
+    }
+
+    private static List<UUID> gameIds(SharedLibraryResult result) {
+        return result.games().stream().map(SharedGame::gameId).toList();
+    }
+}
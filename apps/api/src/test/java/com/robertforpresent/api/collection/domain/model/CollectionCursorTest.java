@@ -0,0 +1,51 @@
+package com.robertforpresent.api.collection.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CollectionCursor.
+ */
+class CollectionCursorTest {
+
+    @Test
+    @DisplayName("a cursor survives encoding, including a name containing the separator")
+    void roundTrip() {
+        CollectionCursor cursor = new CollectionCursor(CollectionSortKey.NAME, "half-life | source", UUID.randomUUID());
+
+        assertEquals(cursor, CollectionCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    @DisplayName("sort values are parsed to the type of the sort key")
+    void typedSortValue() {
+        UUID gameId = UUID.randomUUID();
+
+        assertEquals(4.5f, new CollectionCursor(CollectionSortKey.RATING, "4.5", gameId).typedSortValue());
+        assertEquals(90, new CollectionCursor(CollectionSortKey.PLAYTIME, "90", gameId).typedSortValue());
+        assertEquals("portal", new CollectionCursor(CollectionSortKey.NAME, "portal", gameId).typedSortValue());
+    }
+
+    @Test
+    @DisplayName("a tampered cursor is rejected while decoding")
+    void rejectsTamperedCursor() {
+        UUID gameId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode(raw("PLAYTIME|" + gameId + "|lots")));
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode(raw("RATING|" + gameId + "|NaN")));
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode(raw("COMPLETENESS|" + gameId + "|")));
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode(raw("PLAYTIME|not-a-uuid|10")));
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode(raw("SIZE|" + gameId + "|10")));
+        assertThrows(IllegalArgumentException.class, () -> CollectionCursor.decode("%%%"));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
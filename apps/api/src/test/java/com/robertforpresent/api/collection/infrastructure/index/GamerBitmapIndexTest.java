@@ -0,0 +1,107 @@
+package com.robertforpresent.api.collection.infrastructure.index;
+
+import com.robertforpresent.api.collection.domain.model.Facet;
+import com.robertforpresent.api.collection.domain.model.FacetFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GamerBitmapIndex.
+ */
+class GamerBitmapIndexTest {
+
+    private GamerBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GamerBitmapIndex();
+        index.put(0, Set.of(Facet.OWNED_STEAM, Facet.PLAYED, Facet.RATING_85_PLUS));
+        index.put(1, Set.of(Facet.OWNED_GOG, Facet.RATING_85_PLUS));
+        index.put(2, Set.of(Facet.OWNED_STEAM, Facet.OWNED_GOG, Facet.RATING_50_TO_69));
+        index.put(3, Set.of(Facet.OWNED_EPIC, Facet.HIDDEN, Facet.UNRATED));
+    }
+
+    @Nested
+    @DisplayName("query")
+    class QueryTests {
+
+        @Test
+        @DisplayName("matches whole collection without clauses")
+        void matchesAll_withoutClauses() {
+            // when
+            GamerBitmapIndex.Result result = index.query(FacetFilter.NONE);
+
+            // then
+            assertEquals(4, result.matches().cardinality());
+            assertEquals(2, result.counts().get(Facet.OWNED_STEAM));
+            assertEquals(0, result.counts().get(Facet.LATER));
+        }
+
+        @Test
+        @DisplayName("combines OR within and AND across clauses, with negation")
+        void combinesClauses() {
+            // given
+            FacetFilter filter = FacetFilter.parse(List.of("OWNED_STEAM|owned_gog", "!PLAYED"));
+
+            // when
+            GamerBitmapIndex.Result result = index.query(filter);
+
+            // then
+            assertEquals(bits(1, 2), result.matches());
+            assertEquals(1, result.counts().get(Facet.RATING_85_PLUS));
+            assertEquals(1, result.counts().get(Facet.RATING_50_TO_69));
+            assertEquals(0, result.counts().get(Facet.PLAYED));
+        }
+
+        @Test
+        @DisplayName("rejects unknown facets")
+        void rejectsUnknownFacets() {
+            assertThrows(IllegalArgumentException.class, () -> FacetFilter.parse(List.of("OWNED_STADIA")));
+        }
+    }
+
+    @Nested
+    @DisplayName("incremental updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("put replaces the facets of a game")
+        void putReplacesFacets() {
+            // when
+            index.put(0, Set.of(Facet.OWNED_STEAM, Facet.RATING_85_PLUS));
+
+            // then
+            GamerBitmapIndex.Result result = index.query(FacetFilter.parse(List.of("PLAYED")));
+            assertTrue(result.matches().isEmpty());
+        }
+
+        @Test
+        @DisplayName("remove drops a game from all facets")
+        void removeDropsGame() {
+            // when
+            index.remove(2);
+
+            // then
+            GamerBitmapIndex.Result result = index.query(FacetFilter.NONE);
+            assertEquals(bits(0, 1, 3), result.matches());
+            assertEquals(1, result.counts().get(Facet.OWNED_GOG));
+            assertFalse(index.contains(2));
+        }
+    }
+
+    private static BitSet bits(int... ordinals) {
+        BitSet bits = new BitSet();
+        for (int ordinal : ordinals) {
+            bits.set(ordinal);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,133 @@
+package com.robertforpresent.api.collection.infrastructure.persistence;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.catalog.infrastructure.persistence.SpringDataCanonicalGameRepository;
+import com.robertforpresent.api.collection.domain.model.CollectionCursor;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSlice;
+import com.robertforpresent.api.collection.domain.model.CollectionSortKey;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Keyset pagination of the collection against the test database.
+ */
+@SpringBootTest
+class CollectionPageQueryIntegrationTest {
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+
+    @Autowired
+    private CollectionRepository repository;
+
+    @Autowired
+    private CanonicalGameRepository canonicalGameRepository;
+
+    @Autowired
+    private SpringDataCollectionRepository springDataCollectionRepository;
+
+    @Autowired
+    private SpringDataCanonicalGameRepository springDataCanonicalGameRepository;
+
+    private final List<Row> rows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        springDataCollectionRepository.deleteAll();
+        springDataCanonicalGameRepository.deleteAll();
+        rows.clear();
+        // Three games tie on playtime, one has no playtime at all
+        add("Celeste", 60, true);
+        add("Hades", 60, false);
+        add("Outer Wilds", 60, true);
+        add("Tetris", null, false);
+        add("Braid", 10, true);
+        add("Portal", 120, false);
+    }
+
+    @Test
+    @DisplayName("ascending pages continue after ties on the sort value without skipping or repeating rows")
+    void ascendingWithTies() {
+        List<UUID> paged = pageThrough(CollectionSortKey.PLAYTIME, false, null, 2);
+
+        List<UUID> expected = rows.stream()
+                .sorted(Comparator.comparingInt(Row::playtimeSort).thenComparing(row -> row.id().toString()))
+                .map(Row::id)
+                .toList();
+        assertEquals(expected, paged);
+        assertEquals(rows.stream().filter(row -> row.playtime() == null).findFirst().orElseThrow().id(), paged.getFirst(),
+                "unknown playtime sorts as 0");
+    }
+
+    @Test
+    @DisplayName("descending pages continue after ties on the sort value without skipping or repeating rows")
+    void descendingWithTies() {
+        List<UUID> paged = pageThrough(CollectionSortKey.PLAYTIME, true, null, 2);
+
+        List<UUID> expected = rows.stream()
+                .sorted(Comparator.comparingInt(Row::playtimeSort).thenComparing(row -> row.id().toString()).reversed())
+                .map(Row::id)
+                .toList();
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    @DisplayName("filters apply on every page reached through a cursor")
+    void filterWithCursor() {
+        List<UUID> paged = pageThrough(CollectionSortKey.NAME, false, true, 1);
+
+        List<UUID> expected = rows.stream()
+                .filter(Row::played)
+                .sorted(Comparator.comparing(Row::name))
+                .map(Row::id)
+                .toList();
+        assertEquals(expected, paged);
+    }
+
+    private List<UUID> pageThrough(CollectionSortKey sortKey, boolean descending, Boolean played, int limit) {
+        List<UUID> ids = new ArrayList<>();
+        CollectionCursor after = null;
+        do {
+            // Round-trip the cursor like a client would
+            CollectionCursor cursor = after != null ? CollectionCursor.decode(after.encode()) : null;
+            CollectionSlice slice = repository.findPage(GAMER_ID, new CollectionQuery(Set.of(), played, null, null,
+                    null, null, null, null, sortKey, descending, cursor, limit));
+            assertTrue(slice.games().size() <= limit);
+            slice.games().stream().map(PersonalizedGame::getCanonicalGameId).forEach(ids::add);
+            after = slice.next();
+        } while (after != null);
+        assertEquals(ids.size(), Set.copyOf(ids).size(), "no row should appear twice");
+        return ids;
+    }
+
+    private void add(String name, Integer playtime, boolean played) {
+        CanonicalGame game = canonicalGameRepository.save(new CanonicalGame.Builder(name).build());
+        repository.save(new PersonalizedGame.Builder()
+                .setCanonicalId(game.getId())
+                .setGamerId(GAMER_ID)
+                .setSteamPlaytimeMinutes(playtime)
+                .setMarkAsPlayed(played)
+                .build());
+        rows.add(new Row(game.getId(), name, playtime, played));
+    }
+
+    private record Row(UUID id, String name, Integer playtime, boolean played) {
+        int playtimeSort() {
+            return playtime != null ? playtime : 0;
+        }
+    }
+}
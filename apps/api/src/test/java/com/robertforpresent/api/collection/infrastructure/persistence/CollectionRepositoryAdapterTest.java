@@ -0,0 +1,142 @@
+package com.robertforpresent.api.collection.infrastructure.persistence;
+
+import com.robertforpresent.api.changelog.domain.model.ChangeType;
+import com.robertforpresent.api.changelog.domain.repository.ChangeLogRepository;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.shared.persistence.InClauseChunks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the batched writes of CollectionRepositoryAdapter.
+ */
+@ExtendWith(MockitoExtension.class)
+class CollectionRepositoryAdapterTest {
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+    private static final UUID GAME_ID = UUID.randomUUID();
+
+    @Mock
+    private SpringDataCollectionRepository jpaRepository;
+
+    @Mock
+    private ChangeLogRepository changeLog;
+
+    @Mock
+    private CollectionPageQuery pageQuery;
+
+    @Captor
+    private ArgumentCaptor<List<PersonalizedGameEntity>> saved;
+
+    @Captor
+    private ArgumentCaptor<List<String>> chunk;
+
+    private CollectionRepositoryAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new CollectionRepositoryAdapter(jpaRepository, new CollectionEntityMapper(), changeLog, pageQuery);
+    }
+
+    @Test
+    @DisplayName("upsertAll updates every duplicate row of a game and inserts missing games")
+    void upsertAllUpdatesDuplicateRows() {
+        // given: two legacy rows for the same game
+        UUID newGameId = UUID.randomUUID();
+        PersonalizedGameEntity first = entity(GAME_ID, 10);
+        PersonalizedGameEntity second = entity(GAME_ID, 20);
+        when(jpaRepository.findByGamerIdAndCanonicalGameIdIn(eq(GAMER_ID.toString()), anyList()))
+                .thenReturn(List.of(first, second));
+
+        // when
+        adapter.upsertAll(GAMER_ID, List.of(game(GAME_ID, 120, null), game(newGameId, 5, null)));
+
+        // then
+        verify(jpaRepository).saveAll(saved.capture());
+        List<PersonalizedGameEntity> written = saved.getValue();
+        assertEquals(3, written.size());
+        assertSame(first, written.get(0));
+        assertSame(second, written.get(1));
+        assertEquals(120, first.getSteamPlaytimeMinutes());
+        assertEquals(120, second.getSteamPlaytimeMinutes());
+        assertEquals(newGameId.toString(), written.get(2).getCanonicalGameId());
+        verify(changeLog).recordCollectionChange(GAMER_ID, GAME_ID, ChangeType.UPSERT);
+        verify(changeLog).recordCollectionChange(GAMER_ID, newGameId, ChangeType.UPSERT);
+    }
+
+    @Test
+    @DisplayName("upsertSteamData keeps flags set after the import read the collection")
+    void upsertSteamDataKeepsFlags() {
+        // given: the gamer hid the game and marked it for later while the import was running
+        PersonalizedGameEntity current = entity(GAME_ID, 30);
+        current.setMarkAsHidden(true);
+        current.setMarkAsForLater(true);
+        when(jpaRepository.findByGamerIdAndCanonicalGameIdIn(eq(GAMER_ID.toString()), anyList()))
+                .thenReturn(List.of(current));
+        Instant lastPlayed = Instant.ofEpochSecond(1_700_000_000L);
+
+        // when: the import writes its stale copy with new playtime
+        adapter.upsertSteamData(GAMER_ID, List.of(game(GAME_ID, 90, lastPlayed)));
+
+        // then
+        verify(jpaRepository).saveAll(saved.capture());
+        PersonalizedGameEntity written = saved.getValue().getFirst();
+        assertEquals(90, written.getSteamPlaytimeMinutes());
+        assertEquals(lastPlayed, written.getSteamLastPlayed());
+        assertTrue(written.getOwnedOnSteam());
+        assertTrue(written.isMarkAsHidden(), "hidden flag should survive the import");
+        assertTrue(written.isMarkAsForLater(), "for later flag should survive the import");
+    }
+
+    @Test
+    @DisplayName("findByGamerIdAndCanonicalGameIds splits large ID sets into bounded IN queries")
+    void findByGameIdsChunksLargeSets() {
+        // given: a delta page larger than the bound parameter limit
+        List<UUID> gameIds = IntStream.range(0, 1_200).mapToObj(i -> UUID.randomUUID()).toList();
+        when(jpaRepository.findByGamerIdAndCanonicalGameIdIn(eq(GAMER_ID.toString()), anyList()))
+                .thenAnswer(invocation -> invocation.<List<String>>getArgument(1).stream()
+                        .map(id -> entity(UUID.fromString(id), 10))
+                        .toList());
+
+        // when
+        List<PersonalizedGame> games = adapter.findByGamerIdAndCanonicalGameIds(GAMER_ID, gameIds);
+
+        // then
+        verify(jpaRepository, times(3)).findByGamerIdAndCanonicalGameIdIn(eq(GAMER_ID.toString()), chunk.capture());
+        assertTrue(chunk.getAllValues().stream().allMatch(ids -> ids.size() <= InClauseChunks.CHUNK_SIZE));
+        assertEquals(gameIds, games.stream().map(PersonalizedGame::getCanonicalGameId).toList());
+    }
+
+    private static PersonalizedGame game(UUID gameId, int playtime, Instant lastPlayed) {
+        return new PersonalizedGame.Builder()
+                .setCanonicalId(gameId)
+                .setGamerId(GAMER_ID)
+                .setSteamPlaytimeMinutes(playtime)
+                .setSteamLastPlayed(lastPlayed)
+                .setOwnedOnSteam(true)
+                .build();
+    }
+
+    private static PersonalizedGameEntity entity(UUID gameId, int playtime) {
+        return new PersonalizedGameEntity(GAMER_ID.toString(), gameId.toString(), false, false, false, playtime,
+                false, false, false, false, false, null);
+    }
+}
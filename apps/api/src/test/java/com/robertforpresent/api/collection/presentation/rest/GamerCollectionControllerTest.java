@@ -2,9 +2,14 @@ package com.robertforpresent.api.collection.presentation.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.dto.CollectionPage;
 import com.robertforpresent.api.collection.application.dto.StoreLinksDTO;
 import com.robertforpresent.api.collection.application.dto.StoreOwnershipDTO;
 import com.robertforpresent.api.collection.application.service.GamerCollectionService;
+import com.robertforpresent.api.collection.domain.model.CollectionCursor;
+import com.robertforpresent.api.collection.domain.model.CollectionQuery;
+import com.robertforpresent.api.collection.domain.model.CollectionSortKey;
+import com.robertforpresent.api.collection.domain.model.OwnedStore;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -17,10 +22,12 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -115,6 +122,90 @@ class GamerCollectionControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /collection?limit=")
+    class GetCollectionPageTests {
+
+        @Test
+        @DisplayName("returns a page with the next cursor")
+        void returnsPageWithNextCursor() throws Exception {
+            // given
+            String nextCursor = new CollectionCursor(CollectionSortKey.NAME, "half-life 2", GAME_ID_2).encode();
+            CollectionPage<CollectionGameView> page = new CollectionPage<>(
+                    List.of(createGameView(GAME_ID_2, "Half-Life 2", 0.92f, false, false, false)),
+                    nextCursor
+            );
+            when(collectionService.getCollectionPage(eq(TEST_USER_ID), argThat((CollectionQuery query) ->
+                    query.sortKey() == CollectionSortKey.NAME
+                            && !query.descending()
+                            && query.ownedOn().equals(Set.of(OwnedStore.STEAM, OwnedStore.GOG))
+                            && Boolean.FALSE.equals(query.played())
+                            && query.limit() == 1)))
+                    .thenReturn(page);
+
+            // when/then
+            mockMvc.perform(get("/collection")
+                            .param("userId", String.valueOf(TEST_USER_ID))
+                            .param("limit", "1")
+                            .param("sort", "name")
+                            .param("store", "steam", "gog")
+                            .param("played", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(1)))
+                    .andExpect(jsonPath("$.items[0].name", is("Half-Life 2")))
+                    .andExpect(jsonPath("$.nextCursor", is(nextCursor)));
+        }
+
+        @Test
+        @DisplayName("rejects a cursor created for another sort key")
+        void rejectsCursorOfOtherSortKey() throws Exception {
+            // given
+            String ratingCursor = new CollectionCursor(CollectionSortKey.RATING, "0.92", GAME_ID_2).encode();
+
+            // when/then
+            mockMvc.perform(get("/collection")
+                            .param("userId", String.valueOf(TEST_USER_ID))
+                            .param("limit", "10")
+                            .param("sort", "name")
+                            .param("cursor", ratingCursor))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("falls back to the default page size for an empty, zero or negative limit")
+        void defaultsMissingOrNonPositiveLimit() throws Exception {
+            // given
+            when(collectionService.getCollectionPage(eq(TEST_USER_ID), argThat((CollectionQuery query) ->
+                    query.limit() == CollectionPageParams.DEFAULT_LIMIT)))
+                    .thenReturn(new CollectionPage<>(List.of(), null));
+
+            // when/then
+            for (String limit : List.of("", "0", "-5")) {
+                mockMvc.perform(get("/collection")
+                                .param("userId", String.valueOf(TEST_USER_ID))
+                                .param("limit", limit))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items", hasSize(0)));
+            }
+        }
+
+        @Test
+        @DisplayName("caps the page size")
+        void capsLimit() throws Exception {
+            // given
+            when(collectionService.getCollectionPage(eq(TEST_USER_ID), argThat((CollectionQuery query) ->
+                    query.limit() == CollectionPageParams.MAX_LIMIT)))
+                    .thenReturn(new CollectionPage<>(List.of(), null));
+
+            // when/then
+            mockMvc.perform(get("/collection")
+                            .param("userId", String.valueOf(TEST_USER_ID))
+                            .param("limit", "100000"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(0)));
+        }
+    }
+
     @Nested
     @DisplayName("GET /collection/top")
     class GetTopGamesTests {
@@ -232,6 +323,6 @@ class GamerCollectionControllerTest {
                                                boolean played, boolean hidden, boolean later) {
         StoreLinksDTO storeLinks = new StoreLinksDTO(null, null, null, null, null, null);
         StoreOwnershipDTO storeOwnership = new StoreOwnershipDTO(false, false, false, false, false, null);
-        return new CollectionGameView(id, name, "https://example.com/" + id + ".jpg", rating, played, hidden, later, storeLinks, null, storeOwnership);
+        return new CollectionGameView(id, name, "https://example.com/" + id + ".jpg", null, rating, played, hidden, later, storeLinks, null, storeOwnership);
     }
 }
@@ -0,0 +1,129 @@
+package com.robertforpresent.api.collection.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robertforpresent.api.collection.application.service.SharedLibraryService;
+import com.robertforpresent.api.collection.application.service.SharedLibraryService.SharedGame;
+import com.robertforpresent.api.collection.application.service.SharedLibraryService.SharedLibraryResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * API integration tests for SharedLibraryController.
+ */
+@WebMvcTest(SharedLibraryController.class)
+@Import({ObjectMapper.class})
+class SharedLibraryControllerTest {
+
+    private static final UUID ALICE = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID BOB = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID GAME_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SharedLibraryService sharedLibraryService;
+
+    @Nested
+    @DisplayName("GET /collection/shared")
+    class GetSharedGamesTests {
+
+        @Test
+        @DisplayName("returns the games owned by all gamers by default")
+        void defaultsToAllOwners() throws Exception {
+            // given
+            SharedLibraryResult result = new SharedLibraryResult(1, List.of(
+                    new SharedGame(GAME_ID, "Stardew Valley", "https://example.com/thumb.jpg", 95f, 2)));
+            when(sharedLibraryService.findSharedGames(List.of(ALICE, BOB), true, true, 50)).thenReturn(result);
+
+            // when/then
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString(), BOB.toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(1))
+                    .andExpect(jsonPath("$.games", hasSize(1)))
+                    .andExpect(jsonPath("$.games[0].gameId").value(GAME_ID.toString()))
+                    .andExpect(jsonPath("$.games[0].owners").value(2));
+        }
+
+        @Test
+        @DisplayName("mode any asks for games owned by at least one gamer")
+        void modeAnyMatchesAnyOwner() throws Exception {
+            // given
+            when(sharedLibraryService.findSharedGames(List.of(ALICE, BOB), false, false, 50))
+                    .thenReturn(new SharedLibraryResult(0, List.of()));
+
+            // when/then
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString(), BOB.toString())
+                            .param("mode", "ANY")
+                            .param("excludePlayed", "false"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.games", empty()));
+            verify(sharedLibraryService).findSharedGames(List.of(ALICE, BOB), false, false, 50);
+        }
+
+        @Test
+        @DisplayName("clamps the limit to 1..500")
+        void clampsLimit() throws Exception {
+            // given
+            when(sharedLibraryService.findSharedGames(anyList(), anyBoolean(), anyBoolean(), anyInt()))
+                    .thenReturn(new SharedLibraryResult(0, List.of()));
+
+            // when/then
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString())
+                            .param("limit", "10000"))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString())
+                            .param("limit", "0"))
+                    .andExpect(status().isOk());
+            verify(sharedLibraryService).findSharedGames(List.of(ALICE), true, true, 500);
+            verify(sharedLibraryService).findSharedGames(List.of(ALICE), true, true, 1);
+        }
+
+        @Test
+        @DisplayName("returns 400 for an unknown mode")
+        void rejectsUnknownMode() throws Exception {
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString())
+                            .param("mode", "some"))
+                    .andExpect(status().isBadRequest());
+            verify(sharedLibraryService, never()).findSharedGames(anyList(), anyBoolean(), anyBoolean(), anyInt());
+        }
+
+        @Test
+        @DisplayName("returns 400 when the service rejects the group")
+        void rejectsInvalidGroup() throws Exception {
+            // given
+            when(sharedLibraryService.findSharedGames(anyList(), eq(true), eq(true), eq(50)))
+                    .thenThrow(new IllegalArgumentException("Group must contain 1 to 100 gamers"));
+
+            // when/then
+            mockMvc.perform(get("/collection/shared")
+                            .param("userIds", ALICE.toString()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+}
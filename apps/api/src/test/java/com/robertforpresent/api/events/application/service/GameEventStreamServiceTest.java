@@ -0,0 +1,165 @@
+package com.robertforpresent.api.events.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GameEventStreamService.
+ */
+class GameEventStreamServiceTest {
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+
+    private GameEventStreamService service;
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("updates of one flush window are coalesced per game and type into one event")
+    void coalescesUpdates() throws InterruptedException {
+        // given
+        service = new GameEventStreamService(60_000, 100, 5_000);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        service.subscribe(GAMER_ID, emitter);
+        UUID gameId = UUID.randomUUID();
+        UUID otherGameId = UUID.randomUUID();
+
+        // when
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, gameId));
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, otherGameId));
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, gameId));
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(UUID.randomUUID(), gameId)); // other gamer
+        service.flush();
+
+        // then
+        Set<ResponseBodyEmitter.DataWithMediaType> event = emitter.sent.poll(2, TimeUnit.SECONDS);
+        assertNotNull(event, "the batch should be sent");
+        assertTrue(text(event).contains("event:updates"));
+        List<?> batch = batch(event);
+        assertEquals(2, batch.size());
+        assertEquals(otherGameId, ((GameUpdateEvent) batch.get(0)).gameId());
+        assertEquals(gameId, ((GameUpdateEvent) batch.get(1)).gameId(), "a repeated update moves to the end");
+
+        service.flush();
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS), "an empty buffer sends nothing");
+    }
+
+    @Test
+    @DisplayName("an overflowing buffer is replaced by a single resync event")
+    void overflowSendsResync() throws InterruptedException {
+        // given
+        service = new GameEventStreamService(60_000, 2, 5_000);
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        service.subscribe(GAMER_ID, emitter);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, UUID.randomUUID()));
+        }
+        service.flush();
+
+        // then
+        Set<ResponseBodyEmitter.DataWithMediaType> event = emitter.sent.poll(2, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertTrue(text(event).contains("event:resync"));
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS), "only one event per window");
+        assertEquals(1, service.countSubscribers());
+    }
+
+    @Test
+    @DisplayName("a client whose send blocks past the send timeout is dropped without blocking the flush")
+    void blockedSendDropsSubscriber() throws InterruptedException {
+        // given
+        service = new GameEventStreamService(60_000, 100, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        service.subscribe(GAMER_ID, slow);
+        service.subscribe(GAMER_ID, fast);
+
+        // when
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, UUID.randomUUID()));
+        service.flush();
+        assertNotNull(slow.sent.poll(2, TimeUnit.SECONDS), "the send should have started");
+        assertNotNull(fast.sent.poll(2, TimeUnit.SECONDS), "other clients are not held up");
+
+        service.onGameUpdate(GameUpdateEvent.flagsChanged(GAMER_ID, UUID.randomUUID()));
+        Thread.sleep(100);
+        service.flush();
+
+        // then
+        assertTrue(slow.completed.await(2, TimeUnit.SECONDS), "the stalled stream should be closed");
+        assertNull(slow.sent.poll(200, TimeUnit.MILLISECONDS), "no second send while one is stalled");
+        assertNotNull(fast.sent.poll(2, TimeUnit.SECONDS));
+        assertEquals(1, service.countSubscribers());
+        release.countDown();
+    }
+
+    private static String text(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        return event.stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .collect(Collectors.joining());
+    }
+
+    private static List<?> batch(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        return event.stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(List.class::isInstance)
+                .map(List.class::cast)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Emitter that records sent events instead of writing them, optionally blocking each send until released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder.build());
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+    }
+}
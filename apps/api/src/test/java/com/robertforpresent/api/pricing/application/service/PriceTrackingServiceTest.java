@@ -0,0 +1,122 @@
+package com.robertforpresent.api.pricing.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.events.domain.model.GameUpdateType;
+import com.robertforpresent.api.pricing.domain.model.PricePoint;
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+import com.robertforpresent.api.pricing.domain.port.PriceFeed;
+import com.robertforpresent.api.pricing.domain.port.TrackedGameCatalog;
+import com.robertforpresent.api.pricing.domain.repository.PricePointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PriceTrackingService.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceTrackingServiceTest {
+
+    private static final UUID GAME_ID = UUID.randomUUID();
+    private static final int APP_ID = 620;
+
+    @Mock
+    private TrackedGameCatalog trackedGames;
+
+    @Mock
+    private PriceFeed priceFeed;
+
+    @Mock
+    private PricePointRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PriceTrackingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PriceTrackingService(trackedGames, priceFeed, repository, eventPublisher, true);
+        when(trackedGames.findTrackedSteamApps()).thenReturn(Map.of(GAME_ID, APP_ID));
+        when(priceFeed.maxBatchSize()).thenReturn(100);
+    }
+
+    @Test
+    @DisplayName("a cheaper price in the same currency publishes PRICE_DROPPED")
+    void publishesDropInSameCurrency() {
+        // given
+        poll(new PriceQuote("EUR", 1999, 1999, 0), new PriceQuote("EUR", 1999, 499, 75));
+
+        // when
+        service.pollPrices();
+
+        // then
+        ArgumentCaptor<GameUpdateEvent> event = ArgumentCaptor.forClass(GameUpdateEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(GameUpdateType.PRICE_DROPPED, event.getValue().type());
+        assertEquals(GAME_ID, event.getValue().gameId());
+    }
+
+    @Test
+    @DisplayName("a price increase publishes nothing")
+    void ignoresIncrease() {
+        // given
+        poll(new PriceQuote("EUR", 1999, 499, 75), new PriceQuote("EUR", 1999, 1999, 0));
+
+        // when
+        service.pollPrices();
+
+        // then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("a switch to a currency with smaller amounts is not a drop")
+    void ignoresCurrencyChange() {
+        // given: 1980 yen are fewer units than 1999 euro cents, yet nothing went on sale
+        poll(new PriceQuote("EUR", 1999, 1999, 0), new PriceQuote("JPY", 1980, 1980, 0));
+
+        // when
+        service.pollPrices();
+
+        // then
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("the first price of an app publishes nothing")
+    void ignoresFirstSighting() {
+        // given
+        PriceQuote quote = new PriceQuote("EUR", 1999, 499, 75);
+        when(priceFeed.fetchPrices(anyCollection())).thenReturn(Optional.of(Map.of(APP_ID, quote)));
+        when(repository.record(any(), any())).thenReturn(Map.of());
+
+        // when
+        int priced = service.pollPrices();
+
+        // then
+        assertEquals(1, priced);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private void poll(PriceQuote previous, PriceQuote current) {
+        Instant seen = Instant.parse("2026-01-01T00:00:00Z");
+        when(priceFeed.fetchPrices(anyCollection())).thenReturn(Optional.of(Map.of(APP_ID, current)));
+        when(repository.record(any(), any())).thenReturn(Map.of(APP_ID, new PricePoint(APP_ID, previous, seen, seen)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.robertforpresent.api.pricing.infrastructure.persistence;
+
+import com.robertforpresent.api.pricing.domain.model.PricePoint;
+import com.robertforpresent.api.pricing.domain.model.PriceQuote;
+import com.robertforpresent.api.pricing.domain.repository.PricePointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Run-length price history against the test database.
+ */
+@SpringBootTest
+class PricePointRepositoryAdapterTest {
+
+    private static final int APP_ID = 620;
+    private static final Instant FIRST_POLL = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant SECOND_POLL = Instant.parse("2026-01-01T06:00:00Z");
+    private static final PriceQuote FULL_PRICE = new PriceQuote("EUR", 1999, 1999, 0);
+
+    @Autowired
+    private PricePointRepository repository;
+
+    @Autowired
+    private SpringDataPricePointRepository jpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("an unchanged price only moves last_seen_at of the latest point")
+    void unchangedPriceExtendsLatestPoint() {
+        // given
+        repository.record(Map.of(APP_ID, FULL_PRICE), FIRST_POLL);
+
+        // when
+        Map<Integer, PricePoint> changed = repository.record(Map.of(APP_ID, FULL_PRICE), SECOND_POLL);
+
+        // then
+        assertTrue(changed.isEmpty());
+        List<PricePoint> history = repository.findHistory(List.of(APP_ID)).get(APP_ID);
+        assertEquals(1, history.size());
+        assertEquals(FIRST_POLL, history.getFirst().firstSeenAt());
+        assertEquals(SECOND_POLL, history.getFirst().lastSeenAt());
+    }
+
+    @Test
+    @DisplayName("a changed price inserts a new point and returns the previous one")
+    void changedPriceInsertsPoint() {
+        // given
+        PriceQuote sale = new PriceQuote("EUR", 1999, 499, 75);
+        repository.record(Map.of(APP_ID, FULL_PRICE), FIRST_POLL);
+
+        // when
+        Map<Integer, PricePoint> changed = repository.record(Map.of(APP_ID, sale), SECOND_POLL);
+
+        // then
+        assertEquals(FULL_PRICE, changed.get(APP_ID).quote());
+        List<PricePoint> history = repository.findHistory(List.of(APP_ID)).get(APP_ID);
+        assertEquals(2, history.size());
+        assertEquals(FULL_PRICE, history.get(0).quote());
+        assertEquals(FIRST_POLL, history.get(0).lastSeenAt());
+        assertEquals(sale, history.get(1).quote());
+        assertEquals(SECOND_POLL, history.get(1).firstSeenAt());
+    }
+
+    @Test
+    @DisplayName("the first price of an app is recorded but not reported as a change")
+    void firstPriceIsNotAChange() {
+        // when
+        Map<Integer, PricePoint> changed = repository.record(Map.of(APP_ID, FULL_PRICE), FIRST_POLL);
+
+        // then
+        assertTrue(changed.isEmpty());
+        assertEquals(1, repository.findHistory(List.of(APP_ID)).get(APP_ID).size());
+    }
+}
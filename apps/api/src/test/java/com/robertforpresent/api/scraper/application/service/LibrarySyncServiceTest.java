@@ -0,0 +1,271 @@
+package com.robertforpresent.api.scraper.application.service;
+
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.events.domain.model.GameUpdateType;
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import com.robertforpresent.api.scraper.domain.port.LibrarySyncProvider;
+import com.robertforpresent.api.scraper.domain.repository.LinkedAccountRepository;
+import com.robertforpresent.api.scraper.infrastructure.config.LibrarySyncConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for LibrarySyncService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LibrarySyncServiceTest {
+
+    private static final UUID GAMER_ID = UUID.randomUUID();
+
+    @Mock
+    private LinkedAccountRepository repository;
+
+    @Mock
+    private LibrarySyncProvider provider;
+
+    private LibrarySyncConfig config;
+    private LibrarySyncService service;
+
+    private final LinkedAccount first = account("76561190000000001");
+    private final LinkedAccount second = account("76561190000000002");
+
+    @BeforeEach
+    void setUp() {
+        when(provider.provider()).thenReturn("steam");
+        when(repository.findByGamerId(GAMER_ID)).thenReturn(List.of(first, second));
+        config = new LibrarySyncConfig();
+        service = new LibrarySyncService(repository, config, List.of(provider));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("two due accounts of one gamer produce one merged import and are rescheduled together")
+    void dueAccountsOfOneGamerSyncOnce() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of(first, second));
+        when(repository.findById(second.id())).thenReturn(Optional.of(second));
+        when(provider.sync(eq(GAMER_ID), anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new LibrarySyncProvider.SyncOutcome(true, "ok");
+        });
+
+        // when: a second tick and a manual request arrive while the first sync is running
+        service.dispatchDue();
+        service.dispatchDue();
+        boolean accepted = service.requestSync(second.id());
+        release.countDown();
+
+        // then
+        verify(repository, timeout(2000)).recordSync(eq(first.id()), any(), any(), isNull());
+        verify(repository, timeout(2000)).recordSync(eq(second.id()), any(), any(), isNull());
+        verify(provider, times(1)).sync(GAMER_ID, List.of(first, second));
+        assertFalse(accepted, "a sync already running for the gamer should not be queued again");
+    }
+
+    @Test
+    @DisplayName("a failed sync records the error on every account of the gamer")
+    void failedSyncRecordsErrorOnAllAccounts() {
+        // given
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of(first));
+        when(provider.sync(eq(GAMER_ID), anyList()))
+                .thenReturn(new LibrarySyncProvider.SyncOutcome(false, "Invalid or private Steam profile"));
+
+        // when
+        service.dispatchDue();
+
+        // then
+        verify(repository, timeout(2000)).recordSync(eq(first.id()), any(), any(), eq("Invalid or private Steam profile"));
+        verify(repository, timeout(2000)).recordSync(eq(second.id()), any(), any(), eq("Invalid or private Steam profile"));
+    }
+
+    @Test
+    @DisplayName("a new link is first synced at a random point within the jitter window")
+    void newLinkStartsWithinJitterWindow() {
+        // given
+        config.setJitterMs(60_000);
+        when(repository.save(any())).then(returnsFirstArg());
+        Instant before = Instant.now();
+
+        // when
+        LinkedAccount account = service.link(GAMER_ID, "Steam", "76561190000000003");
+
+        // then
+        assertEquals("steam", account.provider());
+        assertFalse(account.nextSyncAt().isBefore(before));
+        assertFalse(account.nextSyncAt().isAfter(Instant.now().plusMillis(60_000)));
+    }
+
+    @Test
+    @DisplayName("provider codes are lower-cased independently of the default locale")
+    void linkIgnoresDefaultLocale() {
+        // given
+        LibrarySyncProvider itch = mock(LibrarySyncProvider.class);
+        when(itch.provider()).thenReturn("itch");
+        service.stop();
+        service = new LibrarySyncService(repository, config, List.of(provider, itch));
+        when(repository.save(any())).then(returnsFirstArg());
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // when
+            LinkedAccount account = service.link(GAMER_ID, "ITCH", "gamer");
+
+            // then
+            assertEquals("itch", account.provider());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    @DisplayName("a sync reschedules its accounts one interval later, give or take the jitter")
+    void syncReschedulesWithJitter() {
+        // given
+        config.setIntervalMs(600_000);
+        config.setJitterMs(60_000);
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of(first));
+        when(provider.sync(eq(GAMER_ID), anyList())).thenReturn(new LibrarySyncProvider.SyncOutcome(true, "ok"));
+        Instant before = Instant.now();
+
+        // when
+        service.dispatchDue();
+
+        // then
+        ArgumentCaptor<Instant> nextSyncAt = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, timeout(2000)).recordSync(eq(first.id()), any(), nextSyncAt.capture(), isNull());
+        assertFalse(nextSyncAt.getValue().isBefore(before.plusMillis(540_000)));
+        assertFalse(nextSyncAt.getValue().isAfter(Instant.now().plusMillis(660_000)));
+    }
+
+    @Test
+    @DisplayName("syncs of one provider never exceed the provider's concurrency")
+    void providerConcurrencyIsCapped() {
+        // given
+        config.setProviderConcurrency(Map.of("steam", 1));
+        config.setMaxConcurrent(4);
+        service.stop();
+        service = new LibrarySyncService(repository, config, List.of(provider));
+
+        // when/then
+        assertEquals(1, peakConcurrentSyncs(3));
+    }
+
+    @Test
+    @DisplayName("syncs across all providers never exceed the global cap")
+    void globalConcurrencyIsCapped() {
+        // given
+        config.setProviderConcurrency(Map.of("steam", 4));
+        config.setMaxConcurrent(1);
+        service.stop();
+        service = new LibrarySyncService(repository, config, List.of(provider));
+
+        // when/then
+        assertEquals(1, peakConcurrentSyncs(3));
+    }
+
+    @Test
+    @DisplayName("collection activity is written once per gamer on the next tick, with the latest time")
+    void activityIsFlushedOnTick() {
+        // given
+        Instant earlier = Instant.now().minusSeconds(60);
+        Instant later = Instant.now();
+        service.onGameUpdate(new GameUpdateEvent(GameUpdateType.FLAGS_CHANGED, GAMER_ID, UUID.randomUUID(), later));
+        service.onGameUpdate(new GameUpdateEvent(GameUpdateType.GAME_UPSERTED, GAMER_ID, UUID.randomUUID(), earlier));
+        service.onGameUpdate(GameUpdateEvent.gameUpserted(UUID.randomUUID()));
+        verify(repository, never()).recordActivity(any(), any());
+
+        // when
+        service.dispatchDue();
+        service.dispatchDue();
+
+        // then
+        verify(repository, times(1)).recordActivity(any(), any());
+        verify(repository).recordActivity(GAMER_ID, later);
+    }
+
+    @Test
+    @DisplayName("events published by a sync itself do not count as activity")
+    void syncOwnEventsAreIgnored() {
+        // given
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of(first));
+        when(provider.sync(eq(GAMER_ID), anyList())).thenAnswer(invocation -> {
+            service.onGameUpdate(GameUpdateEvent.gameUpserted(GAMER_ID, UUID.randomUUID()));
+            service.onGameUpdate(GameUpdateEvent.libraryImported(GAMER_ID));
+            return new LibrarySyncProvider.SyncOutcome(true, "ok");
+        });
+        service.dispatchDue();
+        verify(repository, timeout(2000)).recordSync(eq(first.id()), any(), any(), isNull());
+
+        // when
+        when(repository.findDue(any(), anyInt())).thenReturn(List.of());
+        service.dispatchDue();
+
+        // then
+        verify(repository, never()).recordActivity(any(), any());
+    }
+
+    /**
+     * Dispatch one due account for each of several gamers and return the highest number of syncs
+     * that ran at the same time.
+     */
+    private int peakConcurrentSyncs(int gamers) {
+        List<LinkedAccount> due = new ArrayList<>();
+        for (int i = 0; i < gamers; i++) {
+            LinkedAccount account = new LinkedAccount(UUID.randomUUID(), UUID.randomUUID(), "steam",
+                    "7656119000000010" + i, true, null, Instant.now(), null, null);
+            when(repository.findByGamerId(account.gamerId())).thenReturn(List.of(account));
+            due.add(account);
+        }
+        when(repository.findDue(any(), anyInt())).thenReturn(due);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(provider.sync(any(), anyList())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return new LibrarySyncProvider.SyncOutcome(true, "ok");
+        });
+
+        service.dispatchDue();
+
+        for (LinkedAccount account : due) {
+            verify(repository, timeout(2000)).recordSync(eq(account.id()), any(), any(), isNull());
+        }
+        return peak.get();
+    }
+
+    private static LinkedAccount account(String steamId) {
+        return new LinkedAccount(UUID.randomUUID(), GAMER_ID, "steam", steamId, true,
+                null, Instant.now(), null, null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.robertforpresent.api.scraper.infrastructure.persistence;
+
+import com.robertforpresent.api.scraper.domain.model.LinkedAccount;
+import com.robertforpresent.api.scraper.domain.repository.LinkedAccountRepository;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Due account selection and activity tracking against the test database.
+ */
+@SpringBootTest
+class LinkedAccountRepositoryAdapterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired
+    private LinkedAccountRepository repository;
+
+    @Autowired
+    private SpringDataLinkedAccountRepository jpaRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("due accounts of recently active gamers come first, inactive ones by due time last")
+    void findDueOrdersByActivity() {
+        // given
+        LinkedAccount inactiveOverdue = save(UUID.randomUUID(), true, NOW.minusSeconds(7200), null);
+        LinkedAccount inactive = save(UUID.randomUUID(), true, NOW.minusSeconds(60), null);
+        LinkedAccount activeLongAgo = save(UUID.randomUUID(), true, NOW.minusSeconds(60), NOW.minusSeconds(86_400));
+        LinkedAccount activeRecently = save(UUID.randomUUID(), true, NOW.minusSeconds(60), NOW.minusSeconds(60));
+
+        // when
+        List<LinkedAccount> due = repository.findDue(NOW, 10);
+
+        // then
+        assertEquals(List.of(activeRecently.id(), activeLongAgo.id(), inactiveOverdue.id(), inactive.id()),
+                due.stream().map(LinkedAccount::id).toList());
+    }
+
+    @Test
+    @DisplayName("accounts not yet due or disabled are skipped and the batch size is respected")
+    void findDueSkipsNotDueAndDisabled() {
+        // given
+        save(UUID.randomUUID(), true, NOW.plusSeconds(60), null);
+        save(UUID.randomUUID(), false, NOW.minusSeconds(60), null);
+        LinkedAccount first = save(UUID.randomUUID(), true, NOW.minusSeconds(120), null);
+        save(UUID.randomUUID(), true, NOW.minusSeconds(60), null);
+
+        // when
+        List<LinkedAccount> due = repository.findDue(NOW, 1);
+
+        // then
+        assertEquals(List.of(first.id()), due.stream().map(LinkedAccount::id).toList());
+    }
+
+    @Test
+    @DisplayName("recorded activity marks every account of the gamer and moves them up the queue")
+    void recordActivityRaisesPriority() {
+        // given
+        UUID gamerId = UUID.randomUUID();
+        LinkedAccount other = save(UUID.randomUUID(), true, NOW.minusSeconds(7200), null);
+        LinkedAccount firstAccount = save(gamerId, true, NOW.minusSeconds(60), null);
+        LinkedAccount secondAccount = save(gamerId, true, NOW.minusSeconds(30), null);
+
+        // when
+        repository.recordActivity(gamerId, NOW.minusSeconds(10));
+
+        // then
+        assertEquals(List.of(firstAccount.id(), secondAccount.id(), other.id()),
+                repository.findDue(NOW, 10).stream().map(LinkedAccount::id).toList());
+        assertEquals(NOW.minusSeconds(10), repository.findById(firstAccount.id()).orElseThrow().lastActivityAt());
+    }
+
+    private LinkedAccount save(UUID gamerId, boolean enabled, Instant nextSyncAt, @Nullable Instant lastActivityAt) {
+        UUID id = UUID.randomUUID();
+        return repository.save(new LinkedAccount(id, gamerId, "steam", id.toString(), enabled,
+                null, nextSyncAt, lastActivityAt, null));
+    }
+}
@@ -0,0 +1,236 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamAppDetailsResponse;
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamOwnedGamesResponse;
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamPriceOverview;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the streaming response parsers of SteamApiClient.
+ */
+class SteamApiClientTest {
+
+    private SteamApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new SteamApiClient(new SteamConfig());
+    }
+
+    @Nested
+    @DisplayName("parsePriceOverviews()")
+    class PriceOverviewTests {
+
+        @Test
+        @DisplayName("reads the price_overview of each app")
+        void readsPriceOverviews() throws IOException {
+            // given
+            String body = """
+                    {"620": {"success": true, "data": {"price_overview": {"currency": "EUR",
+                        "initial": 1999, "final": 499, "discount_percent": 75,
+                        "initial_formatted": "19,99€", "final_formatted": "4,99€"}}},
+                     "400": {"success": true, "data": {"price_overview": {"currency": "EUR",
+                        "initial": 999, "final": 999, "discount_percent": 0}}}}
+                    """;
+
+            // when
+            Map<Integer, SteamPriceOverview> prices = client.parsePriceOverviews(json(body));
+
+            // then
+            assertEquals(new SteamPriceOverview("EUR", 1999, 499, 75), prices.get(620));
+            assertEquals(new SteamPriceOverview("EUR", 999, 999, 0), prices.get(400));
+        }
+
+        @Test
+        @DisplayName("skips free apps that answer with an empty data array")
+        void skipsEmptyDataArray() throws IOException {
+            // given
+            String body = """
+                    {"570": {"success": true, "data": []},
+                     "620": {"success": true, "data": {"price_overview": {"currency": "EUR",
+                        "initial": 1999, "final": 1999, "discount_percent": 0}}}}
+                    """;
+
+            // when
+            Map<Integer, SteamPriceOverview> prices = client.parsePriceOverviews(json(body));
+
+            // then
+            assertEquals(Map.of(620, new SteamPriceOverview("EUR", 1999, 1999, 0)), prices);
+        }
+
+        @Test
+        @DisplayName("skips unknown apps, whether reported as failures or as null")
+        void skipsUnknownApps() throws IOException {
+            // given
+            String body = """
+                    {"1": {"success": false},
+                     "2": null,
+                     "620": {"success": true, "data": {"price_overview": {"currency": "EUR",
+                        "initial": 1999, "final": 1999, "discount_percent": 0}}}}
+                    """;
+
+            // when
+            Map<Integer, SteamPriceOverview> prices = client.parsePriceOverviews(json(body));
+
+            // then
+            assertEquals(Map.of(620, new SteamPriceOverview("EUR", 1999, 1999, 0)), prices);
+        }
+    }
+
+    @Nested
+    @DisplayName("parseOwnedGames()")
+    class OwnedGamesTests {
+
+        @Test
+        @DisplayName("reads the games of a public profile")
+        void readsGames() throws IOException {
+            // given
+            String body = """
+                    {"response": {"game_count": 2, "games": [
+                        {"appid": 620, "name": "Portal 2", "playtime_forever": 754,
+                         "img_icon_url": "abc", "rtime_last_played": 1700000000},
+                        {"appid": 400, "name": "Portal", "playtime_forever": 0, "rtime_last_played": 0}]}}
+                    """;
+
+            // when
+            SteamOwnedGamesResponse owned = client.parseOwnedGames(json(body));
+
+            // then
+            assertEquals(2, owned.response().gameCount());
+            assertEquals(List.of(
+                    new SteamOwnedGamesResponse.SteamGame(620, "Portal 2", 754, 1700000000L),
+                    new SteamOwnedGamesResponse.SteamGame(400, "Portal", 0, 0L)), owned.response().games());
+        }
+
+        @Test
+        @DisplayName("yields no games for a private profile")
+        void privateProfileHasNoGames() throws IOException {
+            // when
+            SteamOwnedGamesResponse owned = client.parseOwnedGames(json("""
+                    {"response": {}}
+                    """));
+
+            // then
+            assertEquals(0, owned.response().gameCount());
+            assertNull(owned.response().games());
+        }
+
+        @Test
+        @DisplayName("reads game_count sent after the games array")
+        void gameCountAfterGames() throws IOException {
+            // given
+            String body = """
+                    {"response": {"games": [{"appid": 620, "name": "Portal 2", "playtime_forever": 754}],
+                                  "game_count": 1}}
+                    """;
+
+            // when
+            SteamOwnedGamesResponse owned = client.parseOwnedGames(json(body));
+
+            // then
+            assertEquals(1, owned.response().gameCount());
+            assertEquals(1, owned.response().games().size());
+            assertEquals(620, owned.response().games().getFirst().appId());
+        }
+
+        @Test
+        @DisplayName("skips null entries in the games array")
+        void skipsNullGames() throws IOException {
+            // given
+            String body = """
+                    {"response": {"game_count": 2, "games": [null,
+                        {"appid": 620, "name": "Portal 2", "playtime_forever": 754}]}}
+                    """;
+
+            // when
+            SteamOwnedGamesResponse owned = client.parseOwnedGames(json(body));
+
+            // then
+            assertEquals(1, owned.response().games().size());
+            assertEquals(620, owned.response().games().getFirst().appId());
+        }
+
+        @Test
+        @DisplayName("leaves rtime_last_played null when it is missing")
+        void missingLastPlayed() throws IOException {
+            // given
+            String body = """
+                    {"response": {"game_count": 1, "games": [
+                        {"appid": 620, "name": "Portal 2", "playtime_forever": 754}]}}
+                    """;
+
+            // when
+            SteamOwnedGamesResponse owned = client.parseOwnedGames(json(body));
+
+            // then
+            assertNull(owned.response().games().getFirst().rtimeLastPlayed());
+        }
+    }
+
+    @Nested
+    @DisplayName("parseAppDetails()")
+    class AppDetailsTests {
+
+        @Test
+        @DisplayName("binds the entry of the requested app and skips the rest of the body")
+        void bindsRequestedApp() throws IOException {
+            // given
+            String body = """
+                    {"400": {"success": true, "data": {"name": "Portal"}},
+                     "620": {"success": true, "data": {"name": "Portal 2", "steam_appid": 620,
+                        "detailed_description": "<p>long</p>", "screenshots": [{"id": 0}],
+                        "platforms": {"windows": true, "mac": false, "linux": true}}}}
+                    """;
+
+            // when
+            SteamAppDetailsResponse details = client.parseAppDetails(json(body), 620);
+
+            // then
+            assertTrue(details.success());
+            assertEquals("Portal 2", details.data().name());
+            assertEquals(620, details.data().steamAppId());
+            assertTrue(details.data().platforms().linux());
+        }
+
+        @Test
+        @DisplayName("returns null for an unknown app sent as a bare null")
+        void bareNullEntry() throws IOException {
+            // when
+            SteamAppDetailsResponse details = client.parseAppDetails(json("""
+                    {"620": null}
+                    """), 620);
+
+            // then
+            assertNull(details);
+        }
+
+        @Test
+        @DisplayName("reports an unsuccessful lookup without data")
+        void unsuccessfulLookup() throws IOException {
+            // when
+            SteamAppDetailsResponse details = client.parseAppDetails(json("""
+                    {"620": {"success": false}}
+                    """), 620);
+
+            // then
+            assertFalse(details.success());
+            assertNull(details.data());
+        }
+    }
+
+    private static InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
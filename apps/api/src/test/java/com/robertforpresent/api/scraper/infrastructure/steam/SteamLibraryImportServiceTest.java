@@ -0,0 +1,376 @@
+package com.robertforpresent.api.scraper.infrastructure.steam;
+
+import com.robertforpresent.api.catalog.application.service.GameEnrichmentQueue;
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.model.SteamGameData;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.collection.domain.model.PersonalizedGame;
+import com.robertforpresent.api.collection.domain.repository.CollectionRepository;
+import com.robertforpresent.api.scraper.infrastructure.steam.SteamLibraryImportService.SteamLibraryImportResult;
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamOwnedGamesResponse;
+import com.robertforpresent.api.scraper.infrastructure.steam.dto.SteamOwnedGamesResponse.SteamGame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SteamLibraryImportService.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SteamLibraryImportServiceTest {
+
+    private static final String STEAM_ID = "76561190000000001";
+    private static final String SECOND_STEAM_ID = "76561190000000002";
+    private static final UUID GAMER_ID = UUID.randomUUID();
+    private static final long LAST_PLAYED = 1_700_000_000L;
+
+    @Mock
+    private SteamApiClient steamApiClient;
+
+    @Mock
+    private CanonicalGameRepository canonicalGameRepository;
+
+    @Mock
+    private CollectionRepository collectionRepository;
+
+    @Mock
+    private SteamLibraryBatchWriter batchWriter;
+
+    @Mock
+    private GameEnrichmentQueue enrichmentQueue;
+
+    @Mock
+    private SpringDataSteamSyncStateRepository syncStateRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<List<CanonicalGame>> newGames;
+
+    @Captor
+    private ArgumentCaptor<List<PersonalizedGame>> entries;
+
+    private SteamLibraryImportService service;
+
+    @BeforeEach
+    void setUp() {
+        when(steamApiClient.validateSteamId(STEAM_ID)).thenReturn(true);
+        service = new SteamLibraryImportService(steamApiClient, new SteamConfig(), canonicalGameRepository,
+                collectionRepository, batchWriter, enrichmentQueue, syncStateRepository, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("new, changed and unchanged games are split into inserts, updates and skips")
+    void splitsIntoInsertUpdateUnchanged() {
+        // given
+        CanonicalGame unchangedGame = catalogGame(10);
+        CanonicalGame changedGame = catalogGame(20);
+        CanonicalGame uncollectedGame = catalogGame(30);
+        when(canonicalGameRepository.findBySteamAppIds(anyCollection()))
+                .thenReturn(List.of(unchangedGame, changedGame, uncollectedGame));
+        when(collectionRepository.findByGamerId(GAMER_ID)).thenReturn(List.of(
+                entry(unchangedGame, 100, Instant.ofEpochSecond(LAST_PLAYED)),
+                entry(changedGame, 50, null)));
+        ownedGames(
+                new SteamGame(10, "Unchanged", 100, LAST_PLAYED),
+                new SteamGame(20, "Changed", 70, 0L),
+                new SteamGame(30, "Uncollected", 0, null),
+                new SteamGame(40, "Unknown", 15, null));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID);
+
+        // then
+        assertEquals(1, result.created());
+        assertEquals(2, result.added());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.unchanged());
+        assertEquals(0, result.failed());
+
+        verify(batchWriter).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        assertEquals(List.of(40), newGames.getValue().stream().map(CanonicalGame::getSteamAppId).toList());
+        List<PersonalizedGame> written = entries.getValue();
+        assertEquals(3, written.size());
+        assertEquals(changedGame.getId(), written.get(0).getCanonicalGameId());
+        assertEquals(70, written.get(0).getSteamPlaytimeMinutes());
+        assertEquals(uncollectedGame.getId(), written.get(1).getCanonicalGameId());
+        assertFalse(written.get(1).isMarkedAsPlayed(), "a game without playtime should not be marked as played");
+        assertTrue(written.get(2).isMarkedAsPlayed());
+        verify(steamApiClient).getAppDetails(40);
+        verify(steamApiClient, never()).getAppDetails(10);
+    }
+
+    @Test
+    @DisplayName("an app listed twice is written once with the first entry")
+    void duplicateAppIdsAreWrittenOnce() {
+        // given
+        CanonicalGame game = catalogGame(10);
+        when(canonicalGameRepository.findBySteamAppIds(anyCollection())).thenReturn(List.of(game));
+        ownedGames(
+                new SteamGame(10, "Portal", 100, null),
+                new SteamGame(10, "Portal", 5, null));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID);
+
+        // then
+        assertEquals(1, result.added());
+        assertEquals(0, result.updated());
+        verify(batchWriter).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        assertEquals(1, entries.getValue().size());
+        assertEquals(100, entries.getValue().getFirst().getSteamPlaytimeMinutes());
+    }
+
+    @Test
+    @DisplayName("a failed batch is reported without undoing the batches before and after it")
+    void failedBatchKeepsOtherBatches() {
+        // given: 450 games new to the catalog make batches of 200, 200 and 50
+        ownedGames(IntStream.rangeClosed(1, 450)
+                .mapToObj(appId -> new SteamGame(appId, "Game " + appId, 0, null))
+                .toArray(SteamGame[]::new));
+        doNothing()
+                .doThrow(new IllegalStateException("database is locked"))
+                .doNothing()
+                .when(batchWriter).writeBatch(any(), anyList(), anyList());
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID, true);
+
+        // then
+        verify(batchWriter, times(3)).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        assertEquals(List.of(200, 200, 50), entries.getAllValues().stream().map(List::size).toList());
+        assertEquals(250, result.created());
+        assertEquals(250, result.added());
+        assertEquals(200, result.failed());
+        assertTrue(result.message().contains("failed: 200"));
+
+        List<UUID> committed = new ArrayList<>();
+        newGames.getAllValues().get(0).forEach(game -> committed.add(game.getId()));
+        newGames.getAllValues().get(2).forEach(game -> committed.add(game.getId()));
+        verify(enrichmentQueue).enqueue(committed);
+    }
+
+    @Test
+    @DisplayName("a fast import skips store details and queues only the games it created")
+    void fastImportQueuesCreatedGames() {
+        // given
+        CanonicalGame known = catalogGame(10);
+        when(canonicalGameRepository.findBySteamAppIds(anyCollection())).thenReturn(List.of(known));
+        ownedGames(new SteamGame(10, "Portal", 100, null), new SteamGame(20, "Portal 2", 50, null));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID, true);
+
+        // then
+        assertEquals(1, result.created());
+        assertEquals(2, result.added());
+        verify(steamApiClient, never()).getAppDetails(anyInt());
+        verify(batchWriter).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        CanonicalGame created = newGames.getValue().getFirst();
+        assertEquals(20, created.getSteamAppId());
+        assertEquals("Portal 2", created.getName());
+        verify(enrichmentQueue).enqueue(List.of(created.getId()));
+    }
+
+    @Test
+    @DisplayName("a re-sync with the same owned apps and last played watermark stops before reading the collection")
+    void unchangedLibraryStopsEarly() {
+        // given: a first sync stored the watermark
+        ownedGames(new SteamGame(10, "Portal", 100, LAST_PLAYED), new SteamGame(20, "Portal 2", 0, null));
+        service.importSteamLibrary(STEAM_ID, GAMER_ID);
+        ArgumentCaptor<SteamSyncStateEntity> state = ArgumentCaptor.forClass(SteamSyncStateEntity.class);
+        verify(syncStateRepository).save(state.capture());
+        when(syncStateRepository.findById(GAMER_ID.toString())).thenReturn(Optional.of(state.getValue()));
+        clearInvocations(collectionRepository, canonicalGameRepository, batchWriter);
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID);
+
+        // then
+        assertEquals(2, result.unchanged());
+        assertTrue(result.message().startsWith("Library unchanged"));
+        verify(collectionRepository, never()).findByGamerId(any());
+        verify(canonicalGameRepository, never()).findBySteamAppIds(anyCollection());
+        verifyNoInteractions(batchWriter);
+    }
+
+    @Test
+    @DisplayName("a newer last played time re-runs the diff")
+    void newerLastPlayedRunsDiff() {
+        // given
+        ownedGames(new SteamGame(10, "Portal", 100, LAST_PLAYED));
+        service.importSteamLibrary(STEAM_ID, GAMER_ID);
+        ArgumentCaptor<SteamSyncStateEntity> state = ArgumentCaptor.forClass(SteamSyncStateEntity.class);
+        verify(syncStateRepository).save(state.capture());
+        when(syncStateRepository.findById(GAMER_ID.toString())).thenReturn(Optional.of(state.getValue()));
+        clearInvocations(collectionRepository);
+        ownedGames(new SteamGame(10, "Portal", 160, LAST_PLAYED + 3600));
+
+        // when
+        service.importSteamLibrary(STEAM_ID, GAMER_ID);
+
+        // then
+        verify(collectionRepository).findByGamerId(GAMER_ID);
+        assertEquals(LAST_PLAYED + 3600, state.getValue().getLastPlayedWatermark());
+    }
+
+    @Test
+    @DisplayName("a failed batch leaves the sync watermark where it was")
+    void failedBatchKeepsWatermark() {
+        // given
+        ownedGames(new SteamGame(10, "Portal", 100, LAST_PLAYED));
+        doThrow(new IllegalStateException("database is locked"))
+                .when(batchWriter).writeBatch(any(), anyList(), anyList());
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID, true);
+
+        // then
+        assertEquals(1, result.failed());
+        verify(syncStateRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("only entries whose playtime or last played time changed are written")
+    void writesOnlyChangedEntries() {
+        // given
+        CanonicalGame same = catalogGame(10);
+        CanonicalGame morePlaytime = catalogGame(20);
+        CanonicalGame playedAgain = catalogGame(30);
+        when(canonicalGameRepository.findBySteamAppIds(anyCollection())).thenReturn(List.of(same, morePlaytime, playedAgain));
+        when(collectionRepository.findByGamerId(GAMER_ID)).thenReturn(List.of(
+                entry(same, 100, Instant.ofEpochSecond(LAST_PLAYED)),
+                entry(morePlaytime, 100, Instant.ofEpochSecond(LAST_PLAYED)),
+                entry(playedAgain, 100, Instant.ofEpochSecond(LAST_PLAYED))));
+        ownedGames(
+                new SteamGame(10, "Same", 100, LAST_PLAYED),
+                new SteamGame(20, "More playtime", 130, LAST_PLAYED),
+                new SteamGame(30, "Played again", 100, LAST_PLAYED + 60));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibrary(STEAM_ID, GAMER_ID);
+
+        // then
+        assertEquals(2, result.updated());
+        assertEquals(1, result.unchanged());
+        verify(batchWriter).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        assertTrue(newGames.getValue().isEmpty());
+        assertEquals(List.of(morePlaytime.getId(), playedAgain.getId()),
+                entries.getValue().stream().map(PersonalizedGame::getCanonicalGameId).toList());
+        assertEquals(Instant.ofEpochSecond(LAST_PLAYED + 60), entries.getValue().get(1).getSteamLastPlayed());
+    }
+
+    @Test
+    @DisplayName("several accounts merge into one library with the highest playtime and latest last played time")
+    void mergesAccountsByAppId() {
+        // given
+        when(steamApiClient.validateSteamId(SECOND_STEAM_ID)).thenReturn(true);
+        ownedGames(STEAM_ID,
+                new SteamGame(10, "Portal", 100, LAST_PLAYED),
+                new SteamGame(20, "Portal 2", 0, null));
+        ownedGames(SECOND_STEAM_ID,
+                new SteamGame(10, "Portal", 40, LAST_PLAYED + 3600),
+                new SteamGame(30, "Half-Life", 5, null));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibraries(List.of(STEAM_ID, SECOND_STEAM_ID), GAMER_ID, true);
+
+        // then
+        assertEquals(3, result.created());
+        assertEquals(3, result.added());
+        verify(batchWriter).writeBatch(eq(GAMER_ID), newGames.capture(), entries.capture());
+        Map<Integer, UUID> gameIdsByAppId = newGames.getValue().stream()
+                .collect(Collectors.toMap(CanonicalGame::getSteamAppId, CanonicalGame::getId));
+        assertEquals(Set.of(10, 20, 30), gameIdsByAppId.keySet());
+        PersonalizedGame portal = entries.getValue().stream()
+                .filter(entry -> entry.getCanonicalGameId().equals(gameIdsByAppId.get(10)))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(100, portal.getSteamPlaytimeMinutes());
+        assertEquals(Instant.ofEpochSecond(LAST_PLAYED + 3600), portal.getSteamLastPlayed());
+    }
+
+    @Test
+    @DisplayName("an account whose request throws fails the whole import instead of merging the rest")
+    void throwingAccountFailsImport() {
+        // given
+        when(steamApiClient.validateSteamId(SECOND_STEAM_ID)).thenReturn(true);
+        ownedGames(STEAM_ID, new SteamGame(10, "Portal", 100, LAST_PLAYED));
+        when(steamApiClient.getOwnedGames(SECOND_STEAM_ID)).thenThrow(new RestClientException("Connection reset"));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibraries(List.of(STEAM_ID, SECOND_STEAM_ID), GAMER_ID, true);
+
+        // then
+        assertTrue(result.message().contains(SECOND_STEAM_ID), result.message());
+        assertFalse(result.message().contains(STEAM_ID + ":"), result.message());
+        verifyNoInteractions(batchWriter);
+        verify(syncStateRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("a private profile among several accounts fails the whole import")
+    void privateAccountFailsImport() {
+        // given
+        when(steamApiClient.validateSteamId(SECOND_STEAM_ID)).thenReturn(false);
+        ownedGames(STEAM_ID, new SteamGame(10, "Portal", 100, LAST_PLAYED));
+
+        // when
+        SteamLibraryImportResult result = service.importSteamLibraries(List.of(STEAM_ID, SECOND_STEAM_ID), GAMER_ID, true);
+
+        // then
+        assertEquals(SECOND_STEAM_ID + ": Invalid or private Steam profile", result.message());
+        verifyNoInteractions(batchWriter);
+    }
+
+    private void ownedGames(SteamGame... games) {
+        ownedGames(STEAM_ID, games);
+    }
+
+    private void ownedGames(String steamId, SteamGame... games) {
+        when(steamApiClient.getOwnedGames(steamId)).thenReturn(Optional.of(new SteamOwnedGamesResponse(
+                new SteamOwnedGamesResponse.ResponseData(games.length, List.of(games)))));
+    }
+
+    private static CanonicalGame catalogGame(int appId) {
+        return new CanonicalGame.Builder("Game " + appId)
+                .setSteamData(new SteamGameData(appId, "Game " + appId))
+                .build();
+    }
+
+    private static PersonalizedGame entry(CanonicalGame game, int playtime, Instant lastPlayed) {
+        return new PersonalizedGame.Builder()
+                .setCanonicalId(game.getId())
+                .setGamerId(GAMER_ID)
+                .setSteamPlaytimeMinutes(playtime)
+                .setSteamLastPlayed(lastPlayed)
+                .setMarkAsPlayed(playtime > 0)
+                .setOwnedOnSteam(true)
+                .build();
+    }
+}
@@ -0,0 +1,173 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import com.robertforpresent.api.thumbnail.domain.model.MediaAsset;
+import com.robertforpresent.api.thumbnail.domain.port.MediaSource;
+import com.robertforpresent.api.thumbnail.domain.repository.MediaAssetRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.MediaCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for MediaCacheService. */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MediaCacheServiceTest {
+
+    private static final String NAMESPACE = "store-icon";
+    private static final long ASSET_SIZE = 400;
+
+    @Mock private ThumbnailService thumbnailService;
+    @Mock private MediaAssetRepository assetRepository;
+    @Mock private MediaSource source;
+    @Mock private UpstreamImageFetcher fetcher;
+
+    private MediaCacheConfig.NamespacePolicy policy;
+    private MediaCacheService service;
+
+    @BeforeEach
+    void setUp() {
+        ThumbnailCacheConfig cacheConfig = new ThumbnailCacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "enabled", true);
+        policy = new MediaCacheConfig.NamespacePolicy();
+        policy.setMaxBytes(900);
+        MediaCacheConfig mediaConfig = new MediaCacheConfig();
+        mediaConfig.setNamespaces(Map.of(NAMESPACE, policy));
+        when(source.namespace()).thenReturn(NAMESPACE);
+        when(thumbnailService.lookupBlob(anyString(), anyString(), isNull()))
+                .thenReturn(
+                        Optional.of(
+                                new CachedThumbnail(
+                                        new ByteArrayResource(new byte[(int) ASSET_SIZE]),
+                                        "image/png",
+                                        "\"etag\"",
+                                        Instant.now(),
+                                        ASSET_SIZE,
+                                        null)));
+        service =
+                new MediaCacheService(
+                        thumbnailService,
+                        assetRepository,
+                        cacheConfig,
+                        mediaConfig,
+                        List.of(source),
+                        fetcher);
+    }
+
+    @Test
+    @DisplayName("a namespace over its budget loses its least recently validated images first")
+    void evictsOldestUntilWithinBudget() {
+        // given
+        MediaAsset oldest = asset("steam", Duration.ofMinutes(30));
+        MediaAsset middle = asset("gog", Duration.ofMinutes(20));
+        MediaAsset newest = asset("epic", Duration.ofMinutes(10));
+        storedAssets(newest, oldest, middle);
+
+        // when
+        service.enforceBudget(NAMESPACE, policy);
+
+        // then
+        verify(assetRepository).delete(NAMESPACE, "steam");
+        verify(assetRepository, never()).delete(NAMESPACE, "gog");
+        verify(assetRepository, never()).delete(NAMESPACE, "epic");
+    }
+
+    @Test
+    @DisplayName("an image served since its last validation outlives older unused ones")
+    void recentlyServedImageSurvivesEviction() {
+        // given
+        MediaAsset oldest = asset("steam", Duration.ofMinutes(30));
+        MediaAsset middle = asset("gog", Duration.ofMinutes(20));
+        MediaAsset newest = asset("epic", Duration.ofMinutes(10));
+        storedAssets(oldest, middle, newest);
+        when(assetRepository.find(NAMESPACE, "steam")).thenReturn(Optional.of(oldest));
+        assertTrue(service.get(NAMESPACE, "steam", null).isPresent());
+
+        // when
+        service.enforceBudget(NAMESPACE, policy);
+
+        // then
+        verify(assetRepository).delete(NAMESPACE, "gog");
+        verify(assetRepository, never()).delete(NAMESPACE, "steam");
+        verify(assetRepository, never()).delete(NAMESPACE, "epic");
+    }
+
+    @Test
+    @DisplayName("a namespace within its budget keeps all images")
+    void keepsEverythingWithinBudget() {
+        // given
+        when(assetRepository.sumSizeByNamespace(NAMESPACE)).thenReturn(900L);
+
+        // when
+        service.enforceBudget(NAMESPACE, policy);
+
+        // then
+        verify(assetRepository, never()).findByNamespace(any());
+        verify(assetRepository, never()).delete(any(), any());
+    }
+
+    @Test
+    @DisplayName("an evicted image is read from the repository again, not from memory")
+    void evictedImageIsForgotten() {
+        // given
+        MediaAsset oldest = asset("steam", Duration.ofMinutes(30));
+        MediaAsset middle = asset("gog", Duration.ofMinutes(20));
+        MediaAsset newest = asset("epic", Duration.ofMinutes(10));
+        storedAssets(oldest, middle, newest);
+        when(assetRepository.find(NAMESPACE, "steam")).thenReturn(Optional.of(oldest));
+        when(assetRepository.find(NAMESPACE, "gog")).thenReturn(Optional.of(middle));
+        when(assetRepository.find(NAMESPACE, "epic")).thenReturn(Optional.of(newest));
+        service.get(NAMESPACE, "steam", null);
+        service.get(NAMESPACE, "gog", null);
+        service.get(NAMESPACE, "epic", null);
+        service.enforceBudget(NAMESPACE, policy);
+        when(assetRepository.find(NAMESPACE, "steam")).thenReturn(Optional.empty());
+
+        // when
+        service.get(NAMESPACE, "steam", null);
+
+        // then
+        verify(assetRepository).delete(NAMESPACE, "steam");
+        verify(assetRepository, times(2)).find(NAMESPACE, "steam");
+    }
+
+    private void storedAssets(MediaAsset... assets) {
+        when(assetRepository.sumSizeByNamespace(NAMESPACE)).thenReturn(ASSET_SIZE * assets.length);
+        when(assetRepository.findByNamespace(NAMESPACE)).thenReturn(List.of(assets));
+    }
+
+    private static MediaAsset asset(String key, Duration age) {
+        Instant validatedAt = Instant.now().minus(age);
+        return new MediaAsset(
+                NAMESPACE,
+                key,
+                String.valueOf(key.hashCode()),
+                "image/png",
+                "https://cdn.example.com/" + key + ".png",
+                ASSET_SIZE,
+                validatedAt,
+                null,
+                null,
+                validatedAt);
+    }
+}
@@ -0,0 +1,162 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for SingleFlight with a latch-gated fake fetcher. */
+class SingleFlightTest {
+
+    private static final long WAIT_MS = 5_000;
+    private static final int CALLERS = 8;
+    private static final String KEY = "cover";
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final CountDownLatch fetchStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFetch = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        releaseFetch.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("concurrent misses for one key run a single fetch and all get its result")
+    void concurrentMissesShareOneFetch() throws Exception {
+        // given
+        List<Future<Optional<String>>> results =
+                startCallers(
+                        () -> {
+                            await(releaseFetch);
+                            return Optional.of("image");
+                        });
+
+        // when
+        awaitWaiters(CALLERS - 1);
+        releaseFetch.countDown();
+
+        // then
+        for (Future<Optional<String>> result : results) {
+            assertEquals(Optional.of("image"), result.get(WAIT_MS, TimeUnit.MILLISECONDS));
+        }
+        assertEquals(1, fetches.get());
+        assertEquals(CALLERS - 1, singleFlight.coalesced());
+    }
+
+    @Test
+    @DisplayName("a failed fetch reaches every waiter and then releases the key")
+    void failureReachesWaitersAndReleasesKey() throws Exception {
+        // given
+        List<Future<Optional<String>>> results =
+                startCallers(
+                        () -> {
+                            await(releaseFetch);
+                            throw new IllegalStateException("upstream down");
+                        });
+        awaitWaiters(CALLERS - 1);
+
+        // when
+        releaseFetch.countDown();
+
+        // then: the fetching caller sees the exception, the waiters see no image
+        int failed = 0;
+        for (Future<Optional<String>> result : results) {
+            try {
+                assertEquals(Optional.empty(), result.get(WAIT_MS, TimeUnit.MILLISECONDS));
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                failed++;
+            }
+        }
+        assertEquals(1, failed);
+        assertEquals(1, fetches.get());
+
+        // and the next miss fetches again instead of joining the failed run
+        assertEquals(
+                Optional.of("retry"),
+                singleFlight.run(
+                        KEY,
+                        () -> {
+                            fetches.incrementAndGet();
+                            return Optional.of("retry");
+                        }));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    @DisplayName("different keys are fetched independently")
+    void differentKeysDoNotWait() {
+        // given
+        callers.submit(
+                () ->
+                        singleFlight.run(
+                                KEY,
+                                () -> {
+                                    fetchStarted.countDown();
+                                    await(releaseFetch);
+                                    return Optional.of("image");
+                                }));
+        await(fetchStarted);
+
+        // when
+        Optional<String> other = singleFlight.run("other", () -> Optional.of("other image"));
+
+        // then
+        assertEquals(Optional.of("other image"), other);
+        assertEquals(0, singleFlight.coalesced());
+    }
+
+    private List<Future<Optional<String>>> startCallers(Supplier<Optional<String>> fetch) {
+        Supplier<Optional<String>> counted =
+                () -> {
+                    fetches.incrementAndGet();
+                    fetchStarted.countDown();
+                    return fetch.get();
+                };
+        List<Future<Optional<String>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> singleFlight.run(KEY, counted)));
+        }
+        return results;
+    }
+
+    private void awaitWaiters(int waiters) {
+        await(fetchStarted);
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (singleFlight.coalesced() < waiters) {
+            assertTrue(System.currentTimeMillis() < deadline, "callers did not join the fetch");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted while waiting for the callers");
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(WAIT_MS, TimeUnit.MILLISECONDS), "latch was not released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted while waiting for the latch");
+        }
+    }
+}
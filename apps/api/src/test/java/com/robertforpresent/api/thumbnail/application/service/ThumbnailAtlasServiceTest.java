@@ -0,0 +1,253 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailDiskIndex;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for ThumbnailAtlasService. */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ThumbnailAtlasServiceTest {
+
+    private static final int TILE_WIDTH = 100;
+
+    @TempDir Path cacheDir;
+
+    @Mock private ThumbnailService thumbnailService;
+    @Mock private ThumbnailBlobStore blobStore;
+    @Mock private ThumbnailDiskIndex diskIndex;
+
+    private ThumbnailCacheConfig cacheConfig;
+    private ThumbnailAtlasService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cacheConfig = new ThumbnailCacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "cacheDirectory", cacheDir.toString());
+        ReflectionTestUtils.setField(cacheConfig, "enabled", true);
+        when(blobStore.put(anyString(), any())).thenReturn(1L);
+        when(blobStore.contains(anyString())).thenReturn(true);
+        when(thumbnailService.findCached(any(), anyInt())).thenReturn(Optional.empty());
+        when(thumbnailService.getThumbnail(any(), anyInt())).thenReturn(Optional.empty());
+        service = service(5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("tiles are laid out in square-ish rows, each as tall as its tallest tile")
+    void laysOutTilesInRows() {
+        // given: five covers, one of them taller
+        List<UUID> ids = List.of(cached(150, "a"), cached(200, "b"), cached(150, "c"));
+        UUID fourth = cached(150, "d");
+        UUID fifth = cached(150, "e");
+        UUID missing = UUID.randomUUID();
+
+        // when
+        ThumbnailAtlasService.Atlas atlas =
+                service.getAtlas(
+                        List.of(ids.get(0), ids.get(1), ids.get(2), missing, fourth, fifth),
+                        TILE_WIDTH);
+
+        // then: three columns, rows of 200 and 150 pixels
+        assertEquals(3 * TILE_WIDTH, atlas.width());
+        assertEquals(350, atlas.height());
+        assertEquals(
+                List.of(
+                        new ThumbnailAtlasService.Tile(ids.get(0), 0, 0, TILE_WIDTH, 150),
+                        new ThumbnailAtlasService.Tile(ids.get(1), 100, 0, TILE_WIDTH, 200),
+                        new ThumbnailAtlasService.Tile(ids.get(2), 200, 0, TILE_WIDTH, 150),
+                        new ThumbnailAtlasService.Tile(fourth, 0, 200, TILE_WIDTH, 150),
+                        new ThumbnailAtlasService.Tile(fifth, 100, 200, TILE_WIDTH, 150)),
+                atlas.tiles());
+        assertEquals(List.of(missing), atlas.missing());
+        verify(diskIndex).recordWrite(startsWith("atlas-" + atlas.key()), eq(1L));
+    }
+
+    @Test
+    @DisplayName("an unchanged page reuses its atlas, a changed cover or width yields a new key")
+    void keyCoversTileVersions() throws IOException {
+        // given
+        UUID first = cached(150, "v1");
+        UUID second = cached(150, "v1");
+        ThumbnailAtlasService.Atlas atlas = service.getAtlas(List.of(first, second), TILE_WIDTH);
+
+        // when
+        ThumbnailAtlasService.Atlas again = service.getAtlas(List.of(first, second), TILE_WIDTH);
+        ThumbnailAtlasService.Atlas reordered = service.getAtlas(List.of(second, first), TILE_WIDTH);
+        stubCached(second, 150, "v2");
+        ThumbnailAtlasService.Atlas changed = service.getAtlas(List.of(first, second), TILE_WIDTH);
+
+        // then
+        assertSame(atlas, again);
+        assertNotEquals(atlas.key(), reordered.key());
+        assertNotEquals(atlas.key(), changed.key());
+        verify(blobStore, times(3)).put(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("the tile width is part of the key")
+    void keyCoversTileWidth() {
+        // given
+        UUID game = cached(150, "v1");
+
+        // when
+        String narrow = service.getAtlas(List.of(game), TILE_WIDTH).key();
+        String wide = service.getAtlas(List.of(game), 2 * TILE_WIDTH).key();
+
+        // then
+        assertNotEquals(narrow, wide);
+    }
+
+    @Test
+    @DisplayName("an atlas whose image left the blob store is rendered again")
+    void rerendersEvictedImage() throws IOException {
+        // given
+        UUID game = cached(150, "v1");
+        ThumbnailAtlasService.Atlas atlas = service.getAtlas(List.of(game), TILE_WIDTH);
+        when(blobStore.contains("atlas-" + atlas.key() + ".jpg")).thenReturn(false);
+
+        // when
+        ThumbnailAtlasService.Atlas again = service.getAtlas(List.of(game), TILE_WIDTH);
+
+        // then
+        assertEquals(atlas.key(), again.key());
+        verify(blobStore, times(2)).put(eq("atlas-" + atlas.key() + ".jpg"), any());
+    }
+
+    @Test
+    @DisplayName("a tile still downloading after the timeout is listed as missing")
+    void slowTileFallsBackToMissing() throws InterruptedException {
+        // given
+        service.shutdown();
+        service = service(100);
+        UUID cachedGame = cached(150, "v1");
+        UUID slowGame = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        when(thumbnailService.getThumbnail(slowGame, TILE_WIDTH))
+                .thenAnswer(
+                        invocation -> {
+                            release.await(5, TimeUnit.SECONDS);
+                            return Optional.of(thumbnail(150, "v1"));
+                        });
+
+        try {
+            // when
+            long start = System.nanoTime();
+            ThumbnailAtlasService.Atlas atlas =
+                    service.getAtlas(List.of(cachedGame, slowGame), TILE_WIDTH);
+
+            // then
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+            assertEquals(List.of(slowGame), atlas.missing());
+            assertEquals(1, atlas.tiles().size());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("a downloaded miss takes its tile in the requested order")
+    void downloadedTileKeepsOrder() {
+        // given
+        UUID downloaded = UUID.randomUUID();
+        UUID cachedGame = cached(150, "v1");
+        when(thumbnailService.getThumbnail(downloaded, TILE_WIDTH))
+                .thenReturn(Optional.of(thumbnail(150, "v1")));
+
+        // when
+        ThumbnailAtlasService.Atlas atlas =
+                service.getAtlas(List.of(downloaded, cachedGame), TILE_WIDTH);
+
+        // then
+        assertEquals(
+                List.of(downloaded, cachedGame),
+                atlas.tiles().stream().map(ThumbnailAtlasService.Tile::gameId).toList());
+        assertTrue(atlas.missing().isEmpty());
+    }
+
+    @Test
+    @DisplayName("only 64-character hex keys are looked up")
+    void rejectsMalformedKeys() {
+        assertTrue(service.findAtlasImage("../secret").isEmpty());
+        verify(blobStore, never()).find(anyString());
+    }
+
+    private ThumbnailAtlasService service(long fetchTimeoutMs) {
+        return new ThumbnailAtlasService(
+                thumbnailService,
+                blobStore,
+                diskIndex,
+                new ThumbnailResizer(0.85f),
+                cacheConfig,
+                fetchTimeoutMs);
+    }
+
+    private UUID cached(int height, String version) {
+        UUID id = UUID.randomUUID();
+        stubCached(id, height, version);
+        return id;
+    }
+
+    private void stubCached(UUID id, int height, String version) {
+        when(thumbnailService.findCached(eq(id), anyInt()))
+                .thenReturn(Optional.of(thumbnail(height, version)));
+    }
+
+    private static CachedThumbnail thumbnail(int height, String version) {
+        byte[] png = png(TILE_WIDTH, height);
+        return new CachedThumbnail(
+                new ByteArrayResource(png),
+                "image/png",
+                "\"" + version + "\"",
+                Instant.now(),
+                png.length,
+                TILE_WIDTH);
+    }
+
+    private static byte[] png(int width, int height) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.robertforpresent.api.thumbnail.domain.repository.ThumbnailMappingRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.ThumbnailBlobStore;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+
+/** Unit tests for ThumbnailPlaceholderService. */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ThumbnailPlaceholderServiceTest {
+
+    private static final long WAIT_MS = 2_000;
+    private static final String MISSING = "a".repeat(64);
+    private static final String BROKEN = "b".repeat(64);
+    private static final String GOOD = "c".repeat(64);
+
+    @Mock private ThumbnailMappingRepository mappingRepository;
+    @Mock private ThumbnailBlobStore blobStore;
+
+    private ThumbnailPlaceholderService service;
+
+    @BeforeEach
+    void setUp() {
+        service =
+                new ThumbnailPlaceholderService(
+                        mappingRepository, blobStore, new ThumbnailResizer(0.85f));
+    }
+
+    @Test
+    @DisplayName("the sweep skips blobs that failed within the last day")
+    void sweepExcludesRecentFailures() {
+        // given
+        when(mappingRepository.findHashesWithoutPlaceholder(anyInt(), any())).thenReturn(List.of());
+
+        // when
+        service.sweep();
+
+        // then
+        ArgumentCaptor<Instant> failedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(mappingRepository).findHashesWithoutPlaceholder(anyInt(), failedBefore.capture());
+        Duration retryAfter = Duration.between(failedBefore.getValue(), Instant.now());
+        assertTrue(retryAfter.compareTo(Duration.ofHours(23)) > 0, "retried after about a day");
+        assertTrue(retryAfter.compareTo(Duration.ofHours(25)) < 0, "retried after about a day");
+    }
+
+    @Test
+    @DisplayName("missing and undecodable blobs are marked as failed, decodable ones get a placeholder")
+    void marksBlobsWithoutPlaceholder() throws IOException {
+        // given
+        when(mappingRepository.findHashesWithoutPlaceholder(anyInt(), any()))
+                .thenReturn(List.of(MISSING, BROKEN, GOOD));
+        when(blobStore.find(ThumbnailService.getBlobName(MISSING, null))).thenReturn(Optional.empty());
+        when(blobStore.find(ThumbnailService.getBlobName(BROKEN, null)))
+                .thenReturn(Optional.of(blob(BROKEN, new byte[] {1, 2, 3})));
+        when(blobStore.find(ThumbnailService.getBlobName(GOOD, null)))
+                .thenReturn(Optional.of(blob(GOOD, png())));
+
+        // when
+        service.sweep();
+
+        // then
+        verify(mappingRepository, timeout(WAIT_MS)).markPlaceholderFailed(eq(MISSING), any());
+        verify(mappingRepository, timeout(WAIT_MS)).markPlaceholderFailed(eq(BROKEN), any());
+        verify(mappingRepository, timeout(WAIT_MS)).savePlaceholder(eq(GOOD), anyString());
+        verify(mappingRepository, never()).markPlaceholderFailed(eq(GOOD), any());
+    }
+
+    private static ThumbnailBlobStore.Blob blob(String hash, byte[] content) {
+        return new ThumbnailBlobStore.Blob(
+                ThumbnailService.getBlobName(hash, null),
+                content.length,
+                Instant.now(),
+                new ByteArrayResource(content));
+    }
+
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,212 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.collection.application.dto.CollectionGameView;
+import com.robertforpresent.api.collection.application.service.GamerCollectionService;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+
+/** Unit tests for ThumbnailPrefetchService. */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ThumbnailPrefetchServiceTest {
+
+    private static final long WAIT_MS = 5_000;
+
+    @Mock private CanonicalGameRepository gameRepository;
+    @Mock private GamerCollectionService collectionService;
+    @Mock private ThumbnailService thumbnailService;
+
+    private final List<UUID> fetched = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(thumbnailService.findCachedGameIds(anyCollection())).thenReturn(Set.of());
+        when(thumbnailService.getThumbnail(any(UUID.class)))
+                .thenAnswer(
+                        invocation -> {
+                            fetched.add(invocation.getArgument(0));
+                            return Optional.of(thumbnail());
+                        });
+    }
+
+    @Test
+    @DisplayName("games already in the cache are skipped with one batched lookup")
+    void skipsCachedGamesWithBatchedLookup() {
+        // given
+        CanonicalGame cached = game("cdn.example.com");
+        CanonicalGame missing = game("cdn.example.com");
+        when(gameRepository.findAll()).thenReturn(List.of(cached, missing));
+        when(thumbnailService.findCachedGameIds(anyCollection())).thenReturn(Set.of(cached.getId()));
+        ThumbnailPrefetchService service = service(4);
+
+        // when
+        service.start(null);
+        awaitFinished(service);
+
+        // then
+        assertEquals(List.of(missing.getId()), fetched);
+        verify(thumbnailService, times(1)).findCachedGameIds(anyCollection());
+        verify(thumbnailService, never()).isCached(any());
+    }
+
+    @Test
+    @DisplayName("each host is drained by at most the configured number of workers")
+    void limitsWorkersPerHost() {
+        // given
+        Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        Map<UUID, String> hostByGame = new ConcurrentHashMap<>();
+        List<CanonicalGame> games = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String host = i % 2 == 0 ? "a.example.com" : "b.example.com";
+            CanonicalGame game = game(host);
+            hostByGame.put(game.getId(), host);
+            games.add(game);
+        }
+        when(gameRepository.findAll()).thenReturn(games);
+        when(thumbnailService.getThumbnail(any(UUID.class)))
+                .thenAnswer(
+                        invocation -> {
+                            String host = hostByGame.get(invocation.<UUID>getArgument(0));
+                            int now =
+                                    active.computeIfAbsent(host, h -> new AtomicInteger())
+                                            .incrementAndGet();
+                            peak.computeIfAbsent(host, h -> new AtomicInteger())
+                                    .accumulateAndGet(now, Math::max);
+                            Thread.sleep(20);
+                            active.get(host).decrementAndGet();
+                            fetched.add(invocation.getArgument(0));
+                            return Optional.of(thumbnail());
+                        });
+        ThumbnailPrefetchService service = service(2);
+
+        // when
+        service.start(null);
+        ThumbnailPrefetchService.PrefetchStatus status = awaitFinished(service);
+
+        // then
+        assertEquals(12, status.completed());
+        assertTrue(peak.get("a.example.com").get() <= 2);
+        assertTrue(peak.get("b.example.com").get() <= 2);
+    }
+
+    @Test
+    @DisplayName("the gamer's backlog games are fetched before the rest of the catalog")
+    void fetchesPriorityGamesFirst() {
+        // given
+        UUID gamerId = UUID.randomUUID();
+        CanonicalGame other = game("cdn.example.com");
+        CanonicalGame backlog = game("cdn.example.com");
+        when(gameRepository.findAll()).thenReturn(List.of(other, backlog));
+        when(collectionService.getBacklog(gamerId)).thenReturn(List.of(view(backlog.getId())));
+        ThumbnailPrefetchService service = service(1);
+
+        // when
+        service.start(gamerId);
+        awaitFinished(service);
+
+        // then
+        assertEquals(List.of(backlog.getId(), other.getId()), fetched);
+    }
+
+    @Test
+    @DisplayName("a library import during a running job queues one follow-up run")
+    void libraryImportDuringRunQueuesFollowUp() throws InterruptedException {
+        // given
+        CountDownLatch firstRunBlocked = new CountDownLatch(1);
+        CountDownLatch releaseFirstRun = new CountDownLatch(1);
+        CanonicalGame game = game("cdn.example.com");
+        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(thumbnailService.getThumbnail(game.getId()))
+                .thenAnswer(
+                        invocation -> {
+                            firstRunBlocked.countDown();
+                            releaseFirstRun.await(WAIT_MS, TimeUnit.MILLISECONDS);
+                            return Optional.of(thumbnail());
+                        });
+        ThumbnailPrefetchService service = service(4);
+        service.start(null);
+        assertTrue(firstRunBlocked.await(WAIT_MS, TimeUnit.MILLISECONDS));
+
+        // when
+        UUID gamerId = UUID.randomUUID();
+        service.onGameUpdate(GameUpdateEvent.libraryImported(gamerId));
+        service.onGameUpdate(GameUpdateEvent.libraryImported(gamerId));
+        releaseFirstRun.countDown();
+
+        // then
+        verify(gameRepository, timeout(WAIT_MS).times(2)).findAll();
+        verify(collectionService, timeout(WAIT_MS)).getBacklog(gamerId);
+        awaitFinished(service);
+        verify(gameRepository, times(2)).findAll();
+    }
+
+    private ThumbnailPrefetchService service(int perHostConcurrency) {
+        return new ThumbnailPrefetchService(
+                gameRepository, collectionService, thumbnailService, perHostConcurrency);
+    }
+
+    private static ThumbnailPrefetchService.PrefetchStatus awaitFinished(
+            ThumbnailPrefetchService service) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        ThumbnailPrefetchService.PrefetchStatus status = service.getStatus();
+        while (status.running()) {
+            assertTrue(System.currentTimeMillis() < deadline, "prefetch did not finish");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted while waiting for the prefetch");
+            }
+            status = service.getStatus();
+        }
+        return status;
+    }
+
+    private static CanonicalGame game(String host) {
+        UUID id = UUID.randomUUID();
+        return new CanonicalGame.Builder("Game " + id)
+                .setId(id)
+                .setThumbnailUrl("https://" + host + "/" + id + ".jpg")
+                .build();
+    }
+
+    private static CollectionGameView view(UUID gameId) {
+        return new CollectionGameView(
+                gameId, "Game", null, null, 0, false, false, true, null, null, null);
+    }
+
+    private static CachedThumbnail thumbnail() {
+        return new CachedThumbnail(
+                new ByteArrayResource(new byte[1]), "image/jpeg", "\"etag\"", Instant.now(), 1, null);
+    }
+}
@@ -0,0 +1,502 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.application.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import com.robertforpresent.api.catalog.domain.model.CanonicalGame;
+import com.robertforpresent.api.catalog.domain.repository.CanonicalGameRepository;
+import com.robertforpresent.api.events.domain.model.GameUpdateEvent;
+import com.robertforpresent.api.thumbnail.domain.model.ThumbnailMapping;
+import com.robertforpresent.api.thumbnail.domain.repository.MediaAssetRepository;
+import com.robertforpresent.api.thumbnail.domain.repository.ThumbnailMappingRepository;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailDiskIndex;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailMemoryCache;
+import com.robertforpresent.api.thumbnail.infrastructure.http.UpstreamHostLimiter;
+import com.robertforpresent.api.thumbnail.infrastructure.image.ThumbnailResizer;
+import com.robertforpresent.api.thumbnail.infrastructure.store.FileThumbnailBlobStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for ThumbnailService against a local HTTP server. */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ThumbnailServiceTest {
+
+    private static final long WAIT_MS = 5_000;
+    private static final Duration NEGATIVE_TTL = Duration.ofHours(1);
+    private static final String HASH = "a".repeat(64);
+    private static final String UPSTREAM_ETAG = "\"v1\"";
+
+    @TempDir Path cacheDir;
+
+    @Mock private CanonicalGameRepository gameRepository;
+    @Mock private ThumbnailMappingRepository mappingRepository;
+    @Mock private MediaAssetRepository mediaAssetRepository;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final CountDownLatch releaseSlowCover = new CountDownLatch(1);
+    private HttpServer server;
+    private FileThumbnailBlobStore blobStore;
+    private ThumbnailService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/status/", this::respondWithStatus);
+        server.createContext("/cover.jpg", this::respondWithCover);
+        server.createContext("/slow.jpg", this::respondWithSlowCover);
+        server.start();
+
+        ThumbnailCacheConfig config = new ThumbnailCacheConfig();
+        ReflectionTestUtils.setField(config, "cacheDirectory", cacheDir.toString());
+        ReflectionTestUtils.setField(config, "enabled", true);
+        ReflectionTestUtils.setField(config, "maxBytes", 1L << 20);
+        blobStore = new FileThumbnailBlobStore(config);
+        ThumbnailDiskIndex diskIndex = new ThumbnailDiskIndex(config, blobStore);
+        diskIndex.load();
+        service =
+                new ThumbnailService(
+                        config,
+                        gameRepository,
+                        mappingRepository,
+                        mediaAssetRepository,
+                        eventPublisher,
+                        new ThumbnailMemoryCache(1 << 20),
+                        diskIndex,
+                        blobStore,
+                        new ThumbnailResizer(0.85f),
+                        new UpstreamImageFetcher(new UpstreamHostLimiter(4), 4),
+                        new int[] {120, 240, 480},
+                        NEGATIVE_TTL.toMillis(),
+                        Duration.ofDays(7).toMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowCover.countDown();
+        service.shutdown();
+        server.stop(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {403, 404, 410})
+    @DisplayName("a cover that is gone is not requested again for the full negative cache TTL")
+    void goneCoverUsesNegativeTtl(int status) {
+        // given
+        UUID gameId = gameWithCover("/status/" + status);
+
+        // when
+        Optional<CachedThumbnail> first = service.getThumbnail(gameId);
+        Optional<CachedThumbnail> second = service.getThumbnail(gameId);
+
+        // then
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(Optional.of(NEGATIVE_TTL), service.failedFetchTtl(gameId));
+        assertEquals(1, requests.size(), "the second request should be answered by the negative cache");
+        assertEquals(1, service.getTierStats().negativeHits());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {429, 500, 503})
+    @DisplayName("a transient failure is retried after a short TTL")
+    void transientFailureUsesShortTtl(int status) {
+        // given
+        UUID gameId = gameWithCover("/status/" + status);
+
+        // when
+        service.getThumbnail(gameId);
+
+        // then
+        assertEquals(Optional.of(Duration.ofMinutes(1)), service.failedFetchTtl(gameId));
+    }
+
+    @Test
+    @DisplayName("concurrent misses for one game share a single upstream download")
+    void concurrentMissesShareOneDownload() throws Exception {
+        // given
+        UUID gameId = gameWithCover("/slow.jpg");
+        int callers = 8;
+        List<Future<Optional<CachedThumbnail>>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // when
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> service.getThumbnail(gameId)));
+            }
+            awaitCoalesced(callers - 1);
+            releaseSlowCover.countDown();
+
+            // then
+            for (Future<Optional<CachedThumbnail>> result : results) {
+                Optional<CachedThumbnail> served = result.get(WAIT_MS, TimeUnit.MILLISECONDS);
+                assertTrue(served.isPresent(), "every waiter gets the downloaded cover");
+            }
+        }
+        assertEquals(List.of("/slow.jpg"), requests);
+        assertEquals(1, service.getTierStats().downloads());
+    }
+
+    @Test
+    @DisplayName("a stale cover confirmed with 304 is served and only its validation time moves")
+    void notModifiedConfirmsStaleCover() throws IOException {
+        // given
+        UUID gameId = UUID.randomUUID();
+        Path image = Files.write(cacheDir.resolve("upload.tmp"), new byte[] {1, 2, 3});
+        blobStore.put(HASH + ".jpg", image);
+        Instant stale = Instant.now().minus(Duration.ofDays(30));
+        ThumbnailMapping mapping =
+                new ThumbnailMapping(
+                        gameId,
+                        HASH,
+                        "image/jpeg",
+                        url("/cover.jpg"),
+                        stale,
+                        UPSTREAM_ETAG,
+                        null,
+                        stale);
+        when(mappingRepository.findByGameId(gameId)).thenReturn(Optional.of(mapping));
+
+        // when
+        Optional<CachedThumbnail> served = service.getThumbnail(gameId);
+
+        // then
+        assertTrue(served.isPresent(), "the stale image is served while revalidating");
+        verify(mappingRepository, timeout(2000))
+                .save(
+                        argThat(
+                                saved ->
+                                        saved.contentHash().equals(HASH)
+                                                && saved.validatedAt().isAfter(stale)));
+        assertEquals(List.of(UPSTREAM_ETAG), ifNoneMatch);
+        assertEquals(1, service.getTierStats().revalidatedUnchanged());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("a cover URL another game downloaded already reuses its blob without a request")
+    void sameSourceUrlReusesBlob() throws IOException {
+        // given
+        UUID gameId = gameWithCover("/cover.jpg");
+        storeBlob(HASH + ".jpg", Instant.now());
+        ThumbnailMapping other =
+                new ThumbnailMapping(
+                        UUID.randomUUID(),
+                        HASH,
+                        "image/jpeg",
+                        url("/cover.jpg"),
+                        Instant.now(),
+                        null,
+                        null,
+                        Instant.now());
+        when(mappingRepository.findAnyBySourceUrl(url("/cover.jpg")))
+                .thenReturn(Optional.of(other));
+
+        // when
+        Optional<CachedThumbnail> served = service.getThumbnail(gameId);
+
+        // then
+        assertTrue(served.isPresent());
+        assertTrue(requests.isEmpty(), "the shared blob must not be downloaded again");
+        verify(mappingRepository)
+                .save(
+                        argThat(
+                                saved ->
+                                        saved.gameId().equals(gameId)
+                                                && saved.contentHash().equals(HASH)));
+        verify(eventPublisher).publishEvent(GameUpdateEvent.thumbnailReady(gameId));
+        assertEquals(1, service.getTierStats().deduplicated());
+    }
+
+    @Test
+    @DisplayName("a cover URL whose shared blob is gone is downloaded again")
+    void sameSourceUrlWithMissingBlobDownloads() {
+        // given
+        UUID gameId = gameWithCover("/cover.jpg");
+        ThumbnailMapping other =
+                new ThumbnailMapping(
+                        UUID.randomUUID(),
+                        HASH,
+                        "image/jpeg",
+                        url("/cover.jpg"),
+                        Instant.now(),
+                        null,
+                        null,
+                        Instant.now());
+        when(mappingRepository.findAnyBySourceUrl(url("/cover.jpg")))
+                .thenReturn(Optional.of(other));
+
+        // when
+        Optional<CachedThumbnail> served = service.getThumbnail(gameId);
+
+        // then
+        assertTrue(served.isPresent());
+        assertEquals(List.of("/cover.jpg"), requests);
+        verify(mappingRepository)
+                .save(
+                        argThat(
+                                saved ->
+                                        saved.gameId().equals(gameId)
+                                                && !saved.contentHash().equals(HASH)));
+    }
+
+    @Test
+    @DisplayName("variants are named after the content hash and their width")
+    void variantBlobNames() {
+        assertEquals(HASH + ".jpg", ThumbnailService.getBlobName(HASH, null));
+        assertEquals(HASH + "-w240.jpg", ThumbnailService.getBlobName(HASH, 240));
+    }
+
+    @Test
+    @DisplayName("a width is snapped up to the next variant, served as the original until generated")
+    void variantSnapsUpAndFallsBackToOriginal() throws IOException {
+        // given
+        UUID gameId = gameWithStoredImage(600, 900);
+
+        // when
+        Optional<CachedThumbnail> first = service.getThumbnail(gameId, 200);
+        awaitBlob(HASH + "-w240.jpg");
+        Optional<CachedThumbnail> second = service.getThumbnail(gameId, 200);
+
+        // then
+        assertNull(first.orElseThrow().width(), "the original stands in for the variant");
+        assertEquals("\"" + HASH + "\"", first.get().etag());
+        assertEquals(240, second.orElseThrow().width());
+        assertEquals("\"" + HASH + "-w240\"", second.get().etag());
+        assertEquals("image/jpeg", second.get().contentType());
+        assertEquals(1, service.getTierStats().variantsGenerated());
+        assertFalse(blobStore.contains(HASH + "-w200.jpg"));
+    }
+
+    @Test
+    @DisplayName("a width beyond the largest variant is served by the largest one")
+    void widthBeyondLargestVariantUsesLargest() throws IOException {
+        // given
+        UUID gameId = gameWithStoredImage(600, 900);
+
+        // when
+        service.getThumbnail(gameId, 2000);
+
+        // then
+        awaitBlob(HASH + "-w480.jpg");
+        assertEquals(480, service.getThumbnail(gameId, 2000).orElseThrow().width());
+    }
+
+    @Test
+    @DisplayName("a variant of an evicted original is not written and can be scheduled again")
+    void variantOfMissingOriginalIsRetried() throws IOException {
+        // given
+        service.scheduleVariant(HASH, 240);
+
+        // when: the original comes back
+        storeImage(HASH + ".jpg", 600, 900);
+
+        // then: scheduling again generates the variant once the failed attempt released it
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!blobStore.contains(HASH + "-w240.jpg")) {
+            assertTrue(System.currentTimeMillis() < deadline, "variant was not generated");
+            service.scheduleVariant(HASH, 240);
+            sleep();
+        }
+    }
+
+    @Test
+    @DisplayName("a memory hit is served without checking the store, a vanished blob is dropped on open")
+    void memoryHitIsTrustedUntilOpened() throws IOException {
+        // given: the blob was served once, then deleted behind the memory tier's back
+        storeBlob(HASH + ".jpg", Instant.now());
+        assertTrue(service.lookupBlob(HASH, "image/jpeg", null).isPresent());
+        Files.delete(cacheDir.resolve(HASH + ".jpg"));
+
+        // when
+        Optional<CachedThumbnail> fromMemory = service.lookupBlob(HASH, "image/jpeg", null);
+
+        // then
+        assertTrue(fromMemory.isPresent(), "the memory tier does not stat the blob");
+        assertThrows(IOException.class, () -> fromMemory.get().content().getInputStream());
+        assertTrue(service.lookupBlob(HASH, "image/jpeg", null).isEmpty(), "the entry is dropped");
+        assertEquals(1, service.getTierStats().memory().hits());
+    }
+
+    @Test
+    @DisplayName("garbage collection removes only old blobs that no game or media asset references")
+    void garbageCollectionKeepsReferencedYoungAndAtlasBlobs() throws IOException {
+        // given
+        Instant old = Instant.now().minus(Duration.ofHours(1));
+        String mediaHash = "b".repeat(64);
+        String orphanHash = "c".repeat(64);
+        String youngHash = "d".repeat(64);
+        storeBlob(HASH + ".jpg", old);
+        storeBlob(HASH + "-w120.jpg", old);
+        storeBlob(mediaHash + ".jpg", old);
+        storeBlob(orphanHash + ".jpg", old);
+        storeBlob(orphanHash + "-w120.jpg", old);
+        storeBlob(youngHash + ".jpg", Instant.now());
+        storeBlob("atlas-" + "e".repeat(64) + ".jpg", old);
+        storeBlob(UUID.randomUUID() + ".jpg", old);
+        when(mappingRepository.findReferencedHashes()).thenReturn(Set.of(HASH));
+        when(mediaAssetRepository.findReferencedHashes()).thenReturn(Set.of(mediaHash));
+
+        // when
+        ThumbnailService.GarbageCollectionResult result = service.collectGarbage();
+
+        // then
+        assertEquals(3, result.deletedFiles(), "the orphan, its variant and the legacy file");
+        assertFalse(blobStore.contains(orphanHash + ".jpg"));
+        assertFalse(blobStore.contains(orphanHash + "-w120.jpg"));
+        assertTrue(blobStore.contains(HASH + ".jpg"));
+        assertTrue(blobStore.contains(HASH + "-w120.jpg"));
+        assertTrue(blobStore.contains(mediaHash + ".jpg"), "media assets keep their blobs");
+        assertTrue(blobStore.contains(youngHash + ".jpg"), "blobs within the grace period stay");
+        assertTrue(
+                blobStore.contains("atlas-" + "e".repeat(64) + ".jpg"), "atlases leave by LRU only");
+    }
+
+    private void awaitCoalesced(long waiters) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (service.getTierStats().coalescedRequests() < waiters) {
+            assertTrue(System.currentTimeMillis() < deadline, "callers did not join the download");
+            sleep();
+        }
+    }
+
+    private void awaitBlob(String name) {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        while (!blobStore.contains(name)) {
+            assertTrue(System.currentTimeMillis() < deadline, name + " was not generated");
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted while waiting");
+        }
+    }
+
+    private UUID gameWithStoredImage(int width, int height) throws IOException {
+        UUID gameId = UUID.randomUUID();
+        storeImage(HASH + ".jpg", width, height);
+        ThumbnailMapping mapping =
+                new ThumbnailMapping(
+                        gameId,
+                        HASH,
+                        "image/png",
+                        url("/cover.jpg"),
+                        Instant.now(),
+                        null,
+                        null,
+                        Instant.now());
+        when(mappingRepository.findByGameId(gameId)).thenReturn(Optional.of(mapping));
+        return gameId;
+    }
+
+    private void storeImage(String name, int width, int height) throws IOException {
+        Path upload = cacheDir.resolve(name + ".upload");
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", upload.toFile());
+        blobStore.put(name, upload);
+    }
+
+    private void storeBlob(String name, Instant lastModified) throws IOException {
+        Path upload = Files.write(cacheDir.resolve(name + ".upload"), new byte[] {1, 2, 3});
+        blobStore.put(name, upload);
+        Files.setLastModifiedTime(cacheDir.resolve(name), FileTime.from(lastModified));
+    }
+
+    private UUID gameWithCover(String path) {
+        CanonicalGame game = new CanonicalGame.Builder("Portal").setThumbnailUrl(url(path)).build();
+        when(gameRepository.findById(game.getId())).thenReturn(Optional.of(game));
+        return game.getId();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private void respondWithStatus(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestURI().getPath());
+        String path = exchange.getRequestURI().getPath();
+        int status = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private void respondWithCover(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestURI().getPath());
+        String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+        if (etag != null) {
+            ifNoneMatch.add(etag);
+        }
+        if (UPSTREAM_ETAG.equals(etag)) {
+            exchange.sendResponseHeaders(304, -1);
+        } else {
+            byte[] body = {4, 5, 6};
+            exchange.getResponseHeaders().add("ETag", "\"v2\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private void respondWithSlowCover(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestURI().getPath());
+        try {
+            releaseSlowCover.await(WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = {7, 8, 9};
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        exchange.close();
+    }
+}
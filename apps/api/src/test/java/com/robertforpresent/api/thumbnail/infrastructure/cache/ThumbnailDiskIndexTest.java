@@ -0,0 +1,80 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.robertforpresent.api.thumbnail.infrastructure.store.FileThumbnailBlobStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for ThumbnailDiskIndex. */
+class ThumbnailDiskIndexTest {
+
+    @TempDir Path cacheDir;
+
+    private ThumbnailCacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ThumbnailCacheConfig();
+        ReflectionTestUtils.setField(config, "cacheDirectory", cacheDir.toString());
+        ReflectionTestUtils.setField(config, "enabled", true);
+        ReflectionTestUtils.setField(config, "maxBytes", 300L);
+    }
+
+    @Test
+    @DisplayName("evicts least recently accessed files beyond the byte budget")
+    void evictsLeastRecentlyAccessed() throws IOException {
+        // given
+        ThumbnailDiskIndex index = new ThumbnailDiskIndex(config, new FileThumbnailBlobStore(config));
+        index.load();
+        write(index, "a.jpg", 100);
+        write(index, "b.jpg", 100);
+        write(index, "c.jpg", 100);
+        index.recordHit("a.jpg", 100);
+
+        // when
+        write(index, "d.jpg", 100);
+
+        // then
+        assertFalse(Files.exists(cacheDir.resolve("b.jpg")));
+        assertTrue(Files.exists(cacheDir.resolve("a.jpg")));
+        assertEquals(300, index.getTotalBytes());
+        assertEquals(1, index.stats().evictions());
+        assertEquals(3, index.stats().entries());
+    }
+
+    @Test
+    @DisplayName("restores entries and access order from the persisted index")
+    void restoresPersistedIndex() throws IOException {
+        // given
+        ThumbnailDiskIndex index = new ThumbnailDiskIndex(config, new FileThumbnailBlobStore(config));
+        index.load();
+        write(index, "a.jpg", 100);
+        write(index, "b.jpg", 100);
+        index.recordHit("a.jpg", 100);
+        index.close();
+
+        // when
+        ThumbnailDiskIndex restored = new ThumbnailDiskIndex(config, new FileThumbnailBlobStore(config));
+        restored.load();
+        write(restored, "c.jpg", 100);
+        write(restored, "d.jpg", 100);
+
+        // then
+        assertEquals(300, restored.getTotalBytes());
+        assertFalse(Files.exists(cacheDir.resolve("b.jpg")));
+        assertTrue(Files.exists(cacheDir.resolve("a.jpg")));
+    }
+
+    private void write(ThumbnailDiskIndex index, String name, int size) throws IOException {
+        Files.write(cacheDir.resolve(name), new byte[size]);
+        index.recordWrite(name, size);
+    }
+}
@@ -0,0 +1,56 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for BlurHash. */
+class BlurHashTest {
+
+    @Test
+    @DisplayName("encodes the component count and the average color")
+    void encodesSolidImage() {
+        // given
+        BufferedImage white = filled(Color.WHITE);
+
+        // when
+        String hash = BlurHash.encode(white, 4, 3);
+
+        // then: size flag 'L' (4x3), then after the AC maximum the DC color 0xFFFFFF
+        assertEquals('L', hash.charAt(0));
+        assertEquals("TSUA", hash.substring(2, 6));
+        assertEquals(1 + 1 + 4 + 2 * 11, hash.length());
+    }
+
+    @Test
+    @DisplayName("hash length follows the component count")
+    void lengthFollowsComponents() {
+        // given
+        BufferedImage image = filled(Color.RED);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, 16, 32);
+        graphics.dispose();
+
+        // when
+        String hash = BlurHash.encode(image, 3, 4);
+
+        // then
+        assertEquals(1 + 1 + 4 + 2 * 11, hash.length());
+        assertNotEquals(BlurHash.encode(filled(Color.RED), 3, 4), hash);
+    }
+
+    private static BufferedImage filled(Color color) {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 32, 32);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,97 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.image;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Unit tests for ThumbnailResizer. */
+class ThumbnailResizerTest {
+
+    @TempDir Path dir;
+
+    private final ThumbnailResizer resizer = new ThumbnailResizer(0.85f);
+
+    @Test
+    @DisplayName("a wider image is scaled to the width, keeping the aspect ratio, as JPEG")
+    void scalesDownKeepingAspectRatio() throws IOException {
+        // given
+        byte[] original = png(new BufferedImage(600, 900, BufferedImage.TYPE_INT_RGB));
+        Path target = dir.resolve("variant.jpg");
+
+        // when
+        resizer.resize(new ByteArrayInputStream(original), target, 240);
+
+        // then
+        BufferedImage variant = ImageIO.read(target.toFile());
+        assertEquals(240, variant.getWidth());
+        assertEquals(360, variant.getHeight());
+        byte[] bytes = Files.readAllBytes(target);
+        assertEquals((byte) 0xFF, bytes[0], "JPEG start of image marker");
+        assertEquals((byte) 0xD8, bytes[1], "JPEG start of image marker");
+    }
+
+    @Test
+    @DisplayName("an image not wider than the target is written back unchanged")
+    void neverScalesUp() throws IOException {
+        // given
+        byte[] original = png(new BufferedImage(100, 150, BufferedImage.TYPE_INT_RGB));
+        Path target = dir.resolve("variant.jpg");
+
+        // when
+        resizer.resize(new ByteArrayInputStream(original), target, 240);
+
+        // then
+        assertArrayEquals(original, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("bytes that are no image fail instead of writing a variant")
+    void rejectsUndecodableSource() {
+        // given
+        Path target = dir.resolve("variant.jpg");
+
+        // when/then
+        assertThrows(
+                IOException.class,
+                () -> resizer.resize(new ByteArrayInputStream(new byte[] {1, 2, 3}), target, 240));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    @DisplayName("transparent areas are flattened onto white")
+    void flattensTransparencyOntoWhite() {
+        // given
+        BufferedImage transparent = new BufferedImage(64, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = transparent.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(0, 0, 32, 32);
+        graphics.dispose();
+
+        // when
+        BufferedImage scaled = resizer.scaleToWidth(transparent, 32);
+
+        // then
+        assertEquals(BufferedImage.TYPE_INT_RGB, scaled.getType());
+        assertEquals(16, scaled.getHeight());
+        assertEquals(Color.WHITE.getRGB(), scaled.getRGB(31, 8));
+        assertEquals(Color.BLACK.getRGB(), scaled.getRGB(0, 8));
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
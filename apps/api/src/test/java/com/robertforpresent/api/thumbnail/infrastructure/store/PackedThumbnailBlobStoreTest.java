@@ -0,0 +1,123 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.infrastructure.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.robertforpresent.api.thumbnail.infrastructure.cache.ThumbnailCacheConfig;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/** Unit tests for PackedThumbnailBlobStore. */
+class PackedThumbnailBlobStoreTest {
+
+    @TempDir Path cacheDir;
+
+    private ThumbnailCacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new ThumbnailCacheConfig();
+        ReflectionTestUtils.setField(config, "cacheDirectory", cacheDir.toString());
+        ReflectionTestUtils.setField(config, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("serves stored blobs and forgets deleted ones after a restart")
+    void restoresOffsetsFromSegments() throws IOException {
+        // given
+        PackedThumbnailBlobStore store = open(1024);
+        put(store, "a.jpg", filled(100, 'a'));
+        put(store, "b.jpg", filled(50, 'b'));
+        store.delete("a.jpg");
+        store.close();
+
+        // when
+        PackedThumbnailBlobStore reopened = open(1024);
+
+        // then
+        assertFalse(reopened.contains("a.jpg"));
+        assertArrayEquals(filled(50, 'b'), read(reopened, "b.jpg"));
+        assertEquals(1, reopened.list().size());
+    }
+
+    @Test
+    @DisplayName("compaction drops garbage segments and keeps live blobs readable")
+    void compactsMostlyDeadSegments() throws IOException {
+        // given: segments fit about two blobs each
+        PackedThumbnailBlobStore store = open(250);
+        put(store, "a.jpg", filled(100, 'a'));
+        put(store, "b.jpg", filled(100, 'b'));
+        put(store, "c.jpg", filled(100, 'c'));
+        store.delete("a.jpg");
+        put(store, "d.jpg", filled(100, 'd'));
+        put(store, "e.jpg", filled(100, 'e'));
+
+        // when
+        store.compact();
+        store.close();
+        PackedThumbnailBlobStore reopened = open(250);
+
+        // then
+        assertFalse(Files.exists(segment(1)));
+        assertFalse(reopened.contains("a.jpg"));
+        assertArrayEquals(filled(100, 'b'), read(reopened, "b.jpg"));
+        assertArrayEquals(filled(100, 'e'), read(reopened, "e.jpg"));
+    }
+
+    @Test
+    @DisplayName("blobs stay readable while their segment grows and after it is sealed")
+    void readsGrowingAndSealedSegments() throws IOException {
+        // given: segments fit about two blobs each
+        PackedThumbnailBlobStore store = open(250);
+        put(store, "a.jpg", filled(100, 'a'));
+        assertArrayEquals(filled(100, 'a'), read(store, "a.jpg"));
+        put(store, "b.jpg", filled(100, 'b'));
+        assertArrayEquals(filled(100, 'b'), read(store, "b.jpg"));
+
+        // when: the next blob seals the first segment
+        put(store, "c.jpg", filled(100, 'c'));
+
+        // then
+        assertTrue(Files.exists(segment(2)));
+        assertArrayEquals(filled(100, 'a'), read(store, "a.jpg"));
+        assertArrayEquals(filled(100, 'b'), read(store, "b.jpg"));
+        assertArrayEquals(filled(100, 'c'), read(store, "c.jpg"));
+    }
+
+    private PackedThumbnailBlobStore open(long segmentBytes) throws IOException {
+        PackedThumbnailBlobStore store = new PackedThumbnailBlobStore(config, segmentBytes, 0.6);
+        store.load();
+        return store;
+    }
+
+    private void put(PackedThumbnailBlobStore store, String name, byte[] data) throws IOException {
+        Path temp = Files.createTempFile(cacheDir, name, ".tmp");
+        Files.write(temp, data);
+        store.put(name, temp);
+    }
+
+    private static byte[] read(PackedThumbnailBlobStore store, String name) throws IOException {
+        try (InputStream in = store.find(name).orElseThrow().content().getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Path segment(int id) {
+        return cacheDir.resolve(PackedThumbnailBlobStore.SEGMENT_DIRECTORY)
+                .resolve(String.format("segment-%06d.dat", id));
+    }
+
+    private static byte[] filled(int size, char value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
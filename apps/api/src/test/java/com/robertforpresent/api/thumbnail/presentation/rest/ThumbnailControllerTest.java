@@ -0,0 +1,149 @@
+/* (C)2025 */
+package com.robertforpresent.api.thumbnail.presentation.rest;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailAtlasService;
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailPrefetchService;
+import com.robertforpresent.api.thumbnail.application.service.ThumbnailService;
+import com.robertforpresent.api.thumbnail.infrastructure.cache.CachedThumbnail;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** API tests for streaming thumbnails: validators, conditional and range requests. */
+@WebMvcTest(ThumbnailController.class)
+class ThumbnailControllerTest {
+
+    private static final UUID GAME_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final byte[] IMAGE = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+    private static final String ETAG = "\"" + "a".repeat(64) + "\"";
+    private static final Instant LAST_MODIFIED = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired private MockMvc mockMvc;
+
+    @MockitoBean private ThumbnailService thumbnailService;
+    @MockitoBean private ThumbnailPrefetchService prefetchService;
+    @MockitoBean private ThumbnailAtlasService atlasService;
+
+    @Test
+    @DisplayName("serves the image with its strong ETag, long caching and range support")
+    void servesImageWithValidators() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(IMAGE))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=604800"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, IMAGE.length))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()));
+    }
+
+    @Test
+    @DisplayName("a matching If-None-Match is answered with 304 and no body")
+    void matchingETagIsNotModified() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=604800"))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("a different If-None-Match gets the full image")
+    void otherETagGetsImage() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(
+                        get("/thumbnails/{gameId}", GAME_ID)
+                                .header(HttpHeaders.IF_NONE_MATCH, "\"" + "b".repeat(64) + "\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    @DisplayName("a byte range is answered with 206 and only the requested bytes")
+    void rangeReturnsPartialContent() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + IMAGE.length))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().bytes(new byte[] {2, 3, 4, 5}));
+    }
+
+    @Test
+    @DisplayName("an unsatisfiable range is answered with 416")
+    void unsatisfiableRangeIsRejected() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable());
+    }
+
+    @Test
+    @DisplayName("the original standing in for a variant is cached briefly")
+    void variantFallbackIsCachedBriefly() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID, 240)).thenReturn(Optional.of(thumbnail(null)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID).param("w", "240"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+    }
+
+    @Test
+    @DisplayName("a generated variant is cached for long")
+    void variantIsCachedForLong() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID, 240)).thenReturn(Optional.of(thumbnail(240)));
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID).param("w", "240"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=604800"));
+    }
+
+    @Test
+    @DisplayName("a game without thumbnail returns 404")
+    void missingThumbnailIsNotFound() throws Exception {
+        // given
+        when(thumbnailService.getThumbnail(GAME_ID)).thenReturn(Optional.empty());
+
+        // when/then
+        mockMvc.perform(get("/thumbnails/{gameId}", GAME_ID)).andExpect(status().isNotFound());
+    }
+
+    private static CachedThumbnail thumbnail(@Nullable Integer width) {
+        return new CachedThumbnail(
+                new ByteArrayResource(IMAGE), "image/jpeg", ETAG, LAST_MODIFIED, IMAGE.length, width);
+    }
+}
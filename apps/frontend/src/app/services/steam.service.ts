@@ -10,7 +10,9 @@ export interface SteamLibraryImportRequest {
 export interface SteamLibraryImportResponse {
   success: boolean;
   created: number;
+  added: number;
   updated: number;
+  unchanged: number;
   failed: number;
   message: string;
 }